@@ -4,6 +4,7 @@ plugins {
     id("io.spring.dependency-management") version "1.1.7"
 
     id("com.vanniktech.maven.publish") version "0.36.0"
+    id("me.champeau.jmh") version "0.7.3" apply false
     id("maven-publish")
     id("signing")
 }
@@ -16,6 +17,7 @@ extra["springAiVersion"] = "1.1.2"
 extra["springGrpcVersion"] = "0.12.0"
 // extra["a2aSdkVersion"] = "0.3.3.Final"
 extra["a2aSdkVersion"] = "1.0.0.Alpha1"
+extra["zstdJniVersion"] = "1.5.7-4"
 
 extra["libraryGroupId"] = "io.github.goodfriend2ks"
 extra["libraryVersion"] = "1.0.0.Alpha1"
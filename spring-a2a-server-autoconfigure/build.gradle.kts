@@ -10,6 +10,8 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-autoconfigure")
     implementation("org.springframework.boot:spring-boot-configuration-processor")
 
+    implementation("io.projectreactor:reactor-core")
+
     implementation("org.springframework:spring-web")
     implementation("org.springframework.grpc:spring-grpc-core:${property("springGrpcVersion")}")
 
@@ -20,11 +22,16 @@ dependencies {
 
     implementation(project(":spring-a2a-server"))
 
+    compileOnly("io.micrometer:micrometer-core")
+    compileOnly("org.springframework:spring-webflux")
+
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.mockito:mockito-core")
     testImplementation("org.mockito:mockito-junit-jupiter")
+    testImplementation("io.micrometer:micrometer-core")
+    testImplementation("org.springframework:spring-webflux")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
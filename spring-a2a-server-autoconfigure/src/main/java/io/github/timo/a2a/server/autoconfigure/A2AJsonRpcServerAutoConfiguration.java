@@ -2,7 +2,15 @@ package io.github.timo.a2a.server.autoconfigure;
 
 import io.github.timo.a2a.server.context.CallContextFactory;
 import io.github.timo.a2a.server.context.DefaultCallContextFactory;
+import io.github.timo.a2a.server.jsonrpc.JSONRPCBatchOptions;
+import io.github.timo.a2a.server.jsonrpc.JSONRPCControllerOptions;
 import io.github.timo.a2a.server.jsonrpc.controller.MessageController;
+import io.github.timo.a2a.server.tasks.TaskBatchCanceller;
+import io.github.timo.a2a.server.tasks.TaskBatchReader;
+import io.github.timo.a2a.server.web.OpenStreams;
+import io.github.timo.a2a.server.web.RequestBodyReader;
+import io.github.timo.a2a.server.web.StreamingOptions;
+import io.github.timo.a2a.server.web.TaskCanceller;
 import io.a2a.server.requesthandlers.RequestHandler;
 import io.a2a.spec.AgentCard;
 import io.a2a.transport.jsonrpc.handler.JSONRPCHandler;
@@ -12,7 +20,9 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import reactor.core.scheduler.Scheduler;
 
 import java.util.concurrent.Executor;
 
@@ -32,6 +42,7 @@ import java.util.concurrent.Executor;
         matchIfMissing = A2AServerProperties.DEFAULT_A2A_SERVER_ENABLED
                 && A2AServerProperties.DEFAULT_CONFIG_JSON_RPC_ENABLED
 )
+@EnableConfigurationProperties(A2AServerProperties.class)
 public class A2AJsonRpcServerAutoConfiguration {
     private static final Logger LOGGER = LoggerFactory.getLogger(A2AJsonRpcServerAutoConfiguration.class);
 
@@ -60,13 +71,29 @@ public class A2AJsonRpcServerAutoConfiguration {
     MessageController messageJsonRpcController(
             JSONRPCHandler agentJsonRpcHandler,
             CallContextFactory callContextFactory,
-            @Qualifier("a2aInternal") Executor executor
+            @Qualifier("a2aInternal") Executor executor,
+            @Qualifier("a2aDispatch") Scheduler dispatchScheduler,
+            RequestBodyReader requestBodyReader,
+            StreamingOptions streamingOptions,
+            TaskCanceller taskCanceller,
+            OpenStreams openStreams,
+            TaskBatchReader taskBatchReader,
+            TaskBatchCanceller taskBatchCanceller,
+            A2AServerProperties properties
     ) {
         LOGGER.info("Creating MessageController for JSON-RPC A2A server");
-        return new MessageController(
-                agentJsonRpcHandler,
-                callContextFactory,
-                executor
-        );
+
+        var batch = properties.getBatch();
+        var options = new JSONRPCControllerOptions()
+                .withDispatchScheduler(dispatchScheduler)
+                .withBatchOptions(new JSONRPCBatchOptions(batch.maxSize(), batch.maxConcurrency()))
+                .withRequestBodyReader(requestBodyReader)
+                .withStreamingOptions(streamingOptions)
+                .withTaskCanceller(taskCanceller)
+                .withOpenStreams(openStreams)
+                .withTaskBatchReader(taskBatchReader)
+                .withTaskBatchCanceller(taskBatchCanceller);
+
+        return new MessageController(agentJsonRpcHandler, callContextFactory, executor, options);
     }
 }
@@ -1,8 +1,15 @@
 package io.github.timo.a2a.server.autoconfigure;
 
 import io.github.timo.a2a.server.context.CallContextFactory;
+import io.github.timo.a2a.server.files.FileStore;
+import io.github.timo.a2a.server.files.TempFileStore;
+import io.github.timo.a2a.server.rest.RestControllerOptions;
 import io.github.timo.a2a.server.rest.controller.MessageController;
 import io.github.timo.a2a.server.rest.handler.AgentRestHandler;
+import io.github.timo.a2a.server.web.MultipartMessageReader;
+import io.github.timo.a2a.server.web.OpenStreams;
+import io.github.timo.a2a.server.web.RequestBodyReader;
+import io.github.timo.a2a.server.web.StreamingOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
@@ -41,9 +48,41 @@ public class A2ARestServerAutoConfiguration {
     @ConditionalOnMissingBean
     MessageController messageRestController(
             AgentRestHandler agentRestHandler,
-            CallContextFactory callContextFactory
+            CallContextFactory callContextFactory,
+            RequestBodyReader requestBodyReader,
+            StreamingOptions streamingOptions,
+            OpenStreams openStreams,
+            MultipartMessageReader multipartMessageReader
     ) {
         LOGGER.info("Creating MessageController for Rest A2A server");
-        return new MessageController(agentRestHandler, callContextFactory);
+        var options = new RestControllerOptions()
+                .withRequestBodyReader(requestBodyReader)
+                .withStreamingOptions(streamingOptions)
+                .withOpenStreams(openStreams)
+                .withMultipartMessageReader(multipartMessageReader);
+
+        return new MessageController(agentRestHandler, callContextFactory, options);
+    }
+
+    /**
+     * Default store of the files uploaded with multipart messages, a local directory.
+     * <p>
+     * Note: The Application may provide its own [FileStore] bean to stream the files to a blob store instead.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    FileStore fileStore(A2AServerProperties properties) {
+        var upload = properties.getUpload();
+        return new TempFileStore(upload.directory(), upload.maxFileSize().toBytes());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    MultipartMessageReader multipartMessageReader(FileStore fileStore, A2AServerProperties properties) {
+        return new MultipartMessageReader(
+                fileStore,
+                (int) properties.getMaxInMemorySize().toBytes(),
+                properties.getUpload().maxParts()
+        );
     }
 }
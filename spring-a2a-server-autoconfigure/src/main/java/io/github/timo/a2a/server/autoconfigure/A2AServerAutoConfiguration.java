@@ -3,10 +3,31 @@ package io.github.timo.a2a.server.autoconfigure;
 import io.github.timo.a2a.server.card.AgentCardController;
 import io.github.timo.a2a.server.context.CallContextFactory;
 import io.github.timo.a2a.server.context.DefaultCallContextFactory;
+import io.github.timo.a2a.server.context.ProtocolNegotiator;
 import io.github.timo.a2a.server.executor.AgentExecutorHandler;
 import io.github.timo.a2a.server.executor.DefaultAgentExecutor;
+import io.github.timo.a2a.server.executor.TenantExecutorRegistry;
+import io.github.timo.a2a.server.executor.TenantRequestHandler;
+import io.github.timo.a2a.server.quota.QuotaLimitSource;
+import io.github.timo.a2a.server.quota.TenantQuotaWebFilter;
+import io.github.timo.a2a.server.quota.TenantQuotas;
+import io.github.timo.a2a.server.rest.RestControllerOptions;
+import io.github.timo.a2a.server.rest.controller.TaskBatchController;
 import io.github.timo.a2a.server.rest.controller.TaskController;
 import io.github.timo.a2a.server.rest.handler.AgentRestHandler;
+import io.github.timo.a2a.server.rest.handler.AgentRestHandlerOptions;
+import io.github.timo.a2a.server.tasks.ArtifactPartReader;
+import io.github.timo.a2a.server.tasks.ObservableTaskStore;
+import io.github.timo.a2a.server.tasks.TaskBatchCanceller;
+import io.github.timo.a2a.server.tasks.TaskBatchReader;
+import io.github.timo.a2a.server.web.CompressionOptions;
+import io.github.timo.a2a.server.web.CompressionWebFilter;
+import io.github.timo.a2a.server.web.ContentCoding;
+import io.github.timo.a2a.server.web.MessageIdGenerator;
+import io.github.timo.a2a.server.web.OpenStreams;
+import io.github.timo.a2a.server.web.RequestBodyReader;
+import io.github.timo.a2a.server.web.StreamingOptions;
+import io.github.timo.a2a.server.web.TaskCanceller;
 import io.a2a.server.agentexecution.AgentExecutor;
 import io.a2a.server.config.A2AConfigProvider;
 import io.a2a.server.config.DefaultValuesConfigProvider;
@@ -31,9 +52,13 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.env.Environment;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -57,6 +82,8 @@ import java.util.concurrent.TimeUnit;
 public class A2AServerAutoConfiguration {
     private static final Logger LOGGER = LoggerFactory.getLogger(A2AServerAutoConfiguration.class);
 
+    private static final int TASK_BATCH_CANCEL_TTL_SECONDS = 60;
+
     A2AServerAutoConfiguration() {
         LOGGER.info("{} initiated", A2AServerAutoConfiguration.class.getSimpleName());
     }
@@ -88,13 +115,148 @@ public class A2AServerAutoConfiguration {
         return new SpringA2AConfigProvider(environment, defaultValuesConfigProvider);
     }
 
+    /**
+     * Provide {@link ProtocolNegotiator} validating the requested protocol version and extensions
+     * against the {@link AgentCard}, once per distinct header values.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    ProtocolNegotiator protocolNegotiator(AgentCard agentCard) {
+        return new ProtocolNegotiator(agentCard);
+    }
+
     /**
      * Provide default {@link CallContextFactory} ({@link DefaultCallContextFactory} with empty tenant uid)
      */
     @Bean
     @ConditionalOnMissingBean
-    CallContextFactory callContextFactory() {
-        return new DefaultCallContextFactory("");
+    CallContextFactory callContextFactory(ProtocolNegotiator protocolNegotiator) {
+        return new DefaultCallContextFactory("", protocolNegotiator);
+    }
+
+    /**
+     * Provide {@link RequestBodyReader} decoding request bodies within the configured max in-memory size.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    RequestBodyReader requestBodyReader(A2AServerProperties properties) {
+        return new RequestBodyReader((int) properties.getMaxInMemorySize().toBytes());
+    }
+
+    /**
+     * Provide {@link StreamingOptions} applied to streaming responses of all transports.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    StreamingOptions streamingOptions(A2AServerProperties properties) {
+        var streaming = properties.getStreaming();
+        return new StreamingOptions(
+                streaming.prefetch(),
+                streaming.batchWindow(),
+                streaming.maxBatchSize(),
+                streaming.disconnectPolicy(),
+                streaming.heartbeatInterval(),
+                streaming.idleTimeout(),
+                streaming.maxDuration()
+        );
+    }
+
+    /**
+     * Provide {@link CompressionWebFilter} compressing the responses of the A2A endpoints.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            prefix = A2AServerProperties.CONFIG_PREFIX,
+            name = "compression.enabled",
+            havingValue = "true"
+    )
+    CompressionWebFilter a2aCompressionWebFilter(A2AServerProperties properties) {
+        var compression = properties.getCompression();
+        LOGGER.info("Compressing A2A responses with {}", ContentCoding.available().stream()
+                .map(ContentCoding::name)
+                .toList());
+
+        return new CompressionWebFilter(
+                new CompressionOptions(compression.enabled(), compression.minResponseSize(), compression.paths())
+        );
+    }
+
+    /**
+     * Provide {@link QuotaLimitSource} reading the limits of the tenants from the quota properties.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            prefix = A2AServerProperties.CONFIG_PREFIX,
+            name = "quotas.enabled",
+            havingValue = "true"
+    )
+    QuotaLimitSource quotaLimitSource(A2AServerProperties properties) {
+        var quotas = properties.getQuotas();
+        return QuotaLimitSource.perTenant(quotas.defaults(), quotas.tenants());
+    }
+
+    /**
+     * Provide {@link TenantQuotas} holding the token bucket and open streams of each tenant and method.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            prefix = A2AServerProperties.CONFIG_PREFIX,
+            name = "quotas.enabled",
+            havingValue = "true"
+    )
+    TenantQuotas tenantQuotas(QuotaLimitSource quotaLimitSource) {
+        return new TenantQuotas(quotaLimitSource);
+    }
+
+    /**
+     * Provide {@link TenantQuotaWebFilter} answering the requests over the quota of their tenant
+     * with {@code 429 Too Many Requests}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            prefix = A2AServerProperties.CONFIG_PREFIX,
+            name = "quotas.enabled",
+            havingValue = "true"
+    )
+    TenantQuotaWebFilter a2aTenantQuotaWebFilter(TenantQuotas tenantQuotas, CallContextFactory callContextFactory) {
+        LOGGER.info("Enforcing A2A tenant quotas");
+
+        return new TenantQuotaWebFilter(tenantQuotas, callContextFactory);
+    }
+
+    /**
+     * Provide {@link MessageIdGenerator} generating the IDs of the user messages built from plain
+     * text, random UUIDs by default.
+     * <p>
+     * Note: The Application may provide {@link MessageIdGenerator#TIME_ORDERED} or a counter instead,
+     * cheaper to generate but guessable.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    MessageIdGenerator messageIdGenerator() {
+        return MessageIdGenerator.RANDOM;
+    }
+
+    /**
+     * Provide {@link OpenStreams} supervising the streaming responses of all transports.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    OpenStreams openStreams() {
+        return new OpenStreams();
+    }
+
+    /**
+     * Provide {@link TaskCanceller} cancelling the task of a stream whose client disconnected.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    TaskCanceller taskCanceller(RequestHandler requestHandler) {
+        return TaskCanceller.of(requestHandler);
     }
 
     /**
@@ -118,29 +280,131 @@ public class A2AServerAutoConfiguration {
     @ConditionalOnMissingBean
     TaskController taskController(
             AgentRestHandler agentRestHandler,
-            CallContextFactory callContextFactory
+            CallContextFactory callContextFactory,
+            StreamingOptions streamingOptions,
+            OpenStreams openStreams,
+            TaskStore taskStore,
+            ArtifactPartReader artifactPartReader,
+            @Qualifier("a2aDispatch") Scheduler dispatchScheduler
+    ) {
+        var options = new RestControllerOptions()
+                .withDispatchScheduler(dispatchScheduler)
+                .withStreamingOptions(streamingOptions)
+                .withOpenStreams(openStreams)
+                .withObservableTaskStore(
+                        taskStore instanceof ObservableTaskStore observableTaskStore ? observableTaskStore : null
+                )
+                .withArtifactPartReader(artifactPartReader);
+
+        return new TaskController(agentRestHandler, callContextFactory, options);
+    }
+
+    /**
+     * Provide {@link ArtifactPartReader} reading the parts of task artifacts through the {@link RequestHandler},
+     * in the tenant of the request.
+     * <p>
+     * Note: Only the files of the upload directory are served for {@code file:} URIs, the Application
+     * may provide its own bean to serve the files its agent writes elsewhere.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    ArtifactPartReader artifactPartReader(RequestHandler requestHandler, A2AServerProperties properties) {
+        return new ArtifactPartReader(requestHandler, List.of(properties.getUpload().directory()));
+    }
+
+    /**
+     * Provide {@link TaskBatchReader} reading batches of tasks through the {@link RequestHandler}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    TaskBatchReader taskBatchReader(RequestHandler requestHandler) {
+        return new TaskBatchReader(requestHandler);
+    }
+
+    /**
+     * Provide {@link TaskBatchCanceller} cancelling batches of tasks concurrently on their own scheduler.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    TaskBatchCanceller taskBatchCanceller(
+            RequestHandler requestHandler,
+            @Qualifier("a2aTaskBatchCancel") Scheduler taskBatchCancelScheduler
+    ) {
+        return new TaskBatchCanceller(requestHandler, taskBatchCancelScheduler);
+    }
+
+    /**
+     * Provide bounded scheduler that runs the blocking cancellations of task batches, apart from the
+     * A2A internal executor whose threads the cancelled agents need.
+     */
+    @Bean(name = "a2aTaskBatchCancel", destroyMethod = "dispose")
+    @ConditionalOnMissingBean(name = "a2aTaskBatchCancel")
+    Scheduler a2aTaskBatchCancelScheduler() {
+        return Schedulers.newBoundedElastic(
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+                "a2a-task-batch-cancel",
+                TASK_BATCH_CANCEL_TTL_SECONDS,
+                true
+        );
+    }
+
+    /**
+     * Default Rest API for batches of tasks.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    TaskBatchController taskBatchController(
+            TaskBatchReader taskBatchReader,
+            TaskBatchCanceller taskBatchCanceller,
+            CallContextFactory callContextFactory,
+            RequestBodyReader requestBodyReader,
+            @Qualifier("a2aDispatch") Scheduler dispatchScheduler
     ) {
-        return new TaskController(agentRestHandler, callContextFactory);
+        var options = new RestControllerOptions()
+                .withDispatchScheduler(dispatchScheduler)
+                .withRequestBodyReader(requestBodyReader)
+                .withTaskBatchCanceller(taskBatchCanceller);
+
+        return new TaskBatchController(taskBatchReader, callContextFactory, options);
     }
 
     /**
-     * Provide default {@link TaskStore} ({@link InMemoryTaskStore}).
+     * Provide default {@link TaskStore} ({@link InMemoryTaskStore}), observable so that task
+     * requests can wait for a task state.
+     * <p>
+     * Note: An application providing its own {@link TaskStore} wraps it in an
+     * {@link ObservableTaskStore} to support waiting for a task state.
      */
     @Bean
     @ConditionalOnMissingBean
     TaskStore taskStore() {
         LOGGER.info("Auto-configuring InMemoryTaskStore for task management");
-        return new InMemoryTaskStore();
+        return new ObservableTaskStore(new InMemoryTaskStore());
     }
 
     /**
      * Provide default {@link QueueManager} ({@link InMemoryQueueManager}).
+     * <p>
+     * The queue manager reads the task states from the task store wrapped by the
+     * {@link ObservableTaskStore}, which must be a {@link TaskStateProvider}.
      */
     @Bean
     @ConditionalOnMissingBean
     QueueManager queueManager(TaskStore taskStore) {
         LOGGER.info("Auto-configuring InMemoryQueueManager for event queue management");
-        return new InMemoryQueueManager((TaskStateProvider) taskStore);
+
+        var stateStore = taskStore instanceof ObservableTaskStore observableTaskStore
+                ? observableTaskStore.getDelegate()
+                : taskStore;
+        if (!(stateStore instanceof TaskStateProvider taskStateProvider)) {
+            throw new IllegalStateException(
+                    "InMemoryQueueManager requires a TaskStore implementing TaskStateProvider, got "
+                            + stateStore.getClass().getName() + ": provide a QueueManager bean"
+            );
+        }
+
+        return new InMemoryQueueManager(taskStateProvider);
     }
 
     /**
@@ -199,6 +463,77 @@ public class A2AServerAutoConfiguration {
         );
     }
 
+    /**
+     * Provide {@link TenantExecutorRegistry} running the agent of each tenant in its own bulkhead,
+     * with the internal executor as the shared overflow.
+     * <p>
+     * Note: The requests of the default (empty) tenant run on the shared overflow, a warning is logged
+     * when the {@link CallContextFactory} puts every request in it.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            prefix = A2AServerProperties.CONFIG_PREFIX,
+            name = "tenant-executors.enabled",
+            havingValue = "true"
+    )
+    TenantExecutorRegistry tenantExecutorRegistry(
+            A2AServerProperties properties,
+            @Qualifier("a2aInternal") Executor executor,
+            CallContextFactory callContextFactory
+    ) {
+        var tenantExecutors = properties.getTenantExecutors();
+        LOGGER.info(
+                "Creating A2A tenant executors: maxConcurrency={}, queueDepth={}, maxOverflow={}, maxTenants={}",
+                tenantExecutors.maxConcurrency(),
+                tenantExecutors.queueDepth(),
+                tenantExecutors.maxOverflow(),
+                tenantExecutors.maxTenants()
+        );
+
+        if (callContextFactory instanceof DefaultCallContextFactory defaultFactory
+                && defaultFactory.getTenantUid().isEmpty()) {
+            LOGGER.warn(
+                    "A2A tenant executors are enabled, but {} puts every request in the default tenant, "
+                            + "whose agents run on the shared executor: provide a CallContextFactory "
+                            + "resolving the tenant of each request",
+                    DefaultCallContextFactory.class.getSimpleName()
+            );
+        }
+
+        return new TenantExecutorRegistry(
+                executor,
+                tenantExecutors.maxConcurrency(),
+                tenantExecutors.queueDepth(),
+                tenantExecutors.maxOverflow(),
+                tenantExecutors.maxTenants()
+        );
+    }
+
+    /**
+     * Provide scheduler that dispatches non-streaming A2A requests off the web server event loop.
+     */
+    @Bean(name = "a2aDispatch", destroyMethod = "dispose")
+    @ConditionalOnMissingBean(name = "a2aDispatch")
+    Scheduler a2aDispatchScheduler(A2AServerProperties properties) {
+        var dispatch = properties.getDispatch();
+        if (dispatch.virtualThreads()) {
+            LOGGER.info("Creating A2A dispatch scheduler on virtual threads");
+
+            return Schedulers.fromExecutorService(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("a2a-dispatch-", 1L).factory()),
+                    "a2a-dispatch"
+            );
+        }
+
+        LOGGER.info(
+                "Creating A2A dispatch scheduler: threadCap={}, queuedTaskCap={}",
+                dispatch.threadCap(), dispatch.queuedTaskCap()
+        );
+
+        return Schedulers.newBoundedElastic(dispatch.threadCap(), dispatch.queuedTaskCap(), "a2a-dispatch");
+    }
+
     /**
      * Provide default {@link AgentExecutor} ({@link DefaultAgentExecutor})
      * <p>
@@ -225,10 +560,23 @@ public class A2AServerAutoConfiguration {
             QueueManager queueManager,
             PushNotificationConfigStore pushConfigStore,
             PushNotificationSender pushSender,
-            @Qualifier("a2aInternal") Executor executor
+            @Qualifier("a2aInternal") Executor executor,
+            Optional<TenantExecutorRegistry> tenantExecutorRegistry
     ) {
         LOGGER.info("Creating DefaultSpringRequestHandler with A2A SDK components");
 
+        if (tenantExecutorRegistry.isPresent()) {
+            return new TenantRequestHandler(
+                    agentExecutor,
+                    taskStore,
+                    queueManager,
+                    pushConfigStore,
+                    pushSender,
+                    tenantExecutorRegistry.get(),
+                    configProvider
+            );
+        }
+
         return new AgentRequestHandler(
                 agentExecutor,
                 taskStore,
@@ -248,9 +596,15 @@ public class A2AServerAutoConfiguration {
     AgentRestHandler agentRestHandler(
             AgentCard agentCard,
             RequestHandler requestHandler,
-            @Qualifier("a2aInternal") Executor executor
+            @Qualifier("a2aInternal") Executor executor,
+            StreamingOptions streamingOptions,
+            MessageIdGenerator messageIdGenerator
     ) {
         LOGGER.info("Creating default AgentRestHandler for Restful A2A server");
-        return new AgentRestHandler(agentCard, requestHandler, executor);
+        var options = AgentRestHandlerOptions.DEFAULT
+                .withStreamingOptions(streamingOptions)
+                .withMessageIdGenerator(messageIdGenerator);
+
+        return new AgentRestHandler(agentCard, requestHandler, executor, options);
     }
 }
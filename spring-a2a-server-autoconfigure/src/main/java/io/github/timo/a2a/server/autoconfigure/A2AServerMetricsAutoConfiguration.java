@@ -0,0 +1,74 @@
+package io.github.timo.a2a.server.autoconfigure;
+
+import io.github.timo.a2a.server.executor.TenantExecutorRegistry;
+import io.github.timo.a2a.server.web.OpenStreams;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Spring Boot auto-configuration for A2A Server metrics.
+ * <p>
+ * Registers the A2A Server meters when Micrometer is on the classpath, the meter binders
+ * are bound to the application's meter registries by Spring Boot.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+@AutoConfigureAfter(A2AServerAutoConfiguration.class)
+@ConditionalOnClass(MeterRegistry.class)
+public class A2AServerMetricsAutoConfiguration {
+    public static final String OPEN_STREAMS_METER = "a2a.server.streams.open";
+    public static final String TENANT_EXECUTOR_ACTIVE_METER = "a2a.server.tenant.executor.active";
+    public static final String TENANT_EXECUTOR_QUEUED_METER = "a2a.server.tenant.executor.queued";
+    public static final String TENANT_EXECUTOR_SATURATION_METER = "a2a.server.tenant.executor.saturation";
+    public static final String TENANT_EXECUTOR_OVERFLOW_METER = "a2a.server.tenant.executor.overflow";
+    public static final String TENANT_EXECUTOR_REJECTED_METER = "a2a.server.tenant.executor.rejected";
+    public static final String TENANT_TAG = "tenant";
+
+    /**
+     * Gauge of the streaming responses currently open, across all transports.
+     */
+    @Bean
+    @ConditionalOnBean(OpenStreams.class)
+    MeterBinder a2aOpenStreamsMeterBinder(OpenStreams openStreams) {
+        return registry -> Gauge.builder(OPEN_STREAMS_METER, openStreams, OpenStreams::count)
+                .description("Number of open A2A streaming responses")
+                .register(registry);
+    }
+
+    /**
+     * Meters of the executor bulkhead of each tenant, registered when the bulkhead is created.
+     */
+    @Bean
+    @ConditionalOnBean(TenantExecutorRegistry.class)
+    MeterBinder a2aTenantExecutorMeterBinder(TenantExecutorRegistry executorRegistry) {
+        return registry -> executorRegistry.addTenantListener(tenantUid -> {
+            Gauge.builder(TENANT_EXECUTOR_ACTIVE_METER, executorRegistry, r -> r.activeCount(tenantUid))
+                    .description("Number of agent tasks of the tenant running in its bulkhead")
+                    .tag(TENANT_TAG, tenantUid)
+                    .register(registry);
+            Gauge.builder(TENANT_EXECUTOR_QUEUED_METER, executorRegistry, r -> r.queuedCount(tenantUid))
+                    .description("Number of agent tasks of the tenant waiting in its bulkhead")
+                    .tag(TENANT_TAG, tenantUid)
+                    .register(registry);
+            Gauge.builder(TENANT_EXECUTOR_SATURATION_METER, executorRegistry, r -> r.saturation(tenantUid))
+                    .description("Saturation of the tenant's bulkhead, from 0 when idle to 1 when full")
+                    .tag(TENANT_TAG, tenantUid)
+                    .register(registry);
+            FunctionCounter.builder(TENANT_EXECUTOR_OVERFLOW_METER, executorRegistry, r -> r.overflowCount(tenantUid))
+                    .description("Number of agent tasks of the tenant that spilled over to the shared executor")
+                    .tag(TENANT_TAG, tenantUid)
+                    .register(registry);
+            FunctionCounter.builder(TENANT_EXECUTOR_REJECTED_METER, executorRegistry, r -> r.rejectedCount(tenantUid))
+                    .description("Number of agent tasks of the tenant rejected once its share of the shared executor was used")
+                    .tag(TENANT_TAG, tenantUid)
+                    .register(registry);
+        });
+    }
+}
@@ -1,7 +1,23 @@
 package io.github.timo.a2a.server.autoconfigure;
 
+import io.github.timo.a2a.server.executor.TenantExecutorRegistry;
+import io.github.timo.a2a.server.files.TempFileStore;
+import io.github.timo.a2a.server.jsonrpc.JSONRPCBatchOptions;
+import io.github.timo.a2a.server.quota.QuotaLimits;
+import io.github.timo.a2a.server.web.CompressionOptions;
+import io.github.timo.a2a.server.web.MultipartMessageReader;
+import io.github.timo.a2a.server.web.RequestBodyReader;
+import io.github.timo.a2a.server.web.StreamingOptions;
 import org.jspecify.annotations.Nullable;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.util.unit.DataSize;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Configuration properties for Spring AI A2A Server.
@@ -17,12 +33,52 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  *         enabled: true
  *         host: "*"
  *         ssl: false
+ *         max-in-memory-size: 10MB
  *         grpc:
  *           enabled: false
  *         jsonrpc:
  *           enabled: false
  *         rest:
  *           enabled: false
+ *         dispatch:
+ *           virtual-threads: false
+ *           thread-cap: 80
+ *           queued-task-cap: 100000
+ *         batch:
+ *           max-size: 100
+ *           max-concurrency: 16
+ *         streaming:
+ *           prefetch: 32
+ *           batch-window: 0ms
+ *           max-batch-size: 256
+ *           disconnect-policy: keep-task
+ *           heartbeat-interval: 0s
+ *           idle-timeout: 0s
+ *           max-duration: 0s
+ *         compression:
+ *           enabled: false
+ *           min-response-size: 2KB
+ *           paths: /, /messages/**, /tasks/**
+ *         upload:
+ *           directory: /tmp
+ *           max-file-size: 100MB
+ *           max-parts: 16
+ *         tenant-executors:
+ *           enabled: false
+ *           max-concurrency: 8
+ *           queue-depth: 100
+ *           max-overflow: 8
+ *           max-tenants: 1024
+ *         quotas:
+ *           enabled: false
+ *           requests-per-second: 0
+ *           burst: 0
+ *           max-streams: 0
+ *           tenants:
+ *             acme:
+ *               requests-per-second: 20
+ *               burst: 40
+ *               max-streams: 4
  * </pre>
  *
  * @author Timo
@@ -34,6 +90,7 @@ public class A2AServerProperties {
     public static final String CONFIG_GRPC_INFIX = "grpc";
     public static final String CONFIG_JSON_RPC_INFIX = "jsonrpc";
     public static final String CONFIG_REST_INFIX = "rest";
+    public static final String CONFIG_ROUTER_INFIX = "router";
 
     public static final String DEFAULT_A2A_SERVER_HOST = "*";
 
@@ -41,13 +98,26 @@ public class A2AServerProperties {
     public static final boolean DEFAULT_CONFIG_GRPC_ENABLED = false;
     public static final boolean DEFAULT_CONFIG_JSON_RPC_ENABLED = false;
     public static final boolean DEFAULT_CONFIG_REST_ENABLED = false;
+    public static final boolean DEFAULT_CONFIG_ROUTER_ENABLED = false;
+
+    public static final int DEFAULT_DISPATCH_THREAD_CAP = Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE;
+    public static final int DEFAULT_DISPATCH_QUEUED_TASK_CAP = Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE;
 
     private boolean enabled = DEFAULT_A2A_SERVER_ENABLED;
     private String host = DEFAULT_A2A_SERVER_HOST;
     private @Nullable A2AServerSSLProperties ssl;
+    private DataSize maxInMemorySize = DataSize.ofBytes(RequestBodyReader.DEFAULT_MAX_IN_MEMORY_SIZE);
     private A2AServerTransportProperties grpc = new A2AServerTransportProperties(DEFAULT_CONFIG_GRPC_ENABLED);
     private A2AServerTransportProperties jsonrpc = new A2AServerTransportProperties(DEFAULT_CONFIG_JSON_RPC_ENABLED);
     private A2AServerTransportProperties rest = new A2AServerTransportProperties(DEFAULT_CONFIG_REST_ENABLED);
+    private A2AServerDispatchProperties dispatch = new A2AServerDispatchProperties();
+    private A2AServerBatchProperties batch = new A2AServerBatchProperties();
+    private A2AServerStreamingProperties streaming = new A2AServerStreamingProperties();
+    private A2AServerCompressionProperties compression = new A2AServerCompressionProperties();
+    private A2AServerRouterProperties router = new A2AServerRouterProperties();
+    private A2AServerUploadProperties upload = new A2AServerUploadProperties();
+    private A2AServerTenantExecutorProperties tenantExecutors = new A2AServerTenantExecutorProperties();
+    private A2AServerQuotaProperties quotas = new A2AServerQuotaProperties();
 
     public boolean isEnabled() {
         return enabled;
@@ -73,6 +143,17 @@ public class A2AServerProperties {
         this.ssl = ssl;
     }
 
+    /**
+     * Max size of a request body buffered in memory, larger requests are rejected with 413.
+     */
+    public DataSize getMaxInMemorySize() {
+        return maxInMemorySize;
+    }
+
+    public void setMaxInMemorySize(DataSize maxInMemorySize) {
+        this.maxInMemorySize = maxInMemorySize;
+    }
+
     public A2AServerTransportProperties getGrpc() {
         return grpc;
     }
@@ -97,6 +178,70 @@ public class A2AServerProperties {
         this.rest = rest;
     }
 
+    public A2AServerDispatchProperties getDispatch() {
+        return dispatch;
+    }
+
+    public void setDispatch(A2AServerDispatchProperties dispatch) {
+        this.dispatch = dispatch;
+    }
+
+    public A2AServerBatchProperties getBatch() {
+        return batch;
+    }
+
+    public void setBatch(A2AServerBatchProperties batch) {
+        this.batch = batch;
+    }
+
+    public A2AServerStreamingProperties getStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(A2AServerStreamingProperties streaming) {
+        this.streaming = streaming;
+    }
+
+    public A2AServerCompressionProperties getCompression() {
+        return compression;
+    }
+
+    public void setCompression(A2AServerCompressionProperties compression) {
+        this.compression = compression;
+    }
+
+    public A2AServerRouterProperties getRouter() {
+        return router;
+    }
+
+    public void setRouter(A2AServerRouterProperties router) {
+        this.router = router;
+    }
+
+    public A2AServerUploadProperties getUpload() {
+        return upload;
+    }
+
+    public void setUpload(A2AServerUploadProperties upload) {
+        this.upload = upload;
+    }
+
+    public A2AServerTenantExecutorProperties getTenantExecutors() {
+        return tenantExecutors;
+    }
+
+    public void setTenantExecutors(A2AServerTenantExecutorProperties tenantExecutors) {
+        this.tenantExecutors = tenantExecutors;
+    }
+
+    public A2AServerQuotaProperties getQuotas() {
+        return quotas;
+    }
+
+    public void setQuotas(A2AServerQuotaProperties quotas) {
+        this.quotas = quotas;
+    }
+
     public record A2AServerTransportProperties(boolean enabled) {
         public A2AServerTransportProperties() {
             this(false);
@@ -108,4 +253,231 @@ public class A2AServerProperties {
             this(false);
         }
     }
+
+    /**
+     * Scheduler used to run non-streaming A2A requests off the web server event loop.
+     *
+     * @param virtualThreads run each request on its own virtual thread instead of a bounded pool
+     * @param threadCap      max number of dispatch threads (ignored for virtual threads)
+     * @param queuedTaskCap  max number of requests waiting for a dispatch thread (ignored for virtual threads)
+     */
+    public record A2AServerDispatchProperties(boolean virtualThreads, int threadCap, int queuedTaskCap) {
+        @ConstructorBinding
+        public A2AServerDispatchProperties {
+            threadCap = threadCap > 0 ? threadCap : DEFAULT_DISPATCH_THREAD_CAP;
+            queuedTaskCap = queuedTaskCap > 0 ? queuedTaskCap : DEFAULT_DISPATCH_QUEUED_TASK_CAP;
+        }
+
+        public A2AServerDispatchProperties() {
+            this(false, DEFAULT_DISPATCH_THREAD_CAP, DEFAULT_DISPATCH_QUEUED_TASK_CAP);
+        }
+    }
+
+    /**
+     * Limits for JSON-RPC 2.0 batch requests.
+     *
+     * @param maxSize        max number of requests in one batch
+     * @param maxConcurrency max number of requests of one batch dispatched at the same time
+     */
+    public record A2AServerBatchProperties(int maxSize, int maxConcurrency) {
+        @ConstructorBinding
+        public A2AServerBatchProperties {
+            maxSize = maxSize > 0 ? maxSize : JSONRPCBatchOptions.DEFAULT_MAX_SIZE;
+            maxConcurrency = maxConcurrency > 0 ? maxConcurrency : JSONRPCBatchOptions.DEFAULT_MAX_CONCURRENCY;
+        }
+
+        public A2AServerBatchProperties() {
+            this(JSONRPCBatchOptions.DEFAULT_MAX_SIZE, JSONRPCBatchOptions.DEFAULT_MAX_CONCURRENCY);
+        }
+    }
+
+    /**
+     * Flow control of streaming (server-sent events) responses.
+     *
+     * @param prefetch          number of agent events requested ahead of the client
+     * @param batchWindow       time window in which events are coalesced into a single write, 0 disables batching
+     * @param maxBatchSize      max number of events coalesced into a single write
+     * @param disconnectPolicy  whether the task of a stream is cancelled too when its client disconnects
+     * @param heartbeatInterval interval of the comment events keeping silent streams alive, 0 disables heartbeats
+     * @param idleTimeout       time without agent events after which a stream is closed, 0 keeps idle streams open
+     * @param maxDuration       time after which a stream is closed, 0 for no limit
+     */
+    public record A2AServerStreamingProperties(
+            int prefetch,
+            @Nullable Duration batchWindow,
+            int maxBatchSize,
+            StreamingOptions.@Nullable DisconnectPolicy disconnectPolicy,
+            @Nullable Duration heartbeatInterval,
+            @Nullable Duration idleTimeout,
+            @Nullable Duration maxDuration
+    ) {
+        @ConstructorBinding
+        public A2AServerStreamingProperties {
+            prefetch = prefetch > 0 ? prefetch : StreamingOptions.DEFAULT_PREFETCH;
+            batchWindow = batchWindow != null ? batchWindow : StreamingOptions.DEFAULT_BATCH_WINDOW;
+            maxBatchSize = maxBatchSize > 0 ? maxBatchSize : StreamingOptions.DEFAULT_MAX_BATCH_SIZE;
+            disconnectPolicy = disconnectPolicy != null ? disconnectPolicy : StreamingOptions.DEFAULT_DISCONNECT_POLICY;
+            heartbeatInterval = heartbeatInterval != null
+                    ? heartbeatInterval
+                    : StreamingOptions.DEFAULT_HEARTBEAT_INTERVAL;
+            idleTimeout = idleTimeout != null ? idleTimeout : StreamingOptions.DEFAULT_IDLE_TIMEOUT;
+            maxDuration = maxDuration != null ? maxDuration : StreamingOptions.DEFAULT_MAX_DURATION;
+        }
+
+        public A2AServerStreamingProperties(
+                int prefetch,
+                @Nullable Duration batchWindow,
+                int maxBatchSize,
+                StreamingOptions.@Nullable DisconnectPolicy disconnectPolicy
+        ) {
+            this(prefetch, batchWindow, maxBatchSize, disconnectPolicy, null, null, null);
+        }
+
+        public A2AServerStreamingProperties() {
+            this(
+                    StreamingOptions.DEFAULT_PREFETCH,
+                    StreamingOptions.DEFAULT_BATCH_WINDOW,
+                    StreamingOptions.DEFAULT_MAX_BATCH_SIZE,
+                    StreamingOptions.DEFAULT_DISCONNECT_POLICY
+            );
+        }
+    }
+
+    /**
+     * Compression of A2A responses, independent of the global {@code server.compression} settings.
+     *
+     * @param enabled         whether responses are compressed when the client accepts gzip (or zstd with zstd-jni)
+     * @param minResponseSize minimum size of a response body to be compressed, streams are always compressed
+     * @param paths           path patterns of the compressed endpoints
+     */
+    public record A2AServerCompressionProperties(
+            boolean enabled,
+            @Nullable DataSize minResponseSize,
+            @Nullable List<String> paths
+    ) {
+        @ConstructorBinding
+        public A2AServerCompressionProperties {
+            minResponseSize = minResponseSize != null ? minResponseSize : CompressionOptions.DEFAULT_MIN_RESPONSE_SIZE;
+            paths = paths != null && !paths.isEmpty() ? paths : CompressionOptions.DEFAULT_PATHS;
+        }
+
+        public A2AServerCompressionProperties() {
+            this(
+                    CompressionOptions.DEFAULT_ENABLED,
+                    CompressionOptions.DEFAULT_MIN_RESPONSE_SIZE,
+                    CompressionOptions.DEFAULT_PATHS
+            );
+        }
+    }
+
+    /**
+     * Functional endpoints of the A2A transports.
+     *
+     * @param enabled whether the endpoints are served by {@code RouterFunction}s instead of the annotated controllers
+     */
+    public record A2AServerRouterProperties(boolean enabled) {
+        public A2AServerRouterProperties() {
+            this(DEFAULT_CONFIG_ROUTER_ENABLED);
+        }
+    }
+
+    /**
+     * Files of {@code multipart/form-data} messages.
+     *
+     * @param directory   directory the uploaded files are streamed to
+     * @param maxFileSize max size of a single uploaded file
+     * @param maxParts    max number of parts of a multipart message, the message part and the files included
+     */
+    public record A2AServerUploadProperties(@Nullable Path directory, @Nullable DataSize maxFileSize, int maxParts) {
+        @ConstructorBinding
+        public A2AServerUploadProperties {
+            directory = directory != null ? directory : TempFileStore.DEFAULT_DIRECTORY;
+            maxFileSize = maxFileSize != null ? maxFileSize : DataSize.ofBytes(TempFileStore.DEFAULT_MAX_FILE_SIZE);
+            maxParts = maxParts > 0 ? maxParts : MultipartMessageReader.DEFAULT_MAX_PARTS;
+        }
+
+        public A2AServerUploadProperties(@Nullable Path directory, @Nullable DataSize maxFileSize) {
+            this(directory, maxFileSize, MultipartMessageReader.DEFAULT_MAX_PARTS);
+        }
+
+        public A2AServerUploadProperties() {
+            this(TempFileStore.DEFAULT_DIRECTORY, DataSize.ofBytes(TempFileStore.DEFAULT_MAX_FILE_SIZE));
+        }
+    }
+
+    /**
+     * Per-tenant bulkheads of the agent executions, the shared {@code a2aInternal} executor being their overflow.
+     * <p>
+     * Note: The tenant is the one of the {@code CallContextFactory}. The default one puts every request in the
+     * default (empty) tenant, whose agents run on the shared executor, so enabling the bulkheads has no effect
+     * until the Application provides a {@code CallContextFactory} resolving the tenant of each request.
+     *
+     * @param enabled        whether the agent of each tenant runs in its own bulkhead
+     * @param maxConcurrency max number of agent executions of a tenant running at the same time
+     * @param queueDepth     max number of agent executions of a tenant waiting for a thread
+     * @param maxOverflow    max number of agent executions of a saturated tenant on the shared executor,
+     *                       the next ones being rejected with {@code 503 Service Unavailable}
+     * @param maxTenants     max number of tenants with a bulkhead, the idle ones being evicted for the new
+     *                       tenants, which run on the shared executor while none is idle
+     */
+    public record A2AServerTenantExecutorProperties(
+            boolean enabled,
+            int maxConcurrency,
+            int queueDepth,
+            int maxOverflow,
+            int maxTenants
+    ) {
+        @ConstructorBinding
+        public A2AServerTenantExecutorProperties {
+            maxConcurrency = maxConcurrency > 0 ? maxConcurrency : TenantExecutorRegistry.DEFAULT_MAX_CONCURRENCY;
+            queueDepth = queueDepth > 0 ? queueDepth : TenantExecutorRegistry.DEFAULT_QUEUE_DEPTH;
+            maxOverflow = maxOverflow > 0 ? maxOverflow : TenantExecutorRegistry.DEFAULT_MAX_OVERFLOW;
+            maxTenants = maxTenants > 0 ? maxTenants : TenantExecutorRegistry.DEFAULT_MAX_TENANTS;
+        }
+
+        public A2AServerTenantExecutorProperties(boolean enabled, int maxConcurrency, int queueDepth, int maxOverflow) {
+            this(enabled, maxConcurrency, queueDepth, maxOverflow, TenantExecutorRegistry.DEFAULT_MAX_TENANTS);
+        }
+
+        public A2AServerTenantExecutorProperties(boolean enabled, int maxConcurrency, int queueDepth) {
+            this(enabled, maxConcurrency, queueDepth, TenantExecutorRegistry.DEFAULT_MAX_OVERFLOW);
+        }
+
+        public A2AServerTenantExecutorProperties() {
+            this(false, TenantExecutorRegistry.DEFAULT_MAX_CONCURRENCY, TenantExecutorRegistry.DEFAULT_QUEUE_DEPTH);
+        }
+    }
+
+    /**
+     * Per-tenant quotas of the A2A requests, each A2A method of a tenant having its own quota.
+     *
+     * @param enabled           whether the requests over quota are answered with {@code 429 Too Many Requests}
+     * @param requestsPerSecond default sustained rate of requests of a tenant on a method, 0 for unlimited
+     * @param burst             default number of requests sent at once after an idle period, 0 for the rate
+     * @param maxStreams        default max number of open streams of a tenant on a method, 0 for unlimited
+     * @param tenants           limits of specific tenants, by tenant uid
+     */
+    public record A2AServerQuotaProperties(
+            boolean enabled,
+            double requestsPerSecond,
+            int burst,
+            int maxStreams,
+            @Nullable Map<String, QuotaLimits> tenants
+    ) {
+        @ConstructorBinding
+        public A2AServerQuotaProperties {
+            tenants = tenants != null ? tenants : Map.of();
+        }
+
+        public A2AServerQuotaProperties() {
+            this(false, 0, 0, 0, Map.of());
+        }
+
+        /**
+         * The limits of the tenants that are not configured.
+         */
+        public QuotaLimits defaults() {
+            return new QuotaLimits(requestsPerSecond, burst, maxStreams);
+        }
+    }
 }
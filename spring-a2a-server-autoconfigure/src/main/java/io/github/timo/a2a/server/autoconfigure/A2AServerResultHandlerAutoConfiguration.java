@@ -0,0 +1,35 @@
+package io.github.timo.a2a.server.autoconfigure;
+
+import io.github.timo.a2a.server.router.DirectResponseResultHandler;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.reactive.HandlerResultHandler;
+
+/**
+ * Spring Boot auto-configuration for the responses of the annotated A2A controllers.
+ * <p>
+ * Registers the {@link DirectResponseResultHandler}, which writes the buffers, strings and server-sent
+ * events the controllers return straight to the response, the same way the functional endpoints do.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+@AutoConfigureAfter(A2AServerAutoConfiguration.class)
+@ConditionalOnClass(HandlerResultHandler.class)
+@ConditionalOnProperty(
+        prefix = A2AServerProperties.CONFIG_PREFIX,
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = A2AServerProperties.DEFAULT_A2A_SERVER_ENABLED
+)
+public class A2AServerResultHandlerAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    DirectResponseResultHandler a2aDirectResponseResultHandler() {
+        return new DirectResponseResultHandler();
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.timo.a2a.server.autoconfigure;
+
+import io.github.timo.a2a.server.card.AgentCardController;
+import io.github.timo.a2a.server.rest.controller.TaskBatchController;
+import io.github.timo.a2a.server.rest.controller.TaskController;
+import io.github.timo.a2a.server.router.A2ARouterFunctions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Spring Boot auto-configuration for the functional A2A endpoints.
+ * <p>
+ * Registers a {@link RouterFunction} routing the A2A endpoints to the A2A controllers, skipping the
+ * annotation handler mapping. Routes are only registered for the controllers of the enabled transports.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+@AutoConfigureAfter({
+        A2AServerAutoConfiguration.class,
+        A2AJsonRpcServerAutoConfiguration.class,
+        A2ARestServerAutoConfiguration.class
+})
+@ConditionalOnClass(RouterFunction.class)
+@ConditionalOnProperty(
+        prefix = A2AServerProperties.CONFIG_PREFIX,
+        name = {"enabled", A2AServerProperties.CONFIG_ROUTER_INFIX + ".enabled"},
+        havingValue = "true",
+        matchIfMissing = A2AServerProperties.DEFAULT_A2A_SERVER_ENABLED
+                && A2AServerProperties.DEFAULT_CONFIG_ROUTER_ENABLED
+)
+@EnableConfigurationProperties(A2AServerProperties.class)
+public class A2AServerRouterAutoConfiguration {
+    private static final Logger LOGGER = LoggerFactory.getLogger(A2AServerRouterAutoConfiguration.class);
+
+    /**
+     * Routes of the agent card and tasks endpoints, and of the messages endpoints of the enabled transports.
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "a2aRouterFunction")
+    RouterFunction<ServerResponse> a2aRouterFunction(
+            AgentCardController agentCardController,
+            TaskController taskController,
+            TaskBatchController taskBatchController,
+            ObjectProvider<io.github.timo.a2a.server.rest.controller.MessageController> restMessageController,
+            ObjectProvider<io.github.timo.a2a.server.jsonrpc.controller.MessageController> jsonRpcMessageController
+    ) {
+        LOGGER.info("Creating functional endpoints for A2A server");
+
+        var routes = A2ARouterFunctions.agentCard(agentCardController)
+                .and(A2ARouterFunctions.tasks(taskController))
+                .and(A2ARouterFunctions.taskBatches(taskBatchController));
+
+        var restMessages = restMessageController.getIfUnique();
+        if (restMessages != null) {
+            routes = routes.and(A2ARouterFunctions.restMessages(restMessages));
+        }
+
+        var jsonRpcMessages = jsonRpcMessageController.getIfUnique();
+        if (jsonRpcMessages != null) {
+            routes = routes.and(A2ARouterFunctions.jsonRpc(jsonRpcMessages));
+        }
+
+        return routes;
+    }
+}
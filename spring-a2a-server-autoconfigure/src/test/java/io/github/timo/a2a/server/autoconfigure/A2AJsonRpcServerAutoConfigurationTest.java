@@ -3,6 +3,12 @@ package io.github.timo.a2a.server.autoconfigure;
 import io.github.timo.a2a.server.context.CallContextFactory;
 import io.github.timo.a2a.server.context.DefaultCallContextFactory;
 import io.github.timo.a2a.server.jsonrpc.controller.MessageController;
+import io.github.timo.a2a.server.tasks.TaskBatchCanceller;
+import io.github.timo.a2a.server.tasks.TaskBatchReader;
+import io.github.timo.a2a.server.web.OpenStreams;
+import io.github.timo.a2a.server.web.RequestBodyReader;
+import io.github.timo.a2a.server.web.StreamingOptions;
+import io.github.timo.a2a.server.web.TaskCanceller;
 import io.a2a.server.requesthandlers.RequestHandler;
 import io.a2a.spec.AgentCard;
 import io.a2a.transport.jsonrpc.handler.JSONRPCHandler;
@@ -10,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.scheduler.Scheduler;
 
 import java.util.concurrent.Executor;
 
@@ -30,6 +37,9 @@ class A2AJsonRpcServerAutoConfigurationTest {
     @Mock
     private JSONRPCHandler jsonRpcHandler;
 
+    @Mock
+    private Scheduler dispatchScheduler;
+
     private A2AJsonRpcServerAutoConfiguration configuration;
 
     @Test
@@ -59,7 +69,15 @@ class A2AJsonRpcServerAutoConfigurationTest {
         MessageController controller = configuration.messageJsonRpcController(
                 jsonRpcHandler,
                 callContextFactory,
-                executor
+                executor,
+                dispatchScheduler,
+                new RequestBodyReader(),
+                StreamingOptions.DEFAULT,
+                TaskCanceller.NONE,
+                new OpenStreams(),
+                new TaskBatchReader(requestHandler),
+                new TaskBatchCanceller(requestHandler, dispatchScheduler),
+                new A2AServerProperties()
         );
 
         assertNotNull(controller);
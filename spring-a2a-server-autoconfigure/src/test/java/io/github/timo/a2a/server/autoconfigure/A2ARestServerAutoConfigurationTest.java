@@ -2,12 +2,21 @@ package io.github.timo.a2a.server.autoconfigure;
 
 import io.github.timo.a2a.server.context.CallContextFactory;
 import io.github.timo.a2a.server.context.DefaultCallContextFactory;
+import io.github.timo.a2a.server.files.FileStore;
+import io.github.timo.a2a.server.files.TempFileStore;
 import io.github.timo.a2a.server.rest.controller.MessageController;
 import io.github.timo.a2a.server.rest.handler.AgentRestHandler;
+import io.github.timo.a2a.server.web.MultipartMessageReader;
+import io.github.timo.a2a.server.web.OpenStreams;
+import io.github.timo.a2a.server.web.RequestBodyReader;
+import io.github.timo.a2a.server.web.StreamingOptions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,7 +41,11 @@ class A2ARestServerAutoConfigurationTest {
 
         MessageController controller = configuration.messageRestController(
                 agentRestHandler,
-                callContextFactory
+                callContextFactory,
+                new RequestBodyReader(),
+                StreamingOptions.DEFAULT,
+                new OpenStreams(),
+                new MultipartMessageReader(new TempFileStore())
         );
 
         assertNotNull(controller);
@@ -45,9 +58,41 @@ class A2ARestServerAutoConfigurationTest {
 
         MessageController controller = configuration.messageRestController(
                 agentRestHandler,
-                callContextFactory
+                callContextFactory,
+                new RequestBodyReader(),
+                StreamingOptions.DEFAULT,
+                new OpenStreams(),
+                new MultipartMessageReader(new TempFileStore())
         );
 
         assertNotNull(controller);
     }
+
+    @Test
+    void testFileStoreUsesUploadProperties() {
+        configuration = new A2ARestServerAutoConfiguration();
+        var properties = new A2AServerProperties();
+        properties.setUpload(new A2AServerProperties.A2AServerUploadProperties(
+                Path.of("uploads"), DataSize.ofMegabytes(5)
+        ));
+
+        FileStore fileStore = configuration.fileStore(properties);
+
+        var tempFileStore = assertInstanceOf(TempFileStore.class, fileStore);
+        assertEquals(Path.of("uploads"), tempFileStore.getDirectory());
+        assertEquals(DataSize.ofMegabytes(5).toBytes(), tempFileStore.getMaxFileSize());
+    }
+
+    @Test
+    void testMultipartMessageReaderUsesUploadProperties() {
+        configuration = new A2ARestServerAutoConfiguration();
+        var properties = new A2AServerProperties();
+        properties.setUpload(new A2AServerProperties.A2AServerUploadProperties(
+                Path.of("uploads"), DataSize.ofMegabytes(5), 4
+        ));
+
+        var reader = configuration.multipartMessageReader(new TempFileStore(), properties);
+
+        assertEquals(4, reader.getMaxParts());
+    }
 }
@@ -3,22 +3,46 @@ package io.github.timo.a2a.server.autoconfigure;
 import io.github.timo.a2a.server.context.CallContextFactory;
 import io.github.timo.a2a.server.context.DefaultCallContextFactory;
 import io.github.timo.a2a.server.executor.AgentExecutorHandler;
+import io.github.timo.a2a.server.executor.TenantExecutorRegistry;
+import io.github.timo.a2a.server.executor.TenantRequestHandler;
+import io.github.timo.a2a.server.quota.QuotaLimitSource;
+import io.github.timo.a2a.server.quota.QuotaLimits;
 import io.github.timo.a2a.server.rest.handler.AgentRestHandler;
+import io.github.timo.a2a.server.rest.handler.AgentRestHandlerOptions;
+import io.github.timo.a2a.server.tasks.ObservableTaskStore;
+import io.github.timo.a2a.server.tasks.TaskBatchCanceller;
+import io.github.timo.a2a.server.tasks.TaskBatchReader;
+import io.github.timo.a2a.server.web.MessageIdGenerator;
+import io.github.timo.a2a.server.web.OpenStreams;
+import io.github.timo.a2a.server.web.RequestBodyReader;
+import io.github.timo.a2a.server.web.StreamingOptions;
+import io.github.timo.a2a.server.web.TaskCanceller;
 import io.a2a.server.agentexecution.AgentExecutor;
 import io.a2a.server.config.A2AConfigProvider;
 import io.a2a.server.config.DefaultValuesConfigProvider;
+import io.a2a.server.events.InMemoryQueueManager;
 import io.a2a.server.events.QueueManager;
 import io.a2a.server.requesthandlers.RequestHandler;
 import io.a2a.server.tasks.PushNotificationConfigStore;
 import io.a2a.server.tasks.PushNotificationSender;
 import io.a2a.server.tasks.TaskStore;
+import io.a2a.spec.A2AMethods;
 import io.a2a.spec.AgentCard;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.core.env.Environment;
-
+import org.springframework.util.unit.DataSize;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -101,12 +125,99 @@ class A2AServerAutoConfigurationTest {
     void testCallContextFactory() {
         configuration = new A2AServerAutoConfiguration();
 
-        CallContextFactory factory = configuration.callContextFactory();
+        CallContextFactory factory = configuration.callContextFactory(configuration.protocolNegotiator(agentCard));
 
         assertNotNull(factory);
         assertInstanceOf(DefaultCallContextFactory.class, factory);
     }
 
+    @Test
+    void testProtocolNegotiator() {
+        configuration = new A2AServerAutoConfiguration();
+
+        var protocolNegotiator = configuration.protocolNegotiator(agentCard);
+
+        assertSame(agentCard, protocolNegotiator.getAgentCard());
+    }
+
+    @Test
+    void testQuotaLimitSource() {
+        configuration = new A2AServerAutoConfiguration();
+        A2AServerProperties properties = new A2AServerProperties();
+        properties.setQuotas(new A2AServerProperties.A2AServerQuotaProperties(
+                true, 10, 20, 2, Map.of("tenant-a", new QuotaLimits(1, 1, 1))
+        ));
+
+        QuotaLimitSource limitSource = configuration.quotaLimitSource(properties);
+
+        assertEquals(new QuotaLimits(1, 1, 1), limitSource.limits("tenant-a", A2AMethods.SEND_MESSAGE_METHOD));
+        assertEquals(new QuotaLimits(10, 20, 2), limitSource.limits("tenant-b", A2AMethods.SEND_MESSAGE_METHOD));
+    }
+
+    @Test
+    void testTenantQuotaWebFilter() {
+        configuration = new A2AServerAutoConfiguration();
+        var tenantQuotas = configuration.tenantQuotas(QuotaLimitSource.UNLIMITED);
+
+        var filter = configuration.a2aTenantQuotaWebFilter(tenantQuotas, new DefaultCallContextFactory());
+
+        assertNotNull(filter);
+    }
+
+    @Test
+    void testRequestBodyReader() {
+        configuration = new A2AServerAutoConfiguration();
+        A2AServerProperties properties = new A2AServerProperties();
+        properties.setMaxInMemorySize(DataSize.ofMegabytes(2));
+
+        RequestBodyReader reader = configuration.requestBodyReader(properties);
+
+        assertEquals(2 * 1024 * 1024, reader.getMaxInMemorySize());
+    }
+
+    @Test
+    void testStreamingOptions() {
+        configuration = new A2AServerAutoConfiguration();
+        A2AServerProperties properties = new A2AServerProperties();
+        properties.setStreaming(new A2AServerProperties.A2AServerStreamingProperties(
+                64, Duration.ofMillis(20), 100, StreamingOptions.DisconnectPolicy.CANCEL_TASK
+        ));
+
+        StreamingOptions options = configuration.streamingOptions(properties);
+
+        assertEquals(64, options.prefetch());
+        assertEquals(Duration.ofMillis(20), options.batchWindow());
+        assertEquals(100, options.maxBatchSize());
+        assertTrue(options.isBatching());
+        assertEquals(StreamingOptions.DisconnectPolicy.CANCEL_TASK, options.disconnectPolicy());
+        assertFalse(options.isHeartbeating());
+    }
+
+    @Test
+    void testStreamingOptionsWithHeartbeatAndTimeouts() {
+        configuration = new A2AServerAutoConfiguration();
+        A2AServerProperties properties = new A2AServerProperties();
+        properties.setStreaming(new A2AServerProperties.A2AServerStreamingProperties(
+                64, null, 0, null, Duration.ofSeconds(15), Duration.ofMinutes(5), Duration.ofHours(1)
+        ));
+
+        StreamingOptions options = configuration.streamingOptions(properties);
+
+        assertTrue(options.isHeartbeating());
+        assertEquals(Duration.ofSeconds(15), options.heartbeatInterval());
+        assertEquals(Duration.ofMinutes(5), options.idleTimeout());
+        assertEquals(Duration.ofHours(1), options.maxDuration());
+    }
+
+    @Test
+    void testTaskCanceller() {
+        configuration = new A2AServerAutoConfiguration();
+
+        TaskCanceller taskCanceller = configuration.taskCanceller(requestHandler);
+
+        assertNotNull(taskCanceller);
+    }
+
     @Test
     void testAgentCardController() {
         configuration = new A2AServerAutoConfiguration();
@@ -121,11 +232,30 @@ class A2AServerAutoConfigurationTest {
         configuration = new A2AServerAutoConfiguration();
         CallContextFactory callContextFactory = new DefaultCallContextFactory("");
 
-        var controller = configuration.taskController(agentRestHandler, callContextFactory);
+        var controller = configuration.taskController(
+                agentRestHandler, callContextFactory, StreamingOptions.DEFAULT, new OpenStreams(), taskStore,
+                configuration.artifactPartReader(requestHandler, new A2AServerProperties()), Schedulers.immediate()
+        );
 
         assertNotNull(controller);
     }
 
+    @Test
+    void testTaskBatchController() {
+        configuration = new A2AServerAutoConfiguration();
+        CallContextFactory callContextFactory = new DefaultCallContextFactory("");
+
+        var taskBatchReader = configuration.taskBatchReader(requestHandler);
+        var taskBatchCanceller = configuration.taskBatchCanceller(requestHandler, Schedulers.immediate());
+        var controller = configuration.taskBatchController(
+                taskBatchReader, taskBatchCanceller, callContextFactory, new RequestBodyReader(), Schedulers.immediate()
+        );
+
+        assertEquals(TaskBatchReader.DEFAULT_MAX_TASK_IDS, taskBatchReader.getMaxTaskIds());
+        assertEquals(TaskBatchCanceller.DEFAULT_MAX_TASK_IDS, taskBatchCanceller.getMaxTaskIds());
+        assertNotNull(controller);
+    }
+
     @Test
     void testTaskStore() {
         configuration = new A2AServerAutoConfiguration();
@@ -133,6 +263,7 @@ class A2AServerAutoConfigurationTest {
         TaskStore store = configuration.taskStore();
 
         assertNotNull(store);
+        assertInstanceOf(ObservableTaskStore.class, store);
     }
 
     @Test
@@ -146,6 +277,35 @@ class A2AServerAutoConfigurationTest {
         assertNotNull(manager);
     }
 
+    @Test
+    void testQueueManagerRejectsTaskStoreWithoutTaskStates() {
+        configuration = new A2AServerAutoConfiguration();
+
+        var error = assertThrows(
+                IllegalStateException.class,
+                () -> configuration.queueManager(new ObservableTaskStore(mock(TaskStore.class)))
+        );
+
+        assertTrue(error.getMessage().contains("TaskStateProvider"));
+    }
+
+    @Test
+    void testDefaultBeanGraphStarts() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(
+                        SpringA2AServerAutoConfiguration.class,
+                        A2AServerAutoConfiguration.class
+                ))
+                .withBean(AgentCard.class, () -> agentCard)
+                .withBean(AgentExecutorHandler.class, () -> mock(AgentExecutorHandler.class))
+                .run(context -> {
+                    assertNull(context.getStartupFailure());
+                    assertInstanceOf(ObservableTaskStore.class, context.getBean(TaskStore.class));
+                    assertInstanceOf(InMemoryQueueManager.class, context.getBean(QueueManager.class));
+                    assertNotNull(context.getBean(RequestHandler.class));
+                });
+    }
+
     @Test
     void testPushNotificationConfigStore() {
         configuration = new A2AServerAutoConfiguration();
@@ -198,6 +358,42 @@ class A2AServerAutoConfigurationTest {
         assertNotNull(executor);
     }
 
+    @Test
+    void testA2ADispatchSchedulerWithDefaults() {
+        configuration = new A2AServerAutoConfiguration();
+
+        Scheduler scheduler = configuration.a2aDispatchScheduler(new A2AServerProperties());
+
+        assertNotNull(scheduler);
+        scheduler.dispose();
+    }
+
+    @Test
+    void testA2ATaskBatchCancelScheduler() {
+        configuration = new A2AServerAutoConfiguration();
+
+        Scheduler scheduler = configuration.a2aTaskBatchCancelScheduler();
+
+        assertNotNull(scheduler);
+        assertTrue(Mono.fromCallable(() -> Thread.currentThread().getName())
+                .subscribeOn(scheduler)
+                .block()
+                .startsWith("a2a-task-batch-cancel"));
+        scheduler.dispose();
+    }
+
+    @Test
+    void testA2ADispatchSchedulerWithVirtualThreads() {
+        configuration = new A2AServerAutoConfiguration();
+        A2AServerProperties properties = new A2AServerProperties();
+        properties.setDispatch(new A2AServerProperties.A2AServerDispatchProperties(true, 0, 0));
+
+        Scheduler scheduler = configuration.a2aDispatchScheduler(properties);
+
+        assertNotNull(scheduler);
+        scheduler.dispose();
+    }
+
     @Test
     void testAgentExecutor() {
         configuration = new A2AServerAutoConfiguration();
@@ -224,10 +420,40 @@ class A2AServerAutoConfigurationTest {
                 queueManager,
                 pushConfigStore,
                 pushSender,
-                executor
+                executor,
+                Optional.empty()
         );
 
         assertNotNull(handler);
+        assertFalse(handler instanceof TenantRequestHandler);
+    }
+
+    @Test
+    void testRequestHandlerWithTenantExecutors() {
+        configuration = new A2AServerAutoConfiguration();
+        A2AConfigProvider configProvider = mock(A2AConfigProvider.class);
+        AgentExecutor agentExecutor = mock(AgentExecutor.class);
+
+        when(configProvider.getValue("a2a.blocking.agent.timeout.seconds")).thenReturn("60");
+        when(configProvider.getValue("a2a.blocking.consumption.timeout.seconds")).thenReturn("30");
+
+        var tenantExecutorRegistry = configuration.tenantExecutorRegistry(
+                new A2AServerProperties(), executor, new DefaultCallContextFactory("tenant-a")
+        );
+        RequestHandler handler = configuration.requestHandler(
+                configProvider,
+                agentExecutor,
+                taskStore,
+                queueManager,
+                pushConfigStore,
+                pushSender,
+                executor,
+                Optional.of(tenantExecutorRegistry)
+        );
+
+        assertInstanceOf(TenantRequestHandler.class, handler);
+        assertSame(executor, tenantExecutorRegistry.getOverflowExecutor());
+        assertEquals(TenantExecutorRegistry.DEFAULT_MAX_OVERFLOW, tenantExecutorRegistry.getMaxOverflow());
     }
 
     @Test
@@ -237,9 +463,19 @@ class A2AServerAutoConfigurationTest {
         AgentRestHandler handler = configuration.agentRestHandler(
                 agentCard,
                 requestHandler,
-                executor
+                executor,
+                StreamingOptions.DEFAULT,
+                configuration.messageIdGenerator()
         );
 
         assertNotNull(handler);
     }
+
+    @Test
+    void testMessageIdGeneratorDefaultsToRandomUuids() {
+        configuration = new A2AServerAutoConfiguration();
+
+        assertSame(MessageIdGenerator.RANDOM, configuration.messageIdGenerator());
+        assertSame(MessageIdGenerator.RANDOM, AgentRestHandlerOptions.DEFAULT.messageIdGenerator());
+    }
 }
@@ -0,0 +1,70 @@
+package io.github.timo.a2a.server.autoconfigure;
+
+import io.github.timo.a2a.server.executor.TenantExecutorRegistry;
+import io.github.timo.a2a.server.web.OpenStreams;
+import io.github.timo.a2a.server.web.StreamingOptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class A2AServerMetricsAutoConfigurationTest {
+
+    @Test
+    void testOpenStreamsGauge() {
+        var configuration = new A2AServerMetricsAutoConfiguration();
+        var openStreams = new OpenStreams();
+        var registry = new SimpleMeterRegistry();
+
+        configuration.a2aOpenStreamsMeterBinder(openStreams).bindTo(registry);
+        var stream = openStreams.supervise(Flux.never(), StreamingOptions.DEFAULT).subscribe();
+
+        assertEquals(1.0, registry.get(A2AServerMetricsAutoConfiguration.OPEN_STREAMS_METER).gauge().value());
+
+        stream.dispose();
+
+        assertEquals(0.0, registry.get(A2AServerMetricsAutoConfiguration.OPEN_STREAMS_METER).gauge().value());
+    }
+
+    @Test
+    void testTenantExecutorMeters() {
+        var configuration = new A2AServerMetricsAutoConfiguration();
+        var executorRegistry = new TenantExecutorRegistry(Runnable::run, 1, 1);
+        var registry = new SimpleMeterRegistry();
+        var release = new CountDownLatch(1);
+
+        configuration.a2aTenantExecutorMeterBinder(executorRegistry).bindTo(registry);
+        TenantExecutorRegistry.callAs("tenant-a", () -> {
+            executorRegistry.execute(() -> await(release));
+            executorRegistry.execute(() -> await(release));
+            executorRegistry.execute(() -> { });
+            return null;
+        });
+
+        try {
+            assertEquals(1.0, registry.get(A2AServerMetricsAutoConfiguration.TENANT_EXECUTOR_QUEUED_METER)
+                    .tag(A2AServerMetricsAutoConfiguration.TENANT_TAG, "tenant-a").gauge().value());
+            assertEquals(1.0, registry.get(A2AServerMetricsAutoConfiguration.TENANT_EXECUTOR_OVERFLOW_METER)
+                    .tag(A2AServerMetricsAutoConfiguration.TENANT_TAG, "tenant-a").functionCounter().count());
+            assertNotNull(registry.get(A2AServerMetricsAutoConfiguration.TENANT_EXECUTOR_SATURATION_METER)
+                    .tag(A2AServerMetricsAutoConfiguration.TENANT_TAG, "tenant-a").gauge());
+            assertEquals(0.0, registry.get(A2AServerMetricsAutoConfiguration.TENANT_EXECUTOR_REJECTED_METER)
+                    .tag(A2AServerMetricsAutoConfiguration.TENANT_TAG, "tenant-a").functionCounter().count());
+        } finally {
+            release.countDown();
+            executorRegistry.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
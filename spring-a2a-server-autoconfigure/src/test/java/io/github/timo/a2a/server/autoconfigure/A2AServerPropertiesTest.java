@@ -1,5 +1,11 @@
 package io.github.timo.a2a.server.autoconfigure;
 
+import io.github.timo.a2a.server.executor.TenantExecutorRegistry;
+import io.github.timo.a2a.server.jsonrpc.JSONRPCBatchOptions;
+import io.github.timo.a2a.server.quota.QuotaLimits;
+import io.github.timo.a2a.server.web.CompressionOptions;
+import io.github.timo.a2a.server.web.RequestBodyReader;
+import io.github.timo.a2a.server.web.StreamingOptions;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -13,12 +19,33 @@ class A2AServerPropertiesTest {
         assertTrue(properties.isEnabled());
         assertEquals(A2AServerProperties.DEFAULT_A2A_SERVER_HOST, properties.getHost());
         assertNull(properties.getSsl());
+        assertEquals(RequestBodyReader.DEFAULT_MAX_IN_MEMORY_SIZE, properties.getMaxInMemorySize().toBytes());
         assertNotNull(properties.getGrpc());
         assertFalse(properties.getGrpc().enabled());
         assertNotNull(properties.getJsonrpc());
         assertFalse(properties.getJsonrpc().enabled());
         assertNotNull(properties.getRest());
         assertFalse(properties.getRest().enabled());
+        assertNotNull(properties.getDispatch());
+        assertFalse(properties.getDispatch().virtualThreads());
+        assertEquals(A2AServerProperties.DEFAULT_DISPATCH_THREAD_CAP, properties.getDispatch().threadCap());
+        assertEquals(A2AServerProperties.DEFAULT_DISPATCH_QUEUED_TASK_CAP, properties.getDispatch().queuedTaskCap());
+        assertNotNull(properties.getBatch());
+        assertEquals(JSONRPCBatchOptions.DEFAULT_MAX_SIZE, properties.getBatch().maxSize());
+        assertEquals(JSONRPCBatchOptions.DEFAULT_MAX_CONCURRENCY, properties.getBatch().maxConcurrency());
+        assertNotNull(properties.getStreaming());
+        assertEquals(StreamingOptions.DEFAULT_PREFETCH, properties.getStreaming().prefetch());
+        assertEquals(StreamingOptions.DEFAULT_BATCH_WINDOW, properties.getStreaming().batchWindow());
+        assertEquals(StreamingOptions.DEFAULT_MAX_BATCH_SIZE, properties.getStreaming().maxBatchSize());
+        assertEquals(StreamingOptions.DEFAULT_DISCONNECT_POLICY, properties.getStreaming().disconnectPolicy());
+        assertEquals(StreamingOptions.DEFAULT_HEARTBEAT_INTERVAL, properties.getStreaming().heartbeatInterval());
+        assertEquals(StreamingOptions.DEFAULT_IDLE_TIMEOUT, properties.getStreaming().idleTimeout());
+        assertEquals(StreamingOptions.DEFAULT_MAX_DURATION, properties.getStreaming().maxDuration());
+
+        assertNotNull(properties.getCompression());
+        assertFalse(properties.getCompression().enabled());
+        assertEquals(CompressionOptions.DEFAULT_MIN_RESPONSE_SIZE, properties.getCompression().minResponseSize());
+        assertEquals(CompressionOptions.DEFAULT_PATHS, properties.getCompression().paths());
     }
 
     @Test
@@ -116,4 +143,36 @@ class A2AServerPropertiesTest {
 
         assertNull(properties.getSsl());
     }
+
+    @Test
+    void testDispatchPropertiesFallBackToDefaults() {
+        A2AServerProperties.A2AServerDispatchProperties dispatchProps =
+                new A2AServerProperties.A2AServerDispatchProperties(true, 0, -1);
+
+        assertTrue(dispatchProps.virtualThreads());
+        assertEquals(A2AServerProperties.DEFAULT_DISPATCH_THREAD_CAP, dispatchProps.threadCap());
+        assertEquals(A2AServerProperties.DEFAULT_DISPATCH_QUEUED_TASK_CAP, dispatchProps.queuedTaskCap());
+    }
+
+    @Test
+    void testTenantExecutorPropertiesFallBackToDefaults() {
+        A2AServerProperties.A2AServerTenantExecutorProperties tenantExecutorProps =
+                new A2AServerProperties.A2AServerTenantExecutorProperties(true, 0, -1, 0, -1);
+
+        assertTrue(tenantExecutorProps.enabled());
+        assertEquals(TenantExecutorRegistry.DEFAULT_MAX_CONCURRENCY, tenantExecutorProps.maxConcurrency());
+        assertEquals(TenantExecutorRegistry.DEFAULT_QUEUE_DEPTH, tenantExecutorProps.queueDepth());
+        assertEquals(TenantExecutorRegistry.DEFAULT_MAX_OVERFLOW, tenantExecutorProps.maxOverflow());
+        assertEquals(TenantExecutorRegistry.DEFAULT_MAX_TENANTS, tenantExecutorProps.maxTenants());
+        assertFalse(new A2AServerProperties().getTenantExecutors().enabled());
+    }
+
+    @Test
+    void testQuotaPropertiesDefaults() {
+        A2AServerProperties.A2AServerQuotaProperties quotaProps = new A2AServerProperties().getQuotas();
+
+        assertFalse(quotaProps.enabled());
+        assertEquals(QuotaLimits.UNLIMITED, quotaProps.defaults());
+        assertTrue(quotaProps.tenants().isEmpty());
+    }
 }
@@ -0,0 +1,20 @@
+package io.github.timo.a2a.server.autoconfigure;
+
+import io.github.timo.a2a.server.router.DirectResponseResultHandler;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class A2AServerResultHandlerAutoConfigurationTest {
+
+    @Test
+    void testResultHandlerOrderedBeforeResponseEntityResultHandler() {
+        var configuration = new A2AServerResultHandlerAutoConfiguration();
+
+        var resultHandler = configuration.a2aDirectResponseResultHandler();
+
+        assertNotNull(resultHandler);
+        assertTrue(resultHandler.getOrder() < 0);
+        assertEquals(DirectResponseResultHandler.ORDER, resultHandler.getOrder());
+    }
+}
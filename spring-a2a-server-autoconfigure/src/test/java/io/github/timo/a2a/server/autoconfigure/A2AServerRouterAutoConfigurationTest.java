@@ -0,0 +1,60 @@
+package io.github.timo.a2a.server.autoconfigure;
+
+import io.github.timo.a2a.server.card.AgentCardController;
+import io.github.timo.a2a.server.rest.controller.MessageController;
+import io.github.timo.a2a.server.rest.controller.TaskBatchController;
+import io.github.timo.a2a.server.rest.controller.TaskController;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class A2AServerRouterAutoConfigurationTest {
+
+    @Mock
+    private AgentCardController agentCardController;
+
+    @Mock
+    private TaskController taskController;
+
+    @Mock
+    private TaskBatchController taskBatchController;
+
+    @Mock
+    private MessageController restMessageController;
+
+    @Mock
+    private ObjectProvider<MessageController> restMessageControllerProvider;
+
+    @Mock
+    private ObjectProvider<io.github.timo.a2a.server.jsonrpc.controller.MessageController> jsonRpcMessageControllerProvider;
+
+    @Test
+    void testRouterFunctionOfEnabledTransports() {
+        var configuration = new A2AServerRouterAutoConfiguration();
+        when(restMessageControllerProvider.getIfUnique()).thenReturn(restMessageController);
+        when(jsonRpcMessageControllerProvider.getIfUnique()).thenReturn(null);
+
+        var routerFunction = configuration.a2aRouterFunction(
+                agentCardController,
+                taskController,
+                taskBatchController,
+                restMessageControllerProvider,
+                jsonRpcMessageControllerProvider
+        );
+
+        assertNotNull(routerFunction);
+        verify(restMessageControllerProvider).getIfUnique();
+        verify(jsonRpcMessageControllerProvider).getIfUnique();
+    }
+
+    @Test
+    void testRouterDisabledByDefault() {
+        assertFalse(new A2AServerProperties().getRouter().enabled());
+    }
+}
@@ -2,6 +2,7 @@ plugins {
     id("java")
 
     id("com.vanniktech.maven.publish")
+    id("me.champeau.jmh")
 }
 
 description = "Server implementation for Spring A2A protocol support"
@@ -10,6 +11,8 @@ dependencies {
     implementation("io.projectreactor:reactor-core")
 
     implementation("org.springframework:spring-web")
+    // Optional functional endpoints, see A2ARouterFunctions
+    compileOnly("org.springframework:spring-webflux")
     implementation("org.springframework.security:spring-security-core")
 
     implementation("io.github.a2asdk:a2a-java-sdk-server-common:${property("a2aSdkVersion")}")
@@ -17,15 +20,57 @@ dependencies {
     implementation("io.github.a2asdk:a2a-java-sdk-transport-jsonrpc:${property("a2aSdkVersion")}")
     implementation("io.github.a2asdk:a2a-java-sdk-transport-rest:${property("a2aSdkVersion")}")
 
+    // Optional zstd content coding, used when the application brings zstd-jni
+    compileOnly("com.github.luben:zstd-jni:${property("zstdJniVersion")}")
+
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testImplementation("org.mockito:mockito-core:5.8.0")
     testImplementation("org.mockito:mockito-junit-jupiter:5.8.0")
+    testImplementation("io.projectreactor.tools:blockhound:1.0.11.RELEASE")
+    testImplementation("org.springframework:spring-test")
+    testImplementation("org.springframework:spring-webflux")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    jmh("io.netty:netty-buffer")
+    jmh("org.springframework:spring-webflux")
+    jmh("org.springframework:spring-test")
+    jmh("org.mockito:mockito-core:5.8.0")
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        // BlockHound instruments the whole JVM once installed, its tests run apart in blockHoundTest
+        excludeTags("blockhound")
+    }
+}
+
+// ./gradlew :spring-a2a-server:blockHoundTest
+val blockHoundTest = tasks.register<Test>("blockHoundTest") {
+    description = "Runs the tests verifying with BlockHound that the event loop is never blocked."
+    group = LifecycleBasePlugin.VERIFICATION_GROUP
+
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("blockhound")
+    }
+
+    // Required by BlockHound on JDK 13+
+    jvmArgs("-XX:+AllowRedefinitionToAddDeleteMethods")
+    shouldRunAfter(tasks.test)
+}
+
+tasks.check {
+    dependsOn(blockHoundTest)
+}
+
+jmh {
+    // ./gradlew :spring-a2a-server:jmh
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    profilers = listOf("gc")
 }
 
 tasks.register<Jar>("javadocJar") {
@@ -0,0 +1,59 @@
+package io.github.timo.a2a.server.context;
+
+import io.a2a.transport.jsonrpc.context.JSONRPCContextKeys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DefaultCallContextFactory#build} for a request with a typical set of headers,
+ * run with {@code -prof gc} (the default of the jmh task) to see the bytes allocated per context.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CallContextFactoryBenchmark {
+    private final DefaultCallContextFactory callContextFactory = new DefaultCallContextFactory("tenant-1");
+
+    private ServerWebExchange exchange;
+
+    @Setup
+    public void setUp() {
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .header("Host", "agent.example.com")
+                .header("User-Agent", "a2a-client/1.0")
+                .header("Accept-Encoding", "gzip, deflate")
+                .header("Authorization", "Bearer token")
+                .header("X-A2A-Version", "1.0")
+                .header("X-Request-Id", "4f0e2a7c-5c1d-4d43-9b8e-2f2f1c5d7a10"));
+    }
+
+    @Benchmark
+    public TenantServerCallContext build() {
+        return callContextFactory.build(exchange, null, "SendMessage");
+    }
+
+    /**
+     * The JSON-RPC controller sets the method name once the request body is parsed.
+     */
+    @Benchmark
+    public Object buildAndSetMethodName() {
+        var context = callContextFactory.build(exchange, null, null);
+        return context.getState().put(JSONRPCContextKeys.METHOD_NAME_KEY, "SendMessage");
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.timo.a2a.server.router;
+
+import io.a2a.grpc.Task;
+import io.a2a.grpc.TaskState;
+import io.a2a.grpc.TaskStatus;
+import io.github.timo.a2a.server.context.DefaultCallContextFactory;
+import io.github.timo.a2a.server.rest.ProtoRestResponse;
+import io.github.timo.a2a.server.rest.controller.TaskController;
+import io.github.timo.a2a.server.rest.handler.AgentRestHandler;
+import io.github.timo.a2a.server.web.JsonPrinters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares serving {@code GET /tasks/{taskId}} through the annotated {@link TaskController} with
+ * serving it through {@link A2ARouterFunctions#tasks(TaskController)}, in-process without a server.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RouterFunctionsBenchmark {
+    private WebTestClient annotatedClient;
+    private WebTestClient functionalClient;
+
+    @Setup
+    public void setUp() {
+        var task = Task.newBuilder()
+                .setId(UUID.randomUUID().toString())
+                .setContextId(UUID.randomUUID().toString())
+                .setStatus(TaskStatus.newBuilder().setState(TaskState.TASK_STATE_COMPLETED))
+                .build();
+
+        var agentRestHandler = mock(AgentRestHandler.class);
+        when(agentRestHandler.getTask(anyString(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> new ProtoRestResponse(200, task, JsonPrinters.WITH_DEFAULT_VALUES));
+
+        var taskController = new TaskController(agentRestHandler, new DefaultCallContextFactory());
+
+        annotatedClient = WebTestClient.bindToController(taskController).build();
+        functionalClient = WebTestClient.bindToRouterFunction(A2ARouterFunctions.tasks(taskController)).build();
+    }
+
+    @Benchmark
+    public byte[] annotatedController() {
+        return getTask(annotatedClient);
+    }
+
+    @Benchmark
+    public byte[] routerFunction() {
+        return getTask(functionalClient);
+    }
+
+    private static byte[] getTask(WebTestClient client) {
+        return client.get().uri("/tasks/task-1")
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+    }
+}
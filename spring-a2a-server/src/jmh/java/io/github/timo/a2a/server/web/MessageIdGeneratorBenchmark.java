@@ -0,0 +1,41 @@
+package io.github.timo.a2a.server.web;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link MessageIdGenerator}s under contention, run with {@code -prof gc} to compare
+ * their allocations too.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class MessageIdGeneratorBenchmark {
+    private final MessageIdGenerator counter = MessageIdGenerator.counter();
+
+    @Benchmark
+    public String random() {
+        return MessageIdGenerator.RANDOM.generate();
+    }
+
+    @Benchmark
+    public String timeOrdered() {
+        return MessageIdGenerator.TIME_ORDERED.generate();
+    }
+
+    @Benchmark
+    public String counter() {
+        return counter.generate();
+    }
+}
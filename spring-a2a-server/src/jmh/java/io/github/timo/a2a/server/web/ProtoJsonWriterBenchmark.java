@@ -0,0 +1,66 @@
+package io.github.timo.a2a.server.web;
+
+import io.a2a.grpc.Message;
+import io.a2a.grpc.Part;
+import io.a2a.grpc.Role;
+import io.a2a.grpc.Task;
+import io.a2a.grpc.TaskState;
+import io.a2a.grpc.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares printing a task with the shared {@link JsonPrinters#COMPACT} printer with the
+ * {@link ProtoJsonWriter}. Run with {@code -prof gc} to compare the allocations too.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProtoJsonWriterBenchmark {
+    @Param({"1", "50", "500"})
+    private int historySize;
+
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        var contextId = UUID.randomUUID().toString();
+        var builder = Task.newBuilder()
+                .setId(UUID.randomUUID().toString())
+                .setContextId(contextId)
+                .setStatus(TaskStatus.newBuilder().setState(TaskState.TASK_STATE_WORKING));
+
+        for (var i = 0; i < historySize; i++) {
+            builder.addHistory(Message.newBuilder()
+                    .setMessageId(UUID.randomUUID().toString())
+                    .setContextId(contextId)
+                    .setRole(i % 2 == 0 ? Role.ROLE_USER : Role.ROLE_AGENT)
+                    .addParts(Part.newBuilder().setText("Message " + i + " of the task history, with \"quotes\" & <tags>")));
+        }
+
+        task = builder.build();
+    }
+
+    @Benchmark
+    public String jsonFormat() throws IOException {
+        return JsonPrinters.COMPACT.print(task);
+    }
+
+    @Benchmark
+    public String protoJsonWriter() throws IOException {
+        return ProtoJsonWriter.print(task);
+    }
+}
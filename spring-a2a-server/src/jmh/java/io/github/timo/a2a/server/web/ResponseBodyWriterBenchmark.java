@@ -0,0 +1,82 @@
+package io.github.timo.a2a.server.web;
+
+import io.a2a.grpc.Message;
+import io.a2a.grpc.Part;
+import io.a2a.grpc.Role;
+import io.a2a.grpc.Task;
+import io.a2a.grpc.TaskState;
+import io.a2a.grpc.TaskStatus;
+import io.a2a.grpc.utils.JSONRPCUtils;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares printing a response into a {@link String} and copying its bytes into a buffer
+ * (the previous response path) with writing it directly into pooled Netty buffers.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseBodyWriterBenchmark {
+    @Param({"1", "50", "500"})
+    private int historySize;
+
+    private DataBufferFactory bufferFactory;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+        var builder = Task.newBuilder()
+                .setId(UUID.randomUUID().toString())
+                .setContextId(UUID.randomUUID().toString())
+                .setStatus(TaskStatus.newBuilder().setState(TaskState.TASK_STATE_COMPLETED));
+
+        for (var i = 0; i < historySize; i++) {
+            builder.addHistory(Message.newBuilder()
+                    .setMessageId(UUID.randomUUID().toString())
+                    .setRole(i % 2 == 0 ? Role.ROLE_USER : Role.ROLE_AGENT)
+                    .addParts(Part.newBuilder().setText("Message " + i + " of the task history with some text")));
+        }
+
+        task = builder.build();
+    }
+
+    @Benchmark
+    public int stringPath() throws IOException {
+        var bytes = JSONRPCUtils.toJsonRPCResultResponse(1, task).getBytes(StandardCharsets.UTF_8);
+        var buffer = bufferFactory.allocateBuffer(bytes.length).write(bytes);
+
+        var size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+
+    @Benchmark
+    public int bufferPath() throws IOException {
+        var buffer = ResponseBodyWriter.encodeJsonRpcResult(bufferFactory, 1, task, JsonPrinters.COMPACT);
+
+        var size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+}
@@ -1,12 +1,21 @@
 package io.github.timo.a2a.server.context;
 
+import io.a2a.transport.jsonrpc.context.JSONRPCContextKeys;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.server.ServerWebExchange;
 
+import java.util.Objects;
+
 @FunctionalInterface
 public interface CallContextFactory {
+    /**
+     * Exchange attribute of the call context a request was admitted with, before it reached its
+     * handler, see {@link io.github.timo.a2a.server.quota.TenantQuotaWebFilter}.
+     */
+    String CALL_CONTEXT_ATTRIBUTE = CallContextFactory.class.getName() + ".CALL_CONTEXT";
+
     /**
      * Build the {@link io.a2a.server.ServerCallContext} based on request context
      *
@@ -21,4 +30,26 @@ public interface CallContextFactory {
             @Nullable Authentication authentication,
             @Nullable String jsonRpcMethodName
     );
+
+    /**
+     * Takes the call context of the {@link #CALL_CONTEXT_ATTRIBUTE} exchange attribute when it was
+     * built for the method, otherwise builds one with the factory. The attribute is taken once, so
+     * the calls of a JSON-RPC batch never share a context.
+     */
+    static TenantServerCallContext takeOrBuild(
+            CallContextFactory factory,
+            @NonNull ServerWebExchange exchange,
+            @Nullable Authentication authentication,
+            @Nullable String jsonRpcMethodName
+    ) {
+        if (exchange.getAttributes().remove(CALL_CONTEXT_ATTRIBUTE) instanceof TenantServerCallContext context
+                && Objects.equals(
+                        context.getState().get(JSONRPCContextKeys.METHOD_NAME_KEY),
+                        jsonRpcMethodName == null ? "" : jsonRpcMethodName
+                )) {
+            return context;
+        }
+
+        return factory.build(exchange, authentication, jsonRpcMethodName);
+    }
 }
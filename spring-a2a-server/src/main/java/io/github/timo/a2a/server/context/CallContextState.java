@@ -0,0 +1,143 @@
+package io.github.timo.a2a.server.context;
+
+import io.a2a.transport.jsonrpc.context.JSONRPCContextKeys;
+import org.jspecify.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mutable state of a call context, allocated once per request.
+ * <p>
+ * The request headers and the JSON-RPC method name, which every context has, are held in fields,
+ * so setting the method name does not allocate. The map of the other entries is only allocated
+ * when the first of them is put.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class CallContextState extends AbstractMap<String, Object> {
+    private @Nullable Object headers;
+    private @Nullable Object methodName;
+    private @Nullable Map<String, Object> entries;
+
+    /**
+     * @param headers    the request headers, see {@link RequestHeaderMap}
+     * @param methodName the JSON-RPC method name
+     */
+    public CallContextState(Map<String, String> headers, String methodName) {
+        this.headers = headers;
+        this.methodName = methodName;
+    }
+
+    @Override
+    public @Nullable Object get(Object key) {
+        if (JSONRPCContextKeys.HEADERS_KEY.equals(key)) {
+            return headers;
+        }
+
+        if (JSONRPCContextKeys.METHOD_NAME_KEY.equals(key)) {
+            return methodName;
+        }
+
+        return entries == null ? null : entries.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (JSONRPCContextKeys.HEADERS_KEY.equals(key)) {
+            return headers != null;
+        }
+
+        if (JSONRPCContextKeys.METHOD_NAME_KEY.equals(key)) {
+            return methodName != null;
+        }
+
+        return entries != null && entries.containsKey(key);
+    }
+
+    @Override
+    public @Nullable Object put(String key, Object value) {
+        var previous = get(key);
+
+        if (JSONRPCContextKeys.HEADERS_KEY.equals(key)) {
+            headers = value;
+        } else if (JSONRPCContextKeys.METHOD_NAME_KEY.equals(key)) {
+            methodName = value;
+        } else {
+            if (entries == null) {
+                entries = new HashMap<>();
+            }
+            entries.put(key, value);
+        }
+
+        return previous;
+    }
+
+    @Override
+    public @Nullable Object remove(Object key) {
+        var previous = get(key);
+
+        if (JSONRPCContextKeys.HEADERS_KEY.equals(key)) {
+            headers = null;
+        } else if (JSONRPCContextKeys.METHOD_NAME_KEY.equals(key)) {
+            methodName = null;
+        } else if (entries != null) {
+            entries.remove(key);
+        }
+
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        headers = null;
+        methodName = null;
+        entries = null;
+    }
+
+    @Override
+    public int size() {
+        return (headers != null ? 1 : 0) + (methodName != null ? 1 : 0) + (entries != null ? entries.size() : 0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * A snapshot of the entries, the state is hardly ever iterated.
+     */
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                var snapshot = new ArrayList<Entry<String, Object>>(size());
+                if (headers != null) {
+                    snapshot.add(new SimpleImmutableEntry<>(JSONRPCContextKeys.HEADERS_KEY, headers));
+                }
+                if (methodName != null) {
+                    snapshot.add(new SimpleImmutableEntry<>(JSONRPCContextKeys.METHOD_NAME_KEY, methodName));
+                }
+                if (entries != null) {
+                    snapshot.addAll(entries.entrySet());
+                }
+
+                return Collections.unmodifiableList(snapshot).iterator();
+            }
+
+            @Override
+            public int size() {
+                return CallContextState.this.size();
+            }
+        };
+    }
+}
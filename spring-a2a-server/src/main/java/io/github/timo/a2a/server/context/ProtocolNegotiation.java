@@ -0,0 +1,86 @@
+package io.github.timo.a2a.server.context;
+
+import io.a2a.spec.A2AError;
+import io.a2a.spec.AgentCard;
+import io.a2a.spec.ExtensionSupportRequiredError;
+import io.a2a.spec.VersionNotSupportedError;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Set;
+
+/**
+ * The protocol version and extensions requested by a client, parsed from the {@code X-A2A-Version}
+ * and {@code X-A2A-Extensions} headers, and the outcome of their validation against the agent card.
+ * <p>
+ * Negotiations are shared by the requests with the same headers, see {@link ProtocolNegotiator},
+ * and are immutable: a failed validation keeps the type, code and message of its error, and each
+ * {@link #check()} throws a new error, so that no exception instance is shared between requests.
+ *
+ * @param requestedVersion    the requested protocol version, if any
+ * @param requestedExtensions the URIs of the requested extensions, unmodifiable
+ * @param agentCard           the agent card the request was validated against, {@code null} when not validated
+ * @param error               the validation error, {@code null} when the request is valid or not validated
+ * @author Timo
+ * @since 0.1.0
+ */
+public record ProtocolNegotiation(
+        @Nullable String requestedVersion,
+        Set<String> requestedExtensions,
+        @Nullable AgentCard agentCard,
+        @Nullable NegotiationError error
+) {
+    public ProtocolNegotiation {
+        requestedExtensions = Set.copyOf(requestedExtensions);
+    }
+
+    /**
+     * Whether the request was validated against this agent card, so that {@link #check()} can stand
+     * in for the validation.
+     */
+    public boolean isValidatedFor(AgentCard agentCard) {
+        return this.agentCard == agentCard;
+    }
+
+    /**
+     * @throws A2AError a new instance of the validation error of the request, if any
+     */
+    public void check() {
+        if (error != null) {
+            throw error.newError();
+        }
+    }
+
+    /**
+     * The type, code, message and data of a validation error, from which each failed request gets
+     * its own error.
+     *
+     * @author Timo
+     * @since 0.1.0
+     */
+    public record NegotiationError(
+            Class<? extends A2AError> type,
+            @Nullable Integer code,
+            @Nullable String message,
+            @Nullable Object data
+    ) {
+        public static NegotiationError of(A2AError error) {
+            return new NegotiationError(error.getClass(), error.getCode(), error.getMessage(), error.getData());
+        }
+
+        /**
+         * @return a new error of the type of the validation error, the errors of the SDK validators
+         * keeping their type, any other a plain {@link A2AError}
+         */
+        public A2AError newError() {
+            if (type == VersionNotSupportedError.class) {
+                return new VersionNotSupportedError(code, message, data);
+            }
+
+            if (type == ExtensionSupportRequiredError.class) {
+                return new ExtensionSupportRequiredError(code, message, data);
+            }
+
+            return new A2AError(code, message, data);
+        }
+    }
+}
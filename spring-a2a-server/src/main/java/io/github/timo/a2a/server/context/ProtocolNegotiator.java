@@ -0,0 +1,138 @@
+package io.github.timo.a2a.server.context;
+
+import io.github.timo.a2a.server.context.ProtocolNegotiation.NegotiationError;
+import io.a2a.common.A2AHeaders;
+import io.a2a.server.ServerCallContext;
+import io.a2a.server.auth.UnauthenticatedUser;
+import io.a2a.server.extensions.A2AExtensions;
+import io.a2a.server.version.A2AVersionValidator;
+import io.a2a.spec.A2AError;
+import io.a2a.spec.AgentCard;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Negotiates the protocol version and extensions of requests, and memoizes the outcome by the raw
+ * {@code X-A2A-Version} and {@code X-A2A-Extensions} headers.
+ * <p>
+ * Clients send a handful of distinct header values, so the headers are parsed, and validated
+ * against the agent card, once per distinct value rather than once per request. The cache is
+ * bounded: once it is full, the least recently used negotiation is evicted for the new one. Only
+ * the successful negotiations are cached, so requests with invalid header values can never evict
+ * those of the well-behaved clients.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public class ProtocolNegotiator {
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private final @Nullable AgentCard agentCard;
+    private final int maxSize;
+    private final Map<Key, ProtocolNegotiation> negotiations;
+
+    /**
+     * A negotiator parsing the headers without validating them.
+     */
+    public ProtocolNegotiator() {
+        this(null);
+    }
+
+    /**
+     * @param agentCard the agent card the requests are validated against, {@code null} to only parse the headers
+     */
+    public ProtocolNegotiator(@Nullable AgentCard agentCard) {
+        this(agentCard, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxSize the maximum number of distinct header values cached
+     */
+    public ProtocolNegotiator(@Nullable AgentCard agentCard, int maxSize) {
+        this.agentCard = agentCard;
+        this.maxSize = maxSize > 0 ? maxSize : DEFAULT_MAX_SIZE;
+        this.negotiations = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ProtocolNegotiation> eldest) {
+                return size() > ProtocolNegotiator.this.maxSize;
+            }
+        };
+    }
+
+    public @Nullable AgentCard getAgentCard() {
+        return agentCard;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * The number of cached negotiations.
+     */
+    public int size() {
+        synchronized (negotiations) {
+            return negotiations.size();
+        }
+    }
+
+    public ProtocolNegotiation negotiate(HttpHeaders headers) {
+        return negotiate(headers.getFirst(A2AHeaders.X_A2A_VERSION), headers.get(A2AHeaders.X_A2A_EXTENSIONS));
+    }
+
+    /**
+     * @param version    the value of the {@code X-A2A-Version} header
+     * @param extensions the values of the {@code X-A2A-Extensions} header
+     */
+    public ProtocolNegotiation negotiate(@Nullable String version, @Nullable List<String> extensions) {
+        var key = new Key(version, extensions == null ? List.of() : extensions);
+
+        ProtocolNegotiation negotiation;
+        synchronized (negotiations) {
+            negotiation = negotiations.get(key);
+        }
+        if (negotiation != null) {
+            return negotiation;
+        }
+
+        // Negotiated outside the lock, two requests may negotiate the same new headers at once
+        negotiation = negotiateUncached(version, key.extensions());
+        if (negotiation.error() != null) {
+            return negotiation;
+        }
+
+        synchronized (negotiations) {
+            // The header values of the request are copied, they may be mutable
+            var cached = negotiations.putIfAbsent(new Key(version, List.copyOf(key.extensions())), negotiation);
+            return cached != null ? cached : negotiation;
+        }
+    }
+
+    private ProtocolNegotiation negotiateUncached(@Nullable String version, List<String> extensions) {
+        var requestedExtensions = A2AExtensions.getRequestedExtensions(extensions);
+        if (agentCard == null) {
+            return new ProtocolNegotiation(version, requestedExtensions, null, null);
+        }
+
+        // The validators only read the requested version and extensions of the context
+        var context = new ServerCallContext(
+                UnauthenticatedUser.INSTANCE, new HashMap<>(), requestedExtensions, version
+        );
+
+        try {
+            A2AVersionValidator.validateProtocolVersion(agentCard, context);
+            A2AExtensions.validateRequiredExtensions(agentCard, context);
+            return new ProtocolNegotiation(version, requestedExtensions, agentCard, null);
+        } catch (A2AError ex) {
+            return new ProtocolNegotiation(version, requestedExtensions, agentCard, NegotiationError.of(ex));
+        }
+    }
+
+    private record Key(@Nullable String version, List<String> extensions) {
+    }
+}
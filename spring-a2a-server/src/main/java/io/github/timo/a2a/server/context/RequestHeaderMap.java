@@ -0,0 +1,88 @@
+package io.github.timo.a2a.server.context;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Read-only view of the request headers as the {@code headers} state of a call context, the first
+ * value of each header by its name.
+ * <p>
+ * Nothing is copied: most requests never read a header from the context, so the values are only
+ * looked up in the {@link HttpHeaders} when they are read. Names are case-insensitive, like in
+ * {@link HttpHeaders}.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class RequestHeaderMap extends AbstractMap<String, String> {
+    private final HttpHeaders headers;
+
+    public RequestHeaderMap(HttpHeaders headers) {
+        this.headers = headers;
+    }
+
+    @Override
+    public @Nullable String get(Object key) {
+        return key instanceof String name ? firstValue(headers.get(name)) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String name && headers.containsKey(name);
+    }
+
+    @Override
+    public int size() {
+        return headers.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return headers.isEmpty();
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                var entries = headers.entrySet().iterator();
+
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        var entry = entries.next();
+                        return new SimpleImmutableEntry<>(entry.getKey(), firstValue(entry.getValue()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return headers.size();
+            }
+        };
+    }
+
+    /**
+     * The first value of a header, empty when the header has no value.
+     */
+    private static @Nullable String firstValue(@Nullable List<String> values) {
+        if (values == null) {
+            return null;
+        }
+
+        return values.isEmpty() ? "" : values.getFirst();
+    }
+}
@@ -11,6 +11,7 @@ import java.util.Set;
 
 public class TenantServerCallContext extends ServerCallContext {
     private final String tenantId;
+    private final @Nullable ProtocolNegotiation negotiation;
 
     public TenantServerCallContext(
             @NonNull  User user,
@@ -18,8 +19,9 @@ public class TenantServerCallContext extends ServerCallContext {
             @NonNull  Set<String> requestedExtensions,
             @NonNull  String tenantUid
     ) {
-        super(user, new HashMap<>(state), requestedExtensions);
+        super(user, mutableState(state), requestedExtensions);
         this.tenantId = tenantUid;
+        this.negotiation = null;
     }
 
     public TenantServerCallContext(
@@ -29,11 +31,42 @@ public class TenantServerCallContext extends ServerCallContext {
             @Nullable String requestedProtocolVersion,
             @NonNull String tenantUid
     ) {
-        super(user, new HashMap<>(state), requestedExtensions, requestedProtocolVersion);
+        super(user, mutableState(state), requestedExtensions, requestedProtocolVersion);
         this.tenantId = tenantUid;
+        this.negotiation = null;
+    }
+
+    /**
+     * @param negotiation the requested protocol version and extensions, see {@link ProtocolNegotiator}
+     */
+    public TenantServerCallContext(
+            @NonNull User user,
+            @NonNull Map<String, Object> state,
+            @NonNull ProtocolNegotiation negotiation,
+            @NonNull String tenantUid
+    ) {
+        super(user, mutableState(state), negotiation.requestedExtensions(), negotiation.requestedVersion());
+        this.tenantId = tenantUid;
+        this.negotiation = negotiation;
     }
 
     public String getTenantUid() {
         return tenantId;
     }
+
+    /**
+     * The negotiation of the request, {@code null} when the context was built from its requested
+     * version and extensions.
+     */
+    public @Nullable ProtocolNegotiation getNegotiation() {
+        return negotiation;
+    }
+
+    /**
+     * The state of the context must be mutable. A {@link CallContextState} is used as is, any other
+     * state is copied.
+     */
+    private static Map<String, Object> mutableState(Map<String, Object> state) {
+        return state instanceof CallContextState ? state : new HashMap<>(state);
+    }
 }
@@ -0,0 +1,22 @@
+package io.github.timo.a2a.server.executor;
+
+import io.a2a.spec.A2AError;
+
+/**
+ * The agent cannot take the request right now: the executor of the tenant is saturated, see
+ * {@link TenantExecutorRegistry}. Unlike the other server errors, the request can be retried later.
+ * <p>
+ * The REST transport answers it with {@code 503 Service Unavailable}, the JSON-RPC transport with
+ * the error code {@value #CODE}, which is in the range JSON-RPC leaves to the servers and clear of
+ * the A2A error codes.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public class AgentBusyError extends A2AError {
+    public static final int CODE = -32050;
+
+    public AgentBusyError(String message) {
+        super(CODE, message, null);
+    }
+}
@@ -0,0 +1,354 @@
+package io.github.timo.a2a.server.executor;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Executor running the agents of each tenant in its own bulkhead, so that a tenant flooding the
+ * agent with work cannot starve the other tenants.
+ * <p>
+ * Each tenant has a pool of at most {@code maxConcurrency} threads and a queue of at most
+ * {@code queueDepth} tasks, created on the first task of the tenant. The threads of an idle tenant
+ * time out. Once a tenant's pool and queue are full, its tasks spill over to the shared overflow
+ * executor, and tasks submitted outside of a tenant scope always run there.
+ * <p>
+ * At most {@code maxTenants} tenants have a bulkhead. Once they all have one, the bulkheads of the
+ * tenants without any task are evicted to make room for the new tenant, and while none is idle,
+ * the tasks of the new tenants run on the overflow executor, like the tasks without tenant. The
+ * threads of the bulkheads are daemon threads named after their tenant.
+ * <p>
+ * A tenant has at most {@code maxOverflow} tasks on the overflow executor at a time, so a single
+ * tenant cannot take the overflow over either: past that, its tasks are rejected with a
+ * {@link RejectedExecutionException} until some of them complete.
+ * <p>
+ * The tenant of a task is the one of the calling thread, see {@link #callAs}: the tasks submitted
+ * by the tasks of a tenant run on the overflow executor, so a task waiting for a nested task never
+ * waits for a slot of its own bulkhead.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public class TenantExecutorRegistry implements Executor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TenantExecutorRegistry.class);
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+    public static final int DEFAULT_QUEUE_DEPTH = 100;
+    public static final int DEFAULT_MAX_OVERFLOW = 8;
+    public static final int DEFAULT_MAX_TENANTS = 1024;
+    public static final long DEFAULT_KEEP_ALIVE_SECONDS = 60;
+
+    private static final ThreadLocal<@Nullable String> CURRENT_TENANT = new ThreadLocal<>();
+
+    private final Executor overflowExecutor;
+    private final int maxConcurrency;
+    private final int queueDepth;
+    private final int maxOverflow;
+    private final int maxTenants;
+    private final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> tenantListeners = new CopyOnWriteArrayList<>();
+
+    public TenantExecutorRegistry(Executor overflowExecutor) {
+        this(overflowExecutor, DEFAULT_MAX_CONCURRENCY, DEFAULT_QUEUE_DEPTH);
+    }
+
+    /**
+     * @param overflowExecutor the shared executor of the tasks without tenant, or whose tenant is saturated
+     * @param maxConcurrency   the maximum number of tasks of a tenant running at the same time
+     * @param queueDepth       the maximum number of tasks of a tenant waiting for a thread
+     */
+    public TenantExecutorRegistry(Executor overflowExecutor, int maxConcurrency, int queueDepth) {
+        this(overflowExecutor, maxConcurrency, queueDepth, DEFAULT_MAX_OVERFLOW);
+    }
+
+    /**
+     * @param overflowExecutor the shared executor of the tasks without tenant, or whose tenant is saturated
+     * @param maxConcurrency   the maximum number of tasks of a tenant running at the same time
+     * @param queueDepth       the maximum number of tasks of a tenant waiting for a thread
+     * @param maxOverflow      the maximum number of tasks of a saturated tenant on the overflow executor
+     */
+    public TenantExecutorRegistry(Executor overflowExecutor, int maxConcurrency, int queueDepth, int maxOverflow) {
+        this(overflowExecutor, maxConcurrency, queueDepth, maxOverflow, DEFAULT_MAX_TENANTS);
+    }
+
+    /**
+     * @param overflowExecutor the shared executor of the tasks without tenant, or whose tenant is saturated
+     * @param maxConcurrency   the maximum number of tasks of a tenant running at the same time
+     * @param queueDepth       the maximum number of tasks of a tenant waiting for a thread
+     * @param maxOverflow      the maximum number of tasks of a saturated tenant on the overflow executor
+     * @param maxTenants       the maximum number of tenants with a bulkhead
+     */
+    public TenantExecutorRegistry(
+            Executor overflowExecutor,
+            int maxConcurrency,
+            int queueDepth,
+            int maxOverflow,
+            int maxTenants
+    ) {
+        this.overflowExecutor = overflowExecutor;
+        this.maxConcurrency = maxConcurrency > 0 ? maxConcurrency : DEFAULT_MAX_CONCURRENCY;
+        this.queueDepth = queueDepth > 0 ? queueDepth : DEFAULT_QUEUE_DEPTH;
+        this.maxOverflow = maxOverflow > 0 ? maxOverflow : DEFAULT_MAX_OVERFLOW;
+        this.maxTenants = maxTenants > 0 ? maxTenants : DEFAULT_MAX_TENANTS;
+    }
+
+    public Executor getOverflowExecutor() {
+        return overflowExecutor;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getMaxOverflow() {
+        return maxOverflow;
+    }
+
+    public int getMaxTenants() {
+        return maxTenants;
+    }
+
+    /**
+     * Runs {@code call} with {@code tenantUid} as the tenant of the tasks it submits to this executor.
+     */
+    public static <T> T callAs(@Nullable String tenantUid, Supplier<T> call) {
+        var previous = CURRENT_TENANT.get();
+        CURRENT_TENANT.set(tenantUid);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_TENANT.remove();
+            } else {
+                CURRENT_TENANT.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        var tenantUid = CURRENT_TENANT.get();
+        if (tenantUid == null) {
+            overflowExecutor.execute(task);
+            return;
+        }
+
+        var bulkhead = bulkhead(tenantUid);
+        if (bulkhead == null) {
+            overflowExecutor.execute(task);
+            return;
+        }
+
+        bulkhead.execute(task);
+    }
+
+    /**
+     * The tenants that have a bulkhead.
+     */
+    public Set<String> tenants() {
+        return Set.copyOf(bulkheads.keySet());
+    }
+
+    /**
+     * Number of tasks of the tenant running in its bulkhead.
+     */
+    public int activeCount(String tenantUid) {
+        var bulkhead = bulkheads.get(tenantUid);
+        return bulkhead == null ? 0 : bulkhead.pool.getActiveCount();
+    }
+
+    /**
+     * Number of tasks of the tenant waiting in its bulkhead.
+     */
+    public int queuedCount(String tenantUid) {
+        var bulkhead = bulkheads.get(tenantUid);
+        return bulkhead == null ? 0 : bulkhead.pool.getQueue().size();
+    }
+
+    /**
+     * Number of tasks of the tenant that spilled over to the overflow executor.
+     */
+    public long overflowCount(String tenantUid) {
+        var bulkhead = bulkheads.get(tenantUid);
+        return bulkhead == null ? 0 : bulkhead.overflowed.get();
+    }
+
+    /**
+     * Number of tasks of the tenant rejected because it already had {@code maxOverflow} tasks on the
+     * overflow executor.
+     */
+    public long rejectedCount(String tenantUid) {
+        var bulkhead = bulkheads.get(tenantUid);
+        return bulkhead == null ? 0 : bulkhead.rejected.get();
+    }
+
+    /**
+     * Saturation of the tenant's bulkhead, from 0 when idle to 1 when its pool and queue are full.
+     */
+    public double saturation(String tenantUid) {
+        return (double) (activeCount(tenantUid) + queuedCount(tenantUid)) / (maxConcurrency + queueDepth);
+    }
+
+    /**
+     * Registers a listener called with the uid of each tenant when its bulkhead is created, and
+     * right away with the tenants that already have one, for instance to register their meters.
+     */
+    public void addTenantListener(Consumer<String> listener) {
+        tenantListeners.add(listener);
+        bulkheads.keySet().forEach(listener);
+    }
+
+    /**
+     * Shuts the bulkheads down, the overflow executor is left to its owner.
+     */
+    public void shutdown() {
+        bulkheads.values().forEach(bulkhead -> bulkhead.pool.shutdown());
+    }
+
+    /**
+     * The bulkhead of the tenant, created on its first task, {@code null} when {@code maxTenants}
+     * tenants are busy.
+     */
+    private @Nullable Bulkhead bulkhead(String tenantUid) {
+        var bulkhead = bulkheads.get(tenantUid);
+        if (bulkhead != null) {
+            return bulkhead;
+        }
+
+        if (bulkheads.size() >= maxTenants) {
+            evictIdleBulkheads();
+            if (bulkheads.size() >= maxTenants) {
+                return null;
+            }
+        }
+
+        var created = new Bulkhead(tenantUid);
+        bulkhead = bulkheads.putIfAbsent(tenantUid, created);
+        if (bulkhead != null) {
+            created.pool.shutdown();
+            return bulkhead;
+        }
+
+        LOGGER.debug("Created executor bulkhead of tenant: {}", tenantUid);
+        tenantListeners.forEach(listener -> listener.accept(tenantUid));
+        return created;
+    }
+
+    private void evictIdleBulkheads() {
+        for (var entry : bulkheads.entrySet()) {
+            var bulkhead = entry.getValue();
+            if (bulkhead.isIdle() && bulkheads.remove(entry.getKey(), bulkhead)) {
+                bulkhead.evict();
+                LOGGER.debug("Evicted idle executor bulkhead of tenant: {}", entry.getKey());
+            }
+        }
+    }
+
+    private final class Bulkhead {
+        private final ThreadPoolExecutor pool;
+        private final AtomicLong overflowed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final Semaphore overflowPermits = new Semaphore(maxOverflow);
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean evicted;
+
+        private Bulkhead(String tenantUid) {
+            pool = new ThreadPoolExecutor(
+                    maxConcurrency,
+                    maxConcurrency,
+                    DEFAULT_KEEP_ALIVE_SECONDS,
+                    TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueDepth),
+                    Thread.ofPlatform().daemon(true).name("a2a-agent-executor-" + tenantUid + "-", 1L).factory(),
+                    (task, executor) -> {
+                        if (evicted) {
+                            // Evicted while the task was submitted, the tenant gets a new bulkhead
+                            TenantExecutorRegistry.this.execute(task);
+                            return;
+                        }
+
+                        if (executor.isShutdown()) {
+                            throw new RejectedExecutionException("Executor of tenant " + tenantUid + " is shut down");
+                        }
+
+                        overflow(tenantUid, task);
+                    }
+            );
+            pool.allowCoreThreadTimeOut(true);
+        }
+
+        private void overflow(String tenantUid, Runnable task) {
+            if (!overflowPermits.tryAcquire()) {
+                rejected.incrementAndGet();
+                throw new RejectedExecutionException(
+                        "Executor of tenant " + tenantUid + " is saturated: " + maxConcurrency + " running, "
+                                + queueDepth + " queued and " + maxOverflow + " overflowing tasks"
+                );
+            }
+
+            try {
+                overflowExecutor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        overflowPermits.release();
+                    }
+                });
+            } catch (RuntimeException ex) {
+                overflowPermits.release();
+                throw ex;
+            }
+
+            overflowed.incrementAndGet();
+        }
+
+        private void execute(Runnable task) {
+            pending.incrementAndGet();
+            try {
+                pool.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        pending.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                pending.decrementAndGet();
+                throw ex;
+            }
+        }
+
+        /**
+         * Whether no task of the tenant is submitted, waiting or running, in its pool or on the
+         * overflow executor.
+         */
+        private boolean isIdle() {
+            return pending.get() == 0;
+        }
+
+        private void evict() {
+            evicted = true;
+            pool.shutdown();
+        }
+    }
+}
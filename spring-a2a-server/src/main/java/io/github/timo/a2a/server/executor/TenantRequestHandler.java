@@ -0,0 +1,86 @@
+package io.github.timo.a2a.server.executor;
+
+import io.github.timo.a2a.server.context.TenantServerCallContext;
+import io.a2a.server.ServerCallContext;
+import io.a2a.server.agentexecution.AgentExecutor;
+import io.a2a.server.config.A2AConfigProvider;
+import io.a2a.server.events.QueueManager;
+import io.a2a.server.requesthandlers.AgentRequestHandler;
+import io.a2a.server.tasks.PushNotificationConfigStore;
+import io.a2a.server.tasks.PushNotificationSender;
+import io.a2a.server.tasks.TaskStore;
+import io.a2a.spec.A2AError;
+import io.a2a.spec.EventKind;
+import io.a2a.spec.MessageSendParams;
+import io.a2a.spec.StreamingEventKind;
+import io.a2a.spec.Task;
+import io.a2a.spec.TaskIdParams;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * {@link AgentRequestHandler} running the agent of each request in the bulkhead of its tenant,
+ * the tenant uid of its {@link TenantServerCallContext}.
+ * <p>
+ * The handler submits the agent execution to the executor while handling the request, so the
+ * tenant of the context is scoped around the requests that start or stop the agent, see
+ * {@link TenantExecutorRegistry#callAs}. A request rejected by a saturated tenant executor fails with
+ * an {@link AgentBusyError}, which the client can retry, rather than with an internal error.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public class TenantRequestHandler extends AgentRequestHandler {
+
+    public TenantRequestHandler(
+            AgentExecutor agentExecutor,
+            TaskStore taskStore,
+            QueueManager queueManager,
+            PushNotificationConfigStore pushConfigStore,
+            PushNotificationSender pushSender,
+            TenantExecutorRegistry executorRegistry,
+            A2AConfigProvider configProvider
+    ) {
+        super(agentExecutor, taskStore, queueManager, pushConfigStore, pushSender, executorRegistry, configProvider);
+    }
+
+    @Override
+    public EventKind onMessageSend(MessageSendParams params, ServerCallContext context) throws A2AError {
+        return callAs(context, () -> super.onMessageSend(params, context));
+    }
+
+    @Override
+    public Flow.Publisher<StreamingEventKind> onMessageSendStream(
+            MessageSendParams params,
+            ServerCallContext context
+    ) throws A2AError {
+        return callAs(context, () -> super.onMessageSendStream(params, context));
+    }
+
+    @Override
+    public Task onCancelTask(TaskIdParams params, ServerCallContext context) throws A2AError {
+        return callAs(context, () -> super.onCancelTask(params, context));
+    }
+
+    private static <T> T callAs(@Nullable ServerCallContext context, Supplier<T> call) {
+        try {
+            return TenantExecutorRegistry.callAs(tenantUid(context), call);
+        } catch (RejectedExecutionException ex) {
+            throw new AgentBusyError(ex.getMessage());
+        }
+    }
+
+    /**
+     * The tenant of the context, the requests of the default (empty) tenant share the overflow executor.
+     */
+    private static @Nullable String tenantUid(@Nullable ServerCallContext context) {
+        if (context instanceof TenantServerCallContext tenantContext && !tenantContext.getTenantUid().isEmpty()) {
+            return tenantContext.getTenantUid();
+        }
+
+        return null;
+    }
+}
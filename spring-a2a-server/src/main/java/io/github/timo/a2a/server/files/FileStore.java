@@ -0,0 +1,39 @@
+package io.github.timo.a2a.server.files;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Stores the files uploaded with a message, so that the agent receives a file part referencing
+ * the stored file instead of its content.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+@FunctionalInterface
+public interface FileStore {
+
+    /**
+     * Stores the content as it is received. The store consumes and releases every buffer.
+     *
+     * @param filename    the name of the file in the request, may be empty
+     * @param contentType the content type of the file in the request
+     * @return the URI of the stored file, at which the agent reads it
+     */
+    Mono<URI> store(String filename, @Nullable MediaType contentType, Flux<DataBuffer> content);
+
+    /**
+     * Deletes a stored file, when the request it was uploaded with fails before it reaches the
+     * agent. Does nothing by default.
+     *
+     * @param uri the URI of the stored file, as returned by {@link #store}
+     */
+    default Mono<Void> delete(URI uri) {
+        return Mono.empty();
+    }
+}
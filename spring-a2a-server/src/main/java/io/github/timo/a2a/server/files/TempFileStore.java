@@ -0,0 +1,148 @@
+package io.github.timo.a2a.server.files;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link FileStore} writing the files to a local directory through an asynchronous file channel,
+ * buffer by buffer as they are received, so that an upload never sits fully on heap.
+ * <p>
+ * The stored files are referenced by {@code file:} URIs, which suits agents running on the same
+ * host. The store deletes the files of failed or cancelled uploads, and those of requests that fail
+ * before reaching the agent; the files handed to the agent are owned by the agent or a scheduled cleanup.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public class TempFileStore implements FileStore {
+    public static final Path DEFAULT_DIRECTORY = Path.of(System.getProperty("java.io.tmpdir"));
+    public static final long DEFAULT_MAX_FILE_SIZE = 100L * 1024 * 1024;
+
+    private static final String FILE_PREFIX = "a2a-upload-";
+
+    private final Path directory;
+    private final long maxFileSize;
+    private final Scheduler fileScheduler;
+
+    public TempFileStore() {
+        this(DEFAULT_DIRECTORY);
+    }
+
+    public TempFileStore(Path directory) {
+        this(directory, DEFAULT_MAX_FILE_SIZE);
+    }
+
+    /**
+     * @param maxFileSize the maximum size of a file in bytes, larger uploads are rejected with
+     *                    {@code 413 Payload Too Large} as soon as the limit is crossed
+     */
+    public TempFileStore(Path directory, long maxFileSize) {
+        this(directory, maxFileSize, Schedulers.boundedElastic());
+    }
+
+    /**
+     * @param fileScheduler the scheduler that creates and deletes the files, blocking file system calls
+     */
+    public TempFileStore(Path directory, long maxFileSize, Scheduler fileScheduler) {
+        this.directory = directory;
+        this.maxFileSize = maxFileSize > 0 ? maxFileSize : DEFAULT_MAX_FILE_SIZE;
+        this.fileScheduler = fileScheduler;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    @Override
+    public Mono<URI> store(String filename, @Nullable MediaType contentType, Flux<DataBuffer> content) {
+        return Mono.fromCallable(() -> {
+                    Files.createDirectories(directory);
+                    return Files.createTempFile(directory, FILE_PREFIX, suffix(filename));
+                })
+                .subscribeOn(fileScheduler)
+                .flatMap(path -> DataBufferUtils.write(limit(content), path, StandardOpenOption.WRITE)
+                        .then(Mono.fromCallable(path::toUri))
+                        .onErrorResume(ex -> delete(path).then(Mono.error(ex)))
+                        .doOnCancel(() -> delete(path).subscribe()))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Deletes a file stored by this store, URIs outside of its directory are ignored.
+     */
+    @Override
+    public Mono<Void> delete(URI uri) {
+        if (!"file".equals(uri.getScheme())) {
+            return Mono.empty();
+        }
+
+        var path = Path.of(uri);
+        if (!directory.toAbsolutePath().normalize().equals(path.toAbsolutePath().normalize().getParent())) {
+            return Mono.empty();
+        }
+
+        return delete(path);
+    }
+
+    private Flux<DataBuffer> limit(Flux<DataBuffer> content) {
+        var size = new AtomicLong();
+        return content.doOnNext(buffer -> {
+            if (size.addAndGet(buffer.readableByteCount()) > maxFileSize) {
+                DataBufferUtils.release(buffer);
+                throw new ResponseStatusException(
+                        HttpStatus.PAYLOAD_TOO_LARGE, "File exceeds the limit of " + maxFileSize + " bytes"
+                );
+            }
+        });
+    }
+
+    private Mono<Void> delete(Path path) {
+        return Mono.<Void>fromRunnable(() -> {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }).subscribeOn(fileScheduler).onErrorComplete();
+    }
+
+    /**
+     * Keeps the extension of the uploaded file, when it is a plain one, so that the stored file is
+     * recognized by its name.
+     */
+    private static String suffix(String filename) {
+        var dot = filename.lastIndexOf('.');
+        if (dot < 0 || filename.length() - dot > 16) {
+            return ".bin";
+        }
+
+        var extension = filename.substring(dot + 1);
+        for (var i = 0; i < extension.length(); i++) {
+            if (!Character.isLetterOrDigit(extension.charAt(i))) {
+                return ".bin";
+            }
+        }
+
+        return extension.isEmpty() ? ".bin" : "." + extension;
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.timo.a2a.server.jsonrpc;
+
+/**
+ * Limits applied to JSON-RPC 2.0 batch requests.
+ *
+ * @param maxSize        max number of requests in one batch, larger batches are rejected as invalid requests
+ * @param maxConcurrency max number of requests of one batch dispatched at the same time
+ * @author Timo
+ * @since 0.1.0
+ */
+public record JSONRPCBatchOptions(int maxSize, int maxConcurrency) {
+    public static final int DEFAULT_MAX_SIZE = 100;
+    public static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+    public static final JSONRPCBatchOptions DEFAULT = new JSONRPCBatchOptions(DEFAULT_MAX_SIZE, DEFAULT_MAX_CONCURRENCY);
+
+    public JSONRPCBatchOptions {
+        maxSize = maxSize > 0 ? maxSize : DEFAULT_MAX_SIZE;
+        maxConcurrency = maxConcurrency > 0 ? maxConcurrency : DEFAULT_MAX_CONCURRENCY;
+    }
+}
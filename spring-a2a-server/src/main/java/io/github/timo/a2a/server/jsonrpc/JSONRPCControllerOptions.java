@@ -0,0 +1,115 @@
+package io.github.timo.a2a.server.jsonrpc;
+
+import io.github.timo.a2a.server.tasks.TaskBatchCanceller;
+import io.github.timo.a2a.server.tasks.TaskBatchMethods;
+import io.github.timo.a2a.server.tasks.TaskBatchReader;
+import io.github.timo.a2a.server.web.OpenStreams;
+import io.github.timo.a2a.server.web.RequestBodyReader;
+import io.github.timo.a2a.server.web.StreamingOptions;
+import io.github.timo.a2a.server.web.TaskCanceller;
+import org.jspecify.annotations.Nullable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The optional collaborators of the JSON-RPC controller, each defaulting to the behavior of the
+ * controller without it.
+ * <p>
+ * The options are built from {@link #JSONRPCControllerOptions() the defaults} with the {@code with*}
+ * methods, each returning a copy. A new instance gets its own {@link OpenStreams}, so that controllers
+ * built from different options never share their open stream count.
+ *
+ * @param dispatchScheduler  the scheduler that runs (possibly blocking) non-streaming handler calls,
+ *                           so they never occupy a web server event-loop thread
+ * @param batchOptions       the limits applied to JSON-RPC batch requests
+ * @param requestBodyReader  the reader aggregating request bodies within the max in-memory size
+ * @param streamingOptions   the prefetch window and event batching applied to streaming responses
+ * @param taskCanceller      cancels the task of a stream whose client disconnected, according to
+ *                           the disconnect policy of the streaming options
+ * @param openStreams        the supervisor closing idle streaming responses and counting the open ones
+ * @param taskBatchReader    the reader of the {@value TaskBatchMethods#BATCH_GET_TASKS_METHOD} extension
+ *                           method, the method is not found when {@code null}
+ * @param taskBatchCanceller the canceller of the {@value TaskBatchMethods#BATCH_CANCEL_TASKS_METHOD}
+ *                           extension method, the method is not found when {@code null}
+ * @author Timo
+ * @since 0.1.0
+ */
+public record JSONRPCControllerOptions(
+        Scheduler dispatchScheduler,
+        JSONRPCBatchOptions batchOptions,
+        RequestBodyReader requestBodyReader,
+        StreamingOptions streamingOptions,
+        TaskCanceller taskCanceller,
+        OpenStreams openStreams,
+        @Nullable TaskBatchReader taskBatchReader,
+        @Nullable TaskBatchCanceller taskBatchCanceller
+) {
+    public JSONRPCControllerOptions {
+        dispatchScheduler = dispatchScheduler != null ? dispatchScheduler : Schedulers.boundedElastic();
+        batchOptions = batchOptions != null ? batchOptions : JSONRPCBatchOptions.DEFAULT;
+        requestBodyReader = requestBodyReader != null ? requestBodyReader : new RequestBodyReader();
+        streamingOptions = streamingOptions != null ? streamingOptions : StreamingOptions.DEFAULT;
+        taskCanceller = taskCanceller != null ? taskCanceller : TaskCanceller.NONE;
+        openStreams = openStreams != null ? openStreams : new OpenStreams();
+    }
+
+    public JSONRPCControllerOptions() {
+        this(null, null, null, null, null, null, null, null);
+    }
+
+    public JSONRPCControllerOptions withDispatchScheduler(Scheduler dispatchScheduler) {
+        return new JSONRPCControllerOptions(
+                dispatchScheduler, batchOptions, requestBodyReader, streamingOptions,
+                taskCanceller, openStreams, taskBatchReader, taskBatchCanceller
+        );
+    }
+
+    public JSONRPCControllerOptions withBatchOptions(JSONRPCBatchOptions batchOptions) {
+        return new JSONRPCControllerOptions(
+                dispatchScheduler, batchOptions, requestBodyReader, streamingOptions,
+                taskCanceller, openStreams, taskBatchReader, taskBatchCanceller
+        );
+    }
+
+    public JSONRPCControllerOptions withRequestBodyReader(RequestBodyReader requestBodyReader) {
+        return new JSONRPCControllerOptions(
+                dispatchScheduler, batchOptions, requestBodyReader, streamingOptions,
+                taskCanceller, openStreams, taskBatchReader, taskBatchCanceller
+        );
+    }
+
+    public JSONRPCControllerOptions withStreamingOptions(StreamingOptions streamingOptions) {
+        return new JSONRPCControllerOptions(
+                dispatchScheduler, batchOptions, requestBodyReader, streamingOptions,
+                taskCanceller, openStreams, taskBatchReader, taskBatchCanceller
+        );
+    }
+
+    public JSONRPCControllerOptions withTaskCanceller(TaskCanceller taskCanceller) {
+        return new JSONRPCControllerOptions(
+                dispatchScheduler, batchOptions, requestBodyReader, streamingOptions,
+                taskCanceller, openStreams, taskBatchReader, taskBatchCanceller
+        );
+    }
+
+    public JSONRPCControllerOptions withOpenStreams(OpenStreams openStreams) {
+        return new JSONRPCControllerOptions(
+                dispatchScheduler, batchOptions, requestBodyReader, streamingOptions,
+                taskCanceller, openStreams, taskBatchReader, taskBatchCanceller
+        );
+    }
+
+    public JSONRPCControllerOptions withTaskBatchReader(@Nullable TaskBatchReader taskBatchReader) {
+        return new JSONRPCControllerOptions(
+                dispatchScheduler, batchOptions, requestBodyReader, streamingOptions,
+                taskCanceller, openStreams, taskBatchReader, taskBatchCanceller
+        );
+    }
+
+    public JSONRPCControllerOptions withTaskBatchCanceller(@Nullable TaskBatchCanceller taskBatchCanceller) {
+        return new JSONRPCControllerOptions(
+                dispatchScheduler, batchOptions, requestBodyReader, streamingOptions,
+                taskCanceller, openStreams, taskBatchReader, taskBatchCanceller
+        );
+    }
+}
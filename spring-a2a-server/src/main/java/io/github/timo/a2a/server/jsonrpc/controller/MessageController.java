@@ -1,7 +1,33 @@
 package io.github.timo.a2a.server.jsonrpc.controller;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.protobuf.Value;
 import io.github.timo.a2a.server.context.CallContextFactory;
+import io.github.timo.a2a.server.jsonrpc.JSONRPCBatchOptions;
+import io.github.timo.a2a.server.jsonrpc.JSONRPCControllerOptions;
+import io.github.timo.a2a.server.tasks.TaskBatchCancelRequest;
+import io.github.timo.a2a.server.tasks.TaskBatchCanceller;
+import io.github.timo.a2a.server.tasks.TaskBatchMethods;
+import io.github.timo.a2a.server.tasks.TaskBatchReader;
+import io.github.timo.a2a.server.tasks.TaskBatchRequest;
+import io.github.timo.a2a.server.web.A2AMediaTypes;
+import io.github.timo.a2a.server.web.ErrorResponses;
+import io.github.timo.a2a.server.web.OpenStreams;
+import io.github.timo.a2a.server.web.RateLimitedLogger;
+import io.github.timo.a2a.server.web.RequestBodyReader;
+import io.github.timo.a2a.server.web.ResponseBodyWriter;
+import io.github.timo.a2a.server.web.ServerSentEventWriter;
+import io.github.timo.a2a.server.web.StreamCancellation;
+import io.github.timo.a2a.server.web.StreamingBridge;
+import io.github.timo.a2a.server.web.StreamingOptions;
+import io.github.timo.a2a.server.web.TaskCanceller;
+import io.github.timo.a2a.server.web.TaskETags;
+import io.github.timo.a2a.server.web.TaskFieldMask;
 import io.a2a.grpc.utils.JSONRPCUtils;
 import io.a2a.grpc.utils.ProtoUtils;
 import io.a2a.jsonrpc.common.json.IdJsonMappingException;
@@ -35,7 +61,6 @@ import io.a2a.jsonrpc.common.wrappers.SetTaskPushNotificationConfigResponse;
 import io.a2a.jsonrpc.common.wrappers.StreamingJSONRPCRequest;
 import io.a2a.jsonrpc.common.wrappers.SubscribeToTaskRequest;
 import io.a2a.server.ServerCallContext;
-import io.a2a.server.util.async.AsyncUtils;
 import io.a2a.spec.A2AError;
 import io.a2a.spec.InternalError;
 import io.a2a.spec.InvalidParamsError;
@@ -44,10 +69,11 @@ import io.a2a.spec.JSONParseError;
 import io.a2a.spec.MethodNotFoundError;
 import io.a2a.transport.jsonrpc.context.JSONRPCContextKeys;
 import io.a2a.transport.jsonrpc.handler.JSONRPCHandler;
-import mutiny.zero.ZeroPublisher;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -56,54 +82,140 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.adapter.JdkFlowAdapter;
-
-import java.util.concurrent.CompletableFuture;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Flow;
+import java.util.stream.Collectors;
 
 @RestController
 public class MessageController {
     private static final Logger LOGGER = LoggerFactory.getLogger(MessageController.class);
+    // Request errors are caused by clients, which must not be able to flood the logs
+    private static final RateLimitedLogger ERROR_LOGGER = new RateLimitedLogger(LOGGER);
+
+    /**
+     * Metadata key marking the task returned to a {@code GetTask} request whose {@code If-None-Match}
+     * header matches the task.
+     */
+    public static final String NOT_MODIFIED_METADATA_KEY = "notModified";
 
     private final JSONRPCHandler jsonRpcHandler;
     private final CallContextFactory callContextFactory;
     private final Executor executor;
+    private final Scheduler dispatchScheduler;
+    private final JSONRPCBatchOptions batchOptions;
+    private final RequestBodyReader requestBodyReader;
+    private final StreamingOptions streamingOptions;
+    private final TaskCanceller taskCanceller;
+    private final OpenStreams openStreams;
+    private final @Nullable TaskBatchReader taskBatchReader;
+    private final @Nullable TaskBatchCanceller taskBatchCanceller;
 
     public MessageController(JSONRPCHandler jsonRpcHandler, CallContextFactory callContextFactory, Executor executor) {
+        this(jsonRpcHandler, callContextFactory, executor, new JSONRPCControllerOptions());
+    }
+
+    /**
+     * @param options the optional collaborators of the controller, see {@link JSONRPCControllerOptions}
+     */
+    public MessageController(
+            JSONRPCHandler jsonRpcHandler,
+            CallContextFactory callContextFactory,
+            Executor executor,
+            JSONRPCControllerOptions options
+    ) {
         this.jsonRpcHandler = jsonRpcHandler;
         this.callContextFactory = callContextFactory;
         this.executor = executor;
+        this.dispatchScheduler = options.dispatchScheduler();
+        this.batchOptions = options.batchOptions();
+        this.requestBodyReader = options.requestBodyReader();
+        this.streamingOptions = options.streamingOptions();
+        this.taskCanceller = options.taskCanceller();
+        this.openStreams = options.openStreams();
+        this.taskBatchReader = options.taskBatchReader();
+        this.taskBatchCanceller = options.taskBatchCanceller();
     }
 
     /**
      * Handles incoming POST requests to the main A2A endpoint. Dispatches the
      * request to the appropriate JSON-RPC handler method and returns the response.
+     * <p>
+     * In blocking mode the handler waits for the agent to finish, so the whole dispatch
+     * runs on the dispatch scheduler instead of the calling (event-loop) thread.
+     * <p>
+     * A JSON-RPC 2.0 batch (array of requests) is answered with an array of responses,
+     * in the same order as the requests.
      *
-     * @param jsonRpcMessage the JSON-RPC request string
+     * @param body the JSON-RPC request body
      * @return the JSON-RPC response which may be an error response
      */
     @PostMapping(
             path = {"", "/"},
             consumes = MediaType.APPLICATION_JSON_VALUE,
-            produces = MediaType.APPLICATION_JSON_VALUE
+            produces = { MediaType.APPLICATION_JSON_VALUE, A2AMediaTypes.APPLICATION_PROTOBUF_VALUE }
     )
-    public ResponseEntity<?> sendMessage(
+    public Mono<ResponseEntity<?>> sendMessage(
             ServerWebExchange exchange,
             @Nullable Authentication authentication,
-            @RequestBody String jsonRpcMessage
+            @RequestBody Flux<DataBuffer> body
+    ) {
+        return requestBodyReader.readString(exchange.getRequest().getHeaders(), body)
+                .flatMap(jsonRpcMessage -> {
+                    if (isBatchRequest(jsonRpcMessage)) {
+                        return dispatchBatch(exchange, authentication, jsonRpcMessage);
+                    }
+
+                    return Mono.defer(() -> dispatchMessage(exchange, authentication, jsonRpcMessage))
+                            .subscribeOn(dispatchScheduler);
+                });
+    }
+
+    private Mono<ResponseEntity<?>> dispatchMessage(
+            ServerWebExchange exchange,
+            @Nullable Authentication authentication,
+            String jsonRpcMessage
+    ) {
+        try {
+            // Extension methods are unknown to the SDK parser, the body is parsed for them only when it calls one
+            if (isExtensionMethod(methodName(jsonRpcMessage))) {
+                var response = dispatchExtension(exchange, authentication, JsonParser.parseString(jsonRpcMessage));
+                if (response != null) {
+                    return response.map(this::toJsonResponseEntity);
+                }
+            }
+        } catch (Throwable ex) {
+            return Mono.just(toJsonResponseEntity(serializeResponse(processErrorResponse(ex))));
+        }
+
+        return Mono.fromCallable(() -> dispatchSdkMessage(exchange, authentication, jsonRpcMessage));
+    }
+
+    private ResponseEntity<?> dispatchSdkMessage(
+            ServerWebExchange exchange,
+            @Nullable Authentication authentication,
+            String jsonRpcMessage
     ) {
         LOGGER.debug("Handling non-streaming request");
 
         try {
             var request = JSONRPCUtils.parseRequestBody(jsonRpcMessage);
-            var context = callContextFactory.build(exchange, authentication, request.getMethod());
+            var fieldMask = fieldMask(exchange);
+            var context = CallContextFactory.takeOrBuild(
+                    callContextFactory, exchange, authentication, request.getMethod()
+            );
             context.getState().put(JSONRPCContextKeys.METHOD_NAME_KEY, request.getMethod());
 
             if (request instanceof NonStreamingJSONRPCRequest<?> jsonRpcRequest) {
                 var response = processNonStreamingRequest(jsonRpcRequest, context);
-                return ResponseEntity.ok()
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .body(serializeResponse(response));
+                return toResponseEntity(exchange, response, fieldMask);
             }
 
             return ResponseEntity.badRequest()
@@ -120,6 +232,213 @@ public class MessageController {
         }
     }
 
+    /**
+     * Dispatches every request of a batch concurrently (up to the configured concurrency)
+     * and joins the responses into one JSON array, preserving the request order.
+     */
+    private Mono<ResponseEntity<?>> dispatchBatch(
+            ServerWebExchange exchange,
+            @Nullable Authentication authentication,
+            String jsonRpcBatch
+    ) {
+        LOGGER.debug("Handling batch request");
+
+        JsonArray batch;
+        try {
+            batch = JsonParser.parseString(jsonRpcBatch).getAsJsonArray();
+        } catch (Throwable ex) {
+            return Mono.just(toJsonResponseEntity(serializeResponse(processErrorResponse(ex))));
+        }
+
+        if (batch.isEmpty()) {
+            return Mono.just(toJsonResponseEntity(serializeResponse(
+                    new A2AErrorResponse(new InvalidRequestError("Empty batch request"))
+            )));
+        }
+
+        if (batch.size() > batchOptions.maxSize()) {
+            return Mono.just(toJsonResponseEntity(serializeResponse(
+                    new A2AErrorResponse(new InvalidRequestError(
+                            "Batch request exceeds the maximum size of " + batchOptions.maxSize()
+                    ))
+            )));
+        }
+
+        return Flux.fromIterable(batch)
+                .flatMapSequential(
+                        element -> Mono.defer(() -> dispatchBatchElement(exchange, authentication, element))
+                                .subscribeOn(dispatchScheduler),
+                        batchOptions.maxConcurrency()
+                )
+                .collect(Collectors.joining(",", "[", "]"))
+                .<ResponseEntity<?>>map(this::toJsonResponseEntity)
+                .doFinally(signal -> LOGGER.debug("Completed batch request"));
+    }
+
+    private Mono<String> dispatchBatchElement(
+            ServerWebExchange exchange,
+            @Nullable Authentication authentication,
+            JsonElement element
+    ) {
+        try {
+            var extensionResponse = dispatchExtension(exchange, authentication, element);
+            if (extensionResponse != null) {
+                return extensionResponse;
+            }
+        } catch (Throwable ex) {
+            return Mono.just(serializeResponse(processErrorResponse(ex)));
+        }
+
+        return Mono.fromCallable(() -> dispatchSdkBatchElement(exchange, authentication, element));
+    }
+
+    private String dispatchSdkBatchElement(
+            ServerWebExchange exchange,
+            @Nullable Authentication authentication,
+            JsonElement element
+    ) {
+        try {
+            var request = JSONRPCUtils.parseRequestBody(element.toString());
+            if (!(request instanceof NonStreamingJSONRPCRequest<?> jsonRpcRequest)) {
+                return serializeResponse(new A2AErrorResponse(
+                        request.getId(),
+                        new InvalidRequestError("Streaming requests are not supported in batch requests")
+                ));
+            }
+
+            var fieldMask = fieldMask(exchange);
+            var context = CallContextFactory.takeOrBuild(
+                    callContextFactory, exchange, authentication, request.getMethod()
+            );
+            context.getState().put(JSONRPCContextKeys.METHOD_NAME_KEY, request.getMethod());
+
+            return serializeResponse(processNonStreamingRequest(jsonRpcRequest, context), fieldMask);
+        } catch (Throwable ex) {
+            return serializeResponse(processErrorResponse(ex));
+        }
+    }
+
+    /**
+     * Dispatches the request when it calls an extension method.
+     *
+     * @return the serialized response, {@code null} when the request is not an extension method call
+     */
+    private @Nullable Mono<String> dispatchExtension(
+            ServerWebExchange exchange,
+            @Nullable Authentication authentication,
+            JsonElement element
+    ) {
+        if (!element.isJsonObject()) {
+            return null;
+        }
+
+        var request = element.getAsJsonObject();
+        var method = request.get("method");
+        if (method == null || !method.isJsonPrimitive()) {
+            return null;
+        }
+
+        var methodName = method.getAsString();
+        var isBatchGet = taskBatchReader != null && TaskBatchMethods.BATCH_GET_TASKS_METHOD.equals(methodName);
+        var isBatchCancel = taskBatchCanceller != null
+                && TaskBatchMethods.BATCH_CANCEL_TASKS_METHOD.equals(methodName);
+        if (!isBatchGet && !isBatchCancel) {
+            return null;
+        }
+
+        var id = jsonRpcId(request.get("id"));
+        try {
+            if (isBatchGet) {
+                var fieldMask = fieldMask(exchange);
+                var batchRequest = TaskBatchRequest.fromJson(request.get("params"));
+                var context = CallContextFactory.takeOrBuild(callContextFactory, exchange, authentication, methodName);
+
+                return Mono.just(ResponseBodyWriter.printJsonRpcResult(
+                        id, taskBatchReader.read(batchRequest, context.getTenantUid(), context).toJson(fieldMask)
+                ));
+            }
+
+            var cancelRequest = TaskBatchCancelRequest.fromJson(request.get("params"));
+            var context = CallContextFactory.takeOrBuild(callContextFactory, exchange, authentication, methodName);
+
+            return taskBatchCanceller.cancel(cancelRequest, context.getTenantUid(), context)
+                    .map(cancellation -> ResponseBodyWriter.printJsonRpcResult(id, cancellation.toJson()))
+                    .onErrorResume(ex -> Mono.just(printExtensionError(methodName, id, ex)));
+        } catch (Throwable ex) {
+            return Mono.just(printExtensionError(methodName, id, ex));
+        }
+    }
+
+    private static String printExtensionError(String methodName, @Nullable Object id, Throwable ex) {
+        if (ex instanceof A2AError error) {
+            ERROR_LOGGER.warn("Error handling {} request", methodName, error);
+            return ErrorResponses.printJsonRpcError(id, error);
+        }
+
+        LOGGER.error("Unexpected error handling {} request", methodName, ex);
+        return ErrorResponses.printJsonRpcError(id, new InternalError(ex.getMessage()));
+    }
+
+    /**
+     * Whether the method is an enabled extension method, which the SDK parser does not know.
+     */
+    private boolean isExtensionMethod(@Nullable String methodName) {
+        return taskBatchReader != null && TaskBatchMethods.BATCH_GET_TASKS_METHOD.equals(methodName)
+                || taskBatchCanceller != null && TaskBatchMethods.BATCH_CANCEL_TASKS_METHOD.equals(methodName);
+    }
+
+    /**
+     * The {@code method} member of the JSON-RPC request, read without parsing the rest of the body
+     * into a tree: the other members are skipped. {@code null} when the body is not a JSON object or
+     * has no string method, the SDK parser then reports the error.
+     */
+    static @Nullable String methodName(String jsonRpcMessage) {
+        try (var reader = new JsonReader(new StringReader(jsonRpcMessage))) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return null;
+            }
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("method".equals(reader.nextName()) && reader.peek() == JsonToken.STRING) {
+                    return reader.nextString();
+                }
+
+                reader.skipValue();
+            }
+
+            return null;
+        } catch (IOException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private static @Nullable Object jsonRpcId(@Nullable JsonElement id) {
+        if (id == null || !id.isJsonPrimitive()) {
+            return null;
+        }
+
+        var primitive = id.getAsJsonPrimitive();
+        return primitive.isNumber() ? primitive.getAsNumber() : primitive.getAsString();
+    }
+
+    private ResponseEntity<?> toJsonResponseEntity(String body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private static boolean isBatchRequest(String jsonRpcMessage) {
+        for (int i = 0; i < jsonRpcMessage.length(); i++) {
+            var ch = jsonRpcMessage.charAt(i);
+            if (!Character.isWhitespace(ch)) {
+                return ch == '[';
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Handles incoming POST requests to the main A2A endpoint that involve Server-Sent Events (SSE).
      * Uses custom SSE response handling to avoid JAX-RS SSE compatibility issues with async publishers.
@@ -127,16 +446,27 @@ public class MessageController {
     @PostMapping(
             path = {"", "/"},
             consumes = MediaType.APPLICATION_JSON_VALUE,
-            produces = MediaType.TEXT_EVENT_STREAM_VALUE
+            produces = { MediaType.TEXT_EVENT_STREAM_VALUE, A2AMediaTypes.APPLICATION_PROTOBUF_DELIMITED_VALUE }
     )
-    public ResponseEntity<?> sendMessageStreaming(
+    public Mono<ResponseEntity<?>> sendMessageStreaming(
+            ServerWebExchange exchange,
+            @Nullable Authentication authentication,
+            @RequestBody Flux<DataBuffer> body
+    ) {
+        return requestBodyReader.readString(exchange.getRequest().getHeaders(), body)
+                .map(jsonRpcMessage -> dispatchStreamingMessage(exchange, authentication, jsonRpcMessage));
+    }
+
+    private ResponseEntity<?> dispatchStreamingMessage(
             ServerWebExchange exchange,
             @Nullable Authentication authentication,
-            @RequestBody String jsonRpcMessage
+            String jsonRpcMessage
     ) {
         try {
             var request = JSONRPCUtils.parseRequestBody(jsonRpcMessage);
-            var context = callContextFactory.build(exchange, authentication, request.getMethod());
+            var context = CallContextFactory.takeOrBuild(
+                    callContextFactory, exchange, authentication, request.getMethod()
+            );
             context.getState().put(JSONRPCContextKeys.METHOD_NAME_KEY, request.getMethod());
 
             if (request instanceof StreamingJSONRPCRequest<?> streamingRequest) {
@@ -146,11 +476,39 @@ public class MessageController {
                 if (publisher != null) {
                     // Handle the streaming response with custom SSE formatting
                     LOGGER.debug("Handling custom SSE response for publisher: {}", publisher);
+                    // The task belongs to the client that sent the message, a subscriber leaving never cancels it
+                    var disconnectPolicy = streamingRequest instanceof SendStreamingMessageRequest
+                            ? streamingOptions.disconnectPolicy()
+                            : StreamingOptions.DisconnectPolicy.KEEP_TASK;
+                    var cancellation = new StreamCancellation(disconnectPolicy, taskCanceller, context, executor);
+
+                    if (A2AMediaTypes.acceptsProtobufDelimited(exchange.getRequest().getHeaders())) {
+                        return ResponseEntity.ok()
+                                .contentType(A2AMediaTypes.APPLICATION_PROTOBUF_DELIMITED)
+                                .body(ResponseBodyWriter.writeProtobufDelimited(
+                                        exchange.getResponse().bufferFactory(),
+                                        openStreams.supervise(
+                                                convertToProtoStream(publisher, cancellation),
+                                                streamingOptions,
+                                                cancellation
+                                        )
+                                ));
+                    }
 
-                    var textPublisher = convertToSendStreamingMessageResponse(publisher);
+                    var events = openStreams.supervise(
+                            JdkFlowAdapter.flowPublisherToFlux(
+                                    convertToSendStreamingMessageResponse(publisher, cancellation)
+                            ),
+                            streamingOptions,
+                            cancellation
+                    );
                     return ResponseEntity.ok()
                             .contentType(MediaType.TEXT_EVENT_STREAM)
-                            .body(JdkFlowAdapter.flowPublisherToFlux(textPublisher));
+                            .body(streamingOptions.isBatching() || streamingOptions.isHeartbeating()
+                                    ? ServerSentEventWriter.body(
+                                            events, exchange.getResponse().bufferFactory(), streamingOptions
+                                    )
+                                    : events);
                 }
             }
 
@@ -174,28 +532,28 @@ public class MessageController {
     private A2AErrorResponse processErrorResponse(Throwable ex) {
         switch (ex) {
             case InvalidParamsJsonMappingException error -> {
-                LOGGER.warn("Invalid params in request: {}", error.getMessage());
+                ERROR_LOGGER.warn("Invalid params in request: {}", error.getMessage());
                 return new A2AErrorResponse(
                         error.getId(),
                         new InvalidParamsError(error.getMessage())
                 );
             }
             case MethodNotFoundJsonMappingException error -> {
-                LOGGER.warn("Method not found in request: {}", error.getMessage());
+                ERROR_LOGGER.warn("Method not found in request: {}", error.getMessage());
                 return new A2AErrorResponse(
                         error.getId(),
                         new MethodNotFoundError(null, error.getMessage(), null)
                 );
             }
             case IdJsonMappingException error -> {
-                LOGGER.warn("Invalid request ID: {}", error.getMessage());
+                ERROR_LOGGER.warn("Invalid request ID: {}", error.getMessage());
                 return new A2AErrorResponse(
                         error.getId(),
                         new InvalidRequestError(error.getMessage())
                 );
             }
             case JsonMappingException error -> {
-                LOGGER.warn("JSON mapping error: {}", error.getMessage(), error);
+                ERROR_LOGGER.warn("JSON mapping error", error);
                 // Check if this is a parse error wrapped in a mapping exception
                 if (error.getCause() instanceof JsonProcessingException) {
                     return new A2AErrorResponse(
@@ -209,19 +567,19 @@ public class MessageController {
                 }
             }
             case JsonSyntaxException error -> {
-                LOGGER.warn("JSON syntax error: {}", error.getMessage());
+                ERROR_LOGGER.warn("JSON syntax error: {}", error.getMessage());
                 return new A2AErrorResponse(
                         new JSONParseError(error.getMessage())
                 );
             }
             case JsonProcessingException error -> {
-                LOGGER.warn("JSON processing error: {}", error.getMessage());
+                ERROR_LOGGER.warn("JSON processing error: {}", error.getMessage());
                 return new A2AErrorResponse(
                         new JSONParseError(error.getMessage())
                 );
             }
             case A2AError error -> {
-                LOGGER.warn("Error processing request: {}", error.getMessage());
+                ERROR_LOGGER.warn("Error processing request: {}", error.getMessage());
                 return new A2AErrorResponse(error);
             }
             default -> {
@@ -278,56 +636,41 @@ public class MessageController {
      * This approach avoids JAX-RS SSE compatibility issues with async publishers.
      */
     private Flow.Publisher<String> convertToSendStreamingMessageResponse(
-            Flow.Publisher<SendStreamingMessageResponse> publisher
+            Flow.Publisher<SendStreamingMessageResponse> publisher,
+            StreamCancellation cancellation
     ) {
-        // We can't use the normal convertingProcessor since that propagates any errors as an error handled
-        // via Subscriber.onError() rather than as part of the SendStreamingResponse payload
-        return ZeroPublisher.create(AsyncUtils.createTubeConfig(), tube -> {
-            CompletableFuture.runAsync(() -> {
-                publisher.subscribe(new Flow.Subscriber<>() {
-                    private Flow.Subscription subscription;
-
-                    @Override
-                    public void onSubscribe(Flow.Subscription subscription) {
-                        LOGGER.debug("Custom SSE subscriber onSubscribe called");
-
-                        this.subscription = subscription;
-                        subscription.request(1);
-                    }
-
-                    @Override
-                    public void onNext(SendStreamingMessageResponse item) {
-                        LOGGER.debug("Custom SSE subscriber onNext called with item: {}", item);
-
-                        try {
-                            var jsonData = serializeResponse(item);
-                            tube.send(jsonData);
-
-                            if (subscription != null) {
-                                subscription.request(1);
-                            }
-                            LOGGER.debug("Custom SSE event sent successfully");
-                        } catch (Exception ex) {
-                            onError(ex);
-                        }
-                    }
-
-                    @Override
-                    public void onError(Throwable throwable) {
-                        var error = processErrorResponse(throwable);
-                        var payload = serializeResponse(error);
-                        tube.send(payload);
-
-                        onComplete();
-                    }
+        return StreamingBridge.create(
+                publisher,
+                this::serializeResponse,
+                throwable -> serializeResponse(processErrorResponse(throwable)),
+                SendStreamingMessageResponse::getResult,
+                cancellation,
+                streamingOptions,
+                executor
+        );
+    }
 
-                    @Override
-                    public void onComplete() {
-                        tube.complete();
+    /**
+     * Converts the streaming responses to their protobuf equivalents for length-delimited binary streams.
+     * Such a stream has no room for a JSON-RPC error payload, so an error terminates the stream instead.
+     */
+    private Flux<com.google.protobuf.Message> convertToProtoStream(
+            Flow.Publisher<SendStreamingMessageResponse> publisher,
+            StreamCancellation cancellation
+    ) {
+        return JdkFlowAdapter.flowPublisherToFlux(publisher)
+                .limitRate(streamingOptions.prefetch())
+                .<com.google.protobuf.Message>handle((item, sink) -> {
+                    if (item.getError() != null) {
+                        sink.error(item.getError());
+                    } else {
+                        cancellation.track(item.getResult());
+                        sink.next(convertToProto(item));
                     }
-                });
-            }, executor);
-        });
+                })
+                .doOnComplete(cancellation::complete)
+                .doOnCancel(cancellation::cancel)
+                .subscribeOn(Schedulers.fromExecutor(executor));
     }
 
     /**
@@ -335,24 +678,110 @@ public class MessageController {
      * This ensures enum values are serialized correctly using protobuf JSON format.
      */
     private String serializeResponse(A2AResponse<?> response) {
-        // For error responses, use Jackson serialization (errors are standardized)
+        return serializeResponse(response, null);
+    }
+
+    private String serializeResponse(A2AResponse<?> response, @Nullable TaskFieldMask fieldMask) {
+        // Error responses are standardized, written from pre-encoded templates
         if (response instanceof A2AErrorResponse || response.getError() != null) {
-            return JSONRPCUtils.toJsonRPCErrorResponse(response.getId(), response.getError());
+            return ErrorResponses.printJsonRpcError(response.getId(), response.getError());
         }
 
         // Convert domain response to protobuf message and serialize
-        var protoMessage = convertToProto(response);
-        return JSONRPCUtils.toJsonRPCResultResponse(response.getId(), protoMessage);
+        var protoMessage = convertToProto(response, fieldMask);
+        try {
+            return ResponseBodyWriter.printJsonRpcResult(response.getId(), protoMessage);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Writes A2A responses directly into buffers of the exchange, skipping the intermediate String.
+     * <p>
+     * Results are written as binary protobuf when the {@code Accept} header prefers it, JSON-RPC JSON
+     * otherwise. Error responses are small and always keep the JSON-RPC JSON format, so clients tell
+     * them apart by the content type.
+     * <p>
+     * {@code GetTask} results are tagged with an {@code ETag} like the REST task endpoint. A request
+     * whose {@code If-None-Match} header matches the tag is answered with a regular JSON-RPC response,
+     * since the HTTP {@code 304 Not Modified} status has no JSON-RPC envelope. Its result is still a
+     * task, as the {@code GetTask} schema requires, but only with the id, context and status of the
+     * task, and with {@value #NOT_MODIFIED_METADATA_KEY} set to {@code true} in its metadata.
+     */
+    private ResponseEntity<?> toResponseEntity(
+            ServerWebExchange exchange,
+            A2AResponse<?> response,
+            @Nullable TaskFieldMask fieldMask
+    ) {
+        if (response instanceof A2AErrorResponse || response.getError() != null) {
+            return toJsonResponseEntity(serializeResponse(response));
+        }
+
+        var result = convertToProto(response, fieldMask);
+        var builder = ResponseEntity.ok();
+
+        if (response instanceof GetTaskResponse && result instanceof io.a2a.grpc.Task task) {
+            // Conditional polling, same as GET /tasks/{taskId} of the REST transport
+            var etag = TaskETags.of(task);
+            if (TaskETags.isNotModified(exchange.getRequest().getHeaders(), etag)) {
+                result = notModified(task);
+            }
+
+            builder.eTag(etag).varyBy(HttpHeaders.ACCEPT);
+        }
+
+        var bufferFactory = exchange.getResponse().bufferFactory();
+        if (A2AMediaTypes.acceptsProtobuf(exchange.getRequest().getHeaders())) {
+            return builder
+                    .contentType(A2AMediaTypes.APPLICATION_PROTOBUF)
+                    .body(ResponseBodyWriter.writeProtobuf(bufferFactory, result));
+        }
+
+        return builder
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ResponseBodyWriter.writeJsonRpcResult(
+                        bufferFactory,
+                        response.getId(),
+                        result
+                ));
+    }
+
+    /**
+     * The task without the history and artifacts the client already has, marked as not modified.
+     */
+    private static io.a2a.grpc.Task notModified(io.a2a.grpc.Task task) {
+        var metadata = task.getMetadata().toBuilder()
+                .putFields(NOT_MODIFIED_METADATA_KEY, Value.newBuilder().setBoolValue(true).build());
+
+        return io.a2a.grpc.Task.newBuilder()
+                .setId(task.getId())
+                .setContextId(task.getContextId())
+                .setStatus(task.getStatus())
+                .setMetadata(metadata)
+                .build();
+    }
+
+    /**
+     * Projection of the {@code GetTask} and {@code ListTasks} results on the {@code fields} query
+     * parameter of the request, see {@link TaskFieldMask}. JSON-RPC params have no room for it.
+     */
+    private static @Nullable TaskFieldMask fieldMask(ServerWebExchange exchange) {
+        return TaskFieldMask.parse(exchange.getRequest().getQueryParams().getFirst(TaskFieldMask.FIELDS_PARAM));
+    }
+
+    private com.google.protobuf.Message convertToProto(A2AResponse<?> response) {
+        return convertToProto(response, null);
     }
 
     /**
-     * Converts A2A response objects to their protobuf equivalents.
+     * Converts A2A response objects to their protobuf equivalents, projecting tasks on the field mask.
      */
-    private com.google.protobuf.MessageOrBuilder convertToProto(A2AResponse<?> response) {
+    private com.google.protobuf.Message convertToProto(A2AResponse<?> response, @Nullable TaskFieldMask fieldMask) {
         return switch (response) {
-            case GetTaskResponse r -> ProtoUtils.ToProto.task(r.getResult());
+            case GetTaskResponse r -> TaskFieldMask.toProto(r.getResult(), fieldMask);
             case CancelTaskResponse r -> ProtoUtils.ToProto.task(r.getResult());
-            case ListTasksResponse r -> ProtoUtils.ToProto.listTasksResult(r.getResult());
+            case ListTasksResponse r -> TaskFieldMask.toProto(r.getResult(), fieldMask);
             case SetTaskPushNotificationConfigResponse r ->
                     ProtoUtils.ToProto.setTaskPushNotificationConfigResponse(r.getResult());
             case GetTaskPushNotificationConfigResponse r ->
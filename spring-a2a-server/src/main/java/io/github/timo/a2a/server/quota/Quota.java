@@ -0,0 +1,88 @@
+package io.github.timo.a2a.server.quota;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Quota of a tenant on one A2A method: the token bucket of its requests, and the count of its
+ * open streams.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class Quota {
+    private final QuotaLimits limits;
+    private final @Nullable TokenBucket bucket;
+    private final AtomicInteger openStreams = new AtomicInteger();
+
+    public Quota(QuotaLimits limits) {
+        this(limits, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock the monotonic clock of the token bucket, in nanoseconds
+     */
+    public Quota(QuotaLimits limits, LongSupplier nanoClock) {
+        this.limits = limits;
+        this.bucket = limits.isRateLimited()
+                ? new TokenBucket(limits.requestsPerSecond(), limits.burst(), nanoClock)
+                : null;
+    }
+
+    public QuotaLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * Takes a request token.
+     *
+     * @return whether the request is within the rate limit
+     */
+    public boolean tryAcquire() {
+        return bucket == null || bucket.tryAcquire();
+    }
+
+    /**
+     * Time until the next request is within the rate limit, 0 when it is now.
+     */
+    public long nanosUntilAvailable() {
+        return bucket == null ? 0 : bucket.nanosUntilAvailable();
+    }
+
+    /**
+     * Counts a stream as open, unless the max number of open streams is reached. An opened stream
+     * must be closed with {@link #closeStream()}.
+     *
+     * @return whether the stream was counted
+     */
+    public boolean tryOpenStream() {
+        if (!limits.isStreamLimited()) {
+            openStreams.incrementAndGet();
+            return true;
+        }
+
+        while (true) {
+            var current = openStreams.get();
+            if (current >= limits.maxStreams()) {
+                return false;
+            }
+
+            if (openStreams.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void closeStream() {
+        openStreams.decrementAndGet();
+    }
+
+    /**
+     * Number of open streams.
+     */
+    public int openStreams() {
+        return openStreams.get();
+    }
+}
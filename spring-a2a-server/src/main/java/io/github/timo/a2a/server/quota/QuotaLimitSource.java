@@ -0,0 +1,36 @@
+package io.github.timo.a2a.server.quota;
+
+import java.util.Map;
+
+/**
+ * Source of the limits of each tenant, for instance read from the configuration or from a
+ * tenant directory.
+ * <p>
+ * The limits of a tenant and method are looked up on its first request, and kept for the
+ * following ones, see {@link TenantQuotas}.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+@FunctionalInterface
+public interface QuotaLimitSource {
+    QuotaLimitSource UNLIMITED = (tenantUid, methodName) -> QuotaLimits.UNLIMITED;
+
+    /**
+     * @param tenantUid  the uid of the tenant, empty for the default tenant
+     * @param methodName the A2A method, see {@link io.a2a.spec.A2AMethods}
+     * @return the limits of the tenant on the method
+     */
+    QuotaLimits limits(String tenantUid, String methodName);
+
+    /**
+     * Limits configured per tenant, the same on every method of the tenant.
+     *
+     * @param defaults the limits of the tenants that are not configured
+     * @param tenants  the limits by tenant uid
+     */
+    static QuotaLimitSource perTenant(QuotaLimits defaults, Map<String, QuotaLimits> tenants) {
+        var limits = Map.copyOf(tenants);
+        return (tenantUid, methodName) -> limits.getOrDefault(tenantUid, defaults);
+    }
+}
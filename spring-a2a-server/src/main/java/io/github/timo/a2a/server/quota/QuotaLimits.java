@@ -0,0 +1,30 @@
+package io.github.timo.a2a.server.quota;
+
+/**
+ * Limits of a tenant on one A2A method.
+ *
+ * @param requestsPerSecond sustained rate of requests, unlimited when not positive
+ * @param burst             number of requests that can be sent at once after an idle period,
+ *                          the rate rounded up (at least 1) when not positive
+ * @param maxStreams        max number of streams open at the same time, for the streaming methods,
+ *                          unlimited when not positive
+ * @author Timo
+ * @since 0.1.0
+ */
+public record QuotaLimits(double requestsPerSecond, int burst, int maxStreams) {
+    public static final QuotaLimits UNLIMITED = new QuotaLimits(0, 0, 0);
+
+    public QuotaLimits {
+        requestsPerSecond = requestsPerSecond > 0 ? requestsPerSecond : 0;
+        burst = burst > 0 ? burst : Math.max(1, (int) Math.ceil(requestsPerSecond));
+        maxStreams = Math.max(maxStreams, 0);
+    }
+
+    public boolean isRateLimited() {
+        return requestsPerSecond > 0;
+    }
+
+    public boolean isStreamLimited() {
+        return maxStreams > 0;
+    }
+}
@@ -0,0 +1,148 @@
+package io.github.timo.a2a.server.quota;
+
+import io.github.timo.a2a.server.context.CallContextFactory;
+import io.github.timo.a2a.server.rest.RestRoutes;
+import io.github.timo.a2a.server.web.A2AMediaTypes;
+import io.a2a.spec.A2AMethods;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits the A2A requests within the quota of their tenant and method, the others are answered
+ * with {@code 429 Too Many Requests} before their body is read.
+ * <p>
+ * The tenant of a request is the one of its call context, see {@link CallContextFactory}, and the
+ * method the one of its REST route, see {@link RestRoutes}. The call context is handed over to the
+ * handler of the request, see {@link CallContextFactory#CALL_CONTEXT_ATTRIBUTE}. A streaming
+ * request is counted as an open stream until its response completes or its client disconnects.
+ * <p>
+ * JSON-RPC requests name their method in the body, so they are admitted by the kind of response
+ * they accept: streaming requests under the {@link A2AMethods#SEND_STREAMING_MESSAGE_METHOD}
+ * quota, the others under the {@value #JSON_RPC_METHOD} quota.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public class TenantQuotaWebFilter implements WebFilter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TenantQuotaWebFilter.class);
+
+    /**
+     * Method of the quota of the non-streaming JSON-RPC requests.
+     */
+    public static final String JSON_RPC_METHOD = "JSONRPC";
+
+    private final TenantQuotas quotas;
+    private final CallContextFactory callContextFactory;
+
+    /**
+     * @param callContextFactory the factory of the call contexts, which resolves the tenant of the requests
+     */
+    public TenantQuotaWebFilter(TenantQuotas quotas, CallContextFactory callContextFactory) {
+        this.quotas = quotas;
+        this.callContextFactory = callContextFactory;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        var methodName = methodName(exchange.getRequest());
+        if (methodName == null) {
+            return chain.filter(exchange);
+        }
+
+        return exchange.getPrincipal()
+                .ofType(Authentication.class)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> admit(exchange, chain, authentication.orElse(null), methodName));
+    }
+
+    private Mono<Void> admit(
+            ServerWebExchange exchange,
+            WebFilterChain chain,
+            @Nullable Authentication authentication,
+            String methodName
+    ) {
+        // The handler of the request takes the context rather than building it again
+        var context = callContextFactory.build(exchange, authentication, methodName);
+        exchange.getAttributes().put(CallContextFactory.CALL_CONTEXT_ATTRIBUTE, context);
+
+        var tenantUid = context.getTenantUid();
+        var quota = quotas.quota(tenantUid, methodName);
+        var streaming = TenantQuotas.isStreaming(methodName);
+
+        if (streaming && !quota.tryOpenStream()) {
+            LOGGER.debug("Rejected {} request of tenant '{}': too many open streams", methodName, tenantUid);
+            return reject(exchange, 0);
+        }
+
+        if (!quota.tryAcquire()) {
+            if (streaming) {
+                quota.closeStream();
+            }
+
+            LOGGER.debug("Rejected {} request of tenant '{}': too many requests", methodName, tenantUid);
+            return reject(exchange, quota.nanosUntilAvailable());
+        }
+
+        if (!streaming) {
+            return chain.filter(exchange);
+        }
+
+        // Completes once the streamed response is written, or cancelled by a disconnected client
+        return chain.filter(exchange).doFinally(signal -> quota.closeStream());
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, long retryAfterNanos) {
+        var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        if (retryAfterNanos > 0) {
+            var seconds = TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos - 1) + 1;
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        }
+
+        return response.setComplete();
+    }
+
+    /**
+     * The A2A method of the request, {@code null} when the request is not an A2A call.
+     */
+    static @Nullable String methodName(ServerHttpRequest request) {
+        var path = request.getPath().pathWithinApplication();
+        var method = request.getMethod();
+
+        if (HttpMethod.POST.equals(method) && (path.value().isEmpty() || "/".equals(path.value()))) {
+            return isStreamingAccepted(request.getHeaders())
+                    ? A2AMethods.SEND_STREAMING_MESSAGE_METHOD
+                    : JSON_RPC_METHOD;
+        }
+
+        return RestRoutes.methodName(method, path);
+    }
+
+    private static boolean isStreamingAccepted(HttpHeaders headers) {
+        if (A2AMediaTypes.acceptsProtobufDelimited(headers)) {
+            return true;
+        }
+
+        try {
+            return headers.getAccept().stream().anyMatch(MediaType.TEXT_EVENT_STREAM::equalsTypeAndSubtype);
+        } catch (RuntimeException ex) {
+            // Malformed Accept header, left to the handler to reject
+            return false;
+        }
+    }
+}
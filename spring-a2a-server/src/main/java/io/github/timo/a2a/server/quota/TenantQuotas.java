@@ -0,0 +1,70 @@
+package io.github.timo.a2a.server.quota;
+
+import io.a2a.spec.A2AMethods;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Quotas of the tenants, one per tenant and A2A method.
+ * <p>
+ * The quota of a tenant and method is created on its first request, with the limits of the
+ * {@link QuotaLimitSource}, and kept for the following ones. The quotas are looked up without
+ * locking nor allocating once created.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public class TenantQuotas {
+    /**
+     * The methods answered with a stream, whose open streams are counted.
+     */
+    public static final Set<String> STREAMING_METHODS = Set.of(
+            A2AMethods.SEND_STREAMING_MESSAGE_METHOD,
+            A2AMethods.SUBSCRIBE_TO_TASK_METHOD
+    );
+
+    private final QuotaLimitSource limitSource;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, ConcurrentMap<String, Quota>> quotas = new ConcurrentHashMap<>();
+
+    public TenantQuotas(QuotaLimitSource limitSource) {
+        this(limitSource, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock the monotonic clock of the token buckets, in nanoseconds
+     */
+    public TenantQuotas(QuotaLimitSource limitSource, LongSupplier nanoClock) {
+        this.limitSource = limitSource;
+        this.nanoClock = nanoClock;
+    }
+
+    public static boolean isStreaming(String methodName) {
+        return STREAMING_METHODS.contains(methodName);
+    }
+
+    /**
+     * @param tenantUid  the uid of the tenant, empty for the default tenant
+     * @param methodName the A2A method, see {@link A2AMethods}
+     * @return the quota of the tenant on the method
+     */
+    public Quota quota(String tenantUid, String methodName) {
+        var tenantQuotas = quotas.get(tenantUid);
+        if (tenantQuotas == null) {
+            tenantQuotas = quotas.computeIfAbsent(tenantUid, key -> new ConcurrentHashMap<>());
+        }
+
+        var quota = tenantQuotas.get(methodName);
+        if (quota == null) {
+            quota = tenantQuotas.computeIfAbsent(
+                    methodName,
+                    key -> new Quota(limitSource.limits(tenantUid, methodName), nanoClock)
+            );
+        }
+
+        return quota;
+    }
+}
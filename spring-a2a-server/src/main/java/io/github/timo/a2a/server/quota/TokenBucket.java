@@ -0,0 +1,73 @@
+package io.github.timo.a2a.server.quota;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket.
+ * <p>
+ * The whole state of the bucket is the time at which it is full again: taking a token pushes it
+ * one refill interval later, and a token is available as long as it stays within the capacity
+ * (burst times the interval) of the current time. Taking a token is a single compare-and-set,
+ * retried only when another thread took one in between, and nothing runs to refill the bucket.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class TokenBucket {
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(double tokensPerSecond, int burst) {
+        this(tokensPerSecond, burst, System::nanoTime);
+    }
+
+    /**
+     * @param tokensPerSecond the refill rate
+     * @param burst           the capacity, in tokens
+     * @param nanoClock       the monotonic clock, in nanoseconds
+     */
+    public TokenBucket(double tokensPerSecond, int burst, LongSupplier nanoClock) {
+        if (tokensPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Token bucket rate and burst must be positive");
+        }
+
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000 / tokensPerSecond));
+        this.capacityNanos = intervalNanos > Long.MAX_VALUE / burst ? Long.MAX_VALUE : intervalNanos * burst;
+        this.nanoClock = nanoClock;
+        this.fullAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes a token.
+     *
+     * @return whether a token was available
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            var now = nanoClock.getAsLong();
+            var current = fullAt.get();
+            // Compared by difference, the nano clock may overflow
+            var next = (current - now > 0 ? current : now) + intervalNanos;
+            if (next - now > capacityNanos) {
+                return false;
+            }
+
+            if (fullAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Time until the next token is available, 0 when one is available now.
+     */
+    public long nanosUntilAvailable() {
+        var now = nanoClock.getAsLong();
+        var wait = (fullAt.get() - now) + intervalNanos - capacityNanos;
+
+        return Math.max(wait, 0);
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.timo.a2a.server.rest;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.JsonFormat;
+import io.github.timo.a2a.server.web.ResponseBodyWriter;
+import io.a2a.transport.rest.handler.RestHandler;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+/**
+ * REST response holding the protobuf message instead of its printed JSON.
+ * <p>
+ * {@link ResponseUtils} writes the message straight into response buffers, as JSON or binary
+ * protobuf depending on the negotiated media type; the JSON {@link #getBody() body} string is
+ * only printed for callers that explicitly ask for it.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public class ProtoRestResponse extends RestHandler.HTTPRestResponse {
+    private final Message message;
+    private final JsonFormat.Printer printer;
+
+    public ProtoRestResponse(int statusCode, Message message, JsonFormat.Printer printer) {
+        super(statusCode, MediaType.APPLICATION_JSON_VALUE, "");
+
+        this.message = message;
+        this.printer = printer;
+    }
+
+    public Message getMessage() {
+        return message;
+    }
+
+    @Override
+    public String getBody() {
+        try {
+            return printer.print(message);
+        } catch (InvalidProtocolBufferException ex) {
+            throw new IllegalStateException("Failed to serialize response: " + ex.getMessage(), ex);
+        }
+    }
+
+    public Flux<DataBuffer> writeBody(DataBufferFactory bufferFactory) {
+        return ResponseBodyWriter.writeJson(bufferFactory, message, printer);
+    }
+
+    public Flux<DataBuffer> writeProtobufBody(DataBufferFactory bufferFactory) {
+        return ResponseBodyWriter.writeProtobuf(bufferFactory, message);
+    }
+}
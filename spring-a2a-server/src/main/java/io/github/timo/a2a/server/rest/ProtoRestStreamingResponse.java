@@ -0,0 +1,55 @@
+package io.github.timo.a2a.server.rest;
+
+import com.google.protobuf.Message;
+import io.github.timo.a2a.server.web.ResponseBodyWriter;
+import io.github.timo.a2a.server.web.StreamCancellation;
+import io.a2a.transport.rest.handler.RestHandler;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.Flow;
+
+/**
+ * REST streaming response that can be sent either as server-sent JSON events or as a
+ * length-delimited binary protobuf stream.
+ * <p>
+ * Both publishers are cold and share the same source, so only the one selected by
+ * {@link ResponseUtils} is ever subscribed. Their {@link StreamCancellation}, when known, is closed
+ * when the server closes the stream, see {@link io.github.timo.a2a.server.web.OpenStreams}.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public class ProtoRestStreamingResponse extends RestHandler.HTTPRestStreamingResponse {
+    private final Flux<? extends Message> messages;
+    private final @Nullable StreamCancellation cancellation;
+
+    public ProtoRestStreamingResponse(Flow.Publisher<String> publisher, Flux<? extends Message> messages) {
+        this(publisher, messages, null);
+    }
+
+    public ProtoRestStreamingResponse(
+            Flow.Publisher<String> publisher,
+            Flux<? extends Message> messages,
+            @Nullable StreamCancellation cancellation
+    ) {
+        super(publisher);
+
+        this.messages = messages;
+        this.cancellation = cancellation;
+    }
+
+    public Flux<? extends Message> getMessages() {
+        return messages;
+    }
+
+    public @Nullable StreamCancellation getCancellation() {
+        return cancellation;
+    }
+
+    public Flux<DataBuffer> writeProtobufBody(DataBufferFactory bufferFactory) {
+        return ResponseBodyWriter.writeProtobufDelimited(bufferFactory, messages);
+    }
+}
@@ -1,17 +1,103 @@
 package io.github.timo.a2a.server.rest;
 
+import io.github.timo.a2a.server.web.A2AMediaTypes;
+import io.github.timo.a2a.server.web.ErrorResponses;
+import io.github.timo.a2a.server.web.OpenStreams;
+import io.github.timo.a2a.server.web.ResponseBodyWriter;
+import io.github.timo.a2a.server.web.ServerSentEventWriter;
+import io.github.timo.a2a.server.web.StreamingOptions;
 import io.a2a.spec.A2AError;
 import io.a2a.transport.rest.handler.RestHandler;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.adapter.JdkFlowAdapter;
 
+import java.util.function.Supplier;
+
 public final class ResponseUtils {
     private ResponseUtils() {
         // N/A
     }
 
     public static ResponseEntity<?> toResponseEntity(RestHandler.HTTPRestResponse restResponse) {
+        return toResponseEntity(
+                restResponse, () -> DefaultDataBufferFactory.sharedInstance, StreamingOptions.DEFAULT, new OpenStreams()
+        );
+    }
+
+    public static ResponseEntity<?> toResponseEntity(
+            RestHandler.HTTPRestResponse restResponse,
+            ServerWebExchange exchange
+    ) {
+        return toResponseEntity(restResponse, exchange, StreamingOptions.DEFAULT);
+    }
+
+    public static ResponseEntity<?> toResponseEntity(
+            RestHandler.HTTPRestResponse restResponse,
+            ServerWebExchange exchange,
+            StreamingOptions streamingOptions
+    ) {
+        return toResponseEntity(restResponse, exchange, streamingOptions, new OpenStreams());
+    }
+
+    /**
+     * Converts the REST response, writing {@link ProtoRestResponse} bodies directly into buffers of the exchange.
+     * <p>
+     * Protobuf responses are sent in the binary protobuf format when the request {@code Accept} header
+     * prefers it over JSON, see {@link A2AMediaTypes}. Streaming responses are supervised by the open
+     * streams, and their server-sent events are coalesced and interleaved with heartbeats according
+     * to the streaming options.
+     * <p>
+     * The buffer bodies have no encoder, they are written as they are by
+     * {@link io.github.timo.a2a.server.router.DirectResponseResultHandler} behind the controllers, and
+     * by the functional routes.
+     */
+    public static ResponseEntity<?> toResponseEntity(
+            RestHandler.HTTPRestResponse restResponse,
+            ServerWebExchange exchange,
+            StreamingOptions streamingOptions,
+            OpenStreams openStreams
+    ) {
+        if (restResponse instanceof ProtoRestStreamingResponse protoStreamingResponse
+                && A2AMediaTypes.acceptsProtobufDelimited(exchange.getRequest().getHeaders())) {
+            return ResponseEntity.status(protoStreamingResponse.getStatusCode())
+                    .contentType(A2AMediaTypes.APPLICATION_PROTOBUF_DELIMITED)
+                    .body(ResponseBodyWriter.writeProtobufDelimited(
+                            exchange.getResponse().bufferFactory(),
+                            openStreams.supervise(
+                                    protoStreamingResponse.getMessages(),
+                                    streamingOptions,
+                                    protoStreamingResponse.getCancellation()
+                            )
+                    ));
+        }
+
+        if (restResponse instanceof ProtoRestResponse protoRestResponse) {
+            var bufferFactory = exchange.getResponse().bufferFactory();
+
+            if (A2AMediaTypes.acceptsProtobuf(exchange.getRequest().getHeaders())) {
+                return ResponseEntity.status(protoRestResponse.getStatusCode())
+                        .contentType(A2AMediaTypes.APPLICATION_PROTOBUF)
+                        .body(protoRestResponse.writeProtobufBody(bufferFactory));
+            }
+
+            return toResponseEntity(restResponse, () -> bufferFactory, streamingOptions, openStreams);
+        }
+
+        return toResponseEntity(
+                restResponse, () -> exchange.getResponse().bufferFactory(), streamingOptions, openStreams
+        );
+    }
+
+    private static ResponseEntity<?> toResponseEntity(
+            RestHandler.HTTPRestResponse restResponse,
+            Supplier<DataBufferFactory> bufferFactory,
+            StreamingOptions streamingOptions,
+            OpenStreams openStreams
+    ) {
         var builder = ResponseEntity.status(restResponse.getStatusCode());
 
         try {
@@ -21,15 +107,33 @@ public final class ResponseUtils {
         }
 
         if (restResponse instanceof RestHandler.HTTPRestStreamingResponse restStreamingResponse) {
-            return builder.body(JdkFlowAdapter.flowPublisherToFlux(restStreamingResponse.getPublisher()));
+            var cancellation = restStreamingResponse instanceof ProtoRestStreamingResponse protoStreamingResponse
+                    ? protoStreamingResponse.getCancellation()
+                    : null;
+            var events = openStreams.supervise(
+                    JdkFlowAdapter.flowPublisherToFlux(restStreamingResponse.getPublisher()),
+                    streamingOptions,
+                    cancellation
+            );
+            return builder.body(streamingOptions.isBatching() || streamingOptions.isHeartbeating()
+                    ? ServerSentEventWriter.body(events, bufferFactory.get(), streamingOptions)
+                    : events);
+        }
+
+        if (restResponse instanceof ProtoRestResponse protoRestResponse) {
+            return builder.body(protoRestResponse.writeBody(bufferFactory.get()));
         }
 
         return builder.body(restResponse.getBody());
     }
 
-    public static ResponseEntity<?> toResponseEntity(A2AError error) {
-        return ResponseEntity.internalServerError()
+    /**
+     * Converts the error into a response with the HTTP status of the error and its pre-encoded JSON body,
+     * see {@link ErrorResponses}.
+     */
+    public static ResponseEntity<byte[]> toResponseEntity(A2AError error) {
+        return ResponseEntity.status(ErrorResponses.httpStatus(error))
                 .contentType(MediaType.APPLICATION_JSON)
-                .body(new RestErrorResponse(error).toJson());
+                .body(ErrorResponses.encodeRestError(error));
     }
 }
@@ -0,0 +1,115 @@
+package io.github.timo.a2a.server.rest;
+
+import io.github.timo.a2a.server.tasks.ArtifactPartReader;
+import io.github.timo.a2a.server.tasks.ObservableTaskStore;
+import io.github.timo.a2a.server.tasks.TaskBatchCanceller;
+import io.github.timo.a2a.server.web.MultipartMessageReader;
+import io.github.timo.a2a.server.web.OpenStreams;
+import io.github.timo.a2a.server.web.RequestBodyReader;
+import io.github.timo.a2a.server.web.StreamingOptions;
+import org.jspecify.annotations.Nullable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The optional collaborators of the REST controllers, each defaulting to the behavior of the
+ * controllers without it. The message, task and task batch controllers share the options, each using
+ * its own.
+ * <p>
+ * The options are built from {@link #RestControllerOptions() the defaults} with the {@code with*}
+ * methods, each returning a copy. A new instance gets its own {@link OpenStreams}, so that controllers
+ * built from different options never share their open stream count.
+ *
+ * @param dispatchScheduler      the scheduler that runs (possibly blocking) task store reads once a waited
+ *                               task is updated, so they never occupy the thread that updated it
+ * @param requestBodyReader      the reader aggregating message bodies within the max in-memory size
+ * @param streamingOptions       the prefetch window and event batching applied to streaming responses
+ * @param openStreams            the supervisor closing idle streaming responses and counting the open ones
+ * @param observableTaskStore    the task store notifying the requests waiting for a task state,
+ *                               the tasks are not waited for when {@code null}
+ * @param artifactPartReader     the reader of {@code GET /tasks/{taskId}/artifacts/{artifactId}/parts/{index}},
+ *                               which is not supported when {@code null}
+ * @param multipartMessageReader the reader of {@code multipart/form-data} messages, which are not
+ *                               supported when {@code null}
+ * @param taskBatchCanceller     the canceller of {@code POST /tasks:batchCancel}, which is not supported
+ *                               when {@code null}
+ * @author Timo
+ * @since 0.1.0
+ */
+public record RestControllerOptions(
+        Scheduler dispatchScheduler,
+        RequestBodyReader requestBodyReader,
+        StreamingOptions streamingOptions,
+        OpenStreams openStreams,
+        @Nullable ObservableTaskStore observableTaskStore,
+        @Nullable ArtifactPartReader artifactPartReader,
+        @Nullable MultipartMessageReader multipartMessageReader,
+        @Nullable TaskBatchCanceller taskBatchCanceller
+) {
+    public RestControllerOptions {
+        dispatchScheduler = dispatchScheduler != null ? dispatchScheduler : Schedulers.boundedElastic();
+        requestBodyReader = requestBodyReader != null ? requestBodyReader : new RequestBodyReader();
+        streamingOptions = streamingOptions != null ? streamingOptions : StreamingOptions.DEFAULT;
+        openStreams = openStreams != null ? openStreams : new OpenStreams();
+    }
+
+    public RestControllerOptions() {
+        this(null, null, null, null, null, null, null, null);
+    }
+
+    public RestControllerOptions withDispatchScheduler(Scheduler dispatchScheduler) {
+        return new RestControllerOptions(
+                dispatchScheduler, requestBodyReader, streamingOptions, openStreams,
+                observableTaskStore, artifactPartReader, multipartMessageReader, taskBatchCanceller
+        );
+    }
+
+    public RestControllerOptions withRequestBodyReader(RequestBodyReader requestBodyReader) {
+        return new RestControllerOptions(
+                dispatchScheduler, requestBodyReader, streamingOptions, openStreams,
+                observableTaskStore, artifactPartReader, multipartMessageReader, taskBatchCanceller
+        );
+    }
+
+    public RestControllerOptions withStreamingOptions(StreamingOptions streamingOptions) {
+        return new RestControllerOptions(
+                dispatchScheduler, requestBodyReader, streamingOptions, openStreams,
+                observableTaskStore, artifactPartReader, multipartMessageReader, taskBatchCanceller
+        );
+    }
+
+    public RestControllerOptions withOpenStreams(OpenStreams openStreams) {
+        return new RestControllerOptions(
+                dispatchScheduler, requestBodyReader, streamingOptions, openStreams,
+                observableTaskStore, artifactPartReader, multipartMessageReader, taskBatchCanceller
+        );
+    }
+
+    public RestControllerOptions withObservableTaskStore(@Nullable ObservableTaskStore observableTaskStore) {
+        return new RestControllerOptions(
+                dispatchScheduler, requestBodyReader, streamingOptions, openStreams,
+                observableTaskStore, artifactPartReader, multipartMessageReader, taskBatchCanceller
+        );
+    }
+
+    public RestControllerOptions withArtifactPartReader(@Nullable ArtifactPartReader artifactPartReader) {
+        return new RestControllerOptions(
+                dispatchScheduler, requestBodyReader, streamingOptions, openStreams,
+                observableTaskStore, artifactPartReader, multipartMessageReader, taskBatchCanceller
+        );
+    }
+
+    public RestControllerOptions withMultipartMessageReader(@Nullable MultipartMessageReader multipartMessageReader) {
+        return new RestControllerOptions(
+                dispatchScheduler, requestBodyReader, streamingOptions, openStreams,
+                observableTaskStore, artifactPartReader, multipartMessageReader, taskBatchCanceller
+        );
+    }
+
+    public RestControllerOptions withTaskBatchCanceller(@Nullable TaskBatchCanceller taskBatchCanceller) {
+        return new RestControllerOptions(
+                dispatchScheduler, requestBodyReader, streamingOptions, openStreams,
+                observableTaskStore, artifactPartReader, multipartMessageReader, taskBatchCanceller
+        );
+    }
+}
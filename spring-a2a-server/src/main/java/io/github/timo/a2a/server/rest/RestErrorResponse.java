@@ -1,19 +1,22 @@
 package io.github.timo.a2a.server.rest;
 
+import io.github.timo.a2a.server.web.ErrorResponses;
 import io.a2a.spec.A2AError;
 import org.jspecify.annotations.NonNull;
 
 public class RestErrorResponse {
+    private final A2AError jsonRpcError;
     private final String error;
     private final String message;
 
     public RestErrorResponse(A2AError jsonRpcError) {
+        this.jsonRpcError = jsonRpcError;
         this.error = jsonRpcError.getClass().getName();
         this.message = jsonRpcError.getMessage();
     }
 
     public String toJson() {
-        return String.format("{\"error\": \"%s\", \"message\": \"%s\"}", error, message);
+        return ErrorResponses.printRestError(jsonRpcError);
     }
 
     @Override
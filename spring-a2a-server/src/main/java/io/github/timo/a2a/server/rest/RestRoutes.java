@@ -0,0 +1,105 @@
+package io.github.timo.a2a.server.rest;
+
+import io.github.timo.a2a.server.tasks.TaskBatchMethods;
+import io.a2a.spec.A2AMethods;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * The routes of the REST transport: their paths, shared by the annotated controllers and the
+ * functional routes, and the A2A method each of them calls, see {@link #methodName}.
+ * <p>
+ * The paths of the messages and the tasks are relative to {@link #MESSAGES} and {@link #TASKS}.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class RestRoutes {
+    public static final String MESSAGES = "/messages";
+    public static final String SEND_MESSAGE = "/message:send";
+    public static final String SEND_STREAMING_MESSAGE = "/message:stream";
+    public static final String SEND_USER_MESSAGE = "/user-message";
+    public static final String SEND_USER_MESSAGE_ALIAS = "/user-message:send";
+    public static final String SEND_STREAMING_USER_MESSAGE = "/user-message/stream";
+    public static final String SEND_STREAMING_USER_MESSAGE_ALIAS = "/user-message:stream";
+
+    public static final String TASKS = "/tasks";
+    public static final String LIST_TASKS = "";
+    public static final String LIST_TASKS_ALIAS = "/";
+    public static final String GET_TASK = "/{taskId}";
+    public static final String CANCEL_TASK = "/{taskId}/cancel";
+    public static final String SUBSCRIBE_TO_TASK = "/{taskId}/subscribe";
+    public static final String GET_ARTIFACT_PART = "/{taskId}/artifacts/{artifactId}/parts/{index}";
+    public static final String PUSH_NOTIFICATION_CONFIGS = "/{taskId}/pushNotificationConfigs";
+    public static final String PUSH_NOTIFICATION_CONFIG = "/{taskId}/pushNotificationConfigs/{configId}";
+
+    public static final String BATCH_GET_TASKS = "/tasks:batchGet";
+    public static final String BATCH_CANCEL_TASKS = "/tasks:batchCancel";
+
+    private static final List<Route> ROUTES = List.of(
+            route(HttpMethod.POST, MESSAGES + SEND_MESSAGE, A2AMethods.SEND_MESSAGE_METHOD),
+            route(HttpMethod.POST, MESSAGES + SEND_USER_MESSAGE, A2AMethods.SEND_MESSAGE_METHOD),
+            route(HttpMethod.POST, MESSAGES + SEND_USER_MESSAGE_ALIAS, A2AMethods.SEND_MESSAGE_METHOD),
+            route(HttpMethod.POST, MESSAGES + SEND_STREAMING_MESSAGE, A2AMethods.SEND_STREAMING_MESSAGE_METHOD),
+            route(HttpMethod.POST, MESSAGES + SEND_STREAMING_USER_MESSAGE, A2AMethods.SEND_STREAMING_MESSAGE_METHOD),
+            route(
+                    HttpMethod.POST, MESSAGES + SEND_STREAMING_USER_MESSAGE_ALIAS,
+                    A2AMethods.SEND_STREAMING_MESSAGE_METHOD
+            ),
+            route(HttpMethod.POST, BATCH_GET_TASKS, TaskBatchMethods.BATCH_GET_TASKS_METHOD),
+            route(HttpMethod.POST, BATCH_CANCEL_TASKS, TaskBatchMethods.BATCH_CANCEL_TASKS_METHOD),
+            route(HttpMethod.GET, TASKS + LIST_TASKS, A2AMethods.LIST_TASK_METHOD),
+            route(HttpMethod.GET, TASKS + LIST_TASKS_ALIAS, A2AMethods.LIST_TASK_METHOD),
+            route(HttpMethod.GET, TASKS + GET_TASK, A2AMethods.GET_TASK_METHOD),
+            route(HttpMethod.GET, TASKS + GET_ARTIFACT_PART, A2AMethods.GET_TASK_METHOD),
+            route(HttpMethod.POST, TASKS + CANCEL_TASK, A2AMethods.CANCEL_TASK_METHOD),
+            route(HttpMethod.POST, TASKS + SUBSCRIBE_TO_TASK, A2AMethods.SUBSCRIBE_TO_TASK_METHOD),
+            route(
+                    HttpMethod.POST, TASKS + PUSH_NOTIFICATION_CONFIGS,
+                    A2AMethods.SET_TASK_PUSH_NOTIFICATION_CONFIG_METHOD
+            ),
+            route(
+                    HttpMethod.GET, TASKS + PUSH_NOTIFICATION_CONFIGS,
+                    A2AMethods.LIST_TASK_PUSH_NOTIFICATION_CONFIG_METHOD
+            ),
+            route(
+                    HttpMethod.GET, TASKS + PUSH_NOTIFICATION_CONFIG,
+                    A2AMethods.GET_TASK_PUSH_NOTIFICATION_CONFIG_METHOD
+            ),
+            route(
+                    HttpMethod.DELETE, TASKS + PUSH_NOTIFICATION_CONFIG,
+                    A2AMethods.DELETE_TASK_PUSH_NOTIFICATION_CONFIG_METHOD
+            )
+    );
+
+    private RestRoutes() {
+        // N/A
+    }
+
+    /**
+     * The A2A method of the REST route matching the request, {@code null} when no route matches.
+     *
+     * @param path the path of the request within the application, which the routes are mapped against
+     */
+    public static @Nullable String methodName(@Nullable HttpMethod method, PathContainer path) {
+        for (var route : ROUTES) {
+            if (route.method().equals(method) && route.pattern().matches(path)) {
+                return route.methodName();
+            }
+        }
+
+        return null;
+    }
+
+    private static Route route(HttpMethod method, String pattern, String methodName) {
+        return new Route(method, PathPatternParser.defaultInstance.parse(pattern), methodName);
+    }
+
+    private record Route(HttpMethod method, PathPattern pattern, String methodName) {
+    }
+}
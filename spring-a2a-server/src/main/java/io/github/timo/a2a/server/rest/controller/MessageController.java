@@ -2,13 +2,25 @@ package io.github.timo.a2a.server.rest.controller;
 
 import io.github.timo.a2a.server.context.CallContextFactory;
 import io.github.timo.a2a.server.rest.ResponseUtils;
+import io.github.timo.a2a.server.rest.RestControllerOptions;
+import io.github.timo.a2a.server.rest.RestRoutes;
 import io.github.timo.a2a.server.rest.handler.AgentRestHandler;
+import io.github.timo.a2a.server.web.A2AMediaTypes;
+import io.github.timo.a2a.server.web.MultipartMessageReader;
+import io.github.timo.a2a.server.web.OpenStreams;
+import io.github.timo.a2a.server.web.RequestBodyReader;
+import io.github.timo.a2a.server.web.StreamingOptions;
+import io.a2a.grpc.SendMessageRequest;
+import io.a2a.spec.A2AError;
 import io.a2a.spec.A2AMethods;
+import io.a2a.spec.ContentTypeNotSupportedError;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.PartEvent;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -16,6 +28,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * REST controller for A2A message sending.
@@ -24,7 +38,7 @@ import org.springframework.web.server.ServerWebExchange;
  * @since 0.1.0
  */
 @RestController
-@RequestMapping("/messages")
+@RequestMapping(RestRoutes.MESSAGES)
 public class MessageController {
     private static final Logger LOGGER = LoggerFactory.getLogger(MessageController.class);
 
@@ -33,101 +47,213 @@ public class MessageController {
 
     private final AgentRestHandler agentRestHandler;
     private final CallContextFactory callContextFactory;
+    private final RequestBodyReader requestBodyReader;
+    private final StreamingOptions streamingOptions;
+    private final OpenStreams openStreams;
+    private final @Nullable MultipartMessageReader multipartMessageReader;
 
     public MessageController(AgentRestHandler agentRestHandler, CallContextFactory callContextFactory) {
+        this(agentRestHandler, callContextFactory, new RestControllerOptions());
+    }
+
+    /**
+     * @param options the optional collaborators of the controller, of which the message controller uses
+     *                the request body reader, the streaming options, the open streams and the multipart
+     *                message reader, see {@link RestControllerOptions}
+     */
+    public MessageController(
+            AgentRestHandler agentRestHandler,
+            CallContextFactory callContextFactory,
+            RestControllerOptions options
+    ) {
         this.agentRestHandler = agentRestHandler;
         this.callContextFactory = callContextFactory;
+        this.requestBodyReader = options.requestBodyReader();
+        this.streamingOptions = options.streamingOptions();
+        this.openStreams = options.openStreams();
+        this.multipartMessageReader = options.multipartMessageReader();
     }
 
     /**
      * Handles sendMessage JSON-RPC requests.
      */
     @PostMapping(
-            path = "/message:send",
-            consumes = MediaType.APPLICATION_JSON_VALUE,
-            produces = MediaType.APPLICATION_JSON_VALUE
+            path = RestRoutes.SEND_MESSAGE,
+            consumes = { MediaType.APPLICATION_JSON_VALUE, A2AMediaTypes.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, A2AMediaTypes.APPLICATION_PROTOBUF_VALUE }
     )
-    public ResponseEntity<?> sendMessage(
+    public Mono<ResponseEntity<?>> sendMessage(
             ServerWebExchange exchange,
             @Nullable Authentication authentication,
-            @RequestBody String jsonRpcMessage
+            @RequestBody Flux<DataBuffer> body
     ) {
-        LOGGER.debug("Received request to send agent message: {}", jsonRpcMessage);
+        LOGGER.debug("Received request to send agent message");
 
-        var context = callContextFactory.build(exchange, authentication, A2AMethods.SEND_MESSAGE_METHOD);
-        var response = agentRestHandler.sendMessage(jsonRpcMessage, context.getTenantUid(), context);
+        var context = CallContextFactory.takeOrBuild(
+                callContextFactory, exchange, authentication, A2AMethods.SEND_MESSAGE_METHOD
+        );
+        return readSendMessageRequest(exchange, body)
+                .map(request -> agentRestHandler.sendMessage(request, context.getTenantUid(), context))
+                .<ResponseEntity<?>>map(
+                        restResponse -> ResponseUtils.toResponseEntity(restResponse, exchange, streamingOptions, openStreams)
+                )
+                .onErrorResume(A2AError.class, ex -> Mono.just(ResponseUtils.toResponseEntity(ex)));
+    }
 
-        return ResponseUtils.toResponseEntity(response);
+    /**
+     * Handles sendMessage requests sent as {@code multipart/form-data}: the {@code SendMessageRequest}
+     * JSON in the {@value MultipartMessageReader#MESSAGE_PART} part, and files streamed to the file
+     * store and appended to the message as file parts referencing them.
+     */
+    @PostMapping(
+            path = RestRoutes.SEND_MESSAGE,
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = { MediaType.APPLICATION_JSON_VALUE, A2AMediaTypes.APPLICATION_PROTOBUF_VALUE }
+    )
+    public Mono<ResponseEntity<?>> sendMultipartMessage(
+            ServerWebExchange exchange,
+            @Nullable Authentication authentication,
+            @RequestBody Flux<PartEvent> parts
+    ) {
+        LOGGER.debug("Received request to send agent message with files");
+
+        var context = CallContextFactory.takeOrBuild(
+                callContextFactory, exchange, authentication, A2AMethods.SEND_MESSAGE_METHOD
+        );
+        return readMultipart(parts)
+                .map(request -> agentRestHandler.sendMessage(request, context.getTenantUid(), context))
+                .<ResponseEntity<?>>map(
+                        restResponse -> ResponseUtils.toResponseEntity(restResponse, exchange, streamingOptions, openStreams)
+                )
+                .onErrorResume(A2AError.class, ex -> Mono.just(ResponseUtils.toResponseEntity(ex)));
     }
 
     /**
      * Handles send user text message requests.
      */
     @PostMapping(
-            path = {"/user-message", "/user-message:send"},
+            path = {RestRoutes.SEND_USER_MESSAGE, RestRoutes.SEND_USER_MESSAGE_ALIAS},
             consumes = { MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_JSON_VALUE },
-            produces = MediaType.APPLICATION_JSON_VALUE
+            produces = { MediaType.APPLICATION_JSON_VALUE, A2AMediaTypes.APPLICATION_PROTOBUF_VALUE }
     )
-    public ResponseEntity<?> sendTextMessage(
+    public Mono<ResponseEntity<?>> sendTextMessage(
             ServerWebExchange exchange,
             @Nullable Authentication authentication,
             @Nullable @RequestParam(value = CONTEXT_ID_PARAM, required = false) String contextId,
             @Nullable @RequestParam(value = TASK_ID_PARAM, required = false) String taskId,
-            @RequestBody String userMessage
+            @RequestBody Flux<DataBuffer> body
     ) {
-        LOGGER.debug("Received request to send user message: {}", userMessage);
+        LOGGER.debug("Received request to send user message");
 
-        var context = callContextFactory.build(exchange, authentication, A2AMethods.SEND_MESSAGE_METHOD);
-        var response = agentRestHandler.sendUserMessage(
-                userMessage, context.getTenantUid(),
-                context, contextId, taskId
+        var context = CallContextFactory.takeOrBuild(
+                callContextFactory, exchange, authentication, A2AMethods.SEND_MESSAGE_METHOD
         );
-        return ResponseUtils.toResponseEntity(response);
+        return requestBodyReader.readString(exchange.getRequest().getHeaders(), body)
+                .map(userMessage -> agentRestHandler.sendUserMessage(
+                        userMessage, context.getTenantUid(),
+                        context, contextId, taskId
+                ))
+                .map(response -> ResponseUtils.toResponseEntity(response, exchange, streamingOptions, openStreams));
     }
 
     /**
      * Handles sendMessage JSON-RPC requests in streaming.
      */
     @PostMapping(
-            path = "/message:stream",
-            consumes = MediaType.APPLICATION_JSON_VALUE,
-            produces = MediaType.TEXT_EVENT_STREAM_VALUE
+            path = RestRoutes.SEND_STREAMING_MESSAGE,
+            consumes = { MediaType.APPLICATION_JSON_VALUE, A2AMediaTypes.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.TEXT_EVENT_STREAM_VALUE, A2AMediaTypes.APPLICATION_PROTOBUF_DELIMITED_VALUE }
+    )
+    public Mono<ResponseEntity<?>> sendMessageStreaming(
+            ServerWebExchange exchange,
+            @Nullable Authentication authentication,
+            @RequestBody Flux<DataBuffer> body
+    ) {
+        LOGGER.debug("Received request to send agent message in stream");
+
+        var context = CallContextFactory.takeOrBuild(
+                callContextFactory, exchange, authentication, A2AMethods.SEND_STREAMING_MESSAGE_METHOD
+        );
+        return readSendMessageRequest(exchange, body)
+                .map(request -> agentRestHandler.sendStreamingMessage(request, context.getTenantUid(), context))
+                .<ResponseEntity<?>>map(
+                        restResponse -> ResponseUtils.toResponseEntity(restResponse, exchange, streamingOptions, openStreams)
+                )
+                .onErrorResume(A2AError.class, ex -> Mono.just(ResponseUtils.toResponseEntity(ex)));
+    }
+
+    /**
+     * Handles sendMessage requests sent as {@code multipart/form-data} in streaming, see
+     * {@link #sendMultipartMessage}.
+     */
+    @PostMapping(
+            path = RestRoutes.SEND_STREAMING_MESSAGE,
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = { MediaType.TEXT_EVENT_STREAM_VALUE, A2AMediaTypes.APPLICATION_PROTOBUF_DELIMITED_VALUE }
     )
-    public ResponseEntity<?> sendMessageStreaming(
+    public Mono<ResponseEntity<?>> sendMultipartMessageStreaming(
             ServerWebExchange exchange,
             @Nullable Authentication authentication,
-            @RequestBody String jsonRpcMessage
+            @RequestBody Flux<PartEvent> parts
     ) {
-        LOGGER.debug("Received request to send agent message in stream: {}", jsonRpcMessage);
+        LOGGER.debug("Received request to send agent message with files in stream");
 
-        var context = callContextFactory.build(exchange, authentication, A2AMethods.SEND_STREAMING_MESSAGE_METHOD);
-        var response = agentRestHandler.sendStreamingMessage(jsonRpcMessage, context.getTenantUid(), context);
-        return ResponseUtils.toResponseEntity(response);
+        var context = CallContextFactory.takeOrBuild(
+                callContextFactory, exchange, authentication, A2AMethods.SEND_STREAMING_MESSAGE_METHOD
+        );
+        return readMultipart(parts)
+                .map(request -> agentRestHandler.sendStreamingMessage(request, context.getTenantUid(), context))
+                .<ResponseEntity<?>>map(
+                        restResponse -> ResponseUtils.toResponseEntity(restResponse, exchange, streamingOptions, openStreams)
+                )
+                .onErrorResume(A2AError.class, ex -> Mono.just(ResponseUtils.toResponseEntity(ex)));
     }
 
     /**
      * Handles send user text message requests in streaming.
      */
     @PostMapping(
-            path = {"/user-message/stream", "/user-message:stream"},
+            path = {RestRoutes.SEND_STREAMING_USER_MESSAGE, RestRoutes.SEND_STREAMING_USER_MESSAGE_ALIAS},
             consumes = { MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_JSON_VALUE },
-            produces = MediaType.TEXT_EVENT_STREAM_VALUE
+            produces = { MediaType.TEXT_EVENT_STREAM_VALUE, A2AMediaTypes.APPLICATION_PROTOBUF_DELIMITED_VALUE }
     )
-    public ResponseEntity<?> sendTextMessageStreaming(
+    public Mono<ResponseEntity<?>> sendTextMessageStreaming(
             ServerWebExchange exchange,
             @Nullable Authentication authentication,
             @Nullable @RequestParam(value = CONTEXT_ID_PARAM, required = false) String contextId,
             @Nullable @RequestParam(value = TASK_ID_PARAM, required = false) String taskId,
-            @RequestBody String userMessage
+            @RequestBody Flux<DataBuffer> body
     ) {
-        LOGGER.debug("Received request to send user message in stream: {}", userMessage);
+        LOGGER.debug("Received request to send user message in stream");
 
-        var context = callContextFactory.build(exchange, authentication, A2AMethods.SEND_STREAMING_MESSAGE_METHOD);
-        var response = agentRestHandler.sendStreamingUserMessage(
-                userMessage, context.getTenantUid(),
-                context, contextId, taskId
+        var context = CallContextFactory.takeOrBuild(
+                callContextFactory, exchange, authentication, A2AMethods.SEND_STREAMING_MESSAGE_METHOD
         );
+        return requestBodyReader.readString(exchange.getRequest().getHeaders(), body)
+                .map(userMessage -> agentRestHandler.sendStreamingUserMessage(
+                        userMessage, context.getTenantUid(),
+                        context, contextId, taskId
+                ))
+                .map(response -> ResponseUtils.toResponseEntity(response, exchange, streamingOptions, openStreams));
+    }
+
+    /**
+     * Decodes the {@code SendMessageRequest} of the body, JSON or binary protobuf. The body buffer is
+     * released once decoded, before the request is handed to the agent, so it is not held for the
+     * duration of the agent call.
+     */
+    private Mono<SendMessageRequest.Builder> readSendMessageRequest(ServerWebExchange exchange, Flux<DataBuffer> body) {
+        var headers = exchange.getRequest().getHeaders();
+        return A2AMediaTypes.isProtobufContent(headers)
+                ? requestBodyReader.decodeBinary(headers, body, AgentRestHandler::parseSendMessageRequest)
+                : requestBodyReader.decode(headers, body, AgentRestHandler::parseSendMessageRequest);
+    }
+
+    private Mono<SendMessageRequest.Builder> readMultipart(Flux<PartEvent> parts) {
+        if (multipartMessageReader == null) {
+            return Mono.error(new ContentTypeNotSupportedError());
+        }
 
-        return ResponseUtils.toResponseEntity(response);
+        return multipartMessageReader.read(parts);
     }
 }
@@ -0,0 +1,183 @@
+package io.github.timo.a2a.server.rest.controller;
+
+import io.github.timo.a2a.server.context.CallContextFactory;
+import io.github.timo.a2a.server.rest.ResponseUtils;
+import io.github.timo.a2a.server.rest.RestControllerOptions;
+import io.github.timo.a2a.server.rest.RestRoutes;
+import io.github.timo.a2a.server.tasks.TaskBatchCancelRequest;
+import io.github.timo.a2a.server.tasks.TaskBatchCanceller;
+import io.github.timo.a2a.server.tasks.TaskBatchMethods;
+import io.github.timo.a2a.server.tasks.TaskBatchReader;
+import io.github.timo.a2a.server.tasks.TaskBatchRequest;
+import io.github.timo.a2a.server.web.RateLimitedLogger;
+import io.github.timo.a2a.server.web.RequestBodyReader;
+import io.github.timo.a2a.server.web.TaskFieldMask;
+import io.a2a.spec.A2AError;
+import io.a2a.spec.UnsupportedOperationError;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * REST controller for operations on batches of tasks.
+ * <p>
+ * The batch operations are custom methods of the task collection, {@code /tasks:<method>},
+ * which cannot be mapped under the {@code /tasks} prefix of {@link TaskController}.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+@RestController
+public class TaskBatchController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskBatchController.class);
+    // A2A errors are mostly caused by clients, which must not be able to flood the logs
+    private static final RateLimitedLogger ERROR_LOGGER = new RateLimitedLogger(LOGGER);
+
+    private static final String INTERNAL_ERROR_PREFIX = "Internal error: ";
+
+    private final TaskBatchReader taskBatchReader;
+    private final @Nullable TaskBatchCanceller taskBatchCanceller;
+    private final CallContextFactory callContextFactory;
+    private final RequestBodyReader requestBodyReader;
+    private final Scheduler dispatchScheduler;
+
+    public TaskBatchController(TaskBatchReader taskBatchReader, CallContextFactory callContextFactory) {
+        this(taskBatchReader, callContextFactory, new RestControllerOptions());
+    }
+
+    /**
+     * @param options the optional collaborators of the controller, of which the task batch controller
+     *                uses the dispatch scheduler running the (possibly blocking) task store reads, the
+     *                request body reader and the task batch canceller, see {@link RestControllerOptions}
+     */
+    public TaskBatchController(
+            TaskBatchReader taskBatchReader,
+            CallContextFactory callContextFactory,
+            RestControllerOptions options
+    ) {
+        this.taskBatchReader = taskBatchReader;
+        this.taskBatchCanceller = options.taskBatchCanceller();
+        this.callContextFactory = callContextFactory;
+        this.requestBodyReader = options.requestBodyReader();
+        this.dispatchScheduler = options.dispatchScheduler();
+    }
+
+    /**
+     * Returns the tasks of a list of IDs, {@code {"ids": [...], "historyLength": n}}, read in one
+     * pass from the task store, as the found tasks by ID and the missing IDs.
+     */
+    @PostMapping(
+            path = RestRoutes.BATCH_GET_TASKS,
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<?>> batchGetTasks(
+            ServerWebExchange exchange,
+            @Nullable Authentication authentication,
+            @RequestBody Flux<DataBuffer> body,
+            @Nullable @RequestParam(value = TaskFieldMask.FIELDS_PARAM, required = false) String fields
+    ) {
+        return requestBodyReader.readString(exchange.getRequest().getHeaders(), body)
+                .flatMap(json -> Mono.<ResponseEntity<?>>fromCallable(
+                        () -> batchGetTasks(exchange, authentication, json, fields)
+                ).subscribeOn(dispatchScheduler));
+    }
+
+    private ResponseEntity<?> batchGetTasks(
+            ServerWebExchange exchange,
+            @Nullable Authentication authentication,
+            String json,
+            @Nullable String fields
+    ) {
+        try {
+            var fieldMask = TaskFieldMask.parse(fields);
+            var request = TaskBatchRequest.fromJson(json);
+            // One call context for the whole batch, the context factory checks apply once
+            var context = CallContextFactory.takeOrBuild(
+                    callContextFactory, exchange, authentication, TaskBatchMethods.BATCH_GET_TASKS_METHOD
+            );
+
+            LOGGER.info("Getting batch of {} tasks", request.ids().size());
+            var batch = taskBatchReader.read(request, context.getTenantUid(), context);
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(batch.toJson(fieldMask));
+        } catch (A2AError ex) {
+            ERROR_LOGGER.warn("Error getting batch of tasks", ex);
+            return ResponseUtils.toResponseEntity(ex);
+        } catch (Exception ex) {
+            LOGGER.error("Unexpected error getting batch of tasks", ex);
+            return ResponseUtils.toResponseEntity(
+                    new io.a2a.spec.InternalError(INTERNAL_ERROR_PREFIX + ex.getMessage())
+            );
+        }
+    }
+
+    /**
+     * Cancels a list of tasks, {@code {"ids": [...]}}, or every unfinished task of a context,
+     * {@code {"contextId": "..."}}. The cancellations run concurrently, and the response lists the
+     * new task or the error of each task, in the order of the request.
+     */
+    @PostMapping(
+            path = RestRoutes.BATCH_CANCEL_TASKS,
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<?>> batchCancelTasks(
+            ServerWebExchange exchange,
+            @Nullable Authentication authentication,
+            @RequestBody Flux<DataBuffer> body
+    ) {
+        return requestBodyReader.readString(exchange.getRequest().getHeaders(), body)
+                .flatMap(json -> Mono.defer(() -> batchCancelTasks(exchange, authentication, json))
+                        .subscribeOn(dispatchScheduler)
+                        .onErrorResume(A2AError.class, ex -> {
+                            ERROR_LOGGER.warn("Error cancelling batch of tasks", ex);
+                            return Mono.just(ResponseUtils.toResponseEntity(ex));
+                        })
+                        .onErrorResume(ex -> {
+                            LOGGER.error("Unexpected error cancelling batch of tasks", ex);
+                            return Mono.just(ResponseUtils.toResponseEntity(
+                                    new io.a2a.spec.InternalError(INTERNAL_ERROR_PREFIX + ex.getMessage())
+                            ));
+                        }));
+    }
+
+    private Mono<ResponseEntity<?>> batchCancelTasks(
+            ServerWebExchange exchange,
+            @Nullable Authentication authentication,
+            String json
+    ) {
+        if (taskBatchCanceller == null) {
+            return Mono.error(new UnsupportedOperationError());
+        }
+
+        var request = TaskBatchCancelRequest.fromJson(json);
+        // One call context for the whole batch, shared by the concurrent cancellations
+        var context = CallContextFactory.takeOrBuild(
+                callContextFactory, exchange, authentication, TaskBatchMethods.BATCH_CANCEL_TASKS_METHOD
+        );
+
+        LOGGER.info("Cancelling batch of tasks: {}", request.contextId() != null
+                ? "context " + request.contextId()
+                : request.ids().size() + " tasks");
+
+        return taskBatchCanceller.cancel(request, context.getTenantUid(), context)
+                .<ResponseEntity<?>>map(cancellation -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(cancellation.toJson()));
+    }
+}
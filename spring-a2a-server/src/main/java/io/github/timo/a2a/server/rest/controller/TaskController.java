@@ -1,14 +1,36 @@
 package io.github.timo.a2a.server.rest.controller;
 
 import io.github.timo.a2a.server.context.CallContextFactory;
+import io.github.timo.a2a.server.context.TenantServerCallContext;
+import io.github.timo.a2a.server.rest.ProtoRestResponse;
 import io.github.timo.a2a.server.rest.ResponseUtils;
+import io.github.timo.a2a.server.rest.RestControllerOptions;
+import io.github.timo.a2a.server.rest.RestErrorResponse;
+import io.github.timo.a2a.server.rest.RestRoutes;
 import io.github.timo.a2a.server.rest.handler.AgentRestHandler;
+import io.github.timo.a2a.server.tasks.ArtifactPartReader;
+import io.github.timo.a2a.server.tasks.ObservableTaskStore;
+import io.github.timo.a2a.server.tasks.TaskStates;
+import io.github.timo.a2a.server.web.A2AMediaTypes;
+import io.github.timo.a2a.server.web.OpenStreams;
+import io.github.timo.a2a.server.web.RateLimitedLogger;
+import io.github.timo.a2a.server.web.ResponseBodyWriter;
+import io.github.timo.a2a.server.web.StreamingOptions;
+import io.github.timo.a2a.server.web.TaskETags;
+import io.github.timo.a2a.server.web.TaskFieldMask;
 import io.a2a.spec.A2AError;
 import io.a2a.spec.A2AMethods;
+import io.a2a.spec.InvalidParamsError;
+import io.a2a.spec.Task;
+import io.a2a.spec.UnsupportedOperationError;
 import io.a2a.transport.rest.handler.RestHandler;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -20,6 +42,14 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * REST controller for A2A task operations.
@@ -28,9 +58,11 @@ import org.springframework.web.server.ServerWebExchange;
  * @since 0.1.0
  */
 @RestController
-@RequestMapping("/tasks")
+@RequestMapping(RestRoutes.TASKS)
 public class TaskController {
     private static final Logger LOGGER = LoggerFactory.getLogger(TaskController.class);
+    // A2A errors are mostly caused by clients, which must not be able to flood the logs
+    private static final RateLimitedLogger ERROR_LOGGER = new RateLimitedLogger(LOGGER);
 
     private static final String HISTORY_LENGTH_PARAM = "historyLength";
     private static final String CONTEXT_ID_PARAM = "contextId";
@@ -41,23 +73,88 @@ public class TaskController {
     private static final String PAGE_SIZE_PARAM = "pageSize";
     private static final String PAGE_TOKEN_PARAM = "pageToken";
 
+    private static final String WAIT_FOR_PARAM = "waitFor";
+    private static final String TIMEOUT_PARAM = "timeout";
+
     private static final String INTERNAL_ERROR_PREFIX = "Internal error: ";
 
+    /**
+     * Media types of artifact parts displayed inline, none of them can run scripts in the browser.
+     * Parts of any other media type are always downloaded as attachments.
+     */
+    private static final List<MediaType> INLINE_MEDIA_TYPES = List.of(
+            MediaType.TEXT_PLAIN,
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_PDF,
+            MediaType.IMAGE_PNG,
+            MediaType.IMAGE_JPEG,
+            MediaType.IMAGE_GIF,
+            MediaType.parseMediaType("image/webp")
+    );
+
+    /**
+     * Policy of the artifact part content, which is agent-supplied and must never load or run anything.
+     */
+    private static final String ARTIFACT_CONTENT_SECURITY_POLICY = "default-src 'none'; sandbox";
+
+    private static final String CONTENT_SECURITY_POLICY_HEADER = "Content-Security-Policy";
+    private static final String CONTENT_TYPE_OPTIONS_HEADER = "X-Content-Type-Options";
+    private static final String NOSNIFF = "nosniff";
+
+    /**
+     * Time a task is waited for when the request has no timeout.
+     */
+    public static final Duration DEFAULT_WAIT_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Longest time a task is waited for, longer timeouts are cut to it.
+     */
+    public static final Duration MAX_WAIT_TIMEOUT = Duration.ofSeconds(60);
+
     private final AgentRestHandler agentRestHandler;
     private final CallContextFactory callContextFactory;
+    private final StreamingOptions streamingOptions;
+    private final OpenStreams openStreams;
+    private final Scheduler dispatchScheduler;
+    private final @Nullable ObservableTaskStore observableTaskStore;
+    private final @Nullable ArtifactPartReader artifactPartReader;
 
     public TaskController(AgentRestHandler agentRestHandler, CallContextFactory callContextFactory) {
+        this(agentRestHandler, callContextFactory, new RestControllerOptions());
+    }
+
+    /**
+     * @param options the optional collaborators of the controller, of which the task controller uses
+     *                the dispatch scheduler, the streaming options, the open streams, the observable
+     *                task store and the artifact part reader, see {@link RestControllerOptions}
+     */
+    public TaskController(
+            AgentRestHandler agentRestHandler,
+            CallContextFactory callContextFactory,
+            RestControllerOptions options
+    ) {
         this.agentRestHandler = agentRestHandler;
         this.callContextFactory = callContextFactory;
+        this.streamingOptions = options.streamingOptions();
+        this.openStreams = options.openStreams();
+        this.dispatchScheduler = options.dispatchScheduler();
+        this.observableTaskStore = options.observableTaskStore();
+        this.artifactPartReader = options.artifactPartReader();
     }
 
     /**
      * Returns task status and results.
+     * <p>
+     * When the client prefers {@code application/x-ndjson}, the tasks are streamed one per line as
+     * they are read from the task store, see {@link AgentRestHandler#streamTasks}. The page size then
+     * limits the number of streamed tasks, and no page token is returned.
+     * <p>
+     * The tasks can be projected on a subset of their fields, see {@link TaskFieldMask}.
      */
     @GetMapping(
-            path = {"", "/"},
+            path = {RestRoutes.LIST_TASKS, RestRoutes.LIST_TASKS_ALIAS},
             consumes = MediaType.APPLICATION_JSON_VALUE,
-            produces = MediaType.APPLICATION_JSON_VALUE
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE }
     )
     public ResponseEntity<?> getTasks(
             ServerWebExchange exchange,
@@ -68,12 +165,35 @@ public class TaskController {
             @Nullable @RequestParam(value = LAST_UPDATED_AFTER_PARAM, required = false) String lastUpdatedAfter,
             @Nullable @RequestParam(value = INCLUDE_ARTIFACTS_PARAM, required = false) Boolean includeArtifacts,
             @Nullable @RequestParam(value = PAGE_TOKEN_PARAM, required = false) String pageToken,
-            @Nullable @RequestParam(value = PAGE_SIZE_PARAM, required = false) Integer pageSize
+            @Nullable @RequestParam(value = PAGE_SIZE_PARAM, required = false) Integer pageSize,
+            @Nullable @RequestParam(value = TaskFieldMask.FIELDS_PARAM, required = false) String fields
     ) {
         LOGGER.info("Getting tasks");
 
         try {
-            var context = callContextFactory.build(exchange, authentication, A2AMethods.LIST_TASK_METHOD);
+            var fieldMask = TaskFieldMask.parse(fields);
+            var context = CallContextFactory.takeOrBuild(
+                    callContextFactory, exchange, authentication, A2AMethods.LIST_TASK_METHOD
+            );
+
+            if (A2AMediaTypes.acceptsNdjson(exchange.getRequest().getHeaders())) {
+                var tasks = agentRestHandler.streamTasks(
+                        contextId,
+                        status,
+                        pageSize,
+                        pageToken,
+                        historyLength,
+                        lastUpdatedAfter,
+                        includeArtifacts,
+                        fieldMask,
+                        context.getTenantUid(),
+                        context
+                );
+
+                return ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(writeTaskLines(exchange, tasks));
+            }
 
             var response = agentRestHandler.listTasks(
                     contextId,
@@ -83,13 +203,14 @@ public class TaskController {
                     historyLength,
                     lastUpdatedAfter,
                     includeArtifacts,
+                    fieldMask,
                     context.getTenantUid(),
                     context
             );
 
-            return ResponseUtils.toResponseEntity(response);
+            return ResponseUtils.toResponseEntity(response, exchange, streamingOptions, openStreams);
         } catch (A2AError ex) {
-            LOGGER.error("Error getting tasks", ex);
+            ERROR_LOGGER.warn("Error getting tasks", ex);
             return ResponseUtils.toResponseEntity(ex);
         } catch (Exception ex) {
             LOGGER.error("Unexpected error getting tasks", ex);
@@ -99,31 +220,59 @@ public class TaskController {
         }
     }
 
+    /**
+     * Writes the tasks as lines of JSON. The response status is already sent when a page fails to
+     * be read, so the error is written as the last line.
+     * <p>
+     * The lines are written and flushed as they are by
+     * {@link io.github.timo.a2a.server.router.DirectResponseResultHandler}, no encoder is involved.
+     */
+    private static Flux<DataBuffer> writeTaskLines(ServerWebExchange exchange, Flux<io.a2a.grpc.Task> tasks) {
+        var bufferFactory = exchange.getResponse().bufferFactory();
+
+        return ResponseBodyWriter.writeJsonLines(bufferFactory, tasks)
+                .onErrorResume(ex -> {
+                    var error = ex instanceof A2AError a2aError
+                            ? a2aError
+                            : new io.a2a.spec.InternalError(INTERNAL_ERROR_PREFIX + ex.getMessage());
+                    ERROR_LOGGER.warn("Error streaming tasks", ex);
+
+                    var line = new RestErrorResponse(error).toJson() + "\n";
+                    return Mono.just(bufferFactory.wrap(line.getBytes(StandardCharsets.UTF_8)));
+                });
+    }
+
     /**
      * Returns task status and results.
+     * <p>
+     * The task is tagged with a weak {@code ETag}, see {@link TaskETags}, and a request whose
+     * {@code If-None-Match} matches it is answered with {@code 304 Not Modified} and no body.
+     * The representation depends on the {@code Accept} header, which the response varies on.
+     * The task can be projected on a subset of its fields, see {@link TaskFieldMask}.
      */
     @GetMapping(
-            path = "/{taskId}",
+            path = RestRoutes.GET_TASK,
             consumes = MediaType.APPLICATION_JSON_VALUE,
-            produces = MediaType.APPLICATION_JSON_VALUE
+            produces = { MediaType.APPLICATION_JSON_VALUE, A2AMediaTypes.APPLICATION_PROTOBUF_VALUE }
     )
     public ResponseEntity<?> getTask(
             ServerWebExchange exchange,
             @Nullable Authentication authentication,
             @PathVariable String taskId,
-            @Nullable @RequestParam(value = HISTORY_LENGTH_PARAM, required = false) Integer historyLength
+            @Nullable @RequestParam(value = HISTORY_LENGTH_PARAM, required = false) Integer historyLength,
+            @Nullable @RequestParam(value = TaskFieldMask.FIELDS_PARAM, required = false) String fields
     ) {
         LOGGER.info("Getting task: {}", taskId);
 
         try {
-            var context = callContextFactory.build(exchange, authentication, A2AMethods.GET_TASK_METHOD);
-
-            var response = agentRestHandler.getTask(taskId, historyLength, context.getTenantUid(), context);
-            LOGGER.debug("Task retrieved: {}", taskId);
+            var fieldMask = TaskFieldMask.parse(fields);
+            var context = CallContextFactory.takeOrBuild(
+                    callContextFactory, exchange, authentication, A2AMethods.GET_TASK_METHOD
+            );
 
-            return ResponseUtils.toResponseEntity(response);
+            return getTask(exchange, taskId, historyLength, fieldMask, context);
         } catch (A2AError ex) {
-            LOGGER.error("Error getting task: {}", taskId, ex);
+            ERROR_LOGGER.warn("Error getting task: {}", taskId, ex);
             return ResponseUtils.toResponseEntity(ex);
         } catch (Exception ex) {
             LOGGER.error("Unexpected error getting task: {}", taskId, ex);
@@ -133,13 +282,221 @@ public class TaskController {
         }
     }
 
+    /**
+     * Returns the task once it reaches one of the {@code waitFor} states, a comma separated list
+     * such as {@code completed,failed,input-required}, or when the {@code timeout} in milliseconds
+     * expires, whichever comes first. The response is the one of {@link #getTask}, with the state
+     * of the task at that time.
+     * <p>
+     * The request waits without holding a thread, see {@link ObservableTaskStore}, and the task is
+     * then read on the dispatch scheduler. When the task store is not observable, the task is
+     * returned immediately.
+     */
+    @GetMapping(
+            path = RestRoutes.GET_TASK,
+            params = WAIT_FOR_PARAM,
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = { MediaType.APPLICATION_JSON_VALUE, A2AMediaTypes.APPLICATION_PROTOBUF_VALUE }
+    )
+    public Mono<ResponseEntity<?>> waitForTask(
+            ServerWebExchange exchange,
+            @Nullable Authentication authentication,
+            @PathVariable String taskId,
+            @Nullable @RequestParam(value = HISTORY_LENGTH_PARAM, required = false) Integer historyLength,
+            @Nullable @RequestParam(value = TaskFieldMask.FIELDS_PARAM, required = false) String fields,
+            @RequestParam(WAIT_FOR_PARAM) String waitFor,
+            @Nullable @RequestParam(value = TIMEOUT_PARAM, required = false) Long timeout
+    ) {
+        LOGGER.info("Waiting for task: {} in {}", taskId, waitFor);
+
+        try {
+            var states = TaskStates.parseList(waitFor);
+            if (states.isEmpty()) {
+                throw new InvalidParamsError(WAIT_FOR_PARAM + " must list at least one task state");
+            }
+
+            var waitTimeout = waitTimeout(timeout);
+            var fieldMask = TaskFieldMask.parse(fields);
+            // Built before waiting, a request that is not allowed is rejected right away
+            var context = CallContextFactory.takeOrBuild(
+                    callContextFactory, exchange, authentication, A2AMethods.GET_TASK_METHOD
+            );
+
+            var update = observableTaskStore == null
+                    ? Mono.<Task>empty()
+                    : observableTaskStore.awaitState(taskId, states, waitTimeout);
+
+            // The task store notifies on the thread that saved the task, the agent's or the timer's,
+            // which must not be held by a (possibly blocking) task read
+            return update
+                    .then(Mono.<ResponseEntity<?>>fromCallable(
+                            () -> getTask(exchange, taskId, historyLength, fieldMask, context)
+                    ).subscribeOn(dispatchScheduler))
+                    .onErrorResume(A2AError.class, ex -> {
+                        ERROR_LOGGER.warn("Error waiting for task: {}", taskId, ex);
+                        return Mono.just(ResponseUtils.toResponseEntity(ex));
+                    })
+                    .onErrorResume(ex -> {
+                        LOGGER.error("Unexpected error waiting for task: {}", taskId, ex);
+                        return Mono.just(ResponseUtils.toResponseEntity(
+                                new io.a2a.spec.InternalError(INTERNAL_ERROR_PREFIX + ex.getMessage())
+                        ));
+                    });
+        } catch (A2AError ex) {
+            ERROR_LOGGER.warn("Error waiting for task: {}", taskId, ex);
+            return Mono.just(ResponseUtils.toResponseEntity(ex));
+        } catch (Exception ex) {
+            LOGGER.error("Unexpected error waiting for task: {}", taskId, ex);
+            return Mono.just(ResponseUtils.toResponseEntity(
+                    new io.a2a.spec.InternalError(INTERNAL_ERROR_PREFIX + ex.getMessage())
+            ));
+        }
+    }
+
+    private ResponseEntity<?> getTask(
+            ServerWebExchange exchange,
+            String taskId,
+            @Nullable Integer historyLength,
+            @Nullable TaskFieldMask fieldMask,
+            TenantServerCallContext context
+    ) {
+        var response = agentRestHandler.getTask(taskId, historyLength, fieldMask, context.getTenantUid(), context);
+        LOGGER.debug("Task retrieved: {}", taskId);
+
+        if (response instanceof ProtoRestResponse protoResponse
+                && protoResponse.getStatusCode() == HttpStatus.OK.value()
+                && protoResponse.getMessage() instanceof io.a2a.grpc.Task task) {
+            // The body is only serialized when it is written, a 304 response skips it
+            var etag = TaskETags.of(task);
+            if (TaskETags.isNotModified(exchange.getRequest().getHeaders(), etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .build();
+            }
+
+            var entity = ResponseUtils.toResponseEntity(response, exchange, streamingOptions, openStreams);
+            return ResponseEntity.status(entity.getStatusCode())
+                    .headers(entity.getHeaders())
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(entity.getBody());
+        }
+
+        return ResponseUtils.toResponseEntity(response, exchange, streamingOptions, openStreams);
+    }
+
+    private static Duration waitTimeout(@Nullable Long timeout) {
+        if (timeout == null) {
+            return DEFAULT_WAIT_TIMEOUT;
+        }
+
+        if (timeout < 0) {
+            throw new InvalidParamsError(TIMEOUT_PARAM + " must be a non-negative number of milliseconds");
+        }
+
+        return timeout > MAX_WAIT_TIMEOUT.toMillis() ? MAX_WAIT_TIMEOUT : Duration.ofMillis(timeout);
+    }
+
+    /**
+     * Returns the raw content of a part of a task artifact, with the media type of the part, so that
+     * a file can be downloaded without fetching the task and decoding its inline base64 bytes.
+     * <p>
+     * The content is written by the resource writer of the web server, which answers {@code Range}
+     * requests with {@code 206 Partial Content} and transfers files without copying them to the heap.
+     * A part referencing a file the server does not serve is answered with {@code 303 See Other}, as
+     * long as the file is an {@code http} or {@code https} URI.
+     * <p>
+     * The media type of the part is supplied by the agent, so the content is only displayed inline when
+     * it is one of the {@link #INLINE_MEDIA_TYPES} that cannot run scripts, and is otherwise sent as an
+     * attachment. The browser is never allowed to sniff another media type, and the content is sandboxed
+     * by a {@code Content-Security-Policy} that allows nothing.
+     */
+    @GetMapping(path = RestRoutes.GET_ARTIFACT_PART)
+    public ResponseEntity<?> getArtifactPart(
+            ServerWebExchange exchange,
+            @Nullable Authentication authentication,
+            @PathVariable String taskId,
+            @PathVariable String artifactId,
+            @PathVariable int index
+    ) {
+        LOGGER.info("Getting part {} of artifact {} of task: {}", index, artifactId, taskId);
+
+        try {
+            if (artifactPartReader == null) {
+                throw new UnsupportedOperationError();
+            }
+
+            var context = CallContextFactory.takeOrBuild(
+                    callContextFactory, exchange, authentication, A2AMethods.GET_TASK_METHOD
+            );
+
+            var content = artifactPartReader.read(taskId, artifactId, index, context.getTenantUid(), context);
+            if (content == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+
+            if (content.resource() == null) {
+                if (!isWebLocation(content.location())) {
+                    ERROR_LOGGER.warn(
+                            "Not redirecting to location {} of part {} of artifact {} of task: {}",
+                            content.location(), index, artifactId, taskId
+                    );
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+                }
+
+                return ResponseEntity.status(HttpStatus.SEE_OTHER).location(content.location()).build();
+            }
+
+            var disposition = isInline(content.mediaType())
+                    ? ContentDisposition.inline()
+                    : ContentDisposition.attachment();
+            if (content.filename() != null) {
+                disposition.filename(content.filename(), StandardCharsets.UTF_8);
+            }
+
+            return ResponseEntity.ok()
+                    .contentType(content.mediaType())
+                    .header(HttpHeaders.CONTENT_DISPOSITION, disposition.build().toString())
+                    .header(CONTENT_TYPE_OPTIONS_HEADER, NOSNIFF)
+                    .header(CONTENT_SECURITY_POLICY_HEADER, ARTIFACT_CONTENT_SECURITY_POLICY)
+                    .body(content.resource());
+        } catch (A2AError ex) {
+            ERROR_LOGGER.warn("Error getting part {} of artifact {} of task: {}", index, artifactId, taskId, ex);
+            return ResponseUtils.toResponseEntity(ex);
+        } catch (Exception ex) {
+            LOGGER.error("Unexpected error getting part {} of artifact {} of task: {}", index, artifactId, taskId, ex);
+            return ResponseUtils.toResponseEntity(
+                    new io.a2a.spec.InternalError(INTERNAL_ERROR_PREFIX + ex.getMessage())
+            );
+        }
+    }
+
+    private static boolean isInline(MediaType mediaType) {
+        for (var inlineMediaType : INLINE_MEDIA_TYPES) {
+            if (inlineMediaType.equalsTypeAndSubtype(mediaType)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isWebLocation(@Nullable URI location) {
+        if (location == null || location.getHost() == null) {
+            return false;
+        }
+
+        return "http".equalsIgnoreCase(location.getScheme()) || "https".equalsIgnoreCase(location.getScheme());
+    }
+
     /**
      * Cancels a running task.
      */
     @PostMapping(
-            path = "/{taskId}/cancel",
+            path = RestRoutes.CANCEL_TASK,
             consumes = MediaType.APPLICATION_JSON_VALUE,
-            produces = MediaType.APPLICATION_JSON_VALUE
+            produces = { MediaType.APPLICATION_JSON_VALUE, A2AMediaTypes.APPLICATION_PROTOBUF_VALUE }
     )
     public ResponseEntity<?> cancelTask(
             ServerWebExchange exchange,
@@ -149,14 +506,16 @@ public class TaskController {
         LOGGER.info("Cancelling task: {}", taskId);
 
         try {
-            var context = callContextFactory.build(exchange, authentication, A2AMethods.CANCEL_TASK_METHOD);
+            var context = CallContextFactory.takeOrBuild(
+                    callContextFactory, exchange, authentication, A2AMethods.CANCEL_TASK_METHOD
+            );
 
             var response = agentRestHandler.cancelTask(taskId, context.getTenantUid(), context);
             LOGGER.debug("Task cancelled: {}", taskId);
 
-            return ResponseUtils.toResponseEntity(response);
+            return ResponseUtils.toResponseEntity(response, exchange, streamingOptions, openStreams);
         } catch (A2AError ex) {
-            LOGGER.error("Error cancelling task: {}", taskId, ex);
+            ERROR_LOGGER.warn("Error cancelling task: {}", taskId, ex);
             return ResponseUtils.toResponseEntity(ex);
         } catch (Exception ex) {
             LOGGER.error("Unexpected error cancelling task: {}", taskId, ex);
@@ -170,7 +529,7 @@ public class TaskController {
      * Subscribe to task.
      */
     @PostMapping(
-            path = "/{taskId}/subscribe",
+            path = RestRoutes.SUBSCRIBE_TO_TASK,
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.TEXT_EVENT_STREAM_VALUE
     )
@@ -182,16 +541,18 @@ public class TaskController {
         LOGGER.info("Subscribe to task: {}", taskId);
 
         try {
-            var context = callContextFactory.build(exchange, authentication, A2AMethods.SUBSCRIBE_TO_TASK_METHOD);
+            var context = CallContextFactory.takeOrBuild(
+                    callContextFactory, exchange, authentication, A2AMethods.SUBSCRIBE_TO_TASK_METHOD
+            );
 
             var response = agentRestHandler.subscribeToTask(taskId, context.getTenantUid(), context);
             if (response instanceof RestHandler.HTTPRestStreamingResponse) {
                 LOGGER.debug("Task subscribed: {}", taskId);
             }
 
-            return ResponseUtils.toResponseEntity(response);
+            return ResponseUtils.toResponseEntity(response, exchange, streamingOptions, openStreams);
         } catch (A2AError ex) {
-            LOGGER.error("Error subscribing task: {}", taskId, ex);
+            ERROR_LOGGER.warn("Error subscribing task: {}", taskId, ex);
             return ResponseUtils.toResponseEntity(ex);
         } catch (Exception ex) {
             LOGGER.error("Unexpected error subscribing task: {}", taskId, ex);
@@ -224,7 +585,7 @@ public class TaskController {
      LOGGER.debug("Task push notification config updated: {}", taskId);
      }
 
-     return ResponseUtils.toResponseEntity(response);
+     return ResponseUtils.toResponseEntity(response, exchange, streamingOptions, openStreams);
      } catch (A2AError ex) {
      LOGGER.error("Error updating push notification config for task: " + taskId, ex);
      return ResponseUtils.toResponseEntity(ex);
@@ -241,7 +602,7 @@ public class TaskController {
      * Returns all task's push notification configs.
      */
     @GetMapping(
-            path = "/{taskId}/pushNotificationConfigs",
+            path = RestRoutes.PUSH_NOTIFICATION_CONFIGS,
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
@@ -261,7 +622,9 @@ public class TaskController {
                     ? A2AMethods.LIST_TASK_PUSH_NOTIFICATION_CONFIG_METHOD
                     : A2AMethods.GET_TASK_PUSH_NOTIFICATION_CONFIG_METHOD;
 
-            var context = callContextFactory.build(exchange, authentication, jsonRpcMethodName);
+            var context = CallContextFactory.takeOrBuild(
+                    callContextFactory, exchange, authentication, jsonRpcMethodName
+            );
 
             var response = isPagination ? agentRestHandler.listTaskPushNotificationConfigurations(
                     taskId,
@@ -272,9 +635,9 @@ public class TaskController {
             ) : agentRestHandler.getTaskPushNotificationConfiguration(taskId, null, context.getTenantUid(), context);
 
             LOGGER.debug("Complete getting push notification configs for task: {}", taskId);
-            return ResponseUtils.toResponseEntity(response);
+            return ResponseUtils.toResponseEntity(response, exchange, streamingOptions, openStreams);
         } catch (A2AError ex) {
-            LOGGER.error("Error getting push notification configs for task: {}", taskId, ex);
+            ERROR_LOGGER.warn("Error getting push notification configs for task: {}", taskId, ex);
             return ResponseUtils.toResponseEntity(ex);
         } catch (Exception ex) {
             LOGGER.error("Unexpected error getting push notification configs for task: {}", taskId, ex);
@@ -288,7 +651,7 @@ public class TaskController {
      * Returns task's push notification config.
      */
     @GetMapping(
-            path = "/{taskId}/pushNotificationConfigs/{configId}",
+            path = RestRoutes.PUSH_NOTIFICATION_CONFIG,
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
@@ -301,8 +664,8 @@ public class TaskController {
         LOGGER.info("Get task ({})'s push notification config: {}", taskId, configId);
 
         try {
-            var context = callContextFactory.build(
-                    exchange, authentication,
+            var context = CallContextFactory.takeOrBuild(
+                    callContextFactory, exchange, authentication,
                     A2AMethods.GET_TASK_PUSH_NOTIFICATION_CONFIG_METHOD
             );
 
@@ -312,9 +675,9 @@ public class TaskController {
             );
             LOGGER.debug("Task ({})'s push notification config retrieved: {}", taskId, configId);
 
-            return ResponseUtils.toResponseEntity(response);
+            return ResponseUtils.toResponseEntity(response, exchange, streamingOptions, openStreams);
         } catch (A2AError ex) {
-            LOGGER.error("Error getting task ({})'s push notification config: {}", taskId, configId, ex);
+            ERROR_LOGGER.warn("Error getting task ({})'s push notification config: {}", taskId, configId, ex);
             return ResponseUtils.toResponseEntity(ex);
         } catch (Exception ex) {
             LOGGER.error("Unexpected error getting task ({})'s push notification config: {}", taskId, configId, ex);
@@ -328,7 +691,7 @@ public class TaskController {
      * Returns task's push notification config.
      */
     @DeleteMapping(
-            path = "/{taskId}/pushNotificationConfigs/{configId}",
+            path = RestRoutes.PUSH_NOTIFICATION_CONFIG,
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
@@ -341,8 +704,8 @@ public class TaskController {
         LOGGER.info("Delete task ({})'s push notification config: {}", taskId, configId);
 
         try {
-            var context = callContextFactory.build(
-                    exchange, authentication,
+            var context = CallContextFactory.takeOrBuild(
+                    callContextFactory, exchange, authentication,
                     A2AMethods.DELETE_TASK_PUSH_NOTIFICATION_CONFIG_METHOD
             );
 
@@ -352,9 +715,9 @@ public class TaskController {
             );
             LOGGER.debug("Task ({})'s push notification config deleted: {}", taskId, configId);
 
-            return ResponseUtils.toResponseEntity(response);
+            return ResponseUtils.toResponseEntity(response, exchange, streamingOptions, openStreams);
         } catch (A2AError ex) {
-            LOGGER.error("Error deleting task ({})'s push notification config: {}", taskId, configId, ex);
+            ERROR_LOGGER.warn("Error deleting task ({})'s push notification config: {}", taskId, configId, ex);
             return ResponseUtils.toResponseEntity(ex);
         } catch (Exception ex) {
             LOGGER.error("Unexpected error deleting task ({})'s push notification config: {}", taskId, configId, ex);
@@ -1,26 +1,43 @@
 package io.github.timo.a2a.server.rest.handler;
 
-import com.google.protobuf.InvalidProtocolBufferException;
-import com.google.protobuf.Struct;
 import com.google.protobuf.util.JsonFormat;
+import io.github.timo.a2a.server.context.TenantServerCallContext;
+import io.github.timo.a2a.server.executor.AgentBusyError;
+import io.github.timo.a2a.server.rest.ProtoRestResponse;
+import io.github.timo.a2a.server.rest.ProtoRestStreamingResponse;
 import io.github.timo.a2a.server.rest.RestErrorResponse;
-import io.a2a.grpc.Message;
-import io.a2a.grpc.Part;
-import io.a2a.grpc.Role;
-import io.a2a.grpc.SendMessageConfiguration;
+import io.github.timo.a2a.server.tasks.TaskStates;
+import io.github.timo.a2a.server.web.ErrorResponses;
+import io.github.timo.a2a.server.web.JsonPrinters;
+import io.github.timo.a2a.server.web.MessageIdGenerator;
+import io.github.timo.a2a.server.web.ProtoJsonWriter;
+import io.github.timo.a2a.server.web.StreamCancellation;
+import io.github.timo.a2a.server.web.StreamingBridge;
+import io.github.timo.a2a.server.web.StreamingOptions;
+import io.github.timo.a2a.server.web.TaskCanceller;
+import io.github.timo.a2a.server.web.TaskFieldMask;
 import io.a2a.grpc.SendMessageRequest;
 import io.a2a.grpc.SendMessageResponse;
 import io.a2a.grpc.utils.ProtoUtils;
 import io.a2a.server.ServerCallContext;
 import io.a2a.server.extensions.A2AExtensions;
 import io.a2a.server.requesthandlers.RequestHandler;
-import io.a2a.server.util.async.AsyncUtils;
 import io.a2a.server.version.A2AVersionValidator;
 import io.a2a.spec.A2AError;
 import io.a2a.spec.AgentCard;
 import io.a2a.spec.InternalError;
+import io.a2a.spec.InvalidParamsError;
 import io.a2a.spec.InvalidRequestError;
+import io.a2a.spec.JSONParseError;
+import io.a2a.spec.ListTasksParams;
+import io.a2a.spec.ListTasksResult;
+import io.a2a.spec.MessageSendConfiguration;
+import io.a2a.spec.MessageSendParams;
 import io.a2a.spec.StreamingEventKind;
+import io.a2a.spec.TaskIdParams;
+import io.a2a.spec.TaskNotFoundError;
+import io.a2a.spec.TaskQueryParams;
+import io.a2a.spec.TextPart;
 import io.a2a.transport.rest.handler.RestHandler;
 import jakarta.enterprise.inject.Instance;
 import mutiny.zero.ZeroPublisher;
@@ -28,34 +45,338 @@ import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class AgentRestHandler extends RestHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(AgentRestHandler.class);
 
+    /**
+     * The configuration of the user messages built from plain text, the defaults of an empty protobuf
+     * configuration: non-blocking, without accepted output modes, history length or push notifications.
+     */
+    private static final MessageSendConfiguration USER_MESSAGE_CONFIGURATION = MessageSendConfiguration.builder()
+            .blocking(false)
+            .build();
+
+    /**
+     * Number of tasks read from the task store at once when streaming tasks.
+     */
+    public static final int STREAM_TASKS_PAGE_SIZE = 50;
+
     private final AgentCard agentCard;
     private final RequestHandler requestHandler;
     private final Executor executor;
+    private final StreamingOptions streamingOptions;
+    private final TaskCanceller taskCanceller;
+    private final MessageIdGenerator messageIdGenerator;
 
     public AgentRestHandler(AgentCard agentCard, Instance<AgentCard> extendedAgentCard,
                             RequestHandler requestHandler, Executor executor) {
+        this(agentCard, extendedAgentCard, requestHandler, executor, AgentRestHandlerOptions.DEFAULT);
+    }
+
+    /**
+     * @param options the optional collaborators of the handler, see {@link AgentRestHandlerOptions}
+     */
+    public AgentRestHandler(AgentCard agentCard, Instance<AgentCard> extendedAgentCard,
+                            RequestHandler requestHandler, Executor executor, AgentRestHandlerOptions options) {
         super(agentCard, extendedAgentCard, requestHandler, executor);
 
         this.agentCard = agentCard;
         this.requestHandler = requestHandler;
         this.executor = executor;
+        this.streamingOptions = options.streamingOptions();
+        this.taskCanceller = TaskCanceller.of(requestHandler);
+        this.messageIdGenerator = options.messageIdGenerator();
     }
 
     public AgentRestHandler(AgentCard agentCard, RequestHandler requestHandler, Executor executor) {
+        this(agentCard, requestHandler, executor, AgentRestHandlerOptions.DEFAULT);
+    }
+
+    /**
+     * @param options the optional collaborators of the handler, see {@link AgentRestHandlerOptions}
+     */
+    public AgentRestHandler(AgentCard agentCard, RequestHandler requestHandler, Executor executor,
+                            AgentRestHandlerOptions options) {
         super(agentCard, requestHandler, executor);
 
         this.agentCard = agentCard;
         this.requestHandler = requestHandler;
         this.executor = executor;
+        this.streamingOptions = options.streamingOptions();
+        this.taskCanceller = TaskCanceller.of(requestHandler);
+        this.messageIdGenerator = options.messageIdGenerator();
+    }
+
+    /**
+     * Sends an A2A message, parsing the {@code SendMessageRequest} JSON directly from the request body stream.
+     */
+    public HTTPRestResponse sendMessage(Reader body, String tenant, ServerCallContext context) {
+        return sendMessage(() -> parseSendMessageRequest(body), tenant, context);
+    }
+
+    /**
+     * Sends an A2A message, parsing the binary protobuf {@code SendMessageRequest} from the request body stream.
+     */
+    public HTTPRestResponse sendMessage(InputStream body, String tenant, ServerCallContext context) {
+        return sendMessage(() -> parseSendMessageRequest(body), tenant, context);
+    }
+
+    /**
+     * Sends an A2A message already read from the request, such as a multipart message whose files
+     * are appended as file parts, see {@link io.github.timo.a2a.server.web.MultipartMessageReader}.
+     */
+    public HTTPRestResponse sendMessage(SendMessageRequest.Builder request, String tenant, ServerCallContext context) {
+        return sendMessage(() -> request, tenant, context);
+    }
+
+    /**
+     * Sends an A2A message in streaming, parsing the {@code SendMessageRequest} JSON directly
+     * from the request body stream.
+     */
+    public HTTPRestResponse sendStreamingMessage(Reader body, String tenant, ServerCallContext context) {
+        return sendStreamingMessage(() -> parseSendMessageRequest(body), tenant, context);
+    }
+
+    /**
+     * Sends an A2A message in streaming, parsing the binary protobuf {@code SendMessageRequest}
+     * from the request body stream.
+     */
+    public HTTPRestResponse sendStreamingMessage(InputStream body, String tenant, ServerCallContext context) {
+        return sendStreamingMessage(() -> parseSendMessageRequest(body), tenant, context);
+    }
+
+    /**
+     * Sends an A2A message already read from the request in streaming, such as a multipart message
+     * whose files are appended as file parts.
+     */
+    public HTTPRestResponse sendStreamingMessage(
+            SendMessageRequest.Builder request,
+            String tenant,
+            ServerCallContext context
+    ) {
+        return sendStreamingMessage(() -> request, tenant, context);
+    }
+
+    /**
+     * Returns the task, keeping the protobuf message so that it can be written as JSON or binary protobuf.
+     */
+    @Override
+    public HTTPRestResponse getTask(
+            String taskId,
+            @Nullable Integer historyLength,
+            String tenant,
+            ServerCallContext context
+    ) {
+        return getTask(taskId, historyLength, null, tenant, context);
+    }
+
+    /**
+     * Returns the task projected on the field mask, see {@link TaskFieldMask}.
+     */
+    public HTTPRestResponse getTask(
+            String taskId,
+            @Nullable Integer historyLength,
+            @Nullable TaskFieldMask fieldMask,
+            String tenant,
+            ServerCallContext context
+    ) {
+        try {
+            if (historyLength != null && historyLength < 0) {
+                throw new InvalidParamsError("historyLength must be a non-negative integer");
+            }
+
+            var task = requestHandler.onGetTask(new TaskQueryParams(taskId, historyLength, tenant), context);
+            if (task == null) {
+                throw new TaskNotFoundError();
+            }
+
+            return createSuccessResponse(HttpStatus.OK.value(), TaskFieldMask.toProto(task, fieldMask).toBuilder());
+        } catch (A2AError ex) {
+            return errorResponse(ex);
+        } catch (Throwable throwable) {
+            LOGGER.error("Error getting task", throwable);
+            return createErrorResponse(new InternalError(throwable.getMessage()));
+        }
+    }
+
+    /**
+     * Cancels the task, keeping the protobuf message so that it can be written as JSON or binary protobuf.
+     */
+    @Override
+    public HTTPRestResponse cancelTask(String taskId, String tenant, ServerCallContext context) {
+        try {
+            var task = requestHandler.onCancelTask(new TaskIdParams(taskId, tenant), context);
+            if (task == null) {
+                throw new TaskNotFoundError();
+            }
+
+            return createSuccessResponse(HttpStatus.OK.value(), io.a2a.grpc.Task.newBuilder(ProtoUtils.ToProto.task(task)));
+        } catch (A2AError ex) {
+            return errorResponse(ex);
+        } catch (Throwable throwable) {
+            LOGGER.error("Error cancelling task", throwable);
+            return createErrorResponse(new InternalError(throwable.getMessage()));
+        }
+    }
+
+    /**
+     * Lists the tasks projected on the field mask, see {@link TaskFieldMask}. Without mask, the
+     * tasks are listed as by {@link RestHandler#listTasks}.
+     */
+    public HTTPRestResponse listTasks(
+            @Nullable String contextId,
+            @Nullable String status,
+            @Nullable Integer pageSize,
+            @Nullable String pageToken,
+            @Nullable Integer historyLength,
+            @Nullable String lastUpdatedAfter,
+            @Nullable Boolean includeArtifacts,
+            @Nullable TaskFieldMask fieldMask,
+            String tenant,
+            ServerCallContext context
+    ) {
+        if (fieldMask == null) {
+            return listTasks(
+                    contextId, status, pageSize, pageToken, historyLength, lastUpdatedAfter, includeArtifacts,
+                    tenant, context
+            );
+        }
+
+        try {
+            var params = listTasksParams(contextId, status, historyLength, lastUpdatedAfter, includeArtifacts, tenant)
+                    .pageSize(pageSize)
+                    .pageToken(pageToken)
+                    .build();
+            var result = requestHandler.onListTasks(params, context);
+
+            return createSuccessResponse(HttpStatus.OK.value(), fieldMask.toProto(result).toBuilder());
+        } catch (A2AError ex) {
+            return errorResponse(ex);
+        } catch (Throwable throwable) {
+            LOGGER.error("Error listing tasks", throwable);
+            return createErrorResponse(new InternalError(throwable.getMessage()));
+        }
+    }
+
+    /**
+     * Streams the tasks matching the filters, reading the task store one page of
+     * {@value #STREAM_TASKS_PAGE_SIZE} tasks at a time as the tasks are consumed, so that at most
+     * one page is held in memory whatever the number of tasks.
+     * <p>
+     * The filters are validated eagerly, an invalid filter throws the {@link A2AError} rather than
+     * failing the returned publisher.
+     *
+     * @param limit the maximum number of tasks to stream, all the tasks when {@code null}
+     * @param pageToken the page to start from, the first one when {@code null}
+     */
+    public Flux<io.a2a.grpc.Task> streamTasks(
+            @Nullable String contextId,
+            @Nullable String status,
+            @Nullable Integer limit,
+            @Nullable String pageToken,
+            @Nullable Integer historyLength,
+            @Nullable String lastUpdatedAfter,
+            @Nullable Boolean includeArtifacts,
+            @Nullable TaskFieldMask fieldMask,
+            String tenant,
+            ServerCallContext context
+    ) {
+        if (limit != null && limit < 1) {
+            throw new InvalidParamsError("pageSize must be a positive integer");
+        }
+
+        var params = listTasksParams(contextId, status, historyLength, lastUpdatedAfter, includeArtifacts, tenant)
+                .pageSize(limit == null ? STREAM_TASKS_PAGE_SIZE : Math.min(limit, STREAM_TASKS_PAGE_SIZE));
+
+        Function<@Nullable String, Mono<ListTasksResult>> page = token -> Mono.fromCallable(
+                () -> requestHandler.onListTasks(params.pageToken(token).build(), context)
+        );
+
+        var tasks = page.apply(pageToken)
+                .expand(result -> result.nextPageToken() == null || result.nextPageToken().isEmpty()
+                        ? Mono.empty()
+                        : page.apply(result.nextPageToken()))
+                // One page at a time, the next page is only read once the tasks of the previous one are written
+                .concatMapIterable(ListTasksResult::tasks, 1)
+                .map(task -> TaskFieldMask.toProto(task, fieldMask));
+
+        return (limit == null ? tasks : tasks.take(limit, true))
+                .subscribeOn(Schedulers.fromExecutor(executor));
+    }
+
+    private HTTPRestResponse sendMessage(
+            Supplier<SendMessageRequest.Builder> requestParser,
+            String tenant,
+            ServerCallContext context
+    ) {
+        try {
+            validateRequest(context);
+
+            var request = requestParser.get().setTenant(tenant);
+            var result = requestHandler.onMessageSend(ProtoUtils.FromProto.messageSendParams(request), context);
+
+            return createSuccessResponse(
+                    HttpStatus.OK.value(),
+                    SendMessageResponse.newBuilder(ProtoUtils.ToProto.taskOrMessage(result))
+            );
+        } catch (A2AError ex) {
+            return errorResponse(ex);
+        } catch (Throwable throwable) {
+            LOGGER.error("Error sending message", throwable);
+            return createErrorResponse(new InternalError(throwable.getMessage()));
+        }
+    }
+
+    private HTTPRestResponse sendStreamingMessage(
+            Supplier<SendMessageRequest.Builder> requestParser,
+            String tenant,
+            ServerCallContext context
+    ) {
+        try {
+            if (!agentCard.capabilities().streaming()) {
+                return createErrorResponse(new InvalidRequestError("Streaming is not supported by the agent"));
+            }
+
+            validateRequest(context);
+
+            var request = requestParser.get().setTenant(tenant);
+            var publisher = requestHandler.onMessageSendStream(
+                    ProtoUtils.FromProto.messageSendParams(request),
+                    context
+            );
+
+            return createStreamingResponse(publisher, context);
+        } catch (AgentBusyError ex) {
+            return errorResponse(ex);
+        } catch (A2AError ex) {
+            return new HTTPRestStreamingResponse(
+                    ZeroPublisher.fromItems(new RestErrorResponse(ex).toJson())
+            );
+        } catch (Throwable throwable) {
+            return new HTTPRestStreamingResponse(
+                    ZeroPublisher.fromItems(
+                            new RestErrorResponse(new InternalError(throwable.getMessage())).toJson()
+                    )
+            );
+        }
     }
 
     public HTTPRestResponse sendUserMessage(
@@ -68,8 +389,8 @@ public class AgentRestHandler extends RestHandler {
             String taskId
     ) {
         try {
-            var request = buildSendUserMessageRequestBuilder(message, tenant, context, contextId, taskId);
-            var result = requestHandler.onMessageSend(ProtoUtils.FromProto.messageSendParams(request), context);
+            var params = userMessageSendParams(message, tenant, context, contextId, taskId);
+            var result = requestHandler.onMessageSend(params, context);
 
             return createSuccessResponse(
                     HttpStatus.OK.value(),
@@ -77,7 +398,7 @@ public class AgentRestHandler extends RestHandler {
             );
         } catch (A2AError ex) {
             LOGGER.error("Error sending user message", ex);
-            return createErrorResponse(ex);
+            return errorResponse(ex);
         } catch (Throwable throwable) {
             LOGGER.error("Error sending user message", throwable);
             return createErrorResponse(new InternalError(throwable.getMessage()));
@@ -98,15 +419,12 @@ public class AgentRestHandler extends RestHandler {
                 return createErrorResponse(new InvalidRequestError("Streaming is not supported by the agent"));
             }
 
-            var request = buildSendUserMessageRequestBuilder(message, tenant, context, contextId, taskId);
-            var publisher = requestHandler.onMessageSendStream(
-                    ProtoUtils.FromProto.messageSendParams(request),
-                    context
-            );
+            var params = userMessageSendParams(message, tenant, context, contextId, taskId);
+            var publisher = requestHandler.onMessageSendStream(params, context);
 
-            return new HTTPRestStreamingResponse(
-                    convertToSendStreamingMessageResponse(publisher)
-            );
+            return createStreamingResponse(publisher, context);
+        } catch (AgentBusyError ex) {
+            return errorResponse(ex);
         } catch (A2AError ex) {
             return new HTTPRestStreamingResponse(
                     ZeroPublisher.fromItems(new RestErrorResponse(ex).toJson())
@@ -120,7 +438,109 @@ public class AgentRestHandler extends RestHandler {
         }
     }
 
-    private SendMessageRequest.Builder buildSendUserMessageRequestBuilder(
+    /**
+     * The response of the error, with the HTTP status of {@link ErrorResponses} for the errors the
+     * SDK does not know, so that a busy agent answers {@code 503 Service Unavailable}.
+     */
+    private HTTPRestResponse errorResponse(A2AError error) {
+        if (error instanceof AgentBusyError) {
+            return new HTTPRestResponse(
+                    ErrorResponses.httpStatus(error).value(),
+                    MediaType.APPLICATION_JSON_VALUE,
+                    ErrorResponses.printRestError(error)
+            );
+        }
+
+        return createErrorResponse(error);
+    }
+
+    private void validateRequest(ServerCallContext context) {
+        // A context negotiated against this agent card carries the outcome of the validation
+        if (context instanceof TenantServerCallContext tenantContext
+                && tenantContext.getNegotiation() != null
+                && tenantContext.getNegotiation().isValidatedFor(agentCard)) {
+            tenantContext.getNegotiation().check();
+            return;
+        }
+
+        A2AVersionValidator.validateProtocolVersion(agentCard, context);
+        A2AExtensions.validateRequiredExtensions(agentCard, context);
+    }
+
+    private static ListTasksParams.Builder listTasksParams(
+            @Nullable String contextId,
+            @Nullable String status,
+            @Nullable Integer historyLength,
+            @Nullable String lastUpdatedAfter,
+            @Nullable Boolean includeArtifacts,
+            String tenant
+    ) {
+        if (historyLength != null && historyLength < 0) {
+            throw new InvalidParamsError("historyLength must be a non-negative integer");
+        }
+
+        return ListTasksParams.builder()
+                .contextId(contextId)
+                .status(TaskStates.parse(status))
+                .historyLength(historyLength)
+                .lastUpdatedAfter(parseInstant(lastUpdatedAfter))
+                .includeArtifacts(includeArtifacts)
+                .tenant(tenant);
+    }
+
+    private static @Nullable Instant parseInstant(@Nullable String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException ex) {
+            try {
+                return Instant.ofEpochMilli(Long.parseLong(value));
+            } catch (NumberFormatException nfe) {
+                throw new InvalidParamsError("lastUpdatedAfter must be an ISO-8601 timestamp or epoch milliseconds");
+            }
+        }
+    }
+
+    /**
+     * Parses the {@code SendMessageRequest} JSON from the request body stream.
+     *
+     * @throws JSONParseError if the body is not a valid request
+     */
+    public static SendMessageRequest.Builder parseSendMessageRequest(Reader body) {
+        var request = SendMessageRequest.newBuilder();
+        try {
+            JsonFormat.parser().merge(body, request);
+        } catch (IOException ex) {
+            throw new JSONParseError(ex.getMessage());
+        }
+
+        return request;
+    }
+
+    /**
+     * Parses the binary protobuf {@code SendMessageRequest} from the request body stream.
+     *
+     * @throws JSONParseError if the body is not a valid request
+     */
+    public static SendMessageRequest.Builder parseSendMessageRequest(InputStream body) {
+        var request = SendMessageRequest.newBuilder();
+        try {
+            request.mergeFrom(body);
+        } catch (IOException ex) {
+            throw new JSONParseError(ex.getMessage());
+        }
+
+        return request;
+    }
+
+    /**
+     * Builds the parameters of a plain text user message directly, without going through the
+     * protobuf request and its conversion.
+     */
+    private MessageSendParams userMessageSendParams(
             String message,
             String tenant,
             ServerCallContext context,
@@ -129,85 +549,66 @@ public class AgentRestHandler extends RestHandler {
             @Nullable
             String taskId
     ) {
-        A2AVersionValidator.validateProtocolVersion(agentCard, context);
-        A2AExtensions.validateRequiredExtensions(agentCard, context);
-
-        var userMessageBuilder = Message.newBuilder()
-                .addParts(Part.newBuilder().setText(message))
-                .setRole(Role.ROLE_USER)
-                .setMessageId(UUID.randomUUID().toString());
+        validateRequest(context);
 
-        if (contextId != null) {
-            userMessageBuilder.setContextId(contextId);
-        }
-
-        if (taskId != null) {
-            userMessageBuilder.setTaskId(taskId);
-        }
+        var userMessage = io.a2a.spec.Message.builder()
+                .role(io.a2a.spec.Message.Role.USER)
+                .parts(List.of(new TextPart(message)))
+                .messageId(messageIdGenerator.generate())
+                .contextId(contextId)
+                .taskId(taskId)
+                .build();
 
-        return SendMessageRequest.newBuilder()
-                .setRequest(userMessageBuilder.build())
-                .setConfiguration(SendMessageConfiguration.newBuilder())
-                .setMetadata(Struct.newBuilder())
-                .setTenant(tenant);
+        // Each request gets its own metadata, the configuration is immutable and shared
+        return MessageSendParams.builder()
+                .message(userMessage)
+                .configuration(USER_MESSAGE_CONFIGURATION)
+                .metadata(new HashMap<>())
+                .tenant(tenant)
+                .build();
     }
 
     private HTTPRestResponse createSuccessResponse(int statusCode, com.google.protobuf.Message.Builder builder) {
-        try {
-            // Include default value fields to ensure empty arrays, zeros, etc. are present in JSON
-            String jsonBody = JsonFormat.printer().alwaysPrintFieldsWithNoPresence().print(builder);
-            return new HTTPRestResponse(statusCode, "application/json", jsonBody);
-        } catch (InvalidProtocolBufferException ex) {
-            return createErrorResponse(new InternalError("Failed to serialize response: " + ex.getMessage()));
-        }
+        // The JSON is written straight into the response buffers rather than printed into a String here
+        return new ProtoRestResponse(statusCode, builder.build(), JsonPrinters.WITH_DEFAULT_VALUES);
+    }
+
+    private HTTPRestStreamingResponse createStreamingResponse(
+            Flow.Publisher<StreamingEventKind> publisher,
+            ServerCallContext context
+    ) {
+        var cancellation = new StreamCancellation(
+                streamingOptions.disconnectPolicy(), taskCanceller, context, executor
+        );
+
+        // Both views are cold, only the one matching the negotiated media type subscribes to the agent events
+        var messages = JdkFlowAdapter.flowPublisherToFlux(publisher)
+                .limitRate(streamingOptions.prefetch())
+                .doOnNext(cancellation::track)
+                .map(ProtoUtils.ToProto::taskOrMessageStream)
+                .doOnComplete(cancellation::complete)
+                .doOnCancel(cancellation::cancel)
+                .subscribeOn(Schedulers.fromExecutor(executor));
+
+        return new ProtoRestStreamingResponse(
+                convertToSendStreamingMessageResponse(publisher, cancellation), messages, cancellation
+        );
     }
 
     private Flow.Publisher<String> convertToSendStreamingMessageResponse(
-            Flow.Publisher<StreamingEventKind> publisher
+            Flow.Publisher<StreamingEventKind> publisher,
+            StreamCancellation cancellation
     ) {
-        // We can't use the normal convertingProcessor since that propagates any errors as an error handled
-        // via Subscriber.onError() rather than as part of the SendStreamingResponse payload
-        return ZeroPublisher.create(AsyncUtils.createTubeConfig(), tube -> {
-            CompletableFuture.runAsync(() -> {
-                publisher.subscribe(new Flow.Subscriber<>() {
-                    JsonFormat.Printer jsonPrinter = JsonFormat.printer().omittingInsignificantWhitespace();
-                    Flow.Subscription subscription = null;
-
-                    @Override
-                    public void onSubscribe(Flow.Subscription subscription) {
-                        this.subscription = subscription;
-                        subscription.request(1);
-                    }
-
-                    @Override
-                    public void onNext(StreamingEventKind item) {
-                        try {
-                            String payload = jsonPrinter.print(ProtoUtils.ToProto.taskOrMessageStream(item));
-                            tube.send(payload);
-                            if (subscription != null) {
-                                subscription.request(1);
-                            }
-                        } catch (InvalidProtocolBufferException ex) {
-                            onError(ex);
-                        }
-                    }
-
-                    @Override
-                    public void onError(Throwable throwable) {
-                        if (throwable instanceof A2AError jsonrpcError) {
-                            tube.send(new RestErrorResponse(jsonrpcError).toJson());
-                        } else {
-                            tube.send(new RestErrorResponse(new InternalError(throwable.getMessage())).toJson());
-                        }
-                        onComplete();
-                    }
-
-                    @Override
-                    public void onComplete() {
-                        tube.complete();
-                    }
-                });
-            }, executor);
-        });
+        return StreamingBridge.create(
+                publisher,
+                item -> ProtoJsonWriter.print(ProtoUtils.ToProto.taskOrMessageStream(item)),
+                throwable -> throwable instanceof A2AError error
+                        ? new RestErrorResponse(error).toJson()
+                        : new RestErrorResponse(new InternalError(throwable.getMessage())).toJson(),
+                Function.identity(),
+                cancellation,
+                streamingOptions,
+                executor
+        );
     }
 }
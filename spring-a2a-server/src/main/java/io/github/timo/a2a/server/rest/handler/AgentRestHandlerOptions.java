@@ -0,0 +1,35 @@
+package io.github.timo.a2a.server.rest.handler;
+
+import io.github.timo.a2a.server.web.MessageIdGenerator;
+import io.github.timo.a2a.server.web.StreamingOptions;
+
+/**
+ * The optional collaborators of the {@link AgentRestHandler}, each defaulting to the behavior of the
+ * handler without it.
+ *
+ * @param streamingOptions   the prefetch window applied to agent event publishers of streaming responses
+ * @param messageIdGenerator the generator of the IDs of the user messages built from plain text,
+ *                           random UUIDs by default
+ * @author Timo
+ * @since 0.1.0
+ */
+public record AgentRestHandlerOptions(StreamingOptions streamingOptions, MessageIdGenerator messageIdGenerator) {
+    public static final MessageIdGenerator DEFAULT_MESSAGE_ID_GENERATOR = MessageIdGenerator.RANDOM;
+
+    public static final AgentRestHandlerOptions DEFAULT = new AgentRestHandlerOptions(
+            StreamingOptions.DEFAULT, DEFAULT_MESSAGE_ID_GENERATOR
+    );
+
+    public AgentRestHandlerOptions {
+        streamingOptions = streamingOptions != null ? streamingOptions : StreamingOptions.DEFAULT;
+        messageIdGenerator = messageIdGenerator != null ? messageIdGenerator : DEFAULT_MESSAGE_ID_GENERATOR;
+    }
+
+    public AgentRestHandlerOptions withStreamingOptions(StreamingOptions streamingOptions) {
+        return new AgentRestHandlerOptions(streamingOptions, messageIdGenerator);
+    }
+
+    public AgentRestHandlerOptions withMessageIdGenerator(MessageIdGenerator messageIdGenerator) {
+        return new AgentRestHandlerOptions(streamingOptions, messageIdGenerator);
+    }
+}
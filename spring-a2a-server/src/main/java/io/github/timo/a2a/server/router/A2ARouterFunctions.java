@@ -0,0 +1,347 @@
+package io.github.timo.a2a.server.router;
+
+import io.github.timo.a2a.server.card.AgentCardController;
+import io.github.timo.a2a.server.rest.ResponseUtils;
+import io.github.timo.a2a.server.rest.RestRoutes;
+import io.github.timo.a2a.server.rest.controller.TaskBatchController;
+import io.github.timo.a2a.server.rest.controller.TaskController;
+import io.github.timo.a2a.server.web.A2AMediaTypes;
+import io.github.timo.a2a.server.web.TaskFieldMask;
+import io.a2a.spec.InvalidParamsError;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.PartEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Functional {@link RouterFunction} registration of the A2A endpoints, an alternative to the annotated controllers.
+ * <p>
+ * The routes serve the same paths as the controllers and delegate to them, but skip the annotation
+ * handler mapping and the argument resolution, and write the response bodies straight to the response.
+ * The router function mapping is ordered before the annotated handler mapping, so the routes win
+ * when both are registered.
+ * <p>
+ * Unlike the controllers, the routes do not check the {@code Content-Type} of requests without body.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class A2ARouterFunctions {
+    private static final String TASK_ID_VARIABLE = "taskId";
+    private static final String CONFIG_ID_VARIABLE = "configId";
+    private static final String ARTIFACT_ID_VARIABLE = "artifactId";
+    private static final String INDEX_VARIABLE = "index";
+
+    private static final String HISTORY_LENGTH_PARAM = "historyLength";
+    private static final String CONTEXT_ID_PARAM = "contextId";
+    private static final String TASK_ID_PARAM = "taskId";
+    private static final String STATUS_PARAM = "status";
+    private static final String LAST_UPDATED_AFTER_PARAM = "lastUpdatedAfter";
+    private static final String INCLUDE_ARTIFACTS_PARAM = "includeArtifacts";
+    private static final String PAGE_SIZE_PARAM = "pageSize";
+    private static final String PAGE_TOKEN_PARAM = "pageToken";
+    private static final String WAIT_FOR_PARAM = "waitFor";
+    private static final String TIMEOUT_PARAM = "timeout";
+
+    /**
+     * Streaming JSON-RPC requests are told apart by an explicit streaming media type in {@code Accept}.
+     */
+    private static final RequestPredicate ACCEPTS_STREAM = request -> request.headers().accept().stream()
+            .anyMatch(mediaType -> MediaType.TEXT_EVENT_STREAM.equalsTypeAndSubtype(mediaType)
+                    || A2AMediaTypes.APPLICATION_PROTOBUF_DELIMITED.equalsTypeAndSubtype(mediaType));
+
+    private static final RequestPredicate MULTIPART = RequestPredicates.contentType(MediaType.MULTIPART_FORM_DATA);
+
+    private A2ARouterFunctions() {
+        // N/A
+    }
+
+    /**
+     * Routes of {@link AgentCardController}.
+     */
+    public static RouterFunction<ServerResponse> agentCard(AgentCardController controller) {
+        EntityHandler handler = (exchange, authentication) -> controller.getAgentCard();
+
+        return RouterFunctions.route()
+                .GET("/.well-known/agent-card.json", request -> handle(request, handler))
+                .GET("/card", request -> handle(request, handler))
+                .build();
+    }
+
+    /**
+     * Routes of the REST {@link TaskController}.
+     */
+    public static RouterFunction<ServerResponse> tasks(TaskController controller) {
+        return RouterFunctions.route()
+                .path(RestRoutes.TASKS, builder -> builder
+                        .GET(RestRoutes.LIST_TASKS, request -> getTasks(controller, request))
+                        .GET(RestRoutes.LIST_TASKS_ALIAS, request -> getTasks(controller, request))
+                        .GET(RestRoutes.GET_TASK, request -> getTask(controller, request))
+                        .POST(RestRoutes.CANCEL_TASK, request -> handle(request, (exchange, authentication) -> controller.cancelTask(
+                                exchange, authentication, request.pathVariable(TASK_ID_VARIABLE)
+                        )))
+                        .POST(RestRoutes.SUBSCRIBE_TO_TASK, request -> handle(request, (exchange, authentication) -> controller.subscribeToTask(
+                                exchange, authentication, request.pathVariable(TASK_ID_VARIABLE)
+                        )))
+                        .GET(RestRoutes.GET_ARTIFACT_PART, request -> handle(
+                                request,
+                                (exchange, authentication) -> controller.getArtifactPart(
+                                        exchange, authentication,
+                                        request.pathVariable(TASK_ID_VARIABLE),
+                                        request.pathVariable(ARTIFACT_ID_VARIABLE),
+                                        intVariable(request, INDEX_VARIABLE)
+                                )
+                        ))
+                        .GET(RestRoutes.PUSH_NOTIFICATION_CONFIGS, request -> handle(
+                                request,
+                                (exchange, authentication) -> controller.getTaskPushNotificationConfigurations(
+                                        exchange, authentication,
+                                        request.pathVariable(TASK_ID_VARIABLE),
+                                        param(request, PAGE_TOKEN_PARAM),
+                                        intParam(request, PAGE_SIZE_PARAM)
+                                )
+                        ))
+                        .GET(RestRoutes.PUSH_NOTIFICATION_CONFIG, request -> handle(
+                                request,
+                                (exchange, authentication) -> controller.getTaskPushNotificationConfiguration(
+                                        exchange, authentication,
+                                        request.pathVariable(TASK_ID_VARIABLE),
+                                        request.pathVariable(CONFIG_ID_VARIABLE)
+                                )
+                        ))
+                        .DELETE(RestRoutes.PUSH_NOTIFICATION_CONFIG, request -> handle(
+                                request,
+                                (exchange, authentication) -> controller.deleteTaskPushNotificationConfiguration(
+                                        exchange, authentication,
+                                        request.pathVariable(TASK_ID_VARIABLE),
+                                        request.pathVariable(CONFIG_ID_VARIABLE)
+                                )
+                        ))
+                )
+                .build();
+    }
+
+    /**
+     * Routes of the REST {@link TaskBatchController}.
+     */
+    public static RouterFunction<ServerResponse> taskBatches(TaskBatchController controller) {
+        return RouterFunctions.route()
+                .POST(RestRoutes.BATCH_GET_TASKS, request -> handle(
+                        request,
+                        (req, exchange, authentication) -> controller.batchGetTasks(
+                                exchange, authentication, body(exchange), param(req, TaskFieldMask.FIELDS_PARAM)
+                        )
+                ))
+                .POST(RestRoutes.BATCH_CANCEL_TASKS, request -> handle(
+                        request,
+                        (req, exchange, authentication) -> controller.batchCancelTasks(exchange, authentication, body(exchange))
+                ))
+                .build();
+    }
+
+    /**
+     * Routes of the REST {@link io.github.timo.a2a.server.rest.controller.MessageController}.
+     */
+    public static RouterFunction<ServerResponse> restMessages(
+            io.github.timo.a2a.server.rest.controller.MessageController controller
+    ) {
+        AsyncEntityHandler sendTextMessage = (request, exchange, authentication) -> controller.sendTextMessage(
+                exchange, authentication,
+                param(request, CONTEXT_ID_PARAM), param(request, TASK_ID_PARAM),
+                body(exchange)
+        );
+        AsyncEntityHandler sendTextMessageStreaming = (request, exchange, authentication) -> controller.sendTextMessageStreaming(
+                exchange, authentication,
+                param(request, CONTEXT_ID_PARAM), param(request, TASK_ID_PARAM),
+                body(exchange)
+        );
+
+        return RouterFunctions.route()
+                .path(RestRoutes.MESSAGES, builder -> builder
+                        .POST(RestRoutes.SEND_MESSAGE, MULTIPART, request -> handle(
+                                request,
+                                (req, exchange, authentication) -> controller.sendMultipartMessage(
+                                        exchange, authentication, req.bodyToFlux(PartEvent.class)
+                                )
+                        ))
+                        .POST(RestRoutes.SEND_STREAMING_MESSAGE, MULTIPART, request -> handle(
+                                request,
+                                (req, exchange, authentication) -> controller.sendMultipartMessageStreaming(
+                                        exchange, authentication, req.bodyToFlux(PartEvent.class)
+                                )
+                        ))
+                        .POST(RestRoutes.SEND_MESSAGE, request -> handle(
+                                request,
+                                (req, exchange, authentication) -> controller.sendMessage(exchange, authentication, body(exchange))
+                        ))
+                        .POST(RestRoutes.SEND_STREAMING_MESSAGE, request -> handle(
+                                request,
+                                (req, exchange, authentication) -> controller.sendMessageStreaming(exchange, authentication, body(exchange))
+                        ))
+                        .POST(RestRoutes.SEND_USER_MESSAGE, request -> handle(request, sendTextMessage))
+                        .POST(RestRoutes.SEND_USER_MESSAGE_ALIAS, request -> handle(request, sendTextMessage))
+                        .POST(RestRoutes.SEND_STREAMING_USER_MESSAGE, request -> handle(request, sendTextMessageStreaming))
+                        .POST(RestRoutes.SEND_STREAMING_USER_MESSAGE_ALIAS, request -> handle(request, sendTextMessageStreaming))
+                )
+                .build();
+    }
+
+    /**
+     * Routes of the JSON-RPC {@link io.github.timo.a2a.server.jsonrpc.controller.MessageController}.
+     */
+    public static RouterFunction<ServerResponse> jsonRpc(
+            io.github.timo.a2a.server.jsonrpc.controller.MessageController controller
+    ) {
+        var jsonRpcRequest = RequestPredicates.POST("/").and(RequestPredicates.contentType(MediaType.APPLICATION_JSON));
+
+        return RouterFunctions.route()
+                .route(jsonRpcRequest.and(ACCEPTS_STREAM), request -> handle(
+                        request,
+                        (req, exchange, authentication) -> controller.sendMessageStreaming(exchange, authentication, body(exchange))
+                ))
+                .route(jsonRpcRequest, request -> handle(
+                        request,
+                        (req, exchange, authentication) -> controller.sendMessage(exchange, authentication, body(exchange))
+                ))
+                .build();
+    }
+
+    private static Mono<ServerResponse> getTasks(TaskController controller, ServerRequest request) {
+        return handle(request, (exchange, authentication) -> controller.getTasks(
+                exchange, authentication,
+                intParam(request, HISTORY_LENGTH_PARAM),
+                param(request, CONTEXT_ID_PARAM),
+                param(request, STATUS_PARAM),
+                param(request, LAST_UPDATED_AFTER_PARAM),
+                booleanParam(request, INCLUDE_ARTIFACTS_PARAM),
+                param(request, PAGE_TOKEN_PARAM),
+                intParam(request, PAGE_SIZE_PARAM),
+                param(request, TaskFieldMask.FIELDS_PARAM)
+        ));
+    }
+
+    private static Mono<ServerResponse> getTask(TaskController controller, ServerRequest request) {
+        var waitFor = param(request, WAIT_FOR_PARAM);
+        if (waitFor == null) {
+            return handle(request, (exchange, authentication) -> controller.getTask(
+                    exchange, authentication,
+                    request.pathVariable(TASK_ID_VARIABLE),
+                    intParam(request, HISTORY_LENGTH_PARAM),
+                    param(request, TaskFieldMask.FIELDS_PARAM)
+            ));
+        }
+
+        return handle(request, (req, exchange, authentication) -> controller.waitForTask(
+                exchange, authentication,
+                req.pathVariable(TASK_ID_VARIABLE),
+                intParam(req, HISTORY_LENGTH_PARAM),
+                param(req, TaskFieldMask.FIELDS_PARAM),
+                waitFor,
+                longParam(req, TIMEOUT_PARAM)
+        ));
+    }
+
+    private static Mono<ServerResponse> handle(ServerRequest request, EntityHandler handler) {
+        return handle(request, (req, exchange, authentication) -> Mono.fromSupplier(
+                () -> handler.handle(exchange, authentication)
+        ));
+    }
+
+    private static Mono<ServerResponse> handle(ServerRequest request, AsyncEntityHandler handler) {
+        return authentication(request)
+                .flatMap(authentication -> Mono.defer(
+                        () -> handler.handle(request, request.exchange(), authentication.orElse(null))
+                ))
+                .onErrorResume(InvalidParamsError.class, ex -> Mono.just(ResponseUtils.toResponseEntity(ex)))
+                .flatMap(DirectResponseWriter::toServerResponse);
+    }
+
+    private static Mono<Optional<Authentication>> authentication(ServerRequest request) {
+        return request.principal()
+                .filter(Authentication.class::isInstance)
+                .map(principal -> Optional.of((Authentication) principal))
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private static Flux<DataBuffer> body(ServerWebExchange exchange) {
+        return exchange.getRequest().getBody();
+    }
+
+    private static @Nullable String param(ServerRequest request, String name) {
+        return request.queryParam(name).orElse(null);
+    }
+
+    private static @Nullable Integer intParam(ServerRequest request, String name) {
+        var value = param(request, name);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new InvalidParamsError(name + " must be an integer");
+        }
+    }
+
+    private static int intVariable(ServerRequest request, String name) {
+        try {
+            return Integer.parseInt(request.pathVariable(name));
+        } catch (NumberFormatException ex) {
+            throw new InvalidParamsError(name + " must be an integer");
+        }
+    }
+
+    private static @Nullable Long longParam(ServerRequest request, String name) {
+        var value = param(request, name);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new InvalidParamsError(name + " must be an integer");
+        }
+    }
+
+    private static @Nullable Boolean booleanParam(ServerRequest request, String name) {
+        var value = param(request, name);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+
+        return switch (value.toLowerCase()) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new InvalidParamsError(name + " must be true or false");
+        };
+    }
+
+    @FunctionalInterface
+    private interface EntityHandler {
+        ResponseEntity<?> handle(ServerWebExchange exchange, @Nullable Authentication authentication);
+    }
+
+    @FunctionalInterface
+    private interface AsyncEntityHandler {
+        Mono<ResponseEntity<?>> handle(
+                ServerRequest request,
+                ServerWebExchange exchange,
+                @Nullable Authentication authentication
+        );
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.timo.a2a.server.router;
+
+import io.github.timo.a2a.server.rest.controller.MessageController;
+import io.github.timo.a2a.server.rest.controller.TaskBatchController;
+import io.github.timo.a2a.server.rest.controller.TaskController;
+import org.springframework.core.Ordered;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ResourceHttpMessageWriter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.HandlerResult;
+import org.springframework.web.reactive.HandlerResultHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the {@link ResponseEntity}s returned by the annotated A2A controllers with the
+ * {@link DirectResponseWriter}, the same way the functional routes write them.
+ * <p>
+ * The controllers return {@code ResponseEntity<?>}, for which Spring's response entity handler resolves
+ * the element type of a {@code Flux<DataBuffer>} body as {@code Object}: JSON bodies would be encoded
+ * by Jackson as buffer beans, and no writer would accept the binary protobuf and server-sent event
+ * buffers. This handler is ordered before it and writes the buffers as they are, flushing every element
+ * of streaming bodies. Resources are left to the resource writer, which answers {@code Range} requests.
+ * <p>
+ * Only the results of the A2A controllers are handled, other controllers of the application keep
+ * Spring's handling.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class DirectResponseResultHandler implements HandlerResultHandler, Ordered {
+    /**
+     * Before Spring's response entity handler, ordered {@code 0}.
+     */
+    public static final int ORDER = -1;
+
+    private static final List<Class<?>> CONTROLLER_TYPES = List.of(
+            io.github.timo.a2a.server.jsonrpc.controller.MessageController.class,
+            MessageController.class,
+            TaskController.class,
+            TaskBatchController.class
+    );
+
+    private static final ResolvableType RESOURCE_TYPE = ResolvableType.forClass(Resource.class);
+    private static final ResourceHttpMessageWriter RESOURCE_WRITER = new ResourceHttpMessageWriter();
+
+    @Override
+    public boolean supports(HandlerResult result) {
+        if (!(result.getHandler() instanceof HandlerMethod handlerMethod)
+                || !isA2AController(handlerMethod.getBeanType())) {
+            return false;
+        }
+
+        var returnType = result.getReturnType();
+        var type = returnType.resolve();
+        if (type == Mono.class) {
+            type = returnType.getGeneric().resolve();
+        }
+
+        return type == ResponseEntity.class;
+    }
+
+    @Override
+    public Mono<Void> handleResult(ServerWebExchange exchange, HandlerResult result) {
+        var returnValue = result.getReturnValue();
+        var entity = returnValue instanceof Mono<?> mono ? mono : Mono.justOrEmpty(returnValue);
+
+        return entity.cast(ResponseEntity.class)
+                .flatMap(responseEntity -> write(exchange, responseEntity));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private static Mono<Void> write(ServerWebExchange exchange, ResponseEntity<?> entity) {
+        var response = exchange.getResponse();
+        response.setStatusCode(entity.getStatusCode());
+        entity.getHeaders().forEach(response.getHeaders()::put);
+
+        if (entity.getBody() instanceof Resource resource) {
+            return RESOURCE_WRITER.write(
+                    Mono.just(resource), RESOURCE_TYPE, RESOURCE_TYPE,
+                    response.getHeaders().getContentType(), exchange.getRequest(), response, Map.of()
+            );
+        }
+
+        return DirectResponseWriter.write(response, entity.getBody());
+    }
+
+    private static boolean isA2AController(Class<?> beanType) {
+        for (var controllerType : CONTROLLER_TYPES) {
+            if (controllerType.isAssignableFrom(beanType)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
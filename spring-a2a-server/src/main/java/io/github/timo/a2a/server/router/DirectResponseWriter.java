@@ -0,0 +1,114 @@
+package io.github.timo.a2a.server.router;
+
+import io.github.timo.a2a.server.web.A2AMediaTypes;
+import io.github.timo.a2a.server.web.ServerSentEventWriter;
+import org.jspecify.annotations.Nullable;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes the {@link ResponseEntity}s of the A2A controllers straight to the response, without looking
+ * up an HTTP message writer per response. The bodies the controllers return are buffers, strings
+ * and server-sent events, which need no encoder. Resources are the exception, they are left to the
+ * resource writer, which answers {@code Range} requests and transfers files without copying them.
+ * <p>
+ * The annotated controllers are written the same way, see {@link DirectResponseResultHandler}.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+final class DirectResponseWriter {
+    private static final List<MediaType> STREAMING_TYPES = List.of(
+            MediaType.APPLICATION_NDJSON,
+            A2AMediaTypes.APPLICATION_PROTOBUF_DELIMITED
+    );
+
+    private DirectResponseWriter() {
+        // N/A
+    }
+
+    static Mono<ServerResponse> toServerResponse(ResponseEntity<?> entity) {
+        if (entity.getBody() instanceof Resource resource) {
+            return ServerResponse.status(entity.getStatusCode())
+                    .headers(headers -> headers.addAll(entity.getHeaders()))
+                    .body(BodyInserters.fromResource(resource));
+        }
+
+        return ServerResponse.status(entity.getStatusCode())
+                .headers(headers -> headers.addAll(entity.getHeaders()))
+                .build((exchange, context) -> write(exchange.getResponse(), entity.getBody()));
+    }
+
+    static Mono<Void> write(ServerHttpResponse response, @Nullable Object body) {
+        var bufferFactory = response.bufferFactory();
+        var contentType = response.getHeaders().getContentType();
+
+        return switch (body) {
+            case null -> response.setComplete();
+            case byte[] bytes -> writeBytes(response, bytes);
+            case String text -> writeBytes(response, text.getBytes(StandardCharsets.UTF_8));
+            // Every event is flushed on its own, like the server-sent event writer does
+            case Publisher<?> events when isAnyOf(contentType, List.of(MediaType.TEXT_EVENT_STREAM)) ->
+                    response.writeAndFlushWith(Flux.from(events).map(event -> Mono.just(encodeEvent(bufferFactory, event))));
+            case Publisher<?> items when isAnyOf(contentType, STREAMING_TYPES) ->
+                    response.writeAndFlushWith(Flux.from(items).map(item -> Mono.just(toBuffer(bufferFactory, item))));
+            case Publisher<?> items -> response.writeWith(Flux.from(items).map(item -> toBuffer(bufferFactory, item)));
+            default -> Mono.error(new IllegalArgumentException(
+                    "Unsupported response body: " + body.getClass().getName()
+            ));
+        };
+    }
+
+    private static Mono<Void> writeBytes(ServerHttpResponse response, byte[] bytes) {
+        response.getHeaders().setContentLength(bytes.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(bytes)));
+    }
+
+    private static DataBuffer encodeEvent(DataBufferFactory bufferFactory, Object event) {
+        return switch (event) {
+            case DataBuffer buffer -> buffer;
+            case String data -> ServerSentEventWriter.encode(bufferFactory, List.of(data));
+            case ServerSentEvent<?> sse when sse.data() == null && sse.comment() != null ->
+                    bufferFactory.wrap((":" + sse.comment() + "\n\n").getBytes(StandardCharsets.UTF_8));
+            case ServerSentEvent<?> sse when sse.data() instanceof String data ->
+                    ServerSentEventWriter.encode(bufferFactory, List.of(data));
+            default -> throw new IllegalArgumentException("Unsupported server-sent event: " + event);
+        };
+    }
+
+    private static DataBuffer toBuffer(DataBufferFactory bufferFactory, Object item) {
+        return switch (item) {
+            case DataBuffer buffer -> buffer;
+            case String text -> bufferFactory.wrap(text.getBytes(StandardCharsets.UTF_8));
+            case byte[] bytes -> bufferFactory.wrap(bytes);
+            default -> throw new IllegalArgumentException("Unsupported response body item: " + item);
+        };
+    }
+
+    private static boolean isAnyOf(@Nullable MediaType contentType, List<MediaType> mediaTypes) {
+        if (contentType == null) {
+            return false;
+        }
+
+        for (var mediaType : mediaTypes) {
+            if (mediaType.equalsTypeAndSubtype(contentType)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.timo.a2a.server.tasks;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+
+import java.net.URI;
+
+/**
+ * The raw content of an artifact part, read by {@link ArtifactPartReader}.
+ * <p>
+ * The content is either a {@link Resource}, a file or the decoded bytes of the part, or the
+ * {@code location} of a part that references a file the server does not serve itself.
+ *
+ * @param resource  the content of the part, {@code null} when it is only referenced by its location
+ * @param location  the URI of the referenced file, {@code null} when the content is a resource
+ * @param mediaType the media type of the content
+ * @param filename  the name of the file, if any
+ * @author Timo
+ * @since 0.1.0
+ */
+public record ArtifactPartContent(
+        @Nullable Resource resource,
+        @Nullable URI location,
+        MediaType mediaType,
+        @Nullable String filename
+) {
+    public static ArtifactPartContent of(Resource resource, MediaType mediaType, @Nullable String filename) {
+        return new ArtifactPartContent(resource, null, mediaType, filename);
+    }
+
+    public static ArtifactPartContent redirect(URI location, MediaType mediaType, @Nullable String filename) {
+        return new ArtifactPartContent(null, location, mediaType, filename);
+    }
+}
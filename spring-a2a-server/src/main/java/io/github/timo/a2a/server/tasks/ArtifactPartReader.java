@@ -0,0 +1,192 @@
+package io.github.timo.a2a.server.tasks;
+
+import com.google.gson.Gson;
+import io.a2a.server.ServerCallContext;
+import io.a2a.server.requesthandlers.RequestHandler;
+import io.a2a.spec.DataPart;
+import io.a2a.spec.FilePart;
+import io.a2a.spec.FileWithBytes;
+import io.a2a.spec.FileWithUri;
+import io.a2a.spec.InvalidParamsError;
+import io.a2a.spec.Part;
+import io.a2a.spec.TaskNotFoundError;
+import io.a2a.spec.TaskQueryParams;
+import io.a2a.spec.TextPart;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Reads a single part of a task artifact as raw content, so that a client can download a file
+ * without fetching the task and decoding its inline base64 bytes.
+ * <p>
+ * The task is read through the {@link RequestHandler} in the tenant and call context of the request,
+ * so a caller can only download the artifacts of the tasks it may get.
+ * <p>
+ * A file part referencing a {@code file:} URI is served straight from the file, which the web
+ * server transfers without copying it to the heap, provided the file lies under one of the file
+ * roots. Files elsewhere are not served, and other URIs are returned as a location to redirect to.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public class ArtifactPartReader {
+    private static final Gson GSON = new Gson();
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    private final RequestHandler requestHandler;
+    private final List<Path> fileRoots;
+
+    public ArtifactPartReader(RequestHandler requestHandler) {
+        this(requestHandler, List.of());
+    }
+
+    /**
+     * @param fileRoots the directories whose files may be served for {@code file:} URIs
+     */
+    public ArtifactPartReader(RequestHandler requestHandler, List<Path> fileRoots) {
+        this.requestHandler = requestHandler;
+        this.fileRoots = fileRoots.stream()
+                .map(root -> root.toAbsolutePath().normalize())
+                .toList();
+    }
+
+    public RequestHandler getRequestHandler() {
+        return requestHandler;
+    }
+
+    public List<Path> getFileRoots() {
+        return fileRoots;
+    }
+
+    /**
+     * Reads the part at {@code index} of the artifact {@code artifactId} of a task of the tenant.
+     *
+     * @param tenant  the tenant of the request
+     * @param context the call context of the request
+     * @return the content of the part, or {@code null} when the task has no such artifact or part
+     * @throws TaskNotFoundError  when the task does not exist or is not visible to the caller
+     * @throws InvalidParamsError when the index is negative
+     */
+    public @Nullable ArtifactPartContent read(
+            String taskId,
+            String artifactId,
+            int index,
+            String tenant,
+            ServerCallContext context
+    ) {
+        if (index < 0) {
+            throw new InvalidParamsError("index must be a non-negative integer");
+        }
+
+        var task = requestHandler.onGetTask(new TaskQueryParams(taskId, 0, tenant), context);
+        if (task == null) {
+            throw new TaskNotFoundError();
+        }
+
+        if (task.artifacts() == null) {
+            return null;
+        }
+
+        for (var artifact : task.artifacts()) {
+            if (artifactId.equals(artifact.artifactId())) {
+                var parts = artifact.parts();
+                return parts != null && index < parts.size() ? content(parts.get(index)) : null;
+            }
+        }
+
+        return null;
+    }
+
+    private @Nullable ArtifactPartContent content(Part<?> part) {
+        return switch (part) {
+            case TextPart textPart -> ArtifactPartContent.of(
+                    new ByteArrayResource(textPart.text().getBytes(StandardCharsets.UTF_8)), TEXT_PLAIN_UTF8, null
+            );
+            case DataPart dataPart -> ArtifactPartContent.of(
+                    new ByteArrayResource(GSON.toJson(dataPart.data()).getBytes(StandardCharsets.UTF_8)),
+                    MediaType.APPLICATION_JSON,
+                    null
+            );
+            case FilePart filePart -> switch (filePart.file()) {
+                case FileWithBytes file -> ArtifactPartContent.of(
+                        new ByteArrayResource(Base64.getDecoder().decode(file.bytes())),
+                        mediaType(file.mimeType()),
+                        file.name()
+                );
+                case FileWithUri file -> fileContent(file.uri(), mediaType(file.mimeType()), file.name());
+                default -> null;
+            };
+            default -> null;
+        };
+    }
+
+    private @Nullable ArtifactPartContent fileContent(String fileUri, MediaType mediaType, @Nullable String filename) {
+        URI uri;
+        try {
+            uri = URI.create(fileUri);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+
+        if (!"file".equalsIgnoreCase(uri.getScheme())) {
+            return ArtifactPartContent.redirect(uri, mediaType, filename);
+        }
+
+        var path = servedPath(uri);
+        return path != null ? ArtifactPartContent.of(new FileSystemResource(path), mediaType, filename) : null;
+    }
+
+    /**
+     * Resolves the file of a {@code file:} URI, links included, so that a URI cannot escape the
+     * file roots.
+     */
+    private @Nullable Path servedPath(URI uri) {
+        try {
+            var path = Path.of(uri).toRealPath();
+            if (!Files.isRegularFile(path)) {
+                return null;
+            }
+
+            for (var root : fileRoots) {
+                if (isUnder(path, root)) {
+                    return path;
+                }
+            }
+
+            return null;
+        } catch (IOException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static boolean isUnder(Path path, Path root) {
+        try {
+            return path.startsWith(root.toRealPath());
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    private static MediaType mediaType(@Nullable String mimeType) {
+        if (mimeType == null || mimeType.isBlank()) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+
+        try {
+            return MediaType.parseMediaType(mimeType);
+        } catch (InvalidMediaTypeException ex) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.timo.a2a.server.tasks;
+
+import io.a2a.server.tasks.TaskStore;
+import io.a2a.spec.ListTasksParams;
+import io.a2a.spec.ListTasksResult;
+import io.a2a.spec.Task;
+import io.a2a.spec.TaskState;
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link TaskStore} decorator that lets requests wait for a task to reach a state.
+ * <p>
+ * Every task update of the agent, status updates included, is saved to the task store before it
+ * is published, so the saves are the updates to watch. A waiting request is a {@link Sinks.One}
+ * completed by the save of a task in one of the awaited states: it holds no thread while it waits.
+ * <p>
+ * Only the tasks saved through this store are watched, a task store shared by several server
+ * instances only notifies the waiters of the instance running the task.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public class ObservableTaskStore implements TaskStore {
+    private final TaskStore delegate;
+    private final ConcurrentMap<String, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+
+    public ObservableTaskStore(TaskStore delegate) {
+        this.delegate = delegate;
+    }
+
+    public TaskStore getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void save(Task task) {
+        delegate.save(task);
+
+        var taskWaiters = waiters.get(task.id());
+        if (taskWaiters != null) {
+            var state = task.status().state();
+            for (var waiter : taskWaiters) {
+                if (waiter.states.contains(state)) {
+                    waiter.sink.tryEmitValue(task);
+                }
+            }
+        }
+    }
+
+    @Override
+    public @Nullable Task get(String taskId) {
+        return delegate.get(taskId);
+    }
+
+    @Override
+    public void delete(String taskId) {
+        delegate.delete(taskId);
+
+        // The waiters of a deleted task stop waiting, they find out that the task is gone
+        var taskWaiters = waiters.get(taskId);
+        if (taskWaiters != null) {
+            taskWaiters.forEach(waiter -> waiter.sink.tryEmitEmpty());
+        }
+    }
+
+    @Override
+    public ListTasksResult list(ListTasksParams params) {
+        return delegate.list(params);
+    }
+
+    /**
+     * Waits until the task is in one of the states.
+     *
+     * @return the task once in one of the states, empty when the task does not exist or the
+     * timeout expires first
+     */
+    public Mono<Task> awaitState(String taskId, Set<TaskState> states, Duration timeout) {
+        return Mono.using(
+                () -> register(new Waiter(taskId, states)),
+                waiter -> {
+                    // Read after registering, so that an update between the read and the registration is not lost
+                    var task = delegate.get(taskId);
+                    if (task == null || states.contains(task.status().state())) {
+                        return Mono.justOrEmpty(task);
+                    }
+
+                    return waiter.sink.asMono().timeout(timeout, Mono.empty());
+                },
+                this::unregister
+        );
+    }
+
+    /**
+     * @return the number of requests waiting for a task update
+     */
+    public int waiting() {
+        return waiters.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private Waiter register(Waiter waiter) {
+        waiters.compute(waiter.taskId, (taskId, taskWaiters) -> {
+            var registered = taskWaiters != null ? taskWaiters : ConcurrentHashMap.<Waiter>newKeySet();
+            registered.add(waiter);
+            return registered;
+        });
+
+        return waiter;
+    }
+
+    private void unregister(Waiter waiter) {
+        waiters.computeIfPresent(waiter.taskId, (taskId, taskWaiters) -> {
+            taskWaiters.remove(waiter);
+            return taskWaiters.isEmpty() ? null : taskWaiters;
+        });
+    }
+
+    private static final class Waiter {
+        private final String taskId;
+        private final Set<TaskState> states;
+        private final Sinks.One<Task> sink = Sinks.one();
+
+        private Waiter(String taskId, Set<TaskState> states) {
+            this.taskId = taskId;
+            this.states = states;
+        }
+    }
+}
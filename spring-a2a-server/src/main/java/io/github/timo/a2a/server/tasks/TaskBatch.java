@@ -0,0 +1,56 @@
+package io.github.timo.a2a.server.tasks;
+
+import io.github.timo.a2a.server.web.ProtoJsonWriter;
+import io.github.timo.a2a.server.web.TaskFieldMask;
+import io.a2a.spec.Task;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a batch of tasks: the tasks found by ID, in the order of the request, and the IDs
+ * of the tasks not found.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public record TaskBatch(Map<String, Task> tasks, List<String> missingTaskIds) {
+
+    /**
+     * Writes the batch as {@code {"tasks": {"<id>": <task>, ...}, "missingTaskIds": [...]}}, the
+     * tasks projected on the field mask when there is one.
+     */
+    public void appendJson(Appendable out, @Nullable TaskFieldMask fieldMask) throws IOException {
+        out.append("{\"tasks\":{");
+
+        var first = true;
+        for (var entry : tasks.entrySet()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+
+            ProtoJsonWriter.writeString(entry.getKey(), out);
+            out.append(':');
+            ProtoJsonWriter.appendTo(TaskFieldMask.toProto(entry.getValue(), fieldMask), out);
+        }
+
+        out.append("},\"missingTaskIds\":[");
+        for (var i = 0; i < missingTaskIds.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            ProtoJsonWriter.writeString(missingTaskIds.get(i), out);
+        }
+
+        out.append("]}");
+    }
+
+    public String toJson(@Nullable TaskFieldMask fieldMask) throws IOException {
+        var out = new StringBuilder(256 * (tasks.size() + 1));
+        appendJson(out, fieldMask);
+        return out.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.timo.a2a.server.tasks;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import io.a2a.spec.InvalidParamsError;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request of the cancellation of a batch of tasks, either by ID, {@code {"ids": ["task-1", "task-2"]}},
+ * or every task of a context, {@code {"contextId": "context-1"}}. The body of
+ * {@code POST /tasks:batchCancel} and the params of the JSON-RPC {@code BatchCancelTasks} method.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public record TaskBatchCancelRequest(List<String> ids, @Nullable String contextId) {
+    private static final String IDS_FIELD = "ids";
+    private static final String CONTEXT_ID_FIELD = "contextId";
+
+    public TaskBatchCancelRequest {
+        ids = List.copyOf(ids);
+        if (contextId != null && contextId.isEmpty()) {
+            contextId = null;
+        }
+    }
+
+    public static TaskBatchCancelRequest fromJson(String json) {
+        try {
+            return fromJson(JsonParser.parseString(json));
+        } catch (RuntimeException ex) {
+            if (ex instanceof InvalidParamsError error) {
+                throw error;
+            }
+
+            throw new InvalidParamsError("Invalid task batch cancel request: " + ex.getMessage());
+        }
+    }
+
+    public static TaskBatchCancelRequest fromJson(@Nullable JsonElement json) {
+        if (json == null || !json.isJsonObject()) {
+            throw new InvalidParamsError("Task batch cancel request must be a JSON object");
+        }
+
+        var object = json.getAsJsonObject();
+        var ids = new ArrayList<String>();
+        var idsElement = object.get(IDS_FIELD);
+        if (idsElement != null && !idsElement.isJsonNull()) {
+            if (!idsElement.isJsonArray()) {
+                throw new InvalidParamsError(IDS_FIELD + " must be an array of task IDs");
+            }
+
+            for (var id : idsElement.getAsJsonArray()) {
+                if (!id.isJsonPrimitive() || !id.getAsJsonPrimitive().isString()) {
+                    throw new InvalidParamsError(IDS_FIELD + " must be an array of task IDs");
+                }
+                ids.add(id.getAsString());
+            }
+        }
+
+        String contextId = null;
+        var contextIdElement = object.get(CONTEXT_ID_FIELD);
+        if (contextIdElement != null && !contextIdElement.isJsonNull()) {
+            if (!contextIdElement.isJsonPrimitive() || !contextIdElement.getAsJsonPrimitive().isString()) {
+                throw new InvalidParamsError(CONTEXT_ID_FIELD + " must be a string");
+            }
+            contextId = contextIdElement.getAsString();
+        }
+
+        return new TaskBatchCancelRequest(ids, contextId);
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.timo.a2a.server.tasks;
+
+import io.github.timo.a2a.server.web.ErrorResponses;
+import io.github.timo.a2a.server.web.ProtoJsonWriter;
+import io.a2a.grpc.utils.ProtoUtils;
+import io.a2a.spec.InternalError;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Result of the cancellation of a batch of tasks, one outcome per task in the order of the request.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public record TaskBatchCancellation(List<TaskCancelOutcome> outcomes) {
+
+    public TaskBatchCancellation {
+        outcomes = List.copyOf(outcomes);
+    }
+
+    /**
+     * Writes the outcomes as {@code {"results": [{"taskId": "<id>", "task": <task>}, {"taskId": "<id>",
+     * "error": {"error": "<error type>", "message": "<message>"}}, ...]}}, the errors as the REST error bodies.
+     */
+    public void appendJson(Appendable out) throws IOException {
+        out.append("{\"results\":[");
+
+        for (var i = 0; i < outcomes.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+
+            var outcome = outcomes.get(i);
+            out.append("{\"taskId\":");
+            ProtoJsonWriter.writeString(outcome.taskId(), out);
+
+            if (outcome.task() != null) {
+                out.append(",\"task\":");
+                ProtoJsonWriter.appendTo(ProtoUtils.ToProto.task(outcome.task()), out);
+            } else {
+                var error = outcome.error() != null ? outcome.error() : new InternalError("Task not cancelled");
+                out.append(",\"error\":").append(ErrorResponses.printRestError(error));
+            }
+
+            out.append('}');
+        }
+
+        out.append("]}");
+    }
+
+    public String toJson() throws IOException {
+        var out = new StringBuilder(256 * (outcomes.size() + 1));
+        appendJson(out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,170 @@
+package io.github.timo.a2a.server.tasks;
+
+import io.a2a.server.ServerCallContext;
+import io.a2a.server.requesthandlers.RequestHandler;
+import io.a2a.spec.A2AError;
+import io.a2a.spec.InternalError;
+import io.a2a.spec.InvalidParamsError;
+import io.a2a.spec.ListTasksParams;
+import io.a2a.spec.TaskIdParams;
+import io.a2a.spec.TaskNotFoundError;
+import io.a2a.spec.TaskState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Cancels a batch of tasks, by ID or every unfinished task of a context, dispatching the
+ * cancellations concurrently on the scheduler and collecting one outcome per task.
+ * <p>
+ * The cancellations block until the agent is cancelled, so the scheduler must be bounded and
+ * dedicated to them, never the A2A internal executor the agents run on: cancellations taking its
+ * threads while waiting for the agents would deadlock it. At most {@code maxConcurrency}
+ * cancellations of a batch run at the same time, so that a large batch does not take every thread
+ * of the scheduler.
+ * <p>
+ * A task that cannot be cancelled does not fail the batch, its error is the outcome of the task.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public class TaskBatchCanceller {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskBatchCanceller.class);
+
+    public static final int DEFAULT_MAX_TASK_IDS = TaskBatchReader.DEFAULT_MAX_TASK_IDS;
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+    private static final int LIST_TASKS_PAGE_SIZE = 100;
+
+    private static final Set<TaskState> FINAL_STATES =
+            EnumSet.of(TaskState.COMPLETED, TaskState.CANCELED, TaskState.FAILED, TaskState.REJECTED);
+
+    private final RequestHandler requestHandler;
+    private final Scheduler scheduler;
+    private final int maxTaskIds;
+    private final int maxConcurrency;
+
+    public TaskBatchCanceller(RequestHandler requestHandler, Scheduler scheduler) {
+        this(requestHandler, scheduler, DEFAULT_MAX_TASK_IDS);
+    }
+
+    /**
+     * @param scheduler  the scheduler running the cancellations, dedicated to them: they block until the
+     *                   agent is cancelled, which may need a thread of the A2A internal executor
+     * @param maxTaskIds the maximum number of tasks of a batch
+     */
+    public TaskBatchCanceller(RequestHandler requestHandler, Scheduler scheduler, int maxTaskIds) {
+        this(requestHandler, scheduler, maxTaskIds, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * @param maxConcurrency the maximum number of cancellations of a batch running at the same time
+     */
+    public TaskBatchCanceller(RequestHandler requestHandler, Scheduler scheduler, int maxTaskIds, int maxConcurrency) {
+        this.requestHandler = requestHandler;
+        this.scheduler = scheduler;
+        this.maxTaskIds = maxTaskIds > 0 ? maxTaskIds : DEFAULT_MAX_TASK_IDS;
+        this.maxConcurrency = maxConcurrency > 0 ? maxConcurrency : DEFAULT_MAX_CONCURRENCY;
+    }
+
+    public int getMaxTaskIds() {
+        return maxTaskIds;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Cancels the tasks of the request, in the tenant. Duplicate IDs are cancelled once.
+     *
+     * @return the outcomes of the cancellations, in the order of the tasks, once every cancellation is done;
+     * an {@link InvalidParamsError} signal when the request has neither IDs nor context ID, both, or too many tasks
+     */
+    public Mono<TaskBatchCancellation> cancel(TaskBatchCancelRequest request, String tenant, ServerCallContext context) {
+        return Mono.fromCallable(() -> taskIds(request, tenant, context))
+                .subscribeOn(scheduler)
+                .flatMapMany(Flux::fromIterable)
+                .flatMapSequential(
+                        taskId -> Mono.fromCallable(() -> cancel(taskId, tenant, context)).subscribeOn(scheduler),
+                        maxConcurrency
+                )
+                .collectList()
+                .map(TaskBatchCancellation::new);
+    }
+
+    private Set<String> taskIds(TaskBatchCancelRequest request, String tenant, ServerCallContext context) {
+        var contextId = request.contextId();
+        if (contextId == null && request.ids().isEmpty()) {
+            throw new InvalidParamsError("Either ids or contextId is required");
+        }
+
+        if (contextId != null && !request.ids().isEmpty()) {
+            throw new InvalidParamsError("Only one of ids and contextId is allowed");
+        }
+
+        var taskIds = contextId == null
+                ? new LinkedHashSet<>(request.ids())
+                : contextTaskIds(contextId, tenant, context);
+        if (taskIds.size() > maxTaskIds) {
+            throw new InvalidParamsError("The batch must not contain more than " + maxTaskIds + " tasks");
+        }
+
+        return taskIds;
+    }
+
+    /**
+     * The IDs of the unfinished tasks of the context, without their history and artifacts.
+     */
+    private Set<String> contextTaskIds(String contextId, String tenant, ServerCallContext context) {
+        var taskIds = new LinkedHashSet<String>();
+        var params = ListTasksParams.builder()
+                .contextId(contextId)
+                .historyLength(0)
+                .includeArtifacts(false)
+                .pageSize(LIST_TASKS_PAGE_SIZE)
+                .tenant(tenant);
+
+        String pageToken = null;
+        do {
+            var result = requestHandler.onListTasks(params.pageToken(pageToken).build(), context);
+            for (var task : result.tasks()) {
+                if (!FINAL_STATES.contains(task.status().state())) {
+                    taskIds.add(task.id());
+                }
+            }
+
+            // Stop listing as soon as the batch is known to be too large
+            if (taskIds.size() > maxTaskIds) {
+                break;
+            }
+
+            pageToken = result.nextPageToken();
+        } while (pageToken != null && !pageToken.isEmpty());
+
+        return taskIds;
+    }
+
+    private TaskCancelOutcome cancel(String taskId, String tenant, ServerCallContext context) {
+        try {
+            var task = requestHandler.onCancelTask(new TaskIdParams(taskId, tenant), context);
+            if (task == null) {
+                return TaskCancelOutcome.failed(taskId, new TaskNotFoundError());
+            }
+
+            return TaskCancelOutcome.cancelled(taskId, task);
+        } catch (A2AError ex) {
+            LOGGER.debug("Error cancelling task: {}", taskId, ex);
+            return TaskCancelOutcome.failed(taskId, ex);
+        } catch (Throwable throwable) {
+            LOGGER.error("Unexpected error cancelling task: {}", taskId, throwable);
+            return TaskCancelOutcome.failed(taskId, new InternalError(throwable.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.timo.a2a.server.tasks;
+
+/**
+ * Names of the task batch methods, which extend the A2A methods.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class TaskBatchMethods {
+    /**
+     * Reads a batch of tasks, {@code POST /tasks:batchGet} in REST.
+     */
+    public static final String BATCH_GET_TASKS_METHOD = "BatchGetTasks";
+
+    /**
+     * Cancels a batch of tasks, {@code POST /tasks:batchCancel} in REST.
+     */
+    public static final String BATCH_CANCEL_TASKS_METHOD = "BatchCancelTasks";
+
+    private TaskBatchMethods() {
+        // N/A
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.timo.a2a.server.tasks;
+
+import io.a2a.server.ServerCallContext;
+import io.a2a.server.requesthandlers.RequestHandler;
+import io.a2a.spec.InvalidParamsError;
+import io.a2a.spec.Task;
+import io.a2a.spec.TaskNotFoundError;
+import io.a2a.spec.TaskQueryParams;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+
+/**
+ * Reads a batch of tasks in one pass, each through {@link RequestHandler#onGetTask} like a single
+ * task read, so that the tenant and the user of the call context apply to every task of the batch.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public class TaskBatchReader {
+    public static final int DEFAULT_MAX_TASK_IDS = 1000;
+
+    private final RequestHandler requestHandler;
+    private final int maxTaskIds;
+
+    public TaskBatchReader(RequestHandler requestHandler) {
+        this(requestHandler, DEFAULT_MAX_TASK_IDS);
+    }
+
+    /**
+     * @param maxTaskIds the maximum number of task IDs of a batch
+     */
+    public TaskBatchReader(RequestHandler requestHandler, int maxTaskIds) {
+        this.requestHandler = requestHandler;
+        this.maxTaskIds = maxTaskIds > 0 ? maxTaskIds : DEFAULT_MAX_TASK_IDS;
+    }
+
+    public int getMaxTaskIds() {
+        return maxTaskIds;
+    }
+
+    /**
+     * Reads the tasks of the request, in the tenant. Duplicate IDs are read once, and the tasks not
+     * found in the tenant are listed as missing.
+     *
+     * @throws InvalidParamsError when the request has no ID, too many IDs or a negative history length
+     */
+    public TaskBatch read(TaskBatchRequest request, String tenant, ServerCallContext context) {
+        var ids = new LinkedHashSet<>(request.ids());
+        if (ids.isEmpty()) {
+            throw new InvalidParamsError("ids must not be empty");
+        }
+
+        if (ids.size() > maxTaskIds) {
+            throw new InvalidParamsError("ids must not contain more than " + maxTaskIds + " task IDs");
+        }
+
+        var historyLength = request.historyLength();
+        if (historyLength != null && historyLength < 0) {
+            throw new InvalidParamsError("historyLength must be a non-negative integer");
+        }
+
+        var tasks = new LinkedHashMap<String, Task>(ids.size() * 2);
+        var missingTaskIds = new ArrayList<String>();
+
+        for (var id : ids) {
+            Task task;
+            try {
+                task = requestHandler.onGetTask(new TaskQueryParams(id, historyLength, tenant), context);
+            } catch (TaskNotFoundError ex) {
+                task = null;
+            }
+
+            if (task == null) {
+                missingTaskIds.add(id);
+            } else {
+                tasks.put(id, task);
+            }
+        }
+
+        return new TaskBatch(tasks, missingTaskIds);
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.timo.a2a.server.tasks;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.a2a.spec.InvalidParamsError;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request of a batch of tasks, {@code {"ids": ["task-1", "task-2"], "historyLength": 2}}, the
+ * body of {@code POST /tasks:batchGet} and the params of the JSON-RPC {@code BatchGetTasks} method.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public record TaskBatchRequest(List<String> ids, @Nullable Integer historyLength) {
+    private static final String IDS_FIELD = "ids";
+    private static final String HISTORY_LENGTH_FIELD = "historyLength";
+
+    public TaskBatchRequest {
+        ids = List.copyOf(ids);
+    }
+
+    public static TaskBatchRequest fromJson(String json) {
+        try {
+            return fromJson(JsonParser.parseString(json));
+        } catch (RuntimeException ex) {
+            if (ex instanceof InvalidParamsError error) {
+                throw error;
+            }
+
+            throw new InvalidParamsError("Invalid task batch request: " + ex.getMessage());
+        }
+    }
+
+    public static TaskBatchRequest fromJson(@Nullable JsonElement json) {
+        if (json == null || !json.isJsonObject()) {
+            throw new InvalidParamsError("Task batch request must be a JSON object");
+        }
+
+        var object = json.getAsJsonObject();
+        var idsElement = object.get(IDS_FIELD);
+        if (idsElement == null || !idsElement.isJsonArray()) {
+            throw new InvalidParamsError(IDS_FIELD + " must be an array of task IDs");
+        }
+
+        var ids = new ArrayList<String>(idsElement.getAsJsonArray().size());
+        for (var id : idsElement.getAsJsonArray()) {
+            if (!id.isJsonPrimitive() || !id.getAsJsonPrimitive().isString()) {
+                throw new InvalidParamsError(IDS_FIELD + " must be an array of task IDs");
+            }
+            ids.add(id.getAsString());
+        }
+
+        return new TaskBatchRequest(ids, historyLength(object));
+    }
+
+    private static @Nullable Integer historyLength(JsonObject object) {
+        var element = object.get(HISTORY_LENGTH_FIELD);
+        if (element == null || element.isJsonNull()) {
+            return null;
+        }
+
+        try {
+            return element.getAsInt();
+        } catch (RuntimeException ex) {
+            throw new InvalidParamsError(HISTORY_LENGTH_FIELD + " must be an integer");
+        }
+    }
+}
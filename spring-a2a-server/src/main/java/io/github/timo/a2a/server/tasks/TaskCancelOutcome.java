@@ -0,0 +1,23 @@
+package io.github.timo.a2a.server.tasks;
+
+import io.a2a.spec.A2AError;
+import io.a2a.spec.Task;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Outcome of the cancellation of one task of a batch: the task in its new state, or the error
+ * that prevented the cancellation, typically a {@link io.a2a.spec.TaskNotCancelableError}.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public record TaskCancelOutcome(String taskId, @Nullable Task task, @Nullable A2AError error) {
+
+    public static TaskCancelOutcome cancelled(String taskId, Task task) {
+        return new TaskCancelOutcome(taskId, task, null);
+    }
+
+    public static TaskCancelOutcome failed(String taskId, A2AError error) {
+        return new TaskCancelOutcome(taskId, null, error);
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.timo.a2a.server.tasks;
+
+import io.a2a.spec.InvalidParamsError;
+import io.a2a.spec.TaskState;
+import org.jspecify.annotations.Nullable;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Parses task states of request parameters, either as the JSON value ({@code input-required}) or
+ * as the protobuf enum name ({@code TASK_STATE_INPUT_REQUIRED}).
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class TaskStates {
+    private static final String TASK_STATE_PREFIX = "TASK_STATE_";
+
+    private TaskStates() {
+        // N/A
+    }
+
+    /**
+     * @return the task state, {@code null} when the value is empty
+     * @throws InvalidParamsError when the value is not a task state
+     */
+    public static @Nullable TaskState parse(@Nullable String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        var name = value.strip().toUpperCase(Locale.ROOT).replace('-', '_');
+        if (name.startsWith(TASK_STATE_PREFIX)) {
+            name = name.substring(TASK_STATE_PREFIX.length());
+        }
+
+        try {
+            return TaskState.valueOf("CANCELLED".equals(name) ? "CANCELED" : name);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidParamsError("Invalid task status: " + value);
+        }
+    }
+
+    /**
+     * Parses a comma separated list of task states, {@code completed,failed}.
+     *
+     * @return the task states, empty when the value is empty
+     * @throws InvalidParamsError when a value is not a task state
+     */
+    public static Set<TaskState> parseList(@Nullable String values) {
+        var states = EnumSet.noneOf(TaskState.class);
+        if (values == null) {
+            return states;
+        }
+
+        for (var value : values.split(",")) {
+            var state = parse(value);
+            if (state != null) {
+                states.add(state);
+            }
+        }
+
+        return states;
+    }
+}
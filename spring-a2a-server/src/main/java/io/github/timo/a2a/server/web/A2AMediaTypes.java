@@ -0,0 +1,88 @@
+package io.github.timo.a2a.server.web;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+
+/**
+ * Media types of the binary protobuf bindings and the content negotiation between them and JSON.
+ * <p>
+ * JSON stays the default: protobuf is only selected when the client explicitly asks for it, that
+ * is when it sends a protobuf {@code Content-Type} or when its most preferred {@code Accept} type
+ * is a protobuf type. Wildcards always resolve to JSON.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class A2AMediaTypes {
+    /**
+     * A single binary protobuf message.
+     */
+    public static final String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType(APPLICATION_PROTOBUF_VALUE);
+
+    /**
+     * A stream of binary protobuf messages, each prefixed with its varint encoded length.
+     */
+    public static final String APPLICATION_PROTOBUF_DELIMITED_VALUE = "application/x-protobuf-delimited";
+    public static final MediaType APPLICATION_PROTOBUF_DELIMITED =
+            MediaType.parseMediaType(APPLICATION_PROTOBUF_DELIMITED_VALUE);
+
+    private A2AMediaTypes() {
+        // N/A
+    }
+
+    /**
+     * Whether the request body is a binary protobuf message.
+     */
+    public static boolean isProtobufContent(HttpHeaders headers) {
+        try {
+            var contentType = headers.getContentType();
+            return contentType != null && APPLICATION_PROTOBUF.equalsTypeAndSubtype(contentType);
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Whether the client prefers a binary protobuf response over JSON.
+     */
+    public static boolean acceptsProtobuf(HttpHeaders headers) {
+        return isPreferred(headers, APPLICATION_PROTOBUF);
+    }
+
+    /**
+     * Whether the client prefers a length-delimited protobuf stream over server-sent events.
+     */
+    public static boolean acceptsProtobufDelimited(HttpHeaders headers) {
+        return isPreferred(headers, APPLICATION_PROTOBUF_DELIMITED);
+    }
+
+    /**
+     * Whether the client prefers newline-delimited JSON over a single JSON document.
+     */
+    public static boolean acceptsNdjson(HttpHeaders headers) {
+        return isPreferred(headers, MediaType.APPLICATION_NDJSON);
+    }
+
+    private static boolean isPreferred(HttpHeaders headers, MediaType mediaType) {
+        try {
+            var accept = new ArrayList<>(headers.getAccept());
+            // Stable sort, equally weighted types keep the order of the header
+            accept.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+            for (var acceptedType : accept) {
+                if (acceptedType.getQualityValue() > 0) {
+                    return mediaType.equalsTypeAndSubtype(acceptedType);
+                }
+            }
+
+            return false;
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+    }
+}
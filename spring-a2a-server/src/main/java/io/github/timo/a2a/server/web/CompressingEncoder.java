@@ -0,0 +1,84 @@
+package io.github.timo.a2a.server.web;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Compresses one response body, buffer by buffer, into new buffers.
+ * <p>
+ * Not thread-safe, buffers are encoded in the order of the body. The encoder must be closed to
+ * release the native memory of the compressor, also when the body fails or gets cancelled.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+final class CompressingEncoder implements AutoCloseable {
+    private final DataBufferFactory bufferFactory;
+    private final ByteArrayOutputStream sink = new ByteArrayOutputStream(8192);
+    private final OutputStream stream;
+    private boolean closed;
+
+    CompressingEncoder(ContentCoding coding, DataBufferFactory bufferFactory) {
+        this.bufferFactory = bufferFactory;
+
+        try {
+            this.stream = coding.encode(sink);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Compresses the buffer, which is released.
+     *
+     * @param flush whether everything compressed so far is emitted, so the client can decode it right away
+     * @return the compressed bytes available so far, possibly empty without flush
+     */
+    DataBuffer encode(DataBuffer buffer, boolean flush) {
+        try (var inputStream = buffer.asInputStream(true)) {
+            inputStream.transferTo(stream);
+            if (flush) {
+                stream.flush();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return drain();
+    }
+
+    /**
+     * Completes the compressed body.
+     *
+     * @return the remaining compressed bytes
+     */
+    DataBuffer finish() {
+        close();
+        return drain();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        try {
+            stream.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private DataBuffer drain() {
+        var buffer = bufferFactory.wrap(sink.toByteArray());
+        sink.reset();
+        return buffer;
+    }
+}
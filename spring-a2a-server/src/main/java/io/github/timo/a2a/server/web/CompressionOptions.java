@@ -0,0 +1,32 @@
+package io.github.timo.a2a.server.web;
+
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+/**
+ * Compression of A2A responses.
+ *
+ * @param enabled         whether responses are compressed when the client accepts a supported content coding
+ * @param minResponseSize minimum size of a response body to be compressed, smaller bodies are sent as they are;
+ *                        streaming responses are always compressed, event by event
+ * @param paths           path patterns of the compressed endpoints, relative to the application context path
+ * @author Timo
+ * @since 0.1.0
+ */
+public record CompressionOptions(boolean enabled, DataSize minResponseSize, List<String> paths) {
+    public static final boolean DEFAULT_ENABLED = false;
+    public static final DataSize DEFAULT_MIN_RESPONSE_SIZE = DataSize.ofKilobytes(2);
+    public static final List<String> DEFAULT_PATHS = List.of("/", "/messages/**", "/tasks/**");
+
+    public static final CompressionOptions DEFAULT = new CompressionOptions(
+            DEFAULT_ENABLED, DEFAULT_MIN_RESPONSE_SIZE, DEFAULT_PATHS
+    );
+
+    public CompressionOptions {
+        minResponseSize = minResponseSize != null && !minResponseSize.isNegative()
+                ? minResponseSize
+                : DEFAULT_MIN_RESPONSE_SIZE;
+        paths = paths != null && !paths.isEmpty() ? List.copyOf(paths) : DEFAULT_PATHS;
+    }
+}
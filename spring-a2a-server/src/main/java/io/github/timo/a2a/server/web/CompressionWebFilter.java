@@ -0,0 +1,191 @@
+package io.github.timo.a2a.server.web;
+
+import org.jspecify.annotations.Nullable;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Compresses the responses of the A2A endpoints with the content coding negotiated from the
+ * request {@code Accept-Encoding} header, independently of the global server compression.
+ * <p>
+ * Bodies smaller than the {@link CompressionOptions#minResponseSize() min response size} are sent
+ * as they are. Streaming responses (server-sent events, length-delimited protobuf and NDJSON) are
+ * compressed as they are written and flushed after every event, so the client can decode each
+ * event as soon as it arrives.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public class CompressionWebFilter implements WebFilter {
+    private static final List<MediaType> COMPRESSIBLE_TYPES = List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_NDJSON,
+            MediaType.TEXT_EVENT_STREAM,
+            A2AMediaTypes.APPLICATION_PROTOBUF,
+            A2AMediaTypes.APPLICATION_PROTOBUF_DELIMITED
+    );
+    private static final List<MediaType> STREAMING_TYPES = List.of(
+            MediaType.APPLICATION_NDJSON,
+            MediaType.TEXT_EVENT_STREAM,
+            A2AMediaTypes.APPLICATION_PROTOBUF_DELIMITED
+    );
+
+    private final CompressionOptions options;
+    private final List<ContentCoding> codings;
+    private final List<PathPattern> paths;
+
+    public CompressionWebFilter(CompressionOptions options) {
+        this(options, ContentCoding.available());
+    }
+
+    /**
+     * @param codings the supported content codings, in order of preference
+     */
+    public CompressionWebFilter(CompressionOptions options, List<ContentCoding> codings) {
+        this.options = options;
+        this.codings = List.copyOf(codings);
+        this.paths = options.paths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!options.enabled() || !isCompressedPath(exchange)) {
+            return chain.filter(exchange);
+        }
+
+        var coding = ContentCoding.negotiate(exchange.getRequest().getHeaders(), codings);
+        if (coding == null) {
+            return chain.filter(exchange);
+        }
+
+        var response = new CompressingResponse(exchange.getResponse(), coding, options.minResponseSize().toBytes());
+        return chain.filter(exchange.mutate().response(response).build());
+    }
+
+    private boolean isCompressedPath(ServerWebExchange exchange) {
+        var path = exchange.getRequest().getPath().pathWithinApplication();
+        for (var pattern : paths) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isAnyOf(@Nullable MediaType contentType, List<MediaType> mediaTypes) {
+        if (contentType == null) {
+            return false;
+        }
+
+        for (var mediaType : mediaTypes) {
+            if (mediaType.equalsTypeAndSubtype(contentType)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static final class CompressingResponse extends ServerHttpResponseDecorator {
+        private final ContentCoding coding;
+        private final long minResponseSize;
+
+        private CompressingResponse(ServerHttpResponse delegate, ContentCoding coding, long minResponseSize) {
+            super(delegate);
+            this.coding = coding;
+            this.minResponseSize = minResponseSize;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            var contentType = getHeaders().getContentType();
+            if (!isCompressible(contentType)) {
+                return super.writeWith(body);
+            }
+
+            if (isAnyOf(contentType, STREAMING_TYPES)) {
+                return Mono.using(
+                        () -> new CompressingEncoder(coding, bufferFactory()),
+                        encoder -> {
+                            setEncodingHeaders();
+                            return super.writeWith(Flux.from(body)
+                                    .map(buffer -> encoder.encode(buffer, true))
+                                    .concatWith(Mono.fromSupplier(encoder::finish)));
+                        },
+                        CompressingEncoder::close
+                );
+            }
+
+            var contentLength = getHeaders().getContentLength();
+            if (contentLength >= 0 && contentLength < minResponseSize) {
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(body)
+                    .switchIfEmpty(Mono.fromSupplier(() -> bufferFactory().allocateBuffer(0)))
+                    .flatMap(buffer -> {
+                        if (buffer.readableByteCount() < minResponseSize) {
+                            return super.writeWith(Mono.just(buffer));
+                        }
+
+                        DataBuffer compressed;
+                        try (var encoder = new CompressingEncoder(coding, bufferFactory())) {
+                            var head = encoder.encode(buffer, false);
+                            compressed = bufferFactory().join(List.of(head, encoder.finish()));
+                        }
+
+                        setEncodingHeaders();
+                        getHeaders().setContentLength(compressed.readableByteCount());
+                        return super.writeWith(Mono.just(compressed));
+                    });
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            if (!isCompressible(getHeaders().getContentType())) {
+                return super.writeAndFlushWith(body);
+            }
+
+            return Mono.using(
+                    () -> new CompressingEncoder(coding, bufferFactory()),
+                    encoder -> {
+                        setEncodingHeaders();
+                        // Every published chunk is one event, compressed and flushed on its own
+                        return super.writeAndFlushWith(Flux.from(body)
+                                .map(chunk -> DataBufferUtils.join(chunk).map(buffer -> encoder.encode(buffer, true)))
+                                .concatWith(Mono.just(Mono.fromSupplier(encoder::finish))));
+                    },
+                    CompressingEncoder::close
+            );
+        }
+
+        private boolean isCompressible(@Nullable MediaType contentType) {
+            return getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING) == null
+                    && isAnyOf(contentType, COMPRESSIBLE_TYPES);
+        }
+
+        private void setEncodingHeaders() {
+            var headers = getHeaders();
+            headers.set(HttpHeaders.CONTENT_ENCODING, coding.name());
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.timo.a2a.server.web;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A compression of response bodies, identified by its {@code Content-Encoding} token.
+ * <p>
+ * Encoding streams must emit everything written so far on {@link OutputStream#flush()}, so that a
+ * stream of events can be compressed event by event without holding events back.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public interface ContentCoding {
+    ContentCoding GZIP = new ContentCoding() {
+        @Override
+        public String name() {
+            return "gzip";
+        }
+
+        @Override
+        public OutputStream encode(OutputStream out) throws IOException {
+            // Sync flush, so that flush() emits the pending compressed bytes
+            return new GZIPOutputStream(out, true);
+        }
+    };
+
+    /**
+     * The {@code Content-Encoding} token.
+     */
+    String name();
+
+    /**
+     * Wraps the output stream into a stream compressing what is written to it.
+     */
+    OutputStream encode(OutputStream out) throws IOException;
+
+    /**
+     * The content codings available on the classpath, in order of preference: zstd when zstd-jni
+     * is present, then gzip.
+     */
+    static List<ContentCoding> available() {
+        var codings = new ArrayList<ContentCoding>(2);
+        if (ClassUtils.isPresent("com.github.luben.zstd.ZstdOutputStream", ContentCoding.class.getClassLoader())) {
+            codings.add(new ZstdContentCoding());
+        }
+
+        codings.add(GZIP);
+        return List.copyOf(codings);
+    }
+
+    /**
+     * Selects the content coding of the response from the request {@code Accept-Encoding} header:
+     * the coding with the highest quality value, the first of the codings in case of a tie.
+     *
+     * @return the selected coding, {@code null} when the client accepts none of them
+     */
+    static @Nullable ContentCoding negotiate(HttpHeaders headers, List<ContentCoding> codings) {
+        var acceptEncoding = headers.get(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+
+        ContentCoding selected = null;
+        var selectedQuality = 0.0;
+
+        for (var coding : codings) {
+            var quality = qualityOf(acceptEncoding, coding.name());
+            if (quality > selectedQuality) {
+                selected = coding;
+                selectedQuality = quality;
+            }
+        }
+
+        return selected;
+    }
+
+    private static double qualityOf(List<String> acceptEncoding, String name) {
+        var wildcardQuality = 0.0;
+
+        for (var header : acceptEncoding) {
+            for (var token : header.split(",")) {
+                var parameters = token.split(";");
+                var coding = parameters[0].trim().toLowerCase(Locale.ROOT);
+                var quality = 1.0;
+
+                for (var i = 1; i < parameters.length; i++) {
+                    var parameter = parameters[i].trim();
+                    if (parameter.startsWith("q=")) {
+                        try {
+                            quality = Double.parseDouble(parameter.substring(2));
+                        } catch (NumberFormatException ex) {
+                            quality = 0.0;
+                        }
+                    }
+                }
+
+                if (coding.equals(name)) {
+                    return quality;
+                }
+
+                if (coding.equals("*")) {
+                    wildcardQuality = quality;
+                }
+            }
+        }
+
+        return wildcardQuality;
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.timo.a2a.server.web;
+
+import io.github.timo.a2a.server.executor.AgentBusyError;
+import io.a2a.grpc.utils.JSONRPCUtils;
+import io.a2a.spec.A2AError;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Encodes {@link A2AError}s as REST and JSON-RPC error responses.
+ * <p>
+ * The constant part of each response (error type, code) is encoded once per error type and
+ * reused, only the message is escaped per error. The REST body of the last message of each error
+ * type is kept too, so a storm of identical errors (unknown task, malformed request, ...) is
+ * answered with the same bytes, without encoding anything.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class ErrorResponses {
+    /**
+     * HTTP status of the A2A errors by their JSON-RPC code, the other errors are internal errors.
+     */
+    private static final Map<Integer, HttpStatus> HTTP_STATUSES = Map.ofEntries(
+            Map.entry(-32700, HttpStatus.BAD_REQUEST),              // JSONParseError
+            Map.entry(-32600, HttpStatus.BAD_REQUEST),              // InvalidRequestError
+            Map.entry(-32601, HttpStatus.NOT_FOUND),                // MethodNotFoundError
+            Map.entry(-32602, HttpStatus.BAD_REQUEST),              // InvalidParamsError
+            Map.entry(-32603, HttpStatus.INTERNAL_SERVER_ERROR),    // InternalError
+            Map.entry(-32001, HttpStatus.NOT_FOUND),                // TaskNotFoundError
+            Map.entry(-32002, HttpStatus.CONFLICT),                 // TaskNotCancelableError
+            Map.entry(-32003, HttpStatus.BAD_REQUEST),              // PushNotificationNotSupportedError
+            Map.entry(-32004, HttpStatus.BAD_REQUEST),              // UnsupportedOperationError
+            Map.entry(-32005, HttpStatus.UNSUPPORTED_MEDIA_TYPE),   // ContentTypeNotSupportedError
+            Map.entry(-32006, HttpStatus.BAD_GATEWAY),              // InvalidAgentResponseError
+            Map.entry(-32007, HttpStatus.NOT_FOUND),                // AuthenticatedExtendedCardNotConfiguredError
+            Map.entry(AgentBusyError.CODE, HttpStatus.SERVICE_UNAVAILABLE)
+    );
+
+    private static final ClassValue<RestTemplate> REST_TEMPLATES = new ClassValue<>() {
+        @Override
+        protected RestTemplate computeValue(Class<?> type) {
+            return new RestTemplate(type.getName());
+        }
+    };
+
+    private static final ConcurrentMap<Integer, String> JSON_RPC_TEMPLATES = new ConcurrentHashMap<>();
+
+    private ErrorResponses() {
+        // N/A
+    }
+
+    public static HttpStatus httpStatus(A2AError error) {
+        var code = error.getCode();
+        return code == null ? HttpStatus.INTERNAL_SERVER_ERROR : HTTP_STATUSES.getOrDefault(code, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    /**
+     * Encodes the REST error body, {@code {"error": "<error type>", "message": "<message>"}}, in UTF-8.
+     * <p>
+     * The returned bytes may be shared, they must not be modified.
+     */
+    public static byte[] encodeRestError(A2AError error) {
+        return REST_TEMPLATES.get(error.getClass()).encode(error.getMessage());
+    }
+
+    /**
+     * Prints the REST error body, {@code {"error": "<error type>", "message": "<message>"}}.
+     */
+    public static String printRestError(A2AError error) {
+        return REST_TEMPLATES.get(error.getClass()).print(error.getMessage());
+    }
+
+    /**
+     * Prints the JSON-RPC 2.0 error response of the request with the given ID.
+     */
+    public static String printJsonRpcError(@Nullable Object id, A2AError error) {
+        var code = error.getCode();
+        if (code == null || error.getData() != null) {
+            // Rare enough to go through the generic serialization
+            return JSONRPCUtils.toJsonRPCErrorResponse(id, error);
+        }
+
+        var template = JSON_RPC_TEMPLATES.computeIfAbsent(code, key -> ",\"error\":{\"code\":" + key + ",\"message\":");
+        var out = new StringBuilder(96 + template.length());
+        out.append("{\"jsonrpc\":\"2.0\",\"id\":").append(ResponseBodyWriter.toJsonId(id)).append(template);
+        appendMessage(error.getMessage(), out);
+        return out.append("}}").toString();
+    }
+
+    private static void appendMessage(@Nullable String message, StringBuilder out) {
+        if (message == null) {
+            out.append("null");
+            return;
+        }
+
+        try {
+            ProtoJsonWriter.writeString(message, out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static final class RestTemplate {
+        private final String prefix;
+        private final byte[] encodedPrefix;
+        private volatile @Nullable Encoded last;
+
+        private RestTemplate(String errorType) {
+            var out = new StringBuilder("{\"error\": ");
+            appendMessage(errorType, out);
+            this.prefix = out.append(", \"message\": ").toString();
+            this.encodedPrefix = prefix.getBytes(StandardCharsets.UTF_8);
+        }
+
+        private String print(@Nullable String message) {
+            var out = new StringBuilder(prefix.length() + (message == null ? 5 : message.length() + 3));
+            out.append(prefix);
+            appendMessage(message, out);
+            return out.append('}').toString();
+        }
+
+        private byte[] encode(@Nullable String message) {
+            var encoded = last;
+            if (encoded != null && Objects.equals(encoded.message(), message)) {
+                return encoded.body();
+            }
+
+            var out = new StringBuilder(message == null ? 5 : message.length() + 3);
+            appendMessage(message, out);
+            var encodedMessage = out.append('}').toString().getBytes(StandardCharsets.UTF_8);
+
+            var body = new byte[encodedPrefix.length + encodedMessage.length];
+            System.arraycopy(encodedPrefix, 0, body, 0, encodedPrefix.length);
+            System.arraycopy(encodedMessage, 0, body, encodedPrefix.length, encodedMessage.length);
+
+            last = new Encoded(message, body);
+            return body;
+        }
+    }
+
+    private record Encoded(@Nullable String message, byte[] body) {
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.timo.a2a.server.web;
+
+import com.google.protobuf.util.JsonFormat;
+
+/**
+ * Shared, pre-configured {@link JsonFormat.Printer}s. Printers are immutable and thread-safe,
+ * building one per response only adds allocations to every print.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class JsonPrinters {
+    /**
+     * Prints compact JSON, used for JSON-RPC results and streaming events.
+     */
+    public static final JsonFormat.Printer COMPACT = JsonFormat.printer().omittingInsignificantWhitespace();
+
+    /**
+     * Prints every field without presence, even with its default value, so that empty arrays,
+     * zeros, etc. are present in REST responses.
+     */
+    public static final JsonFormat.Printer WITH_DEFAULT_VALUES = JsonFormat.printer().alwaysPrintFieldsWithNoPresence();
+
+    private JsonPrinters() {
+        // N/A
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.timo.a2a.server.web;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates the IDs of the messages built by the server, such as the user messages of the plain
+ * text endpoints.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+@FunctionalInterface
+public interface MessageIdGenerator {
+    /**
+     * Random (version 4) UUIDs, drawn from the shared {@link java.security.SecureRandom}.
+     */
+    MessageIdGenerator RANDOM = () -> UUID.randomUUID().toString();
+
+    /**
+     * Time-ordered (version 7) UUIDs: the epoch milliseconds followed by random bits drawn from
+     * {@link ThreadLocalRandom}, which neither contends nor blocks. The IDs sort by creation time,
+     * to the millisecond, and are not meant to be unguessable.
+     */
+    MessageIdGenerator TIME_ORDERED = () -> {
+        var random = ThreadLocalRandom.current();
+        var mostSigBits = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextInt() & 0x0FFFL);
+        var leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    };
+
+    String generate();
+
+    /**
+     * IDs made of a random prefix, drawn once, and an increasing counter, the cheapest IDs. They
+     * are unique for the generator only, the prefix makes collisions between generators unlikely.
+     */
+    static MessageIdGenerator counter() {
+        return counter(Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36) + "-");
+    }
+
+    /**
+     * IDs made of the prefix and an increasing counter, unique as long as the prefix is.
+     */
+    static MessageIdGenerator counter(String prefix) {
+        var counter = new AtomicLong();
+        return () -> prefix + Long.toString(counter.incrementAndGet(), 36);
+    }
+}
@@ -0,0 +1,187 @@
+package io.github.timo.a2a.server.web;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.util.JsonFormat;
+import io.github.timo.a2a.server.files.FileStore;
+import io.a2a.grpc.FilePart;
+import io.a2a.grpc.Part;
+import io.a2a.grpc.SendMessageRequest;
+import io.a2a.spec.InvalidParamsError;
+import io.a2a.spec.JSONParseError;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.multipart.FilePartEvent;
+import org.springframework.http.codec.multipart.PartEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads a {@code multipart/form-data} message: a {@value #MESSAGE_PART} part holding the
+ * {@code SendMessageRequest} JSON, and any number of file parts.
+ * <p>
+ * The parts are read as a stream of {@link PartEvent}s: each file streams to the
+ * {@link FileStore} as it is received, and is appended to the message as a file part referencing
+ * the stored URI, in the order of the request. Only the message part is held in memory.
+ * <p>
+ * A request has at most {@code maxParts} parts. When the request fails, because of a missing or
+ * invalid message part, a part over a limit, or a cancelled upload, the files already stored are
+ * deleted from the {@link FileStore}.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public class MultipartMessageReader {
+    public static final String MESSAGE_PART = "message";
+    public static final int DEFAULT_MAX_PARTS = 16;
+
+    private final FileStore fileStore;
+    private final int maxMessageSize;
+    private final int maxParts;
+
+    public MultipartMessageReader(FileStore fileStore) {
+        this(fileStore, RequestBodyReader.DEFAULT_MAX_IN_MEMORY_SIZE);
+    }
+
+    /**
+     * @param maxMessageSize the maximum size of the message part, and of any other form field, in bytes
+     */
+    public MultipartMessageReader(FileStore fileStore, int maxMessageSize) {
+        this(fileStore, maxMessageSize, DEFAULT_MAX_PARTS);
+    }
+
+    /**
+     * @param maxParts the maximum number of parts of a request, the message part and the files included
+     */
+    public MultipartMessageReader(FileStore fileStore, int maxMessageSize, int maxParts) {
+        this.fileStore = fileStore;
+        this.maxMessageSize = maxMessageSize > 0 ? maxMessageSize : RequestBodyReader.DEFAULT_MAX_IN_MEMORY_SIZE;
+        this.maxParts = maxParts > 0 ? maxParts : DEFAULT_MAX_PARTS;
+    }
+
+    public FileStore getFileStore() {
+        return fileStore;
+    }
+
+    public int getMaxParts() {
+        return maxParts;
+    }
+
+    /**
+     * @return the request with the stored files appended to its message
+     * @throws InvalidParamsError (as error signal) when the message part is missing, or a limit is exceeded
+     */
+    public Mono<SendMessageRequest.Builder> read(Flux<PartEvent> parts) {
+        var storedFiles = new ConcurrentLinkedQueue<URI>();
+        var partCount = new AtomicInteger();
+
+        return parts.windowUntil(PartEvent::isLast)
+                // One part at a time, the content of a part must be consumed before the next one is read
+                .concatMap(part -> partCount.incrementAndGet() > maxParts
+                        ? Flux.<ReadPart>error(new InvalidParamsError("Request exceeds the limit of " + maxParts + " parts"))
+                        : readPart(part, storedFiles))
+                .collectList()
+                .map(readParts -> {
+                    String message = null;
+                    var files = new ArrayList<ReadPart>();
+                    for (var readPart : readParts) {
+                        if (readPart.uri() != null) {
+                            files.add(readPart);
+                        } else if (MESSAGE_PART.equals(readPart.name())) {
+                            message = readPart.value();
+                        }
+                    }
+
+                    if (message == null) {
+                        throw new InvalidParamsError("Missing " + MESSAGE_PART + " part");
+                    }
+
+                    return toRequest(message, files);
+                })
+                .onErrorResume(ex -> deleteAll(storedFiles).then(Mono.error(ex)))
+                .doOnCancel(() -> deleteAll(storedFiles).subscribe());
+    }
+
+    private Flux<ReadPart> readPart(Flux<PartEvent> part, Collection<URI> storedFiles) {
+        return part.switchOnFirst((first, events) -> {
+            var event = first.get();
+            if (event == null) {
+                return events.then(Mono.<ReadPart>empty());
+            }
+
+            var content = events.map(PartEvent::content);
+            if (event instanceof FilePartEvent filePart) {
+                var contentType = filePart.headers().getContentType();
+                return fileStore.store(filePart.filename(), contentType, content)
+                        .doOnNext(storedFiles::add)
+                        .map(uri -> new ReadPart(
+                                filePart.name(), filePart.filename(),
+                                contentType != null ? contentType.toString() : null, uri, null
+                        ));
+            }
+
+            return DataBufferUtils.join(content, maxMessageSize)
+                    .onErrorMap(DataBufferLimitException.class, ex -> new InvalidParamsError(
+                            "Part " + event.name() + " exceeds the limit of " + maxMessageSize + " bytes"
+                    ))
+                    .map(buffer -> {
+                        try {
+                            return new ReadPart(
+                                    event.name(), null, null, null, buffer.toString(StandardCharsets.UTF_8)
+                            );
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    });
+        });
+    }
+
+    private Mono<Void> deleteAll(Collection<URI> storedFiles) {
+        return Flux.fromIterable(storedFiles)
+                .concatMap(uri -> fileStore.delete(uri).onErrorComplete())
+                .then();
+    }
+
+    private static SendMessageRequest.Builder toRequest(String message, Iterable<ReadPart> files) {
+        var request = SendMessageRequest.newBuilder();
+        try {
+            JsonFormat.parser().merge(message, request);
+        } catch (InvalidProtocolBufferException ex) {
+            throw new JSONParseError(ex.getMessage());
+        }
+
+        var userMessage = request.getRequestBuilder();
+        for (var file : files) {
+            var filePart = FilePart.newBuilder().setFileWithUri(String.valueOf(file.uri()));
+            if (file.filename() != null && !file.filename().isEmpty()) {
+                filePart.setName(file.filename());
+            }
+            if (file.mediaType() != null) {
+                filePart.setMediaType(file.mediaType());
+            }
+
+            userMessage.addParts(Part.newBuilder().setFile(filePart));
+        }
+
+        return request;
+    }
+
+    /**
+     * A part read from the request, either a stored file ({@code uri}) or a form field ({@code value}).
+     */
+    private record ReadPart(
+            String name,
+            @Nullable String filename,
+            @Nullable String mediaType,
+            @Nullable URI uri,
+            @Nullable String value
+    ) {
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.timo.a2a.server.web;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Supervises the streaming responses: closes the streams that exceed the
+ * {@link StreamingOptions#idleTimeout() idle timeout} or the {@link StreamingOptions#maxDuration() max duration},
+ * and counts the streams that are open.
+ * <p>
+ * Closing a stream cancels its agent event subscription, which releases the event queue and the
+ * buffered events of the stream, like a client disconnect does. Unlike a client disconnect, it never
+ * cancels the task, whatever the {@link StreamingOptions.DisconnectPolicy disconnect policy}: the
+ * {@link StreamCancellation} of the stream is closed before the stream is. The client sees a completed
+ * stream and can resubscribe to the task.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class OpenStreams {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OpenStreams.class);
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * Applies the timeouts of the streaming options to the stream and counts it while it is subscribed.
+     */
+    public <T> Flux<T> supervise(Flux<T> stream, StreamingOptions options) {
+        return supervise(stream, options, null);
+    }
+
+    /**
+     * Applies the timeouts of the streaming options to the stream and counts it while it is subscribed.
+     *
+     * @param cancellation the cancellation of the stream, closed when a timeout closes the stream
+     */
+    public <T> Flux<T> supervise(Flux<T> stream, StreamingOptions options, @Nullable StreamCancellation cancellation) {
+        var supervised = stream;
+
+        if (options.idleTimeout().isPositive()) {
+            // The timeout signal runs before the stream is cancelled, so the cancellation is closed first
+            var idle = Mono.delay(options.idleTimeout())
+                    .doOnNext(tick -> close(cancellation, "idle for", options.idleTimeout()));
+            supervised = supervised.timeout(idle, item -> idle, Flux.empty());
+        }
+
+        if (options.maxDuration().isPositive()) {
+            supervised = supervised.takeUntilOther(Mono.delay(options.maxDuration())
+                    .doOnNext(tick -> close(cancellation, "open for", options.maxDuration())));
+        }
+
+        return supervised
+                .doOnSubscribe(subscription -> count.incrementAndGet())
+                .doFinally(signal -> count.decrementAndGet());
+    }
+
+    private static void close(@Nullable StreamCancellation cancellation, String reason, Duration duration) {
+        LOGGER.debug("Closing stream {} {}", reason, duration);
+
+        if (cancellation != null) {
+            cancellation.close();
+        }
+    }
+
+    /**
+     * Number of streaming responses currently open.
+     */
+    public int count() {
+        return count.get();
+    }
+}
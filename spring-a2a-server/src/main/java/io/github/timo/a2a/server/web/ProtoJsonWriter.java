@@ -0,0 +1,255 @@
+package io.github.timo.a2a.server.web;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.MessageOrBuilder;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Writes the hot A2A protobuf messages ({@code Task}, {@code Message}, {@code TaskStatusUpdateEvent},
+ * {@code TaskArtifactUpdateEvent} and the responses wrapping them) as compact JSON, without going
+ * through {@link com.google.protobuf.util.JsonFormat}.
+ * <p>
+ * The fields of each message type are resolved once and cached, and strings are escaped in place
+ * rather than through Gson. The output is identical to {@link JsonPrinters#COMPACT}: same field
+ * order and names, same escaping. Well-known types ({@code Struct}, {@code Timestamp}, ...) and
+ * messages with map fields are delegated to {@link JsonPrinters#COMPACT}, as are all other messages.
+ * <p>
+ * The writer can be turned off with the {@value #ENABLED_PROPERTY} system property set to {@code false}.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class ProtoJsonWriter {
+    public static final String ENABLED_PROPERTY = "a2a.server.json.fast-writer";
+
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+
+    private static final Set<String> HOT_TYPES = Set.of(
+            "Task",
+            "Message",
+            "TaskStatusUpdateEvent",
+            "TaskArtifactUpdateEvent",
+            "StreamResponse",
+            "SendMessageResponse"
+    );
+
+    private static final String WELL_KNOWN_TYPES_PACKAGE = "google.protobuf";
+
+    private static final ConcurrentMap<Descriptors.Descriptor, FieldWriter[]> FIELD_WRITERS = new ConcurrentHashMap<>();
+    private static final FieldWriter[] DELEGATED = new FieldWriter[0];
+
+    // The replacements of Gson's HTML-safe JSON writer, which JsonFormat prints strings with
+    private static final String[] REPLACEMENTS = new String[128];
+
+    static {
+        for (var c = 0; c < 0x20; c++) {
+            REPLACEMENTS[c] = String.format("\\u%04x", c);
+        }
+
+        REPLACEMENTS['"'] = "\\\"";
+        REPLACEMENTS['\\'] = "\\\\";
+        REPLACEMENTS['\t'] = "\\t";
+        REPLACEMENTS['\b'] = "\\b";
+        REPLACEMENTS['\n'] = "\\n";
+        REPLACEMENTS['\r'] = "\\r";
+        REPLACEMENTS['\f'] = "\\f";
+        REPLACEMENTS['<'] = "\\u003c";
+        REPLACEMENTS['>'] = "\\u003e";
+        REPLACEMENTS['&'] = "\\u0026";
+        REPLACEMENTS['='] = "\\u003d";
+        REPLACEMENTS['\''] = "\\u0027";
+    }
+
+    private ProtoJsonWriter() {
+        // N/A
+    }
+
+    /**
+     * Whether the message is written by this writer rather than delegated to {@link JsonPrinters#COMPACT}.
+     */
+    public static boolean supports(MessageOrBuilder message) {
+        return ENABLED && HOT_TYPES.contains(message.getDescriptorForType().getName());
+    }
+
+    public static String print(MessageOrBuilder message) throws IOException {
+        var out = new StringBuilder(256);
+        appendTo(message, out);
+        return out.toString();
+    }
+
+    public static void appendTo(MessageOrBuilder message, Appendable out) throws IOException {
+        if (supports(message)) {
+            writeMessage(message, out);
+        } else {
+            JsonPrinters.COMPACT.appendTo(message, out);
+        }
+    }
+
+    private static void writeMessage(MessageOrBuilder message, Appendable out) throws IOException {
+        var fieldWriters = FIELD_WRITERS.computeIfAbsent(message.getDescriptorForType(), ProtoJsonWriter::fieldWritersOf);
+        if (fieldWriters == DELEGATED) {
+            JsonPrinters.COMPACT.appendTo(message, out);
+            return;
+        }
+
+        out.append('{');
+        var first = true;
+
+        for (var fieldWriter : fieldWriters) {
+            var field = fieldWriter.field();
+
+            if (field.isRepeated()) {
+                var count = message.getRepeatedFieldCount(field);
+                if (count == 0) {
+                    continue;
+                }
+
+                first = writeName(fieldWriter, first, out);
+                out.append('[');
+                for (var i = 0; i < count; i++) {
+                    if (i > 0) {
+                        out.append(',');
+                    }
+                    writeValue(field, message.getRepeatedField(field, i), out);
+                }
+                out.append(']');
+            } else if (message.hasField(field)) {
+                first = writeName(fieldWriter, first, out);
+                writeValue(field, message.getField(field), out);
+            }
+        }
+
+        out.append('}');
+    }
+
+    private static boolean writeName(FieldWriter fieldWriter, boolean first, Appendable out) throws IOException {
+        if (!first) {
+            out.append(',');
+        }
+
+        out.append(fieldWriter.name());
+        return false;
+    }
+
+    private static void writeValue(Descriptors.FieldDescriptor field, Object value, Appendable out) throws IOException {
+        switch (field.getJavaType()) {
+            case INT -> out.append(switch (field.getType()) {
+                case UINT32, FIXED32 -> Integer.toUnsignedString((Integer) value);
+                default -> value.toString();
+            });
+            case LONG -> out.append('"').append(switch (field.getType()) {
+                case UINT64, FIXED64 -> Long.toUnsignedString((Long) value);
+                default -> value.toString();
+            }).append('"');
+            case BOOLEAN -> out.append(value.toString());
+            case FLOAT -> writeFloatingPoint((Float) value, out);
+            case DOUBLE -> writeFloatingPoint((Double) value, out);
+            case STRING -> writeString((String) value, out);
+            case BYTE_STRING -> writeString(Base64.getEncoder().encodeToString(((ByteString) value).toByteArray()), out);
+            case ENUM -> writeEnum(field, (Descriptors.EnumValueDescriptor) value, out);
+            case MESSAGE -> writeMessage((MessageOrBuilder) value, out);
+        }
+    }
+
+    private static void writeFloatingPoint(Number value, Appendable out) throws IOException {
+        var number = value.doubleValue();
+        if (Double.isNaN(number) || Double.isInfinite(number)) {
+            out.append('"').append(value.toString()).append('"');
+        } else {
+            out.append(value.toString());
+        }
+    }
+
+    private static void writeEnum(
+            Descriptors.FieldDescriptor field,
+            Descriptors.EnumValueDescriptor value,
+            Appendable out
+    ) throws IOException {
+        if (field.getEnumType().getFullName().equals(WELL_KNOWN_TYPES_PACKAGE + ".NullValue")) {
+            out.append("null");
+        } else if (value.getIndex() == -1) {
+            // Unknown enum value, printed as its number
+            out.append(String.valueOf(value.getNumber()));
+        } else {
+            out.append('"').append(value.getName()).append('"');
+        }
+    }
+
+    /**
+     * Writes the string as a JSON string, escaped like {@link JsonPrinters#COMPACT} escapes strings.
+     */
+    public static void writeString(String value, Appendable out) throws IOException {
+        out.append('"');
+
+        var last = 0;
+        var length = value.length();
+        for (var i = 0; i < length; i++) {
+            var c = value.charAt(i);
+            String replacement;
+
+            if (c < REPLACEMENTS.length) {
+                replacement = REPLACEMENTS[c];
+                if (replacement == null) {
+                    continue;
+                }
+            } else if (c == '\u2028') {
+                replacement = "\\u2028";
+            } else if (c == '\u2029') {
+                replacement = "\\u2029";
+            } else {
+                continue;
+            }
+
+            if (last < i) {
+                out.append(value, last, i);
+            }
+            out.append(replacement);
+            last = i + 1;
+        }
+
+        if (last < length) {
+            out.append(value, last, length);
+        }
+
+        out.append('"');
+    }
+
+    private static FieldWriter[] fieldWritersOf(Descriptors.Descriptor descriptor) {
+        if (descriptor.getFile().getPackage().equals(WELL_KNOWN_TYPES_PACKAGE)) {
+            return DELEGATED;
+        }
+
+        for (var field : descriptor.getFields()) {
+            if (field.isMapField()) {
+                return DELEGATED;
+            }
+        }
+
+        // Same order as JsonFormat, which prints the fields sorted by number
+        return descriptor.getFields().stream()
+                .sorted(Comparator.comparingInt(Descriptors.FieldDescriptor::getNumber))
+                .map(field -> new FieldWriter(field, nameOf(field)))
+                .toArray(FieldWriter[]::new);
+    }
+
+    private static String nameOf(Descriptors.FieldDescriptor field) {
+        var name = new StringBuilder(field.getJsonName().length() + 3);
+        try {
+            writeString(field.getJsonName(), name);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        return name.append(':').toString();
+    }
+
+    private record FieldWriter(Descriptors.FieldDescriptor field, String name) {
+    }
+}
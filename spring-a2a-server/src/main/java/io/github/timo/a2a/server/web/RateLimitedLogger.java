@@ -0,0 +1,118 @@
+package io.github.timo.a2a.server.web;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs at most a number of messages per interval, so that clients sending invalid requests in
+ * a loop cannot flood the logs. The messages over the limit are counted, and the count is logged
+ * at the start of the next interval.
+ * <p>
+ * The stack trace of a throwable passed as last argument is only logged at debug level, otherwise
+ * the throwable is logged as a message.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class RateLimitedLogger {
+    public static final int DEFAULT_MAX_MESSAGES = 20;
+    public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(10);
+
+    private final Logger logger;
+    private final int maxMessages;
+    private final Duration interval;
+    private final long intervalNanos;
+
+    private final AtomicLong intervalStart;
+    private final AtomicInteger messages = new AtomicInteger();
+    private final AtomicInteger suppressed = new AtomicInteger();
+
+    public RateLimitedLogger(Logger logger) {
+        this(logger, DEFAULT_MAX_MESSAGES, DEFAULT_INTERVAL);
+    }
+
+    public RateLimitedLogger(Logger logger, int maxMessages, Duration interval) {
+        this.logger = logger;
+        this.maxMessages = maxMessages;
+        this.interval = interval;
+        this.intervalNanos = interval.toNanos();
+        this.intervalStart = new AtomicLong(System.nanoTime());
+    }
+
+    public void warn(String format, Object... arguments) {
+        if (!logger.isWarnEnabled() || !tryAcquire()) {
+            return;
+        }
+
+        if (logger.isDebugEnabled() || !endsWithThrowable(format, arguments)) {
+            logger.warn(format, arguments);
+        } else {
+            logger.warn(format + ": {}", withoutStackTrace(arguments));
+        }
+    }
+
+    public void error(String format, Object... arguments) {
+        if (!logger.isErrorEnabled() || !tryAcquire()) {
+            return;
+        }
+
+        if (logger.isDebugEnabled() || !endsWithThrowable(format, arguments)) {
+            logger.error(format, arguments);
+        } else {
+            logger.error(format + ": {}", withoutStackTrace(arguments));
+        }
+    }
+
+    /**
+     * @return the number of messages suppressed in the current interval
+     */
+    public int suppressed() {
+        return suppressed.get();
+    }
+
+    private boolean tryAcquire() {
+        var now = System.nanoTime();
+        var start = intervalStart.get();
+
+        if (now - start >= intervalNanos && intervalStart.compareAndSet(start, now)) {
+            messages.set(0);
+            var count = suppressed.getAndSet(0);
+            if (count > 0) {
+                logger.warn("Suppressed {} log messages in the last {}", count, interval);
+            }
+        }
+
+        if (messages.incrementAndGet() <= maxMessages) {
+            return true;
+        }
+
+        suppressed.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Whether the last argument is a throwable that is not formatted by a placeholder, which SLF4J
+     * logs with its stack trace.
+     */
+    private static boolean endsWithThrowable(String format, Object[] arguments) {
+        if (arguments.length == 0 || !(arguments[arguments.length - 1] instanceof Throwable)) {
+            return false;
+        }
+
+        var placeholders = 0;
+        for (var i = format.indexOf("{}"); i >= 0; i = format.indexOf("{}", i + 2)) {
+            placeholders++;
+        }
+
+        return placeholders < arguments.length;
+    }
+
+    private static Object[] withoutStackTrace(Object[] arguments) {
+        var formatted = arguments.clone();
+        formatted[formatted.length - 1] = formatted[formatted.length - 1].toString();
+        return formatted;
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.timo.a2a.server.web;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads A2A request bodies straight from the reactive {@link DataBuffer} stream.
+ * <p>
+ * The body is aggregated into a single buffer bounded by {@code maxInMemorySize} and decoded
+ * directly from that buffer, without an intermediate {@link String} copy of the payload.
+ * Requests declaring a larger {@code Content-Length} are rejected with {@code 413 Payload Too Large}
+ * before any byte is read, chunked requests as soon as the limit is crossed.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public class RequestBodyReader {
+    public static final int DEFAULT_MAX_IN_MEMORY_SIZE = 10 * 1024 * 1024;
+
+    private final int maxInMemorySize;
+
+    public RequestBodyReader() {
+        this(DEFAULT_MAX_IN_MEMORY_SIZE);
+    }
+
+    public RequestBodyReader(int maxInMemorySize) {
+        this.maxInMemorySize = maxInMemorySize > 0 ? maxInMemorySize : DEFAULT_MAX_IN_MEMORY_SIZE;
+    }
+
+    public int getMaxInMemorySize() {
+        return maxInMemorySize;
+    }
+
+    /**
+     * Aggregates the body into a single buffer. The caller owns the buffer and must release it.
+     *
+     * @param headers the request headers, used for early {@code Content-Length} rejection
+     * @param body    the request body stream
+     * @return the aggregated body, an empty buffer if the request has no body
+     */
+    public Mono<DataBuffer> read(HttpHeaders headers, Flux<DataBuffer> body) {
+        var contentLength = headers.getContentLength();
+        if (contentLength > maxInMemorySize) {
+            return Mono.error(payloadTooLarge(contentLength));
+        }
+
+        return DataBufferUtils.join(body, maxInMemorySize)
+                .onErrorMap(DataBufferLimitException.class, ex -> payloadTooLarge(-1))
+                .switchIfEmpty(Mono.fromSupplier(() -> DefaultDataBufferFactory.sharedInstance.allocateBuffer(0)))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Decodes the body with the given decoder, reading UTF-8 characters directly from the aggregated buffer.
+     * The buffer is released once the decoder returns.
+     */
+    public <T> Mono<T> decode(HttpHeaders headers, Flux<DataBuffer> body, BodyDecoder<T> decoder) {
+        return read(headers, body).map(buffer -> {
+            try (var reader = new InputStreamReader(buffer.asInputStream(true), StandardCharsets.UTF_8)) {
+                return decoder.decode(reader);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    /**
+     * Decodes the body with the given decoder, reading bytes directly from the aggregated buffer.
+     * The buffer is released once the decoder returns.
+     */
+    public <T> Mono<T> decodeBinary(HttpHeaders headers, Flux<DataBuffer> body, BinaryBodyDecoder<T> decoder) {
+        return read(headers, body).map(buffer -> {
+            try (var inputStream = buffer.asInputStream(true)) {
+                return decoder.decode(inputStream);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    /**
+     * Decodes the body as UTF-8 text, for consumers whose API only accepts a {@link String}.
+     */
+    public Mono<String> readString(HttpHeaders headers, Flux<DataBuffer> body) {
+        return read(headers, body).map(buffer -> {
+            try {
+                return buffer.toString(StandardCharsets.UTF_8);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        });
+    }
+
+    private ResponseStatusException payloadTooLarge(long contentLength) {
+        var message = contentLength >= 0
+                ? "Request body of " + contentLength + " bytes exceeds the limit of " + maxInMemorySize + " bytes"
+                : "Request body exceeds the limit of " + maxInMemorySize + " bytes";
+
+        return new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, message);
+    }
+
+    /**
+     * Decodes a request body from a character stream.
+     *
+     * @param <T> the decoded type
+     */
+    @FunctionalInterface
+    public interface BodyDecoder<T> {
+        T decode(Reader reader) throws IOException;
+    }
+
+    /**
+     * Decodes a request body from a byte stream.
+     *
+     * @param <T> the decoded type
+     */
+    @FunctionalInterface
+    public interface BinaryBodyDecoder<T> {
+        T decode(InputStream inputStream) throws IOException;
+    }
+}
@@ -0,0 +1,237 @@
+package io.github.timo.a2a.server.web;
+
+import com.google.gson.JsonPrimitive;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.MessageOrBuilder;
+import com.google.protobuf.util.JsonFormat;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes A2A protobuf responses as JSON or binary protobuf directly into {@link DataBuffer}s.
+ * <p>
+ * With Reactor Netty the buffers come from the pooled allocator of the response, so the
+ * JSON document is encoded once, straight into the bytes that are sent, instead of being
+ * printed into a {@link String} and re-encoded by the HTTP message writer.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class ResponseBodyWriter {
+    private static final int INITIAL_BUFFER_CAPACITY = 1024;
+
+    private ResponseBodyWriter() {
+        // N/A
+    }
+
+    /**
+     * Writes the message as a JSON document.
+     */
+    public static Flux<DataBuffer> writeJson(
+            DataBufferFactory bufferFactory,
+            MessageOrBuilder message,
+            JsonFormat.Printer printer
+    ) {
+        return Mono.fromCallable(() -> encodeJson(bufferFactory, message, printer)).flux();
+    }
+
+    /**
+     * Writes the message as the result of a JSON-RPC 2.0 response.
+     */
+    public static Flux<DataBuffer> writeJsonRpcResult(
+            DataBufferFactory bufferFactory,
+            @Nullable Object id,
+            MessageOrBuilder result,
+            JsonFormat.Printer printer
+    ) {
+        return Mono.fromCallable(() -> encodeJsonRpcResult(bufferFactory, id, result, printer)).flux();
+    }
+
+    /**
+     * Writes the message as the compact JSON result of a JSON-RPC 2.0 response, with {@link ProtoJsonWriter}.
+     */
+    public static Flux<DataBuffer> writeJsonRpcResult(
+            DataBufferFactory bufferFactory,
+            @Nullable Object id,
+            MessageOrBuilder result
+    ) {
+        return Mono.fromCallable(() -> encodeJsonRpcResult(bufferFactory, id, result)).flux();
+    }
+
+    /**
+     * Writes the message in the binary protobuf format.
+     */
+    public static Flux<DataBuffer> writeProtobuf(DataBufferFactory bufferFactory, MessageLite message) {
+        return Mono.fromCallable(() -> encodeProtobuf(bufferFactory, message)).flux();
+    }
+
+    /**
+     * Writes each message in the binary protobuf format, prefixed with its varint encoded length.
+     */
+    public static Flux<DataBuffer> writeProtobufDelimited(
+            DataBufferFactory bufferFactory,
+            Flux<? extends MessageLite> messages
+    ) {
+        return messages.map(message -> {
+            try {
+                return encodeProtobufDelimited(bufferFactory, message);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    /**
+     * Writes each message as a line of compact JSON, with {@link ProtoJsonWriter}, one buffer per message.
+     */
+    public static Flux<DataBuffer> writeJsonLines(
+            DataBufferFactory bufferFactory,
+            Flux<? extends MessageOrBuilder> messages
+    ) {
+        return messages.map(message -> {
+            try {
+                return encodeJsonLine(bufferFactory, message);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    public static DataBuffer encodeJsonLine(DataBufferFactory bufferFactory, MessageOrBuilder message) throws IOException {
+        return encodeText(bufferFactory, writer -> {
+            ProtoJsonWriter.appendTo(message, writer);
+            writer.append('\n');
+        });
+    }
+
+    public static DataBuffer encodeJson(
+            DataBufferFactory bufferFactory,
+            MessageOrBuilder message,
+            JsonFormat.Printer printer
+    ) throws IOException {
+        return encodeText(bufferFactory, writer -> printer.appendTo(message, writer));
+    }
+
+    public static DataBuffer encodeJsonRpcResult(
+            DataBufferFactory bufferFactory,
+            @Nullable Object id,
+            MessageOrBuilder result,
+            JsonFormat.Printer printer
+    ) throws IOException {
+        return encodeText(bufferFactory, writer -> appendJsonRpcResult(id, result, printer::appendTo, writer));
+    }
+
+    public static DataBuffer encodeJsonRpcResult(
+            DataBufferFactory bufferFactory,
+            @Nullable Object id,
+            MessageOrBuilder result
+    ) throws IOException {
+        return encodeText(bufferFactory, writer -> appendJsonRpcResult(id, result, ProtoJsonWriter::appendTo, writer));
+    }
+
+    /**
+     * Prints the message as the compact JSON result of a JSON-RPC 2.0 response, with {@link ProtoJsonWriter}.
+     */
+    public static String printJsonRpcResult(@Nullable Object id, MessageOrBuilder result) throws IOException {
+        var out = new StringBuilder(256);
+        appendJsonRpcResult(id, result, ProtoJsonWriter::appendTo, out);
+        return out.toString();
+    }
+
+    /**
+     * Prints a JSON-RPC 2.0 response of the already encoded JSON result.
+     */
+    public static String printJsonRpcResult(@Nullable Object id, CharSequence resultJson) {
+        var jsonId = toJsonId(id);
+        return new StringBuilder(resultJson.length() + jsonId.length() + 36)
+                .append("{\"jsonrpc\":\"2.0\",\"id\":")
+                .append(jsonId)
+                .append(",\"result\":")
+                .append(resultJson)
+                .append('}')
+                .toString();
+    }
+
+    public static DataBuffer encodeProtobuf(DataBufferFactory bufferFactory, MessageLite message) throws IOException {
+        return encode(bufferFactory, message.getSerializedSize(), message::writeTo);
+    }
+
+    public static DataBuffer encodeProtobufDelimited(
+            DataBufferFactory bufferFactory,
+            MessageLite message
+    ) throws IOException {
+        var size = message.getSerializedSize();
+        return encode(bufferFactory, CodedOutputStream.computeUInt32SizeNoTag(size) + size, message::writeDelimitedTo);
+    }
+
+    private static DataBuffer encodeText(DataBufferFactory bufferFactory, BodyWriter<Writer> bodyWriter) throws IOException {
+        return encode(bufferFactory, INITIAL_BUFFER_CAPACITY, outputStream -> {
+            try (var writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
+                bodyWriter.write(writer);
+            }
+        });
+    }
+
+    private static DataBuffer encode(
+            DataBufferFactory bufferFactory,
+            int initialCapacity,
+            BodyWriter<OutputStream> bodyWriter
+    ) throws IOException {
+        var buffer = bufferFactory.allocateBuffer(initialCapacity);
+        var completed = false;
+
+        try (var outputStream = buffer.asOutputStream()) {
+            bodyWriter.write(outputStream);
+            completed = true;
+        } finally {
+            if (!completed) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        return buffer;
+    }
+
+    private static void appendJsonRpcResult(
+            @Nullable Object id,
+            MessageOrBuilder result,
+            JsonAppender jsonAppender,
+            Appendable out
+    ) throws IOException {
+        out.append("{\"jsonrpc\":\"2.0\",\"id\":");
+        out.append(toJsonId(id));
+        out.append(",\"result\":");
+        jsonAppender.appendTo(result, out);
+        out.append('}');
+    }
+
+    static String toJsonId(@Nullable Object id) {
+        return switch (id) {
+            case null -> "null";
+            case Number number -> number.toString();
+            default -> new JsonPrimitive(id.toString()).toString();
+        };
+    }
+
+    @FunctionalInterface
+    private interface JsonAppender {
+        void appendTo(MessageOrBuilder message, Appendable out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface BodyWriter<T> {
+        void write(T target) throws IOException;
+    }
+}
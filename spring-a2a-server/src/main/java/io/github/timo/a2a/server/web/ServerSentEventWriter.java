@@ -0,0 +1,104 @@
+package io.github.timo.a2a.server.web;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Writes server-sent events into {@link DataBuffer}s, coalescing the events published within
+ * the {@link StreamingOptions#batchWindow() batch window} into a single buffer so they reach
+ * the client in one write and flush.
+ * <p>
+ * Events are framed like Spring's server-sent event writer frames {@code String} data: every
+ * line of the event prefixed with {@code data:}, and a blank line after each event.
+ * <p>
+ * When the {@link StreamingOptions#heartbeatInterval() heartbeat interval} is set, a comment event
+ * is sent at that interval for as long as the stream is open, so proxies and load balancers never
+ * see an idle connection while the agent works. Clients ignore comment events.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class ServerSentEventWriter {
+    private static final byte[] DATA_PREFIX = "data:".getBytes(StandardCharsets.UTF_8);
+    private static final byte NEW_LINE = '\n';
+
+    static final String HEARTBEAT_COMMENT = "heartbeat";
+    private static final ServerSentEvent<?> HEARTBEAT_EVENT = ServerSentEvent.builder()
+            .comment(HEARTBEAT_COMMENT)
+            .build();
+    private static final byte[] HEARTBEAT_BYTES = (":" + HEARTBEAT_COMMENT + "\n\n").getBytes(StandardCharsets.UTF_8);
+
+    private ServerSentEventWriter() {
+        // N/A
+    }
+
+    /**
+     * Returns the body for the event stream: the events as they are when batching is disabled,
+     * otherwise buffers holding the events coalesced within the batch window. Heartbeats are
+     * interleaved with either.
+     * <p>
+     * The buffers are already framed: they must be written and flushed as they are, like
+     * {@link io.github.timo.a2a.server.router.DirectResponseResultHandler} does, never through Spring's
+     * server-sent event writer, which would frame them again as the data of an event.
+     */
+    public static Flux<?> body(Flux<String> events, DataBufferFactory bufferFactory, StreamingOptions options) {
+        if (!options.isBatching()) {
+            return withHeartbeats(events, options, () -> HEARTBEAT_EVENT);
+        }
+
+        var batches = events.bufferTimeout(options.maxBatchSize(), options.batchWindow())
+                .map(batch -> encode(bufferFactory, batch));
+        return withHeartbeats(batches, options, () -> bufferFactory.wrap(HEARTBEAT_BYTES));
+    }
+
+    private static Flux<?> withHeartbeats(Flux<?> events, StreamingOptions options, Supplier<?> heartbeat) {
+        if (!options.isHeartbeating()) {
+            return events;
+        }
+
+        var interval = options.heartbeatInterval();
+        // Heartbeats stop with the events, whether they complete, fail or get cancelled
+        return events.publish(shared -> Flux.<Object>merge(
+                shared,
+                Flux.interval(interval, interval)
+                        .map(tick -> heartbeat.get())
+                        .takeUntilOther(shared.ignoreElements())
+        ));
+    }
+
+    public static DataBuffer encode(DataBufferFactory bufferFactory, List<String> events) {
+        var capacity = 0;
+        for (var event : events) {
+            capacity += event.length() + DATA_PREFIX.length + 2;
+        }
+
+        var buffer = bufferFactory.allocateBuffer(capacity);
+        for (var event : events) {
+            var start = 0;
+            var end = event.indexOf(NEW_LINE);
+
+            while (end >= 0) {
+                writeLine(buffer, event.substring(start, end));
+                start = end + 1;
+                end = event.indexOf(NEW_LINE, start);
+            }
+
+            writeLine(buffer, event.substring(start));
+            buffer.write(NEW_LINE);
+        }
+
+        return buffer;
+    }
+
+    private static void writeLine(DataBuffer buffer, String line) {
+        buffer.write(DATA_PREFIX);
+        buffer.write(line, StandardCharsets.UTF_8);
+        buffer.write(NEW_LINE);
+    }
+}
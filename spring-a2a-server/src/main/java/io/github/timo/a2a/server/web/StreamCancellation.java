@@ -0,0 +1,156 @@
+package io.github.timo.a2a.server.web;
+
+import io.a2a.server.ServerCallContext;
+import io.a2a.spec.Message;
+import io.a2a.spec.StreamingEventKind;
+import io.a2a.spec.Task;
+import io.a2a.spec.TaskArtifactUpdateEvent;
+import io.a2a.spec.TaskStatusUpdateEvent;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * Propagates the cancellation of a streaming response, when the client disconnects, to the
+ * upstream agent event {@link Flow.Subscription} so that its event queue is released, and,
+ * depending on the {@link StreamingOptions.DisconnectPolicy}, to the running task.
+ * <p>
+ * One instance tracks one stream. A stream that completed normally is never cancelled.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class StreamCancellation {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamCancellation.class);
+
+    private final StreamingOptions.DisconnectPolicy disconnectPolicy;
+    private final TaskCanceller taskCanceller;
+    private final ServerCallContext context;
+    private final Executor executor;
+
+    private @Nullable Flow.Subscription subscription;
+    private volatile @Nullable String taskId;
+    private boolean cancelled;
+    private boolean completed;
+
+    public StreamCancellation(
+            StreamingOptions.DisconnectPolicy disconnectPolicy,
+            TaskCanceller taskCanceller,
+            ServerCallContext context,
+            Executor executor
+    ) {
+        this.disconnectPolicy = disconnectPolicy;
+        this.taskCanceller = taskCanceller;
+        this.context = context;
+        this.executor = executor;
+    }
+
+    /**
+     * Attaches the upstream subscription, cancelling it right away when the stream was already cancelled.
+     *
+     * @return whether the subscription is attached and may be requested
+     */
+    public boolean attach(Flow.Subscription subscription) {
+        synchronized (this) {
+            if (!cancelled) {
+                this.subscription = subscription;
+                return true;
+            }
+        }
+
+        subscription.cancel();
+        return false;
+    }
+
+    /**
+     * Records the task the event belongs to, so it can be cancelled on disconnect.
+     */
+    public void track(@Nullable StreamingEventKind event) {
+        var eventTaskId = taskIdOf(event);
+        if (eventTaskId != null) {
+            taskId = eventTaskId;
+        }
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Marks the stream as completed, a later cancellation has nothing left to release.
+     */
+    public synchronized void complete() {
+        completed = true;
+        subscription = null;
+    }
+
+    /**
+     * Cancels the upstream subscription and, with {@link StreamingOptions.DisconnectPolicy#CANCEL_TASK},
+     * the task of the stream.
+     */
+    public void cancel() {
+        if (!release()) {
+            return;
+        }
+
+        var cancelledTaskId = taskId;
+        if (disconnectPolicy == StreamingOptions.DisconnectPolicy.CANCEL_TASK && cancelledTaskId != null) {
+            // Cancelling may wait for the agent, never do it on the thread that observed the disconnect
+            CompletableFuture.runAsync(() -> {
+                try {
+                    taskCanceller.cancel(cancelledTaskId, context);
+                    LOGGER.debug("Cancelled task {} after client disconnect", cancelledTaskId);
+                } catch (Exception ex) {
+                    LOGGER.debug("Could not cancel task {} after client disconnect", cancelledTaskId, ex);
+                }
+            }, executor);
+        }
+    }
+
+    /**
+     * Closes the stream on the server side, see {@link OpenStreams}: the upstream subscription is
+     * cancelled, but the task never is, whatever the disconnect policy. The cancellation that follows
+     * the close has nothing left to do.
+     */
+    public void close() {
+        release();
+    }
+
+    /**
+     * Cancels the upstream subscription, unless the stream already completed or was cancelled.
+     *
+     * @return whether the stream was open
+     */
+    private boolean release() {
+        Flow.Subscription upstream;
+        synchronized (this) {
+            if (cancelled || completed) {
+                return false;
+            }
+
+            cancelled = true;
+            upstream = subscription;
+            subscription = null;
+        }
+
+        if (upstream != null) {
+            upstream.cancel();
+        }
+
+        return true;
+    }
+
+    private static @Nullable String taskIdOf(@Nullable StreamingEventKind event) {
+        return switch (event) {
+            case Task task -> task.id();
+            case Message message -> message.taskId();
+            case TaskStatusUpdateEvent statusUpdateEvent -> statusUpdateEvent.taskId();
+            case TaskArtifactUpdateEvent artifactUpdateEvent -> artifactUpdateEvent.taskId();
+            case null, default -> null;
+        };
+    }
+}
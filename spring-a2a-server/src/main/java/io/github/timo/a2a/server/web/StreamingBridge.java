@@ -0,0 +1,115 @@
+package io.github.timo.a2a.server.web;
+
+import io.a2a.server.util.async.AsyncUtils;
+import io.a2a.spec.StreamingEventKind;
+import mutiny.zero.ZeroPublisher;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+/**
+ * Bridges an agent event publisher to the publisher of encoded server-sent event payloads.
+ * <p>
+ * Errors are sent as a last payload rather than signalled through {@code Subscriber.onError()},
+ * agent events are requested in a {@link StreamingOptions#prefetch() prefetch window}, and the
+ * cancellation of the returned publisher (client disconnect) is propagated upstream through
+ * the {@link StreamCancellation}.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class StreamingBridge {
+    private StreamingBridge() {
+        // N/A
+    }
+
+    /**
+     * @param publisher    the agent event publisher
+     * @param encoder      encodes an event to its payload
+     * @param errorEncoder encodes a stream error to its payload
+     * @param eventOf      extracts the agent event of an item, used to track the task of the stream
+     * @param cancellation the cancellation of the stream
+     * @param options      the prefetch window
+     * @param executor     the executor subscribing to the agent event publisher
+     */
+    public static <T> Flow.Publisher<String> create(
+            Flow.Publisher<T> publisher,
+            EventEncoder<? super T> encoder,
+            Function<Throwable, String> errorEncoder,
+            Function<? super T, ? extends @Nullable StreamingEventKind> eventOf,
+            StreamCancellation cancellation,
+            StreamingOptions options,
+            Executor executor
+    ) {
+        // We can't use the normal convertingProcessor since that propagates any errors as an error handled
+        // via Subscriber.onError() rather than as part of the streaming response payload
+        return ZeroPublisher.create(AsyncUtils.createTubeConfig(), tube -> {
+            tube.whenCancelled(cancellation::cancel);
+
+            CompletableFuture.runAsync(() -> publisher.subscribe(new Flow.Subscriber<T>() {
+                private @Nullable Flow.Subscription subscription;
+                private int sent;
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    if (cancellation.attach(subscription)) {
+                        this.subscription = subscription;
+                        subscription.request(options.prefetch());
+                    }
+                }
+
+                @Override
+                public void onNext(T item) {
+                    if (cancellation.isCancelled()) {
+                        return;
+                    }
+
+                    String payload;
+                    try {
+                        cancellation.track(eventOf.apply(item));
+                        payload = encoder.encode(item);
+                    } catch (Exception ex) {
+                        if (subscription != null) {
+                            subscription.cancel();
+                        }
+                        onError(ex);
+                        return;
+                    }
+
+                    tube.send(payload);
+
+                    // Replenish the prefetch window in batches rather than one event at a time
+                    if (subscription != null && ++sent == options.replenishSize()) {
+                        sent = 0;
+                        subscription.request(options.replenishSize());
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    tube.send(errorEncoder.apply(throwable));
+                    onComplete();
+                }
+
+                @Override
+                public void onComplete() {
+                    cancellation.complete();
+                    tube.complete();
+                }
+            }), executor);
+        });
+    }
+
+    /**
+     * Encodes a streaming event to its server-sent event payload.
+     *
+     * @param <T> the event type
+     */
+    @FunctionalInterface
+    public interface EventEncoder<T> {
+        String encode(T item) throws Exception;
+    }
+}
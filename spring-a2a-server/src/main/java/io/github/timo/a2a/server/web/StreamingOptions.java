@@ -0,0 +1,102 @@
+package io.github.timo.a2a.server.web;
+
+import java.time.Duration;
+
+/**
+ * Flow control applied to streaming (server-sent events) responses.
+ *
+ * @param prefetch          number of agent events requested ahead from the event publisher, more are requested
+ *                          once three quarters of the window have been sent
+ * @param batchWindow       time window in which events are coalesced into a single write, {@link Duration#ZERO}
+ *                          sends every event on its own
+ * @param maxBatchSize      max number of events coalesced into a single write
+ * @param disconnectPolicy  what happens to the running task when the client disconnects from its stream
+ * @param heartbeatInterval interval of the comment events keeping a silent event stream alive,
+ *                          {@link Duration#ZERO} sends none
+ * @param idleTimeout       time without any agent event after which the stream is closed, {@link Duration#ZERO}
+ *                          keeps idle streams open
+ * @param maxDuration       time after which the stream is closed whatever its activity, {@link Duration#ZERO}
+ *                          for no limit
+ * @author Timo
+ * @since 0.1.0
+ */
+public record StreamingOptions(
+        int prefetch,
+        Duration batchWindow,
+        int maxBatchSize,
+        DisconnectPolicy disconnectPolicy,
+        Duration heartbeatInterval,
+        Duration idleTimeout,
+        Duration maxDuration
+) {
+    public static final int DEFAULT_PREFETCH = 32;
+    public static final Duration DEFAULT_BATCH_WINDOW = Duration.ZERO;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+    public static final DisconnectPolicy DEFAULT_DISCONNECT_POLICY = DisconnectPolicy.KEEP_TASK;
+    public static final Duration DEFAULT_HEARTBEAT_INTERVAL = Duration.ZERO;
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ZERO;
+    public static final Duration DEFAULT_MAX_DURATION = Duration.ZERO;
+
+    public static final StreamingOptions DEFAULT = new StreamingOptions(
+            DEFAULT_PREFETCH, DEFAULT_BATCH_WINDOW, DEFAULT_MAX_BATCH_SIZE
+    );
+
+    public StreamingOptions {
+        prefetch = prefetch > 0 ? prefetch : DEFAULT_PREFETCH;
+        batchWindow = batchWindow != null && batchWindow.isPositive() ? batchWindow : DEFAULT_BATCH_WINDOW;
+        maxBatchSize = maxBatchSize > 0 ? maxBatchSize : DEFAULT_MAX_BATCH_SIZE;
+        disconnectPolicy = disconnectPolicy != null ? disconnectPolicy : DEFAULT_DISCONNECT_POLICY;
+        heartbeatInterval = positiveOrDefault(heartbeatInterval, DEFAULT_HEARTBEAT_INTERVAL);
+        idleTimeout = positiveOrDefault(idleTimeout, DEFAULT_IDLE_TIMEOUT);
+        maxDuration = positiveOrDefault(maxDuration, DEFAULT_MAX_DURATION);
+    }
+
+    public StreamingOptions(int prefetch, Duration batchWindow, int maxBatchSize) {
+        this(prefetch, batchWindow, maxBatchSize, DEFAULT_DISCONNECT_POLICY);
+    }
+
+    public StreamingOptions(int prefetch, Duration batchWindow, int maxBatchSize, DisconnectPolicy disconnectPolicy) {
+        this(
+                prefetch, batchWindow, maxBatchSize, disconnectPolicy,
+                DEFAULT_HEARTBEAT_INTERVAL, DEFAULT_IDLE_TIMEOUT, DEFAULT_MAX_DURATION
+        );
+    }
+
+    /**
+     * Number of sent events after which the prefetch window is replenished.
+     */
+    public int replenishSize() {
+        return prefetch - (prefetch >> 2);
+    }
+
+    public boolean isBatching() {
+        return batchWindow.isPositive() && maxBatchSize > 1;
+    }
+
+    public boolean isHeartbeating() {
+        return heartbeatInterval.isPositive();
+    }
+
+    private static Duration positiveOrDefault(Duration duration, Duration defaultDuration) {
+        return duration != null && duration.isPositive() ? duration : defaultDuration;
+    }
+
+    /**
+     * What happens to the running task when the client disconnects from its stream. The events of the
+     * stream itself are always released, the client can resubscribe to a task that keeps running.
+     * <p>
+     * The policy applies to the streams of sent messages only. A client disconnecting from a task it
+     * subscribed to merely releases its events, the task is left to the client that sent the message.
+     */
+    public enum DisconnectPolicy {
+        /**
+         * Keep the task running.
+         */
+        KEEP_TASK,
+
+        /**
+         * Cancel the task the stream was sending events of.
+         */
+        CANCEL_TASK
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.timo.a2a.server.web;
+
+import io.github.timo.a2a.server.context.TenantServerCallContext;
+import io.a2a.server.ServerCallContext;
+import io.a2a.server.requesthandlers.RequestHandler;
+import io.a2a.spec.TaskIdParams;
+
+/**
+ * Cancels a running task, used when a client disconnects from a stream and the
+ * {@link StreamingOptions.DisconnectPolicy disconnect policy} asks to cancel its task.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+@FunctionalInterface
+public interface TaskCanceller {
+    TaskCanceller NONE = (taskId, context) -> {
+        // N/A
+    };
+
+    void cancel(String taskId, ServerCallContext context);
+
+    /**
+     * Cancels the task through the request handler, in the tenant of the call context.
+     */
+    static TaskCanceller of(RequestHandler requestHandler) {
+        return (taskId, context) -> {
+            var tenant = context instanceof TenantServerCallContext tenantContext ? tenantContext.getTenantUid() : "";
+            requestHandler.onCancelTask(new TaskIdParams(taskId, tenant), context);
+        };
+    }
+}
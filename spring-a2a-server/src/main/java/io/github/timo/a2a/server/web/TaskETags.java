@@ -0,0 +1,84 @@
+package io.github.timo.a2a.server.web;
+
+import io.a2a.grpc.Task;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Weak entity tags of tasks, for conditional task polling.
+ * <p>
+ * Tasks carry no version, the tag is derived from what changes whenever the task does: its status
+ * state and timestamp, the number of its history messages and artifacts, and the size of the
+ * task, which grows as artifact parts are appended. None of them needs the task to be serialized
+ * or hashed, and the size is memoized by the task for when its body is written. The tag is the
+ * same across restarts and replicas, and it covers the history and artifacts returned, so two
+ * projections of a task with a different {@code historyLength} get different tags.
+ * <p>
+ * The tag is weak: the JSON, binary protobuf and compressed representations of a task are not
+ * byte-for-byte equal, but they are equivalent, so they share the tag of the task.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class TaskETags {
+    private static final String WEAK_PREFIX = "W/";
+    private static final char SEPARATOR = '-';
+
+    private TaskETags() {
+        // N/A
+    }
+
+    /**
+     * @return the weak entity tag of the task,
+     *         {@code W/"<id hash>-<state>-<timestamp>-<history count>-<artifact count>-<size>"}
+     */
+    public static String of(Task task) {
+        var status = task.getStatus();
+        var timestamp = status.getTimestamp();
+
+        // The JSON-RPC tasks share a single URL, the id keeps the tags of two tasks apart
+        return new StringBuilder(64)
+                .append(WEAK_PREFIX)
+                .append('"')
+                .append(Integer.toHexString(task.getId().hashCode()))
+                .append(SEPARATOR)
+                .append(status.getStateValue())
+                .append(SEPARATOR)
+                .append(Long.toHexString(timestamp.getSeconds()))
+                .append('.')
+                .append(Integer.toHexString(timestamp.getNanos()))
+                .append(SEPARATOR)
+                .append(task.getHistoryCount())
+                .append(SEPARATOR)
+                .append(task.getArtifactsCount())
+                .append(SEPARATOR)
+                .append(Integer.toHexString(task.getSerializedSize()))
+                .append('"')
+                .toString();
+    }
+
+    /**
+     * Whether the {@code If-None-Match} header of the request matches the entity tag, in which case
+     * the task is unchanged and the response is {@code 304 Not Modified}. As required for
+     * {@code If-None-Match}, the comparison is weak.
+     */
+    public static boolean isNotModified(HttpHeaders requestHeaders, String etag) {
+        var opaqueTag = opaqueTag(etag);
+
+        for (var candidate : requestHeaders.getIfNoneMatch()) {
+            var tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+
+            if (opaqueTag(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith(WEAK_PREFIX) ? etag.substring(WEAK_PREFIX.length()) : etag;
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.timo.a2a.server.web;
+
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.util.FieldMaskUtil;
+import io.a2a.grpc.ListTasksResponse;
+import io.a2a.grpc.utils.ProtoUtils;
+import io.a2a.spec.InvalidParamsError;
+import io.a2a.spec.ListTasksResult;
+import io.a2a.spec.Task;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Projection of tasks on the {@code fields} request parameter, a comma-separated list of task
+ * field paths with the protobuf {@link FieldMask} semantics, such as {@code id,status.state}.
+ * <p>
+ * The projection happens in two steps: the history and the artifacts, the bulk of a task, are
+ * dropped from the SDK task before it is converted to protobuf, so that unrequested ones are never
+ * converted, then the mask is applied to the converted task.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+public final class TaskFieldMask {
+    public static final String FIELDS_PARAM = "fields";
+
+    private static final String HISTORY_FIELD = "history";
+    private static final String ARTIFACTS_FIELD = "artifacts";
+
+    private final FieldMask mask;
+    private final boolean includesHistory;
+    private final boolean includesArtifacts;
+
+    private TaskFieldMask(FieldMask mask) {
+        this.mask = mask;
+        this.includesHistory = includes(mask, HISTORY_FIELD);
+        this.includesArtifacts = includes(mask, ARTIFACTS_FIELD);
+    }
+
+    /**
+     * Parses the field paths, in JSON ({@code contextId}) or protobuf ({@code context_id}) names.
+     *
+     * @return the mask, {@code null} when no field is given, meaning the whole task
+     * @throws InvalidParamsError when a path is not a field of a task
+     */
+    public static @Nullable TaskFieldMask parse(@Nullable String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+
+        FieldMask mask;
+        try {
+            mask = FieldMaskUtil.normalize(FieldMaskUtil.fromJsonString(fields.replace(" ", "")));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidParamsError("Invalid " + FIELDS_PARAM + ": " + fields);
+        }
+
+        if (!FieldMaskUtil.isValid(io.a2a.grpc.Task.class, mask)) {
+            throw new InvalidParamsError("Invalid " + FIELDS_PARAM + ": " + fields);
+        }
+
+        return new TaskFieldMask(mask);
+    }
+
+    /**
+     * Converts the task to protobuf, with the fields of the mask only.
+     */
+    public io.a2a.grpc.Task toProto(Task task) {
+        return apply(ProtoUtils.ToProto.task(trim(task)));
+    }
+
+    /**
+     * Converts the task to protobuf, with the fields of the mask when there is one.
+     */
+    public static io.a2a.grpc.Task toProto(Task task, @Nullable TaskFieldMask fieldMask) {
+        return fieldMask == null ? ProtoUtils.ToProto.task(task) : fieldMask.toProto(task);
+    }
+
+    /**
+     * Converts the listed tasks to protobuf, with the fields of the mask only.
+     */
+    public ListTasksResponse toProto(ListTasksResult result) {
+        var response = ListTasksResponse.newBuilder()
+                .setPageSize(result.pageSize())
+                .setTotalSize(result.totalSize());
+        if (result.nextPageToken() != null) {
+            response.setNextPageToken(result.nextPageToken());
+        }
+
+        for (var task : result.tasks()) {
+            response.addTasks(toProto(task));
+        }
+
+        return response.build();
+    }
+
+    /**
+     * Converts the listed tasks to protobuf, with the fields of the mask when there is one.
+     */
+    public static ListTasksResponse toProto(ListTasksResult result, @Nullable TaskFieldMask fieldMask) {
+        return fieldMask == null ? ProtoUtils.ToProto.listTasksResult(result) : fieldMask.toProto(result);
+    }
+
+    /**
+     * Drops the history and artifacts of the task when the mask does not include them.
+     */
+    public Task trim(Task task) {
+        if (includesHistory && includesArtifacts) {
+            return task;
+        }
+
+        var builder = Task.builder(task);
+        if (!includesHistory) {
+            builder.history(List.of());
+        }
+        if (!includesArtifacts) {
+            builder.artifacts(List.of());
+        }
+
+        return builder.build();
+    }
+
+    public io.a2a.grpc.Task apply(io.a2a.grpc.Task task) {
+        var projected = io.a2a.grpc.Task.newBuilder();
+        FieldMaskUtil.merge(mask, task, projected);
+        return projected.build();
+    }
+
+    private static boolean includes(FieldMask mask, String field) {
+        for (var path : mask.getPathsList()) {
+            if (path.equals(field) || path.startsWith(field + ".")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
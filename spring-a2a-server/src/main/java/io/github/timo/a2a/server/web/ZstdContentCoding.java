@@ -0,0 +1,25 @@
+package io.github.timo.a2a.server.web;
+
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Zstandard content coding, only loaded when zstd-jni is on the classpath.
+ *
+ * @author Timo
+ * @since 0.1.0
+ */
+final class ZstdContentCoding implements ContentCoding {
+    @Override
+    public String name() {
+        return "zstd";
+    }
+
+    @Override
+    public OutputStream encode(OutputStream out) throws IOException {
+        // flush() ends the current block, so that everything written so far can be decoded
+        return new ZstdOutputStream(out);
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.timo.a2a.server.context;
+
+import io.a2a.transport.jsonrpc.context.JSONRPCContextKeys;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallContextStateTest {
+
+    @Test
+    void shouldHoldHeadersAndMethodName() {
+        // Given
+        var headers = Map.of("X-Custom-Header", "custom-value");
+
+        // When
+        var state = new CallContextState(headers, "GetTask");
+
+        // Then
+        assertSame(headers, state.get(JSONRPCContextKeys.HEADERS_KEY));
+        assertEquals("GetTask", state.get(JSONRPCContextKeys.METHOD_NAME_KEY));
+        assertEquals(2, state.size());
+        assertEquals(Map.of(JSONRPCContextKeys.HEADERS_KEY, headers, JSONRPCContextKeys.METHOD_NAME_KEY, "GetTask"), state);
+    }
+
+    @Test
+    void shouldReplaceMethodNameInPlace() {
+        // Given
+        var state = new CallContextState(Map.of(), "");
+
+        // When
+        var previous = state.put(JSONRPCContextKeys.METHOD_NAME_KEY, "SendMessage");
+
+        // Then
+        assertEquals("", previous);
+        assertEquals("SendMessage", state.get(JSONRPCContextKeys.METHOD_NAME_KEY));
+        assertEquals(2, state.size());
+    }
+
+    @Test
+    void shouldPutAndRemoveOtherEntries() {
+        // Given
+        var state = new CallContextState(Map.of(), "GetTask");
+
+        // When
+        state.put("key", 123);
+
+        // Then
+        assertEquals(123, state.get("key"));
+        assertTrue(state.containsKey("key"));
+        assertEquals(3, state.size());
+        assertEquals(123, state.remove("key"));
+        assertFalse(state.containsKey("key"));
+        assertEquals(2, state.size());
+    }
+
+    @Test
+    void shouldClearAllEntries() {
+        // Given
+        var state = new CallContextState(Map.of(), "GetTask");
+        state.put("key", "value");
+
+        // When
+        state.clear();
+
+        // Then
+        assertTrue(state.isEmpty());
+        assertNull(state.get(JSONRPCContextKeys.HEADERS_KEY));
+        assertFalse(state.containsKey(JSONRPCContextKeys.METHOD_NAME_KEY));
+    }
+}
@@ -194,4 +194,25 @@ class DefaultCallContextFactoryTest {
         // Then
         assertNotNull(context);
     }
+
+    @Test
+    void shouldShareNegotiationOfSameHeaders() {
+        // Given
+        var negotiator = new ProtocolNegotiator();
+        factory = new DefaultCallContextFactory("test-tenant", negotiator);
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-A2A-Version", "1.0");
+
+        when(exchange.getRequest()).thenReturn(request);
+        when(request.getHeaders()).thenReturn(headers);
+
+        // When
+        TenantServerCallContext first = factory.build(exchange, null, "testMethod");
+        TenantServerCallContext second = factory.build(exchange, null, "testMethod");
+
+        // Then
+        assertNotNull(first.getNegotiation());
+        assertSame(first.getNegotiation(), second.getNegotiation());
+        assertEquals(1, negotiator.size());
+    }
 }
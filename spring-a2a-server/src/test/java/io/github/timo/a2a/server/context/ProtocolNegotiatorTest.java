@@ -0,0 +1,107 @@
+package io.github.timo.a2a.server.context;
+
+import io.a2a.spec.VersionNotSupportedError;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProtocolNegotiatorTest {
+
+    @Test
+    void shouldUseDefaultMaxSize() {
+        assertEquals(ProtocolNegotiator.DEFAULT_MAX_SIZE, new ProtocolNegotiator(null, 0).getMaxSize());
+    }
+
+    @Test
+    void shouldParseVersionAndExtensions() {
+        // Given
+        var negotiator = new ProtocolNegotiator();
+        var headers = new HttpHeaders();
+        headers.add("X-A2A-Version", "1.0");
+        headers.add("X-A2A-Extensions", "https://example.com/ext/a");
+
+        // When
+        var negotiation = negotiator.negotiate(headers);
+
+        // Then
+        assertEquals("1.0", negotiation.requestedVersion());
+        assertEquals(Set.of("https://example.com/ext/a"), negotiation.requestedExtensions());
+        assertNull(negotiation.agentCard());
+        assertNull(negotiation.error());
+    }
+
+    @Test
+    void shouldShareNegotiationOfSameHeaders() {
+        // Given
+        var negotiator = new ProtocolNegotiator();
+        var extensions = new ArrayList<>(List.of("https://example.com/ext/a"));
+
+        // When
+        var first = negotiator.negotiate("1.0", extensions);
+        extensions.add("https://example.com/ext/b");
+        var second = negotiator.negotiate("1.0", List.of("https://example.com/ext/a"));
+        var other = negotiator.negotiate("1.0", extensions);
+
+        // Then
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(2, negotiator.size());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedNegotiationWhenFull() {
+        // Given
+        var negotiator = new ProtocolNegotiator(null, 2);
+        var first = negotiator.negotiate("1.0", null);
+        var second = negotiator.negotiate("2.0", null);
+        negotiator.negotiate("1.0", null);
+
+        // When
+        var third = negotiator.negotiate("3.0", null);
+
+        // Then
+        assertEquals(2, negotiator.size());
+        assertSame(first, negotiator.negotiate("1.0", null));
+        assertSame(third, negotiator.negotiate("3.0", null));
+        assertNotSame(second, negotiator.negotiate("2.0", null));
+    }
+
+    @Test
+    void shouldKeepCachingAfterManyDistinctHeaders() {
+        // Given
+        var negotiator = new ProtocolNegotiator(null, 4);
+        for (int i = 0; i < 100; i++) {
+            negotiator.negotiate("version-" + i, null);
+        }
+
+        // When
+        var first = negotiator.negotiate("1.0", null);
+        var second = negotiator.negotiate("1.0", null);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(4, negotiator.size());
+    }
+
+    @Test
+    void shouldThrowNewErrorOnEachCheck() {
+        // Given
+        var error = new VersionNotSupportedError(-32009, "Version 9.0 not supported", null);
+        var negotiation = new ProtocolNegotiation("9.0", Set.of(), null, ProtocolNegotiation.NegotiationError.of(error));
+
+        // When
+        var first = assertThrows(VersionNotSupportedError.class, negotiation::check);
+        var second = assertThrows(VersionNotSupportedError.class, negotiation::check);
+
+        // Then
+        assertNotSame(first, second);
+        assertNotSame(error, first);
+        assertEquals(-32009, second.getCode());
+        assertEquals("Version 9.0 not supported", second.getMessage());
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.timo.a2a.server.context;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHeaderMapTest {
+
+    @Test
+    void shouldReadFirstValueOfHeader() {
+        // Given
+        var headers = new HttpHeaders();
+        headers.put("Multi-Header", List.of("value1", "value2"));
+        headers.put("Empty-Header", List.of());
+
+        // When
+        var view = new RequestHeaderMap(headers);
+
+        // Then
+        assertEquals("value1", view.get("Multi-Header"));
+        assertEquals("value1", view.get("multi-header"));
+        assertEquals("", view.get("Empty-Header"));
+        assertNull(view.get("Missing-Header"));
+        assertTrue(view.containsKey("empty-header"));
+        assertEquals(2, view.size());
+    }
+
+    @Test
+    void shouldReflectHeadersWithoutCopying() {
+        // Given
+        var headers = new HttpHeaders();
+        var view = new RequestHeaderMap(headers);
+
+        // When
+        headers.add("X-Custom-Header", "custom-value");
+
+        // Then
+        assertEquals(Map.of("X-Custom-Header", "custom-value"), Map.copyOf(view));
+    }
+
+    @Test
+    void shouldBeReadOnly() {
+        // Given
+        var view = new RequestHeaderMap(new HttpHeaders());
+
+        // When / Then
+        assertThrows(UnsupportedOperationException.class, () -> view.put("X-Custom-Header", "custom-value"));
+    }
+}
@@ -0,0 +1,239 @@
+package io.github.timo.a2a.server.executor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantExecutorRegistryTest {
+
+    private final List<Runnable> overflowed = new CopyOnWriteArrayList<>();
+    private final Executor overflowExecutor = overflowed::add;
+    private final TenantExecutorRegistry registry = new TenantExecutorRegistry(overflowExecutor, 1, 1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        registry.shutdown();
+    }
+
+    @Test
+    void shouldRunTasksWithoutTenantOnOverflowExecutor() {
+        // When
+        registry.execute(() -> { });
+
+        // Then
+        assertEquals(1, overflowed.size());
+        assertTrue(registry.tenants().isEmpty());
+    }
+
+    @Test
+    void shouldRunTenantTasksInTenantBulkhead() {
+        // Given
+        var thread = new CompletableFuture<Thread>();
+
+        // When
+        TenantExecutorRegistry.callAs("tenant-a", () -> {
+            registry.execute(() -> thread.complete(Thread.currentThread()));
+            return null;
+        });
+
+        // Then
+        var worker = thread.orTimeout(5, TimeUnit.SECONDS).join();
+        assertTrue(worker.getName().startsWith("a2a-agent-executor-tenant-a-"));
+        assertTrue(worker.isDaemon());
+        assertEquals(Set.of("tenant-a"), registry.tenants());
+        assertTrue(overflowed.isEmpty());
+    }
+
+    @Test
+    void shouldSpillSaturatedTenantToOverflowExecutor() {
+        // When
+        TenantExecutorRegistry.callAs("tenant-a", () -> {
+            registry.execute(this::awaitRelease);
+            registry.execute(this::awaitRelease);
+            registry.execute(() -> { });
+            return null;
+        });
+
+        // Then
+        assertEquals(1, overflowed.size());
+        assertEquals(1, registry.overflowCount("tenant-a"));
+        assertEquals(1, registry.queuedCount("tenant-a"));
+        assertEquals(0, registry.overflowCount("tenant-b"));
+    }
+
+    @Test
+    void shouldRejectTenantOverItsShareOfOverflowExecutor() {
+        // Given
+        var bounded = new TenantExecutorRegistry(overflowExecutor, 1, 1, 1);
+
+        try {
+            // When
+            TenantExecutorRegistry.callAs("tenant-a", () -> {
+                bounded.execute(this::awaitRelease);
+                bounded.execute(this::awaitRelease);
+                bounded.execute(() -> { });
+                return null;
+            });
+            var rejected = assertThrows(RejectedExecutionException.class, () -> TenantExecutorRegistry.callAs(
+                    "tenant-a", () -> {
+                        bounded.execute(() -> { });
+                        return null;
+                    }
+            ));
+            overflowed.removeFirst().run();
+            TenantExecutorRegistry.callAs("tenant-a", () -> {
+                bounded.execute(() -> { });
+                return null;
+            });
+
+            // Then
+            assertTrue(rejected.getMessage().contains("tenant-a"));
+            assertEquals(1, bounded.rejectedCount("tenant-a"));
+            assertEquals(2, bounded.overflowCount("tenant-a"));
+            assertEquals(1, overflowed.size());
+        } finally {
+            release.countDown();
+            bounded.shutdown();
+        }
+    }
+
+    @Test
+    void shouldIsolateTenantsFromEachOther() {
+        // Given
+        var tenantBRan = new CountDownLatch(1);
+        TenantExecutorRegistry.callAs("tenant-a", () -> {
+            registry.execute(this::awaitRelease);
+            registry.execute(this::awaitRelease);
+            return null;
+        });
+
+        // When
+        TenantExecutorRegistry.callAs("tenant-b", () -> {
+            registry.execute(tenantBRan::countDown);
+            return null;
+        });
+
+        // Then
+        assertDoesNotThrow(() -> assertTrue(tenantBRan.await(5, TimeUnit.SECONDS)));
+        assertTrue(overflowed.isEmpty());
+    }
+
+    @Test
+    void shouldRestorePreviousTenantAfterCall() {
+        // When
+        TenantExecutorRegistry.callAs("tenant-a", () -> {
+            TenantExecutorRegistry.callAs("tenant-b", () -> null);
+            registry.execute(() -> { });
+            return null;
+        });
+        registry.execute(() -> { });
+
+        // Then
+        assertEquals(Set.of("tenant-a"), registry.tenants());
+        assertEquals(1, overflowed.size());
+    }
+
+    @Test
+    void shouldNotifyTenantListenersOfExistingAndNewTenants() {
+        // Given
+        var tenants = new CopyOnWriteArrayList<String>();
+        TenantExecutorRegistry.callAs("tenant-a", () -> {
+            registry.execute(() -> { });
+            return null;
+        });
+
+        // When
+        registry.addTenantListener(tenants::add);
+        TenantExecutorRegistry.callAs("tenant-b", () -> {
+            registry.execute(() -> { });
+            return null;
+        });
+
+        // Then
+        assertEquals(List.of("tenant-a", "tenant-b"), tenants);
+    }
+
+    @Test
+    void shouldEvictIdleTenantForNewTenantWhenFull() {
+        // Given
+        var capped = new TenantExecutorRegistry(overflowExecutor, 1, 1, 1, 1);
+        var tenantARan = new CountDownLatch(1);
+        var tenantBRan = new CountDownLatch(1);
+
+        try {
+            TenantExecutorRegistry.callAs("tenant-a", () -> {
+                capped.execute(tenantARan::countDown);
+                return null;
+            });
+            assertDoesNotThrow(() -> assertTrue(tenantARan.await(5, TimeUnit.SECONDS)));
+            awaitIdle(capped, "tenant-a");
+
+            // When
+            TenantExecutorRegistry.callAs("tenant-b", () -> {
+                capped.execute(tenantBRan::countDown);
+                return null;
+            });
+
+            // Then
+            assertDoesNotThrow(() -> assertTrue(tenantBRan.await(5, TimeUnit.SECONDS)));
+            assertEquals(Set.of("tenant-b"), capped.tenants());
+            assertTrue(overflowed.isEmpty());
+        } finally {
+            capped.shutdown();
+        }
+    }
+
+    @Test
+    void shouldRunNewTenantOnOverflowExecutorWhileFullOfBusyTenants() {
+        // Given
+        var capped = new TenantExecutorRegistry(overflowExecutor, 1, 1, 1, 1);
+
+        try {
+            TenantExecutorRegistry.callAs("tenant-a", () -> {
+                capped.execute(this::awaitRelease);
+                return null;
+            });
+
+            // When
+            TenantExecutorRegistry.callAs("tenant-b", () -> {
+                capped.execute(() -> { });
+                return null;
+            });
+
+            // Then
+            assertEquals(Set.of("tenant-a"), capped.tenants());
+            assertEquals(1, overflowed.size());
+            assertEquals(1, capped.getMaxTenants());
+        } finally {
+            release.countDown();
+            capped.shutdown();
+        }
+    }
+
+    private static void awaitIdle(TenantExecutorRegistry registry, String tenantUid) {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.activeCount(tenantUid) > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
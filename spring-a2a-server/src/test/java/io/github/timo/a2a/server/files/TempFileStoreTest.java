@@ -0,0 +1,99 @@
+package io.github.timo.a2a.server.files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TempFileStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldUseDefaultMaxFileSize() {
+        assertEquals(TempFileStore.DEFAULT_MAX_FILE_SIZE, new TempFileStore(directory, 0).getMaxFileSize());
+    }
+
+    @Test
+    void shouldStreamChunksToFile() throws IOException {
+        // Given
+        var store = new TempFileStore(directory);
+
+        // When
+        var uri = store.store(
+                "report.txt", MediaType.TEXT_PLAIN, Flux.just(buffer("hello "), buffer("world"))
+        ).block();
+
+        // Then
+        assertNotNull(uri);
+        var path = Path.of(uri);
+        assertEquals(directory, path.getParent());
+        assertTrue(path.getFileName().toString().endsWith(".txt"));
+        assertEquals("hello world", Files.readString(path));
+    }
+
+    @Test
+    void shouldNotKeepUnsafeExtension() {
+        // Given
+        var store = new TempFileStore(directory);
+
+        // When
+        var uri = store.store("../../etc/passwd", null, Flux.just(buffer("x"))).block();
+
+        // Then
+        assertNotNull(uri);
+        var path = Path.of(uri);
+        assertEquals(directory, path.getParent());
+        assertTrue(path.getFileName().toString().endsWith(".bin"));
+    }
+
+    @Test
+    void shouldRejectAndDeleteFileLargerThanLimit() throws IOException {
+        // Given
+        var store = new TempFileStore(directory, 8);
+        var content = Flux.just(buffer("12345"), buffer("67890"));
+
+        // When
+        var ex = assertThrows(ResponseStatusException.class, () -> store.store("big.bin", null, content).block());
+
+        // Then
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, ex.getStatusCode());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void shouldDeleteStoredFileOnly() throws IOException {
+        // Given
+        var store = new TempFileStore(directory);
+        var uri = store.store("report.txt", MediaType.TEXT_PLAIN, Flux.just(buffer("x"))).block();
+        var outside = Files.createTempFile("outside", ".txt");
+
+        // When
+        assertNotNull(uri);
+        store.delete(uri).block();
+        store.delete(outside.toUri()).block();
+
+        // Then
+        assertFalse(Files.exists(Path.of(uri)));
+        assertTrue(Files.exists(outside));
+        Files.delete(outside);
+    }
+
+    private static DataBuffer buffer(String value) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.timo.a2a.server.jsonrpc.controller;
+
+import io.github.timo.a2a.server.context.CallContextFactory;
+import io.github.timo.a2a.server.context.TenantServerCallContext;
+import io.github.timo.a2a.server.jsonrpc.JSONRPCControllerOptions;
+import io.a2a.spec.A2AMethods;
+import io.a2a.spec.TaskNotFoundError;
+import io.a2a.transport.jsonrpc.handler.JSONRPCHandler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifies that the JSON-RPC controller never blocks the calling event-loop thread.
+ * <p>
+ * Reactor {@code parallel} threads are marked non-blocking just like Reactor Netty event loops,
+ * so BlockHound fails any blocking call made on them. BlockHound instruments the whole JVM once
+ * installed, so these tests are tagged {@value #BLOCKHOUND_TAG} and run in their own JVM by the
+ * {@code blockHoundTest} task, never by {@code test}.
+ */
+@Tag(MessageControllerBlockHoundTest.BLOCKHOUND_TAG)
+@ExtendWith(MockitoExtension.class)
+class MessageControllerBlockHoundTest {
+    static final String BLOCKHOUND_TAG = "blockhound";
+
+    private static final String GET_TASK_REQUEST = "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\""
+            + A2AMethods.GET_TASK_METHOD + "\",\"params\":{\"id\":\"task-1\"}}";
+
+    @Mock
+    private JSONRPCHandler jsonRpcHandler;
+
+    @Mock
+    private CallContextFactory callContextFactory;
+
+    @Mock
+    private ServerWebExchange exchange;
+
+    @Mock
+    private ServerHttpRequest request;
+
+    @Mock
+    private TenantServerCallContext callContext;
+
+    private MessageController controller;
+
+    @BeforeAll
+    static void installBlockHound() {
+        BlockHound.install();
+    }
+
+    @BeforeEach
+    void setUp() {
+        controller = new MessageController(
+                jsonRpcHandler, callContextFactory, Runnable::run,
+                new JSONRPCControllerOptions().withDispatchScheduler(Schedulers.boundedElastic())
+        );
+    }
+
+    @Test
+    void shouldDetectBlockingCallOnEventLoop() {
+        // Sanity check that BlockHound is active, otherwise the test below proves nothing
+        var error = assertThrows(RuntimeException.class, () -> Mono.fromCallable(() -> {
+                    Thread.sleep(10);
+                    return true;
+                })
+                .subscribeOn(Schedulers.parallel())
+                .block(Duration.ofSeconds(5)));
+
+        assertInstanceOf(BlockingOperationError.class, Exceptions.unwrap(error));
+    }
+
+    @Test
+    void shouldDispatchBlockingHandlerOffEventLoop() {
+        // Given
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getState()).thenReturn(new HashMap<>());
+        when(jsonRpcHandler.onGetTask(any(), any())).thenAnswer(invocation -> {
+            // Simulates a blocking wait for the agent to finish
+            Thread.sleep(50);
+            throw new TaskNotFoundError();
+        });
+
+        var body = body(GET_TASK_REQUEST);
+
+        // When
+        ResponseEntity<?> response = Mono.defer(() -> controller.sendMessage(exchange, null, body))
+                .subscribeOn(Schedulers.parallel())
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(String.valueOf(response.getBody()).contains("error"));
+        verify(jsonRpcHandler).onGetTask(any(), eq(callContext));
+    }
+
+    @Test
+    void shouldReturnErrorResponseForMalformedRequestWithoutBlocking() {
+        // Given
+        var body = body("{not-json");
+
+        // When
+        ResponseEntity<?> response = Mono.defer(() -> controller.sendMessage(exchange, null, body))
+                .subscribeOn(Schedulers.parallel())
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(String.valueOf(response.getBody()).contains("error"));
+        verifyNoInteractions(jsonRpcHandler);
+    }
+
+    private Flux<DataBuffer> body(String content) {
+        when(exchange.getRequest()).thenReturn(request);
+        when(request.getHeaders()).thenReturn(new HttpHeaders());
+
+        return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
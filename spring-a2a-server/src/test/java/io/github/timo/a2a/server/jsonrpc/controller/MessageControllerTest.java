@@ -0,0 +1,338 @@
+package io.github.timo.a2a.server.jsonrpc.controller;
+
+import com.google.gson.JsonParser;
+import io.github.timo.a2a.server.context.CallContextFactory;
+import io.github.timo.a2a.server.context.TenantServerCallContext;
+import io.github.timo.a2a.server.jsonrpc.JSONRPCBatchOptions;
+import io.github.timo.a2a.server.jsonrpc.JSONRPCControllerOptions;
+import io.github.timo.a2a.server.router.DirectResponseResultHandler;
+import io.github.timo.a2a.server.tasks.TaskBatchMethods;
+import io.github.timo.a2a.server.web.A2AMediaTypes;
+import io.github.timo.a2a.server.web.ResponseBodyWriter;
+import io.github.timo.a2a.server.web.StreamingOptions;
+import io.github.timo.a2a.server.web.TaskCanceller;
+import io.github.timo.a2a.server.web.TaskETags;
+import io.a2a.grpc.utils.ProtoUtils;
+import io.a2a.jsonrpc.common.wrappers.GetTaskResponse;
+import io.a2a.jsonrpc.common.wrappers.SendMessageResponse;
+import io.a2a.jsonrpc.common.wrappers.SendStreamingMessageResponse;
+import io.a2a.spec.A2AMethods;
+import io.a2a.spec.Message;
+import io.a2a.spec.Task;
+import io.a2a.spec.TaskNotFoundError;
+import io.a2a.spec.TaskState;
+import io.a2a.spec.TaskStatus;
+import io.a2a.spec.TextPart;
+import io.a2a.transport.jsonrpc.handler.JSONRPCHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifies the JSON-RPC controller: batch requests, routing on the method name, the responses
+ * written over HTTP as JSON or binary protobuf, the not-modified tasks, and the disconnect policy
+ * of streams.
+ * <p>
+ * That the controller never blocks the event loop is verified with BlockHound, apart from these
+ * tests, see {@link MessageControllerBlockHoundTest}.
+ */
+@ExtendWith(MockitoExtension.class)
+class MessageControllerTest {
+    private static final String GET_TASK_REQUEST = "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\""
+            + A2AMethods.GET_TASK_METHOD + "\",\"params\":{\"id\":\"task-1\"}}";
+    private static final String SEND_MESSAGE_REQUEST = "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\""
+            + A2AMethods.SEND_MESSAGE_METHOD + "\",\"params\":{\"message\":{\"messageId\":\"msg-1\","
+            + "\"role\":\"ROLE_USER\",\"parts\":[{\"text\":\"Hello\"}]}}}";
+    private static final String SEND_STREAMING_MESSAGE_REQUEST = SEND_MESSAGE_REQUEST.replace(
+            A2AMethods.SEND_MESSAGE_METHOD, A2AMethods.SEND_STREAMING_MESSAGE_METHOD
+    );
+    private static final String SUBSCRIBE_TO_TASK_REQUEST = "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\""
+            + A2AMethods.SUBSCRIBE_TO_TASK_METHOD + "\",\"params\":{\"id\":\"task-1\"}}";
+
+    @Mock
+    private JSONRPCHandler jsonRpcHandler;
+
+    @Mock
+    private CallContextFactory callContextFactory;
+
+    @Mock
+    private ServerWebExchange exchange;
+
+    @Mock
+    private ServerHttpRequest request;
+
+    @Mock
+    private TenantServerCallContext callContext;
+
+    private static final String GET_TASK_BATCH_REQUEST = "[" + GET_TASK_REQUEST + "," + GET_TASK_REQUEST.replace(
+            "\"id\":\"1\"", "\"id\":\"2\""
+    ) + "]";
+
+    private MessageController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new MessageController(
+                jsonRpcHandler, callContextFactory, Runnable::run,
+                new JSONRPCControllerOptions()
+                        .withDispatchScheduler(Schedulers.boundedElastic())
+                        .withBatchOptions(new JSONRPCBatchOptions(2, 2))
+        );
+    }
+
+    @Test
+    void shouldDispatchBatchRequestAndPreserveOrder() {
+        // Given
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getState()).thenReturn(new HashMap<>());
+        when(jsonRpcHandler.onGetTask(any(), any())).thenThrow(new TaskNotFoundError());
+
+        // When
+        ResponseEntity<?> response = controller.sendMessage(exchange, null, body(GET_TASK_BATCH_REQUEST))
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        var body = String.valueOf(response.getBody());
+        assertTrue(body.startsWith("["));
+        assertTrue(body.endsWith("]"));
+        assertTrue(body.indexOf("\"1\"") < body.indexOf("\"2\""));
+        verify(jsonRpcHandler, times(2)).onGetTask(any(), eq(callContext));
+    }
+
+    @Test
+    void shouldRejectBatchExceedingMaxSize() {
+        // Given
+        var batchRequest = "[" + GET_TASK_REQUEST + "," + GET_TASK_REQUEST + "," + GET_TASK_REQUEST + "]";
+
+        // When
+        ResponseEntity<?> response = controller.sendMessage(exchange, null, body(batchRequest))
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertNotNull(response);
+        var body = String.valueOf(response.getBody());
+        assertFalse(body.startsWith("["));
+        assertTrue(body.contains("maximum size"));
+        verifyNoInteractions(jsonRpcHandler);
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() {
+        // When
+        ResponseEntity<?> response = controller.sendMessage(exchange, null, body(" [ ]"))
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertNotNull(response);
+        assertTrue(String.valueOf(response.getBody()).contains("error"));
+        verifyNoInteractions(jsonRpcHandler);
+    }
+
+    @Test
+    void shouldRouteOnExactTopLevelMethodName() {
+        assertEquals(TaskBatchMethods.BATCH_GET_TASKS_METHOD, MessageController.methodName(
+                "{\"jsonrpc\": \"2.0\", \"id\": 1, \"params\": {\"ids\": []}, \"method\": \"BatchGetTasks\"}"
+        ));
+        assertEquals(A2AMethods.GET_TASK_METHOD, MessageController.methodName(
+                "{\"jsonrpc\": \"2.0\", \"id\": 1, \"params\": {\"id\": \"BatchGetTasks\", "
+                        + "\"method\": \"BatchGetTasks\"}, \"method\": \"" + A2AMethods.GET_TASK_METHOD + "\"}"
+        ));
+        assertNull(MessageController.methodName("{\"method\": [\"BatchGetTasks\"]}"));
+        assertNull(MessageController.methodName("[{\"method\": \"BatchGetTasks\"}]"));
+        assertNull(MessageController.methodName("{\"method\": "));
+    }
+
+    @Test
+    void shouldWriteJsonRpcResultOverHttp() throws Exception {
+        // Given
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getState()).thenReturn(new HashMap<>());
+        when(jsonRpcHandler.onMessageSend(any(), any())).thenReturn(new SendMessageResponse("1", agentMessage()));
+
+        // When / Then
+        client().post().uri("/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(SEND_MESSAGE_REQUEST)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(String.class)
+                .isEqualTo(ResponseBodyWriter.printJsonRpcResult("1", ProtoUtils.ToProto.taskOrMessage(agentMessage())));
+    }
+
+    @Test
+    void shouldWriteProtobufResultOverHttp() {
+        // Given
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getState()).thenReturn(new HashMap<>());
+        when(jsonRpcHandler.onMessageSend(any(), any())).thenReturn(new SendMessageResponse("1", agentMessage()));
+
+        // When
+        var body = client().post().uri("/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(A2AMediaTypes.APPLICATION_PROTOBUF)
+                .bodyValue(SEND_MESSAGE_REQUEST)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(A2AMediaTypes.APPLICATION_PROTOBUF)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then
+        assertArrayEquals(ProtoUtils.ToProto.taskOrMessage(agentMessage()).toByteArray(), body);
+    }
+
+    @Test
+    void shouldAnswerUnchangedTaskWithNotModifiedMarker() {
+        // Given
+        var task = Task.builder()
+                .id("task-1")
+                .contextId("ctx-1")
+                .status(new TaskStatus(TaskState.WORKING))
+                .build();
+        var etag = TaskETags.of(ProtoUtils.ToProto.task(task));
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getState()).thenReturn(new HashMap<>());
+        when(jsonRpcHandler.onGetTask(any(), any())).thenReturn(new GetTaskResponse("1", task));
+
+        // When
+        var body = client().post().uri("/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .bodyValue(GET_TASK_REQUEST)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then
+        var result = JsonParser.parseString(body).getAsJsonObject().getAsJsonObject("result");
+        assertEquals("task-1", result.get("id").getAsString());
+        assertEquals("ctx-1", result.get("contextId").getAsString());
+        assertTrue(result.has("status"));
+        assertTrue(result.getAsJsonObject("metadata").get(MessageController.NOT_MODIFIED_METADATA_KEY).getAsBoolean());
+    }
+
+    @Test
+    void shouldCancelTaskWhenSenderDisconnectsWithCancelTaskPolicy() {
+        // Given
+        var taskCanceller = mock(TaskCanceller.class);
+        controller = cancellingController(taskCanceller);
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getState()).thenReturn(new HashMap<>());
+        when(jsonRpcHandler.onMessageSendStream(any(), any())).thenReturn(openStream());
+
+        // When
+        var first = firstEvent(controller.sendMessageStreaming(exchange, null, body(SEND_STREAMING_MESSAGE_REQUEST)));
+
+        // Then
+        assertNotNull(first);
+        verify(taskCanceller).cancel("task-1", callContext);
+    }
+
+    @Test
+    void shouldKeepTaskWhenSubscriberDisconnectsWithCancelTaskPolicy() {
+        // Given
+        var taskCanceller = mock(TaskCanceller.class);
+        controller = cancellingController(taskCanceller);
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getState()).thenReturn(new HashMap<>());
+        when(jsonRpcHandler.onSubscribeToTask(any(), any())).thenReturn(openStream());
+
+        // When
+        var first = firstEvent(controller.sendMessageStreaming(exchange, null, body(SUBSCRIBE_TO_TASK_REQUEST)));
+
+        // Then
+        assertNotNull(first);
+        verifyNoInteractions(taskCanceller);
+    }
+
+    private MessageController cancellingController(TaskCanceller taskCanceller) {
+        return new MessageController(
+                jsonRpcHandler, callContextFactory, Runnable::run,
+                new JSONRPCControllerOptions()
+                        .withStreamingOptions(new StreamingOptions(
+                                StreamingOptions.DEFAULT_PREFETCH,
+                                StreamingOptions.DEFAULT_BATCH_WINDOW,
+                                StreamingOptions.DEFAULT_MAX_BATCH_SIZE,
+                                StreamingOptions.DisconnectPolicy.CANCEL_TASK
+                        ))
+                        .withTaskCanceller(taskCanceller)
+        );
+    }
+
+    /**
+     * Reads the first event of the stream and disconnects, the stream itself never completes.
+     */
+    private static Object firstEvent(Mono<ResponseEntity<?>> response) {
+        var entity = response.block(Duration.ofSeconds(5));
+        assertNotNull(entity);
+        return ((Flux<?>) entity.getBody()).blockFirst(Duration.ofSeconds(5));
+    }
+
+    private static Flow.Publisher<SendStreamingMessageResponse> openStream() {
+        var event = Message.builder()
+                .role(Message.Role.AGENT)
+                .parts(List.of(new TextPart("Working")))
+                .messageId("msg-2")
+                .taskId("task-1")
+                .build();
+        return JdkFlowAdapter.publisherToFlowPublisher(Flux.concat(
+                Mono.just(new SendStreamingMessageResponse("1", event)),
+                Flux.never()
+        ));
+    }
+
+    /**
+     * Client of the controller with the result handler the auto-configuration registers.
+     */
+    private WebTestClient client() {
+        return WebTestClient.bindToController(controller, new DirectResponseResultHandler()).build();
+    }
+
+    private static Message agentMessage() {
+        return Message.builder()
+                .role(Message.Role.AGENT)
+                .parts(List.of(new TextPart("Hello")))
+                .messageId("msg-2")
+                .build();
+    }
+
+    private Flux<DataBuffer> body(String content) {
+        when(exchange.getRequest()).thenReturn(request);
+        when(request.getHeaders()).thenReturn(new HttpHeaders());
+
+        return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
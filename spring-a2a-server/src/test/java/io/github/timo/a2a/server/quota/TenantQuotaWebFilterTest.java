@@ -0,0 +1,190 @@
+package io.github.timo.a2a.server.quota;
+
+import io.github.timo.a2a.server.context.CallContextFactory;
+import io.github.timo.a2a.server.context.DefaultCallContextFactory;
+import io.github.timo.a2a.server.context.TenantServerCallContext;
+import io.a2a.spec.A2AMethods;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantQuotaWebFilterTest {
+
+    private final AtomicInteger handled = new AtomicInteger();
+    private final WebFilterChain chain = exchange -> {
+        handled.incrementAndGet();
+        return Mono.empty();
+    };
+
+    @Test
+    void shouldRejectRequestsOverRateWith429() {
+        // Given
+        var quotas = new TenantQuotas(QuotaLimitSource.perTenant(
+                QuotaLimits.UNLIMITED,
+                Map.of("tenant-a", new QuotaLimits(1, 2, 0))
+        ));
+        var filter = new TenantQuotaWebFilter(quotas, new DefaultCallContextFactory("tenant-a"));
+
+        // When
+        filter.filter(post("/messages/message:send"), chain).block();
+        filter.filter(post("/messages/message:send"), chain).block();
+        var rejected = post("/messages/message:send");
+        filter.filter(rejected, chain).block();
+
+        // Then
+        assertEquals(2, handled.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void shouldLimitEachMethodAndTenantSeparately() {
+        // Given
+        var quotas = new TenantQuotas(QuotaLimitSource.perTenant(new QuotaLimits(1, 1, 0), Map.of()));
+        var tenantA = new TenantQuotaWebFilter(quotas, new DefaultCallContextFactory("tenant-a"));
+        var tenantB = new TenantQuotaWebFilter(quotas, new DefaultCallContextFactory("tenant-b"));
+
+        // When
+        tenantA.filter(post("/messages/message:send"), chain).block();
+        tenantA.filter(get("/tasks/task-1"), chain).block();
+        tenantB.filter(post("/messages/message:send"), chain).block();
+        var rejected = post("/messages/message:send");
+        tenantA.filter(rejected, chain).block();
+
+        // Then
+        assertEquals(3, handled.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+    }
+
+    @Test
+    void shouldLimitOpenStreamsUntilResponseCompletes() {
+        // Given
+        var quotas = new TenantQuotas(QuotaLimitSource.perTenant(new QuotaLimits(0, 0, 1), Map.of()));
+        var filter = new TenantQuotaWebFilter(quotas, new DefaultCallContextFactory("tenant-a"));
+        var stream = Sinks.<Void>empty();
+        filter.filter(post("/tasks/task-1/subscribe"), exchange -> stream.asMono()).subscribe();
+
+        // When
+        var rejected = post("/tasks/task-1/subscribe");
+        filter.filter(rejected, chain).block();
+        stream.tryEmitEmpty();
+        var admitted = post("/tasks/task-1/subscribe");
+        filter.filter(admitted, chain).block();
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertNull(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertNull(admitted.getResponse().getStatusCode());
+        assertEquals(0, quotas.quota("tenant-a", A2AMethods.SUBSCRIBE_TO_TASK_METHOD).openStreams());
+    }
+
+    @Test
+    void shouldReleaseStreamOfDisconnectedClient() {
+        // Given
+        var quotas = new TenantQuotas(QuotaLimitSource.perTenant(new QuotaLimits(0, 0, 1), Map.of()));
+        var filter = new TenantQuotaWebFilter(quotas, new DefaultCallContextFactory("tenant-a"));
+        var open = filter.filter(post("/messages/message:stream"), exchange -> Mono.never()).subscribe();
+
+        // When
+        open.dispose();
+
+        // Then
+        assertEquals(0, quotas.quota("tenant-a", A2AMethods.SEND_STREAMING_MESSAGE_METHOD).openStreams());
+    }
+
+    @Test
+    void shouldHandCallContextOverToHandlerOnce() {
+        // Given
+        var builds = new AtomicInteger();
+        var factory = countingFactory(builds);
+        var filter = new TenantQuotaWebFilter(unlimitedQuotas(), factory);
+        var contexts = new ArrayList<TenantServerCallContext>();
+        WebFilterChain handler = exchange -> {
+            contexts.add(CallContextFactory.takeOrBuild(factory, exchange, null, A2AMethods.SEND_MESSAGE_METHOD));
+            contexts.add(CallContextFactory.takeOrBuild(factory, exchange, null, A2AMethods.SEND_MESSAGE_METHOD));
+            return Mono.empty();
+        };
+
+        // When
+        filter.filter(post("/messages/message:send"), handler).block();
+
+        // Then
+        assertEquals(2, builds.get());
+        assertNotSame(contexts.get(0), contexts.get(1));
+        assertEquals("tenant-a", contexts.get(0).getTenantUid());
+    }
+
+    @Test
+    void shouldBuildCallContextOfOtherMethodInHandler() {
+        // Given
+        var builds = new AtomicInteger();
+        var factory = countingFactory(builds);
+        var filter = new TenantQuotaWebFilter(unlimitedQuotas(), factory);
+        var exchange = post("/");
+        WebFilterChain handler = ex -> {
+            CallContextFactory.takeOrBuild(factory, ex, null, A2AMethods.GET_TASK_METHOD);
+            return Mono.empty();
+        };
+
+        // When
+        filter.filter(exchange, handler).block();
+
+        // Then
+        assertEquals(2, builds.get());
+        assertNull(exchange.getAttribute(CallContextFactory.CALL_CONTEXT_ATTRIBUTE));
+    }
+
+    @Test
+    void shouldResolveMethodOfRequest() {
+        assertEquals(A2AMethods.SEND_MESSAGE_METHOD, TenantQuotaWebFilter.methodName(
+                MockServerHttpRequest.post("/messages/user-message:send").build()
+        ));
+        assertEquals(A2AMethods.LIST_TASK_METHOD, TenantQuotaWebFilter.methodName(
+                MockServerHttpRequest.get("/tasks").build()
+        ));
+        assertEquals(A2AMethods.DELETE_TASK_PUSH_NOTIFICATION_CONFIG_METHOD, TenantQuotaWebFilter.methodName(
+                MockServerHttpRequest.delete("/tasks/task-1/pushNotificationConfigs/config-1").build()
+        ));
+        assertEquals(TenantQuotaWebFilter.JSON_RPC_METHOD, TenantQuotaWebFilter.methodName(
+                MockServerHttpRequest.post("/").accept(MediaType.APPLICATION_JSON).build()
+        ));
+        assertEquals(A2AMethods.SEND_STREAMING_MESSAGE_METHOD, TenantQuotaWebFilter.methodName(
+                MockServerHttpRequest.post("/").accept(MediaType.TEXT_EVENT_STREAM).build()
+        ));
+        assertNull(TenantQuotaWebFilter.methodName(
+                MockServerHttpRequest.get("/.well-known/agent-card.json").build()
+        ));
+    }
+
+    private static TenantQuotas unlimitedQuotas() {
+        return new TenantQuotas(QuotaLimitSource.perTenant(QuotaLimits.UNLIMITED, Map.of()));
+    }
+
+    private static CallContextFactory countingFactory(AtomicInteger builds) {
+        var factory = new DefaultCallContextFactory("tenant-a");
+        return (exchange, authentication, methodName) -> {
+            builds.incrementAndGet();
+            return factory.build(exchange, authentication, methodName);
+        };
+    }
+
+    private static MockServerWebExchange post(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post(path));
+    }
+
+    private static MockServerWebExchange get(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.timo.a2a.server.quota;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong(Long.MAX_VALUE - TimeUnit.MILLISECONDS.toNanos(150));
+
+    @Test
+    void shouldAllowBurstThenRejectUntilRefilled() {
+        // Given
+        var bucket = new TokenBucket(10, 3, clock::get);
+
+        // When / Then
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.nanosUntilAvailable());
+
+        // Refills one token every 100 ms, across the overflow of the nano clock
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0, bucket.nanosUntilAvailable());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void shouldNotRefillBeyondBurst() {
+        // Given
+        var bucket = new TokenBucket(10, 2, clock::get);
+
+        // When
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        // Then
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void shouldGrantExactlyBurstAcrossThreads() {
+        // Given
+        var bucket = new TokenBucket(1, 50, clock::get);
+        var acquired = new AtomicInteger();
+
+        // When
+        IntStream.range(0, 1_000).parallel().forEach(i -> {
+            if (bucket.tryAcquire()) {
+                acquired.incrementAndGet();
+            }
+        });
+
+        // Then
+        assertEquals(50, acquired.get());
+    }
+
+    @Test
+    void shouldRejectInvalidRateOrBurst() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
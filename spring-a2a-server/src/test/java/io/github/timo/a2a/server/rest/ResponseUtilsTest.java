@@ -1,17 +1,33 @@
 package io.github.timo.a2a.server.rest;
 
+import com.google.protobuf.util.JsonFormat;
+import io.github.timo.a2a.server.web.A2AMediaTypes;
+import io.a2a.grpc.Message;
+import io.a2a.grpc.Part;
+import io.a2a.grpc.Role;
 import io.a2a.spec.A2AError;
 import io.a2a.spec.InternalError;
+import io.a2a.spec.InvalidRequestError;
+import io.a2a.spec.JSONParseError;
+import io.a2a.spec.TaskNotFoundError;
 import io.a2a.transport.rest.handler.RestHandler;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.concurrent.Flow;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -107,11 +123,20 @@ class ResponseUtilsTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, responseEntity.getStatusCode());
         assertEquals(MediaType.APPLICATION_JSON, responseEntity.getHeaders().getContentType());
 
-        String body = (String) responseEntity.getBody();
+        byte[] body = (byte[]) responseEntity.getBody();
         assertNotNull(body);
-        assertTrue(body.contains("error"));
-        assertTrue(body.contains("message"));
-        assertTrue(body.contains("Something went wrong"));
+        assertEquals(
+                "{\"error\": \"" + InternalError.class.getName() + "\", \"message\": \"Something went wrong\"}",
+                new String(body, StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    void shouldMapA2AErrorToHttpStatus() {
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, ResponseUtils.toResponseEntity(new TaskNotFoundError()).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, ResponseUtils.toResponseEntity(new InvalidRequestError("Invalid")).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, ResponseUtils.toResponseEntity(new JSONParseError("Malformed")).getStatusCode());
     }
 
     @Test
@@ -144,4 +169,61 @@ class ResponseUtilsTest {
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals("", responseEntity.getBody());
     }
+
+    @Test
+    void shouldWriteProtoRestResponseAsJsonByDefault() {
+        // Given
+        var protoResponse = new ProtoRestResponse(200, message(), JsonFormat.printer());
+        var exchange = exchange(new HttpHeaders());
+
+        // When
+        ResponseEntity<?> responseEntity = ResponseUtils.toResponseEntity(protoResponse, exchange);
+
+        // Then
+        assertEquals(MediaType.APPLICATION_JSON, responseEntity.getHeaders().getContentType());
+        assertEquals(protoResponse.getBody(), content(responseEntity).toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldWriteProtoRestResponseAsProtobufWhenAccepted() throws Exception {
+        // Given
+        var protoResponse = new ProtoRestResponse(200, message(), JsonFormat.printer());
+        var headers = new HttpHeaders();
+        headers.setAccept(List.of(A2AMediaTypes.APPLICATION_PROTOBUF, MediaType.APPLICATION_JSON));
+
+        // When
+        ResponseEntity<?> responseEntity = ResponseUtils.toResponseEntity(protoResponse, exchange(headers));
+
+        // Then
+        assertEquals(A2AMediaTypes.APPLICATION_PROTOBUF, responseEntity.getHeaders().getContentType());
+        assertEquals(message(), Message.parseFrom(content(responseEntity).asInputStream(true)));
+    }
+
+    private static Message message() {
+        return Message.newBuilder()
+                .setMessageId("msg-1")
+                .setRole(Role.ROLE_AGENT)
+                .addParts(Part.newBuilder().setText("Hello"))
+                .build();
+    }
+
+    private static ServerWebExchange exchange(HttpHeaders headers) {
+        var exchange = mock(ServerWebExchange.class);
+        var request = mock(ServerHttpRequest.class);
+        var response = mock(ServerHttpResponse.class);
+
+        when(exchange.getRequest()).thenReturn(request);
+        when(request.getHeaders()).thenReturn(headers);
+        when(exchange.getResponse()).thenReturn(response);
+        when(response.bufferFactory()).thenReturn(DefaultDataBufferFactory.sharedInstance);
+
+        return exchange;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DataBuffer content(ResponseEntity<?> responseEntity) {
+        var buffer = ((Flux<DataBuffer>) responseEntity.getBody()).single().block();
+        assertNotNull(buffer);
+        return buffer;
+    }
 }
@@ -1,5 +1,6 @@
 package io.github.timo.a2a.server.rest;
 
+import com.google.gson.JsonParser;
 import io.a2a.spec.A2AError;
 import io.a2a.spec.InternalError;
 import io.a2a.spec.InvalidRequestError;
@@ -93,7 +94,10 @@ class RestErrorResponseTest {
 
         // Then
         assertNotNull(json);
-        // The basic implementation doesn't escape, but we verify the content is there
-        assertTrue(json.contains("Error with"));
+        assertTrue(json.contains("\"Error with \\\"quotes\\\" and special chars\""));
+        assertEquals(
+                "Error with \"quotes\" and special chars",
+                JsonParser.parseString(json).getAsJsonObject().get("message").getAsString()
+        );
     }
 }
@@ -1,18 +1,43 @@
 package io.github.timo.a2a.server.rest.controller;
 
+import com.google.protobuf.util.JsonFormat;
 import io.github.timo.a2a.server.context.CallContextFactory;
 import io.github.timo.a2a.server.context.TenantServerCallContext;
+import io.github.timo.a2a.server.rest.ProtoRestResponse;
+import io.github.timo.a2a.server.rest.ProtoRestStreamingResponse;
+import io.github.timo.a2a.server.rest.RestControllerOptions;
 import io.github.timo.a2a.server.rest.handler.AgentRestHandler;
+import io.github.timo.a2a.server.router.DirectResponseResultHandler;
+import io.github.timo.a2a.server.web.A2AMediaTypes;
+import io.a2a.grpc.Message;
+import io.a2a.grpc.Part;
+import io.a2a.grpc.Role;
+import io.a2a.grpc.SendMessageRequest;
 import io.a2a.transport.rest.handler.RestHandler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.security.core.Authentication;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
+import io.github.timo.a2a.server.web.RequestBodyReader;
+import io.github.timo.a2a.server.web.StreamingOptions;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -20,6 +45,7 @@ import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class MessageControllerTest {
+    private static final String SEND_MESSAGE_REQUEST = "{\"message\": {\"messageId\": \"msg-1\"}}";
 
     @Mock
     private AgentRestHandler agentRestHandler;
@@ -30,6 +56,9 @@ class MessageControllerTest {
     @Mock
     private ServerWebExchange exchange;
 
+    @Mock
+    private ServerHttpRequest request;
+
     @Mock
     private Authentication authentication;
 
@@ -49,21 +78,26 @@ class MessageControllerTest {
     @Test
     void shouldSendMessage() {
         // Given
-        String jsonRpcMessage = "{\"method\": \"sendMessage\", \"params\": {}}";
         when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
         when(callContext.getTenantUid()).thenReturn("test-tenant");
-        when(agentRestHandler.sendMessage(anyString(), anyString(), any())).thenReturn(restResponse);
+        when(agentRestHandler.sendMessage(any(SendMessageRequest.Builder.class), anyString(), any()))
+                .thenAnswer(invocation -> {
+                    // The body is decoded, and its buffer released, before the agent is called
+                    SendMessageRequest.Builder request = invocation.getArgument(0);
+                    assertEquals("msg-1", request.getRequest().getMessageId());
+                    return restResponse;
+                });
         when(restResponse.getStatusCode()).thenReturn(200);
         when(restResponse.getContentType()).thenReturn("application/json");
         when(restResponse.getBody()).thenReturn("{\"result\": \"success\"}");
 
         // When
-        ResponseEntity<?> response = controller.sendMessage(exchange, authentication, jsonRpcMessage);
+        ResponseEntity<?> response = controller.sendMessage(exchange, authentication, body(SEND_MESSAGE_REQUEST)).block();
 
         // Then
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(agentRestHandler).sendMessage(eq(jsonRpcMessage), eq("test-tenant"), eq(callContext));
+        verify(agentRestHandler).sendMessage(any(SendMessageRequest.Builder.class), eq("test-tenant"), eq(callContext));
     }
 
     @Test
@@ -83,8 +117,8 @@ class MessageControllerTest {
 
         // When
         ResponseEntity<?> response = controller.sendTextMessage(
-                exchange, authentication, contextId, taskId, userMessage
-        );
+                exchange, authentication, contextId, taskId, body(userMessage)
+        ).block();
 
         // Then
         assertNotNull(response);
@@ -109,8 +143,8 @@ class MessageControllerTest {
 
         // When
         ResponseEntity<?> response = controller.sendTextMessage(
-                exchange, authentication, null, null, userMessage
-        );
+                exchange, authentication, null, null, body(userMessage)
+        ).block();
 
         // Then
         assertNotNull(response);
@@ -122,20 +156,24 @@ class MessageControllerTest {
     @Test
     void shouldSendMessageStreaming() {
         // Given
-        String jsonRpcMessage = "{\"method\": \"sendMessage\", \"params\": {}}";
         when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
         when(callContext.getTenantUid()).thenReturn("test-tenant");
-        when(agentRestHandler.sendStreamingMessage(anyString(), anyString(), any())).thenReturn(restResponse);
+        when(agentRestHandler.sendStreamingMessage(any(SendMessageRequest.Builder.class), anyString(), any()))
+                .thenReturn(restResponse);
         when(restResponse.getStatusCode()).thenReturn(200);
         when(restResponse.getContentType()).thenReturn("text/event-stream");
 
         // When
-        ResponseEntity<?> response = controller.sendMessageStreaming(exchange, authentication, jsonRpcMessage);
+        ResponseEntity<?> response = controller.sendMessageStreaming(
+                exchange, authentication, body(SEND_MESSAGE_REQUEST)
+        ).block();
 
         // Then
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(agentRestHandler).sendStreamingMessage(eq(jsonRpcMessage), eq("test-tenant"), eq(callContext));
+        verify(agentRestHandler).sendStreamingMessage(
+                any(SendMessageRequest.Builder.class), eq("test-tenant"), eq(callContext)
+        );
     }
 
     @Test
@@ -154,8 +192,8 @@ class MessageControllerTest {
 
         // When
         ResponseEntity<?> response = controller.sendTextMessageStreaming(
-                exchange, authentication, contextId, taskId, userMessage
-        );
+                exchange, authentication, contextId, taskId, body(userMessage)
+        ).block();
 
         // Then
         assertNotNull(response);
@@ -168,16 +206,16 @@ class MessageControllerTest {
     @Test
     void shouldHandleNullAuthentication() {
         // Given
-        String jsonRpcMessage = "{\"method\": \"sendMessage\"}";
         when(callContextFactory.build(any(), isNull(), anyString())).thenReturn(callContext);
         when(callContext.getTenantUid()).thenReturn("test-tenant");
-        when(agentRestHandler.sendMessage(anyString(), anyString(), any())).thenReturn(restResponse);
+        when(agentRestHandler.sendMessage(any(SendMessageRequest.Builder.class), anyString(), any()))
+                .thenReturn(restResponse);
         when(restResponse.getStatusCode()).thenReturn(200);
         when(restResponse.getContentType()).thenReturn("application/json");
         when(restResponse.getBody()).thenReturn("{}");
 
         // When
-        ResponseEntity<?> response = controller.sendMessage(exchange, null, jsonRpcMessage);
+        ResponseEntity<?> response = controller.sendMessage(exchange, null, body(SEND_MESSAGE_REQUEST)).block();
 
         // Then
         assertNotNull(response);
@@ -198,11 +236,169 @@ class MessageControllerTest {
 
         // When
         ResponseEntity<?> response = controller.sendTextMessage(
-                exchange, authentication, null, null, emptyMessage
-        );
+                exchange, authentication, null, null, body(emptyMessage)
+        ).block();
 
         // Then
         assertNotNull(response);
         verify(agentRestHandler).sendUserMessage(eq(emptyMessage), anyString(), any(), any(), any());
     }
+
+    @Test
+    void shouldAnswerErrorWithoutCallingAgentWhenBodyIsInvalid() {
+        // Given
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+
+        // When
+        ResponseEntity<?> response = controller.sendMessage(exchange, authentication, body("{not-json")).block();
+
+        // Then
+        assertNotNull(response);
+        assertTrue(response.getStatusCode().is4xxClientError());
+        verifyNoInteractions(agentRestHandler);
+    }
+
+    @Test
+    void shouldRejectBodyLargerThanMaxInMemorySize() {
+        // Given
+        controller = new MessageController(
+                agentRestHandler,
+                callContextFactory,
+                new RestControllerOptions().withRequestBodyReader(new RequestBodyReader(8))
+        );
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+
+        // When
+        var error = assertThrows(
+                ResponseStatusException.class,
+                () -> controller.sendTextMessage(exchange, authentication, null, null, body("Too large message")).block()
+        );
+
+        // Then
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, error.getStatusCode());
+        verifyNoInteractions(agentRestHandler);
+    }
+
+    @Test
+    void shouldWriteJsonBodyOverHttp() throws Exception {
+        // Given
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getTenantUid()).thenReturn("test-tenant");
+        when(agentRestHandler.sendMessage(any(SendMessageRequest.Builder.class), anyString(), any()))
+                .thenReturn(new ProtoRestResponse(200, message(), JsonFormat.printer()));
+
+        // When / Then
+        client().post().uri("/messages/message:send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(SEND_MESSAGE_REQUEST)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(String.class).isEqualTo(JsonFormat.printer().print(message()));
+    }
+
+    @Test
+    void shouldWriteProtobufBodyOverHttp() throws Exception {
+        // Given
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getTenantUid()).thenReturn("test-tenant");
+        when(agentRestHandler.sendMessage(any(SendMessageRequest.Builder.class), anyString(), any()))
+                .thenReturn(new ProtoRestResponse(200, message(), JsonFormat.printer()));
+
+        // When
+        var body = client().post().uri("/messages/message:send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(A2AMediaTypes.APPLICATION_PROTOBUF)
+                .bodyValue(SEND_MESSAGE_REQUEST)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(A2AMediaTypes.APPLICATION_PROTOBUF)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then
+        assertNotNull(body);
+        assertEquals(message(), Message.parseFrom(body));
+    }
+
+    @Test
+    void shouldWriteProtobufDelimitedStreamOverHttp() throws Exception {
+        // Given
+        var first = message();
+        var second = message().toBuilder().setMessageId("msg-3").build();
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getTenantUid()).thenReturn("test-tenant");
+        when(agentRestHandler.sendStreamingMessage(any(SendMessageRequest.Builder.class), anyString(), any()))
+                .thenReturn(new ProtoRestStreamingResponse(
+                        JdkFlowAdapter.publisherToFlowPublisher(Flux.just("{}", "{}")), Flux.just(first, second)
+                ));
+
+        // When
+        var body = client().post().uri("/messages/message:stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(A2AMediaTypes.APPLICATION_PROTOBUF_DELIMITED)
+                .bodyValue(SEND_MESSAGE_REQUEST)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(A2AMediaTypes.APPLICATION_PROTOBUF_DELIMITED)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then
+        assertNotNull(body);
+        var input = new ByteArrayInputStream(body);
+        assertEquals(first, Message.parseDelimitedFrom(input));
+        assertEquals(second, Message.parseDelimitedFrom(input));
+        assertEquals(0, input.available());
+    }
+
+    @Test
+    void shouldWriteBatchedServerSentEventsOverHttp() {
+        // Given
+        controller = new MessageController(
+                agentRestHandler,
+                callContextFactory,
+                new RestControllerOptions().withStreamingOptions(new StreamingOptions(32, Duration.ofSeconds(1), 2))
+        );
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getTenantUid()).thenReturn("test-tenant");
+        when(agentRestHandler.sendStreamingMessage(any(SendMessageRequest.Builder.class), anyString(), any()))
+                .thenReturn(new ProtoRestStreamingResponse(
+                        JdkFlowAdapter.publisherToFlowPublisher(Flux.just("{\"a\":1}", "{\"b\":2}")), Flux.empty()
+                ));
+
+        // When / Then
+        client().post().uri("/messages/message:stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(SEND_MESSAGE_REQUEST)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .expectBody(String.class).isEqualTo("data:{\"a\":1}\n\ndata:{\"b\":2}\n\n");
+    }
+
+    /**
+     * Client of the controller with the result handler the auto-configuration registers.
+     */
+    private WebTestClient client() {
+        return WebTestClient.bindToController(controller, new DirectResponseResultHandler()).build();
+    }
+
+    private static Message message() {
+        return Message.newBuilder()
+                .setMessageId("msg-2")
+                .setRole(Role.ROLE_AGENT)
+                .addParts(Part.newBuilder().setText("Hello"))
+                .build();
+    }
+
+    private Flux<DataBuffer> body(String content) {
+        when(exchange.getRequest()).thenReturn(request);
+        when(request.getHeaders()).thenReturn(new HttpHeaders());
+
+        return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(content.getBytes(StandardCharsets.UTF_8)));
+    }
 }
@@ -0,0 +1,456 @@
+package io.github.timo.a2a.server.rest.controller;
+
+import io.a2a.grpc.Task;
+import io.a2a.server.tasks.TaskStore;
+import io.a2a.spec.InvalidParamsError;
+import io.a2a.spec.TaskNotFoundError;
+import io.a2a.spec.TaskState;
+import io.a2a.spec.TaskStatus;
+import io.github.timo.a2a.server.context.CallContextFactory;
+import io.github.timo.a2a.server.context.TenantServerCallContext;
+import io.github.timo.a2a.server.rest.ProtoRestResponse;
+import io.github.timo.a2a.server.rest.RestControllerOptions;
+import io.github.timo.a2a.server.rest.handler.AgentRestHandler;
+import io.github.timo.a2a.server.router.DirectResponseResultHandler;
+import io.github.timo.a2a.server.tasks.ArtifactPartContent;
+import io.github.timo.a2a.server.tasks.ArtifactPartReader;
+import io.github.timo.a2a.server.tasks.ObservableTaskStore;
+import io.github.timo.a2a.server.web.JsonPrinters;
+import io.github.timo.a2a.server.web.TaskETags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskControllerTest {
+
+    @Mock
+    private AgentRestHandler agentRestHandler;
+
+    @Mock
+    private CallContextFactory callContextFactory;
+
+    @Mock
+    private TenantServerCallContext callContext;
+
+    @Mock
+    private TaskStore taskStore;
+
+    private TaskController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new TaskController(agentRestHandler, callContextFactory);
+    }
+
+    @Test
+    void shouldStreamTasksAsNdjson() {
+        // Given
+        var exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/tasks").accept(MediaType.APPLICATION_NDJSON)
+        );
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getTenantUid()).thenReturn("test-tenant");
+        when(agentRestHandler.streamTasks(
+                eq("ctx-1"), eq("working"), isNull(), isNull(), eq(2), isNull(), isNull(), isNull(), eq("test-tenant"), eq(callContext)
+        )).thenReturn(Flux.just(
+                Task.newBuilder().setId("task-1").build(),
+                Task.newBuilder().setId("task-2").build()
+        ));
+
+        // When
+        var response = controller.getTasks(exchange, null, 2, "ctx-1", "working", null, null, null, null, null);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals(
+                "{\"id\":\"task-1\"}\n{\"id\":\"task-2\"}\n",
+                content(response.getBody())
+        );
+        verify(agentRestHandler, never()).listTasks(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldWriteTaskLinesOverHttp() {
+        // Given
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getTenantUid()).thenReturn("test-tenant");
+        when(agentRestHandler.streamTasks(any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Flux.just(
+                        Task.newBuilder().setId("task-1").build(),
+                        Task.newBuilder().setId("task-2").build()
+                ));
+
+        // When
+        var body = WebTestClient.bindToController(controller, new DirectResponseResultHandler()).build()
+                .get().uri("/tasks")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then
+        assertEquals("{\"id\":\"task-1\"}\n{\"id\":\"task-2\"}\n", body);
+    }
+
+    @Test
+    void shouldEndTaskStreamWithError() {
+        // Given
+        var exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/tasks").accept(MediaType.APPLICATION_NDJSON)
+        );
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getTenantUid()).thenReturn("test-tenant");
+        when(agentRestHandler.streamTasks(any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Flux.concat(
+                        Flux.just(Task.newBuilder().setId("task-1").build()),
+                        Flux.error(new TaskNotFoundError())
+                ));
+
+        // When
+        var response = controller.getTasks(exchange, null, null, null, null, null, null, null, null, null);
+
+        // Then
+        var lines = content(response.getBody()).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":\"task-1\"}", lines[0]);
+        assertTrue(lines[1].contains("TaskNotFoundError"));
+    }
+
+    @Test
+    void shouldRejectInvalidStreamFilters() {
+        // Given
+        var exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/tasks").accept(MediaType.APPLICATION_NDJSON)
+        );
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getTenantUid()).thenReturn("test-tenant");
+        when(agentRestHandler.streamTasks(any(), eq("sleeping"), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new InvalidParamsError("Invalid task status: sleeping"));
+
+        // When
+        var response = controller.getTasks(exchange, null, null, null, "sleeping", null, null, null, null, null);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void shouldTagTaskWithETag() {
+        // Given
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks/task-1"));
+        var task = Task.newBuilder().setId("task-1").build();
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getTenantUid()).thenReturn("test-tenant");
+        when(agentRestHandler.getTask("task-1", null, null, "test-tenant", callContext))
+                .thenReturn(new ProtoRestResponse(200, task, JsonPrinters.WITH_DEFAULT_VALUES));
+
+        // When
+        var response = controller.getTask(exchange, null, "task-1", null, null);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(TaskETags.of(task), response.getHeaders().getETag());
+        assertEquals(List.of(HttpHeaders.ACCEPT), response.getHeaders().getVary());
+        assertNotNull(response.getBody());
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhenETagMatches() {
+        // Given
+        var task = Task.newBuilder().setId("task-1").build();
+        var exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/tasks/task-1").ifNoneMatch(TaskETags.of(task))
+        );
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getTenantUid()).thenReturn("test-tenant");
+        when(agentRestHandler.getTask("task-1", null, null, "test-tenant", callContext))
+                .thenReturn(new ProtoRestResponse(200, task, JsonPrinters.WITH_DEFAULT_VALUES));
+
+        // When
+        var response = controller.getTask(exchange, null, "task-1", null, null);
+
+        // Then
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(TaskETags.of(task), response.getHeaders().getETag());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void shouldRejectInvalidFields() {
+        // Given
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks/task-1"));
+
+        // When
+        var response = controller.getTask(exchange, null, "task-1", null, "status.unknown");
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(agentRestHandler);
+    }
+
+    @Test
+    void shouldAnswerOnceTaskReachesWaitedState() throws Exception {
+        // Given
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks/task-1?waitFor=completed"));
+        var task = Task.newBuilder().setId("task-1").build();
+        var observableTaskStore = new ObservableTaskStore(taskStore);
+        var waitingController = new TaskController(
+                agentRestHandler,
+                callContextFactory,
+                new RestControllerOptions().withObservableTaskStore(observableTaskStore)
+        );
+        when(taskStore.get("task-1")).thenReturn(specTask(TaskState.WORKING));
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getTenantUid()).thenReturn("test-tenant");
+        when(agentRestHandler.getTask("task-1", null, null, "test-tenant", callContext))
+                .thenReturn(new ProtoRestResponse(200, task, JsonPrinters.WITH_DEFAULT_VALUES));
+
+        // When
+        var response = waitingController.waitForTask(exchange, null, "task-1", null, null, "completed", 5000L)
+                .toFuture();
+        var doneBeforeUpdate = response.isDone();
+        observableTaskStore.save(specTask(TaskState.COMPLETED));
+
+        // Then
+        assertFalse(doneBeforeUpdate);
+        assertEquals(HttpStatus.OK, response.get().getStatusCode());
+        assertEquals(TaskETags.of(task), response.get().getHeaders().getETag());
+        assertEquals(0, observableTaskStore.waiting());
+    }
+
+    @Test
+    void shouldReadWaitedTaskOnDispatchScheduler() throws Exception {
+        // Given
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks/task-1?waitFor=completed"));
+        var task = Task.newBuilder().setId("task-1").build();
+        var observableTaskStore = new ObservableTaskStore(taskStore);
+        var dispatchScheduler = Schedulers.newSingle("test-dispatch");
+        var waitingController = new TaskController(
+                agentRestHandler,
+                callContextFactory,
+                new RestControllerOptions()
+                        .withDispatchScheduler(dispatchScheduler)
+                        .withObservableTaskStore(observableTaskStore)
+        );
+        var readingThread = new AtomicReference<String>();
+        when(taskStore.get("task-1")).thenReturn(specTask(TaskState.WORKING));
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getTenantUid()).thenReturn("test-tenant");
+        when(agentRestHandler.getTask("task-1", null, null, "test-tenant", callContext)).thenAnswer(invocation -> {
+            readingThread.set(Thread.currentThread().getName());
+            return new ProtoRestResponse(200, task, JsonPrinters.WITH_DEFAULT_VALUES);
+        });
+
+        // When
+        var response = waitingController.waitForTask(exchange, null, "task-1", null, null, "completed", 5000L)
+                .toFuture();
+        observableTaskStore.save(specTask(TaskState.COMPLETED));
+
+        // Then
+        try {
+            assertEquals(HttpStatus.OK, response.get(5, TimeUnit.SECONDS).getStatusCode());
+            assertTrue(readingThread.get().startsWith("test-dispatch"));
+            assertNotEquals(Thread.currentThread().getName(), readingThread.get());
+        } finally {
+            dispatchScheduler.dispose();
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidWaitedState() {
+        // Given
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks/task-1?waitFor=done"));
+
+        // When
+        var response = controller.waitForTask(exchange, null, "task-1", null, null, "done", null).block();
+
+        // Then
+        assertNotNull(response);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(agentRestHandler);
+    }
+
+    @Test
+    void shouldReturnArtifactPartAsResource() {
+        // Given
+        var artifactPartReader = mock(ArtifactPartReader.class);
+        controller = new TaskController(
+                agentRestHandler,
+                callContextFactory,
+                new RestControllerOptions().withArtifactPartReader(artifactPartReader)
+        );
+        var resource = new ByteArrayResource("%PDF".getBytes(StandardCharsets.UTF_8));
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getTenantUid()).thenReturn("test-tenant");
+        when(artifactPartReader.read("task-1", "artifact-1", 0, "test-tenant", callContext))
+                .thenReturn(ArtifactPartContent.of(resource, MediaType.APPLICATION_PDF, "report.pdf"));
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks/task-1/artifacts/artifact-1/parts/0"));
+
+        // When
+        var response = controller.getArtifactPart(exchange, null, "task-1", "artifact-1", 0);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_PDF, response.getHeaders().getContentType());
+        assertEquals("report.pdf", response.getHeaders().getContentDisposition().getFilename());
+        assertTrue(response.getHeaders().getContentDisposition().isInline());
+        assertEquals("nosniff", response.getHeaders().getFirst("X-Content-Type-Options"));
+        assertSame(resource, response.getBody());
+        verify(callContextFactory).build(any(), isNull(), anyString());
+    }
+
+    @Test
+    void shouldSendScriptableArtifactPartAsSandboxedAttachment() {
+        // Given
+        var artifactPartReader = mock(ArtifactPartReader.class);
+        controller = new TaskController(
+                agentRestHandler,
+                callContextFactory,
+                new RestControllerOptions().withArtifactPartReader(artifactPartReader)
+        );
+        var resource = new ByteArrayResource("<script>alert(1)</script>".getBytes(StandardCharsets.UTF_8));
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getTenantUid()).thenReturn("test-tenant");
+        when(artifactPartReader.read("task-1", "artifact-1", 0, "test-tenant", callContext))
+                .thenReturn(ArtifactPartContent.of(resource, MediaType.TEXT_HTML, "page.html"));
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks/task-1/artifacts/artifact-1/parts/0"));
+
+        // When
+        var response = controller.getArtifactPart(exchange, null, "task-1", "artifact-1", 0);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getHeaders().getContentDisposition().isAttachment());
+        assertEquals("page.html", response.getHeaders().getContentDisposition().getFilename());
+        assertEquals("nosniff", response.getHeaders().getFirst("X-Content-Type-Options"));
+        assertEquals("default-src 'none'; sandbox", response.getHeaders().getFirst("Content-Security-Policy"));
+    }
+
+    @Test
+    void shouldRedirectToWebLocationsOnly() {
+        // Given
+        var artifactPartReader = mock(ArtifactPartReader.class);
+        controller = new TaskController(
+                agentRestHandler,
+                callContextFactory,
+                new RestControllerOptions().withArtifactPartReader(artifactPartReader)
+        );
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getTenantUid()).thenReturn("test-tenant");
+        when(artifactPartReader.read("task-1", "artifact-1", 0, "test-tenant", callContext))
+                .thenReturn(ArtifactPartContent.redirect(
+                        URI.create("https://files.example.com/report.pdf"), MediaType.APPLICATION_PDF, null
+                ));
+        when(artifactPartReader.read("task-1", "artifact-1", 1, "test-tenant", callContext))
+                .thenReturn(ArtifactPartContent.redirect(
+                        URI.create("javascript:alert(1)"), MediaType.TEXT_HTML, null
+                ));
+        when(artifactPartReader.read("task-1", "artifact-1", 2, "test-tenant", callContext))
+                .thenReturn(ArtifactPartContent.redirect(
+                        URI.create("file:///etc/passwd"), MediaType.TEXT_PLAIN, null
+                ));
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks/task-1/artifacts/artifact-1/parts/0"));
+
+        // When
+        var webLocation = controller.getArtifactPart(exchange, null, "task-1", "artifact-1", 0);
+        var scriptLocation = controller.getArtifactPart(exchange, null, "task-1", "artifact-1", 1);
+        var fileLocation = controller.getArtifactPart(exchange, null, "task-1", "artifact-1", 2);
+
+        // Then
+        assertEquals(HttpStatus.SEE_OTHER, webLocation.getStatusCode());
+        assertEquals(URI.create("https://files.example.com/report.pdf"), webLocation.getHeaders().getLocation());
+        assertEquals(HttpStatus.NOT_FOUND, scriptLocation.getStatusCode());
+        assertNull(scriptLocation.getHeaders().getLocation());
+        assertEquals(HttpStatus.NOT_FOUND, fileLocation.getStatusCode());
+    }
+
+    @Test
+    void shouldAnswerMissingArtifactPart() {
+        // Given
+        var artifactPartReader = mock(ArtifactPartReader.class);
+        controller = new TaskController(
+                agentRestHandler,
+                callContextFactory,
+                new RestControllerOptions().withArtifactPartReader(artifactPartReader)
+        );
+        when(callContextFactory.build(any(), any(), anyString())).thenReturn(callContext);
+        when(callContext.getTenantUid()).thenReturn("test-tenant");
+        when(artifactPartReader.read("task-1", "artifact-1", 3, "test-tenant", callContext)).thenReturn(null);
+        when(artifactPartReader.read("task-2", "artifact-1", 0, "test-tenant", callContext))
+                .thenThrow(new TaskNotFoundError());
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks/task-1/artifacts/artifact-1/parts/3"));
+
+        // When
+        var missingPart = controller.getArtifactPart(exchange, null, "task-1", "artifact-1", 3);
+        var missingTask = controller.getArtifactPart(exchange, null, "task-2", "artifact-1", 0);
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, missingPart.getStatusCode());
+        assertNull(missingPart.getBody());
+        assertEquals(HttpStatus.NOT_FOUND, missingTask.getStatusCode());
+    }
+
+    @Test
+    void shouldNotSupportArtifactPartsWithoutReader() {
+        // Given
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks/task-1/artifacts/artifact-1/parts/0"));
+
+        // When
+        var response = controller.getArtifactPart(exchange, null, "task-1", "artifact-1", 0);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    private static io.a2a.spec.Task specTask(TaskState state) {
+        var task = mock(io.a2a.spec.Task.class);
+        var status = mock(TaskStatus.class);
+        lenient().when(task.id()).thenReturn("task-1");
+        when(task.status()).thenReturn(status);
+        when(status.state()).thenReturn(state);
+        return task;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String content(Object body) {
+        var buffers = ((Flux<DataBuffer>) body).collectList().block();
+        assertNotNull(buffers);
+
+        var content = new StringBuilder();
+        for (var buffer : buffers) {
+            content.append(buffer.toString(StandardCharsets.UTF_8));
+            DataBufferUtils.release(buffer);
+        }
+
+        return content.toString();
+    }
+}
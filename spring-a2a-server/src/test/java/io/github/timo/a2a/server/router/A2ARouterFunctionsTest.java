@@ -0,0 +1,110 @@
+package io.github.timo.a2a.server.router;
+
+import io.github.timo.a2a.server.card.AgentCardController;
+import io.github.timo.a2a.server.rest.controller.TaskController;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class A2ARouterFunctionsTest {
+
+    @Mock
+    private AgentCardController agentCardController;
+
+    @Mock
+    private TaskController taskController;
+
+    @Mock
+    private io.github.timo.a2a.server.jsonrpc.controller.MessageController jsonRpcMessageController;
+
+    @Test
+    void shouldGetAgentCard() {
+        // Given
+        doReturn(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body("{\"name\":\"agent\"}"))
+                .when(agentCardController).getAgentCard();
+        var client = WebTestClient.bindToRouterFunction(A2ARouterFunctions.agentCard(agentCardController)).build();
+
+        // When / Then
+        client.get().uri("/.well-known/agent-card.json")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(String.class).isEqualTo("{\"name\":\"agent\"}");
+    }
+
+    @Test
+    void shouldGetTask() {
+        // Given
+        doReturn(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body("{\"id\":\"task-1\"}"))
+                .when(taskController).getTask(any(), isNull(), eq("task-1"), eq(2), isNull());
+        var client = WebTestClient.bindToRouterFunction(A2ARouterFunctions.tasks(taskController)).build();
+
+        // When / Then
+        client.get().uri("/tasks/task-1?historyLength=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentLength(15)
+                .expectBody(String.class).isEqualTo("{\"id\":\"task-1\"}");
+    }
+
+    @Test
+    void shouldRejectInvalidQueryParameter() {
+        // Given
+        var client = WebTestClient.bindToRouterFunction(A2ARouterFunctions.tasks(taskController)).build();
+
+        // When / Then
+        client.get().uri("/tasks/task-1?historyLength=two")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).value(body -> assertTrue(body.contains("historyLength must be an integer")));
+        verifyNoInteractions(taskController);
+    }
+
+    @Test
+    void shouldRouteStreamingJsonRpcRequests() {
+        // Given
+        doReturn(Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(Flux.just("{\"id\":1}"))))
+                .when(jsonRpcMessageController).sendMessageStreaming(any(), isNull(), any());
+        var client = WebTestClient.bindToRouterFunction(A2ARouterFunctions.jsonRpc(jsonRpcMessageController)).build();
+
+        // When / Then
+        client.post().uri("/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"SendStreamingMessage\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("data:{\"id\":1}\n\n");
+        verify(jsonRpcMessageController, never()).sendMessage(any(), any(), any());
+    }
+
+    @Test
+    void shouldRouteJsonRpcRequests() {
+        // Given
+        doReturn(Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body("{\"id\":1}")))
+                .when(jsonRpcMessageController).sendMessage(any(), isNull(), any());
+        var client = WebTestClient.bindToRouterFunction(A2ARouterFunctions.jsonRpc(jsonRpcMessageController)).build();
+
+        // When / Then
+        client.post().uri("/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"SendMessage\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("{\"id\":1}");
+        verify(jsonRpcMessageController, never()).sendMessageStreaming(any(), any(), any());
+    }
+}
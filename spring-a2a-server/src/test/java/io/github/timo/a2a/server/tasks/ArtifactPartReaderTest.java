@@ -0,0 +1,177 @@
+package io.github.timo.a2a.server.tasks;
+
+import io.a2a.server.ServerCallContext;
+import io.a2a.server.requesthandlers.RequestHandler;
+import io.a2a.spec.Artifact;
+import io.a2a.spec.FilePart;
+import io.a2a.spec.FileWithBytes;
+import io.a2a.spec.FileWithUri;
+import io.a2a.spec.InvalidParamsError;
+import io.a2a.spec.Part;
+import io.a2a.spec.Task;
+import io.a2a.spec.TaskNotFoundError;
+import io.a2a.spec.TaskQueryParams;
+import io.a2a.spec.TextPart;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArtifactPartReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private RequestHandler requestHandler;
+
+    @Mock
+    private ServerCallContext context;
+
+    @Mock
+    private Task task;
+
+    @Mock
+    private Artifact artifact;
+
+    @Test
+    void shouldDecodeInlineFileBytes() throws IOException {
+        // Given
+        var bytes = Base64.getEncoder().encodeToString("%PDF".getBytes(StandardCharsets.UTF_8));
+        givenParts(new FilePart(new FileWithBytes("application/pdf", "report.pdf", bytes)));
+        var reader = new ArtifactPartReader(requestHandler);
+
+        // When
+        var content = reader.read("task-1", "artifact-1", 0, "tenant", context);
+
+        // Then
+        assertNotNull(content);
+        assertNotNull(content.resource());
+        assertEquals(MediaType.APPLICATION_PDF, content.mediaType());
+        assertEquals("report.pdf", content.filename());
+        assertArrayEquals("%PDF".getBytes(StandardCharsets.UTF_8), content.resource().getContentAsByteArray());
+    }
+
+    @Test
+    void shouldReadTextPartAsPlainText() throws IOException {
+        // Given
+        givenParts(new TextPart("first"), new TextPart("héllo"));
+        var reader = new ArtifactPartReader(requestHandler);
+
+        // When
+        var content = reader.read("task-1", "artifact-1", 1, "tenant", context);
+
+        // Then
+        assertNotNull(content);
+        assertNotNull(content.resource());
+        assertTrue(MediaType.TEXT_PLAIN.equalsTypeAndSubtype(content.mediaType()));
+        assertEquals("héllo", content.resource().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldServeFileUnderFileRoot() throws IOException {
+        // Given
+        var file = Files.writeString(directory.resolve("image.png"), "png");
+        givenParts(new FilePart(new FileWithUri("image/png", "image.png", file.toUri().toString())));
+        var reader = new ArtifactPartReader(requestHandler, List.of(directory));
+
+        // When
+        var content = reader.read("task-1", "artifact-1", 0, "tenant", context);
+
+        // Then
+        assertNotNull(content);
+        assertNotNull(content.resource());
+        assertTrue(content.resource().isFile());
+        assertEquals(MediaType.IMAGE_PNG, content.mediaType());
+        assertEquals("png", content.resource().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldNotServeFileOutsideFileRoots() throws IOException {
+        // Given
+        var root = Files.createDirectory(directory.resolve("root"));
+        var file = Files.writeString(directory.resolve("secret.txt"), "secret");
+        var escaping = root.resolve("..").resolve("secret.txt").toUri().toString();
+        givenParts(new FilePart(new FileWithUri("text/plain", "secret.txt", escaping)));
+        var reader = new ArtifactPartReader(requestHandler, List.of(root));
+
+        // When
+        var content = reader.read("task-1", "artifact-1", 0, "tenant", context);
+
+        // Then
+        assertNull(content);
+        assertTrue(Files.exists(file));
+    }
+
+    @Test
+    void shouldRedirectToRemoteFile() {
+        // Given
+        givenParts(new FilePart(new FileWithUri(null, "video.mp4", "https://cdn.example.com/video.mp4")));
+        var reader = new ArtifactPartReader(requestHandler);
+
+        // When
+        var content = reader.read("task-1", "artifact-1", 0, "tenant", context);
+
+        // Then
+        assertNotNull(content);
+        assertNull(content.resource());
+        assertEquals(URI.create("https://cdn.example.com/video.mp4"), content.location());
+        assertEquals(MediaType.APPLICATION_OCTET_STREAM, content.mediaType());
+    }
+
+    @Test
+    void shouldReturnNullForMissingArtifactOrPart() {
+        // Given
+        givenParts(new TextPart("only"));
+        var reader = new ArtifactPartReader(requestHandler);
+
+        // When / Then
+        assertNull(reader.read("task-1", "artifact-1", 1, "tenant", context));
+        assertNull(reader.read("task-1", "artifact-2", 0, "tenant", context));
+    }
+
+    @Test
+    void shouldRejectMissingTaskAndNegativeIndex() {
+        // Given
+        when(requestHandler.onGetTask(new TaskQueryParams("task-2", 0, "tenant"), context))
+                .thenThrow(new TaskNotFoundError());
+        var reader = new ArtifactPartReader(requestHandler);
+
+        // When / Then
+        assertThrows(TaskNotFoundError.class, () -> reader.read("task-2", "artifact-1", 0, "tenant", context));
+        assertThrows(InvalidParamsError.class, () -> reader.read("task-1", "artifact-1", -1, "tenant", context));
+    }
+
+    @Test
+    void shouldReadTaskInTenantOfRequest() {
+        // Given
+        when(requestHandler.onGetTask(new TaskQueryParams("task-1", 0, "other-tenant"), context))
+                .thenThrow(new TaskNotFoundError());
+        var reader = new ArtifactPartReader(requestHandler);
+
+        // When / Then
+        assertThrows(TaskNotFoundError.class, () -> reader.read("task-1", "artifact-1", 0, "other-tenant", context));
+        verify(requestHandler).onGetTask(new TaskQueryParams("task-1", 0, "other-tenant"), context);
+    }
+
+    private void givenParts(Part<?>... parts) {
+        when(requestHandler.onGetTask(new TaskQueryParams("task-1", 0, "tenant"), context)).thenReturn(task);
+        when(task.artifacts()).thenReturn(List.of(artifact));
+        when(artifact.artifactId()).thenReturn("artifact-1");
+        lenient().when(artifact.parts()).thenReturn(List.of(parts));
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.timo.a2a.server.tasks;
+
+import io.a2a.server.tasks.TaskStore;
+import io.a2a.spec.InvalidParamsError;
+import io.a2a.spec.Task;
+import io.a2a.spec.TaskState;
+import io.a2a.spec.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ObservableTaskStoreTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock
+    private TaskStore delegate;
+
+    @Test
+    void shouldCompleteImmediatelyWhenTaskIsInState() {
+        // Given
+        var completed = task(TaskState.COMPLETED);
+        when(delegate.get("task-1")).thenReturn(completed);
+        var store = new ObservableTaskStore(delegate);
+
+        // When
+        var task = store.awaitState("task-1", Set.of(TaskState.COMPLETED), TIMEOUT).block(TIMEOUT);
+
+        // Then
+        assertSame(completed, task);
+        assertEquals(0, store.waiting());
+    }
+
+    @Test
+    void shouldCompleteWhenMatchingUpdateIsSaved() throws Exception {
+        // Given
+        var working = task(TaskState.WORKING);
+        var inputRequired = task(TaskState.INPUT_REQUIRED);
+        var completed = task(TaskState.COMPLETED);
+        when(delegate.get("task-1")).thenReturn(working);
+        var store = new ObservableTaskStore(delegate);
+
+        // When
+        var future = store.awaitState("task-1", EnumSet.of(TaskState.COMPLETED, TaskState.FAILED), TIMEOUT)
+                .toFuture();
+        store.save(inputRequired);
+        var waitingAfterFirstSave = store.waiting();
+        store.save(completed);
+
+        // Then
+        assertEquals(1, waitingAfterFirstSave);
+        assertSame(completed, future.get());
+        assertEquals(0, store.waiting());
+        verify(delegate).save(inputRequired);
+        verify(delegate).save(completed);
+    }
+
+    @Test
+    void shouldCompleteEmptyOnTimeout() {
+        // Given
+        var working = task(TaskState.WORKING);
+        when(delegate.get("task-1")).thenReturn(working);
+        var store = new ObservableTaskStore(delegate);
+
+        // When
+        var task = store.awaitState("task-1", Set.of(TaskState.COMPLETED), Duration.ofMillis(10)).block(TIMEOUT);
+
+        // Then
+        assertNull(task);
+        assertEquals(0, store.waiting());
+    }
+
+    @Test
+    void shouldCompleteEmptyWhenTaskDoesNotExist() {
+        // Given
+        var store = new ObservableTaskStore(delegate);
+
+        // When
+        var task = store.awaitState("task-1", Set.of(TaskState.COMPLETED), TIMEOUT).block(TIMEOUT);
+
+        // Then
+        assertNull(task);
+        assertEquals(0, store.waiting());
+    }
+
+    @Test
+    void shouldParseTaskStates() {
+        // Then
+        assertEquals(
+                EnumSet.of(TaskState.COMPLETED, TaskState.CANCELED, TaskState.INPUT_REQUIRED),
+                TaskStates.parseList("completed, TASK_STATE_CANCELLED,input-required")
+        );
+        assertTrue(TaskStates.parseList("").isEmpty());
+        assertThrows(InvalidParamsError.class, () -> TaskStates.parseList("completed,done"));
+    }
+
+    private static Task task(TaskState state) {
+        var task = mock(Task.class);
+        var status = mock(TaskStatus.class);
+        lenient().when(task.id()).thenReturn("task-1");
+        lenient().when(task.status()).thenReturn(status);
+        lenient().when(status.state()).thenReturn(state);
+        return task;
+    }
+}
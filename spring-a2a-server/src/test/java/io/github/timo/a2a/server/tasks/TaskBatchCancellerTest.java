@@ -0,0 +1,172 @@
+package io.github.timo.a2a.server.tasks;
+
+import io.a2a.server.ServerCallContext;
+import io.a2a.server.requesthandlers.RequestHandler;
+import io.a2a.spec.InvalidParamsError;
+import io.a2a.spec.ListTasksParams;
+import io.a2a.spec.ListTasksResult;
+import io.a2a.spec.Task;
+import io.a2a.spec.TaskIdParams;
+import io.a2a.spec.TaskNotCancelableError;
+import io.a2a.spec.TaskNotFoundError;
+import io.a2a.spec.TaskState;
+import io.a2a.spec.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.Exceptions;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchCancellerTest {
+
+    @Mock
+    private RequestHandler requestHandler;
+
+    @Mock
+    private ServerCallContext context;
+
+    @Mock
+    private Task cancelledTask;
+
+    private final Scheduler scheduler = Schedulers.immediate();
+
+    @Test
+    void shouldCancelTasksById() throws Exception {
+        // Given
+        var notCancelable = new TaskNotCancelableError();
+        when(requestHandler.onCancelTask(any(TaskIdParams.class), eq(context))).thenAnswer(invocation -> {
+            TaskIdParams params = invocation.getArgument(0);
+            return switch (params.id()) {
+                case "task-1" -> cancelledTask;
+                case "task-2" -> throw notCancelable;
+                default -> null;
+            };
+        });
+        var canceller = new TaskBatchCanceller(requestHandler, scheduler);
+
+        // When
+        var cancellation = canceller.cancel(
+                new TaskBatchCancelRequest(List.of("task-1", "task-2", "task-3", "task-1"), null), "tenant", context
+        ).block();
+
+        // Then
+        assertNotNull(cancellation);
+        var outcomes = cancellation.outcomes();
+        assertEquals(3, outcomes.size());
+        assertEquals(TaskCancelOutcome.cancelled("task-1", cancelledTask), outcomes.get(0));
+        assertSame(notCancelable, outcomes.get(1).error());
+        assertInstanceOf(TaskNotFoundError.class, outcomes.get(2).error());
+        verify(requestHandler).onCancelTask(new TaskIdParams("task-1", "tenant"), context);
+    }
+
+    @Test
+    void shouldCancelUnfinishedTasksOfContext() {
+        // Given
+        var working = task("task-1", TaskState.WORKING);
+        var completed = task("task-2", TaskState.COMPLETED);
+        var result = mock(ListTasksResult.class);
+        when(result.tasks()).thenReturn(List.of(working, completed));
+        when(requestHandler.onListTasks(any(ListTasksParams.class), eq(context))).thenReturn(result);
+        when(requestHandler.onCancelTask(any(TaskIdParams.class), eq(context))).thenReturn(cancelledTask);
+        var canceller = new TaskBatchCanceller(requestHandler, scheduler);
+
+        // When
+        var cancellation = canceller.cancel(new TaskBatchCancelRequest(List.of(), "context-1"), "", context).block();
+
+        // Then
+        assertNotNull(cancellation);
+        assertEquals(List.of(TaskCancelOutcome.cancelled("task-1", cancelledTask)), cancellation.outcomes());
+        verify(requestHandler, times(1)).onCancelTask(any(TaskIdParams.class), eq(context));
+    }
+
+    @Test
+    void shouldRejectInvalidBatches() {
+        // Given
+        var canceller = new TaskBatchCanceller(requestHandler, scheduler, 2);
+
+        // Then
+        assertInvalidParams(canceller, new TaskBatchCancelRequest(List.of(), null));
+        assertInvalidParams(canceller, new TaskBatchCancelRequest(List.of("a"), "context-1"));
+        assertInvalidParams(canceller, new TaskBatchCancelRequest(List.of("a", "b", "c"), null));
+        verifyNoInteractions(requestHandler);
+    }
+
+    @Test
+    void shouldBoundConcurrentCancellationsOfBatch() {
+        // Given
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        when(requestHandler.onCancelTask(any(TaskIdParams.class), eq(context))).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            running.decrementAndGet();
+            return cancelledTask;
+        });
+        var pool = Schedulers.newBoundedElastic(8, 100, "task-batch-cancel-test");
+        var canceller = new TaskBatchCanceller(requestHandler, pool, 100, 2);
+        var ids = IntStream.range(0, 20).mapToObj(i -> "task-" + i).toList();
+
+        // When
+        var cancellation = canceller.cancel(new TaskBatchCancelRequest(ids, null), "", context).block();
+        pool.dispose();
+
+        // Then
+        assertNotNull(cancellation);
+        assertEquals(20, cancellation.outcomes().size());
+        assertEquals("task-0", cancellation.outcomes().get(0).taskId());
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    void shouldParseRequest() {
+        // When
+        var byIds = TaskBatchCancelRequest.fromJson("{\"ids\": [\"task-1\"]}");
+        var byContext = TaskBatchCancelRequest.fromJson("{\"contextId\": \"context-1\"}");
+
+        // Then
+        assertEquals(new TaskBatchCancelRequest(List.of("task-1"), null), byIds);
+        assertEquals(new TaskBatchCancelRequest(List.of(), "context-1"), byContext);
+        assertThrows(InvalidParamsError.class, () -> TaskBatchCancelRequest.fromJson("{\"contextId\": 1}"));
+    }
+
+    @Test
+    void shouldWriteErrorsAsJson() throws Exception {
+        // Given
+        var cancellation = new TaskBatchCancellation(List.of(
+                TaskCancelOutcome.failed("task-1", new TaskNotCancelableError())
+        ));
+
+        // When
+        var json = cancellation.toJson();
+
+        // Then
+        assertTrue(json.startsWith("{\"results\":[{\"taskId\":\"task-1\",\"error\":{"));
+        assertTrue(json.contains("\"message\": "));
+        assertTrue(json.endsWith("}}]}"));
+    }
+
+    private void assertInvalidParams(TaskBatchCanceller canceller, TaskBatchCancelRequest request) {
+        var error = assertThrows(Throwable.class, () -> canceller.cancel(request, "", context).block());
+        assertInstanceOf(InvalidParamsError.class, Exceptions.unwrap(error));
+    }
+
+    private static Task task(String id, TaskState state) {
+        var task = mock(Task.class);
+        var status = mock(TaskStatus.class);
+        lenient().when(task.id()).thenReturn(id);
+        when(task.status()).thenReturn(status);
+        when(status.state()).thenReturn(state);
+        return task;
+    }
+}
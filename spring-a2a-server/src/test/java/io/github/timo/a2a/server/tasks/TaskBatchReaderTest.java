@@ -0,0 +1,107 @@
+package io.github.timo.a2a.server.tasks;
+
+import io.a2a.server.ServerCallContext;
+import io.a2a.server.requesthandlers.RequestHandler;
+import io.a2a.spec.InternalError;
+import io.a2a.spec.InvalidParamsError;
+import io.a2a.spec.Task;
+import io.a2a.spec.TaskNotFoundError;
+import io.a2a.spec.TaskQueryParams;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchReaderTest {
+
+    @Mock
+    private RequestHandler requestHandler;
+
+    @Mock
+    private ServerCallContext context;
+
+    @Mock
+    private Task task1;
+
+    @Test
+    void shouldReadTasksOfTenantThroughRequestHandler() {
+        // Given
+        when(requestHandler.onGetTask(any(TaskQueryParams.class), eq(context))).thenAnswer(invocation -> {
+            TaskQueryParams params = invocation.getArgument(0);
+            return switch (params.id()) {
+                case "task-1" -> task1;
+                case "task-2" -> throw new TaskNotFoundError();
+                default -> null;
+            };
+        });
+        var reader = new TaskBatchReader(requestHandler);
+
+        // When
+        var batch = reader.read(
+                new TaskBatchRequest(List.of("task-1", "task-2", "task-3", "task-1"), 2), "tenant", context
+        );
+
+        // Then
+        assertEquals(Map.of("task-1", task1), batch.tasks());
+        assertEquals(List.of("task-2", "task-3"), batch.missingTaskIds());
+        verify(requestHandler, times(1)).onGetTask(new TaskQueryParams("task-1", 2, "tenant"), context);
+    }
+
+    @Test
+    void shouldFailBatchOnOtherErrors() {
+        // Given
+        when(requestHandler.onGetTask(any(TaskQueryParams.class), eq(context))).thenThrow(new InternalError("boom"));
+        var reader = new TaskBatchReader(requestHandler);
+
+        // Then
+        assertThrows(InternalError.class, () -> reader.read(new TaskBatchRequest(List.of("task-1"), null), "", context));
+    }
+
+    @Test
+    void shouldRejectInvalidBatches() {
+        // Given
+        var reader = new TaskBatchReader(requestHandler, 2);
+
+        // Then
+        assertThrows(InvalidParamsError.class,
+                () -> reader.read(new TaskBatchRequest(List.of(), null), "", context));
+        assertThrows(InvalidParamsError.class,
+                () -> reader.read(new TaskBatchRequest(List.of("a", "b", "c"), null), "", context));
+        assertThrows(InvalidParamsError.class,
+                () -> reader.read(new TaskBatchRequest(List.of("a"), -1), "", context));
+        verifyNoInteractions(requestHandler);
+    }
+
+    @Test
+    void shouldParseRequest() {
+        // When
+        var request = TaskBatchRequest.fromJson("{\"ids\": [\"task-1\", \"task-2\"], \"historyLength\": 3}");
+
+        // Then
+        assertEquals(List.of("task-1", "task-2"), request.ids());
+        assertEquals(3, request.historyLength());
+        assertThrows(InvalidParamsError.class, () -> TaskBatchRequest.fromJson("{\"ids\": \"task-1\"}"));
+        assertThrows(InvalidParamsError.class, () -> TaskBatchRequest.fromJson("[1, 2]"));
+        assertThrows(InvalidParamsError.class, () -> TaskBatchRequest.fromJson("{"));
+    }
+
+    @Test
+    void shouldWriteMissingTasksAsJson() throws Exception {
+        // Given
+        var batch = new TaskBatch(Map.of(), List.of("task-<1>", "task-2"));
+
+        // When
+        var json = batch.toJson(null);
+
+        // Then
+        assertEquals("{\"tasks\":{},\"missingTaskIds\":[\"task-\\u003c1\\u003e\",\"task-2\"]}", json);
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.timo.a2a.server.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class A2AMediaTypesTest {
+
+    @Test
+    void shouldDefaultToJson() {
+        assertFalse(A2AMediaTypes.acceptsProtobuf(new HttpHeaders()));
+        assertFalse(A2AMediaTypes.acceptsProtobuf(accept("*/*")));
+        assertFalse(A2AMediaTypes.acceptsProtobuf(accept("application/json, application/x-protobuf")));
+        assertFalse(A2AMediaTypes.isProtobufContent(new HttpHeaders()));
+    }
+
+    @Test
+    void shouldPreferProtobufWhenListedFirstOrWeightedHigher() {
+        assertTrue(A2AMediaTypes.acceptsProtobuf(accept("application/x-protobuf, application/json")));
+        assertTrue(A2AMediaTypes.acceptsProtobuf(accept("application/json;q=0.5, application/x-protobuf")));
+        assertTrue(A2AMediaTypes.acceptsProtobufDelimited(accept("application/x-protobuf-delimited")));
+        assertFalse(A2AMediaTypes.acceptsProtobufDelimited(accept("application/x-protobuf")));
+    }
+
+    @Test
+    void shouldPreferNdjsonOnlyWhenAskedFor() {
+        assertTrue(A2AMediaTypes.acceptsNdjson(accept("application/x-ndjson")));
+        assertTrue(A2AMediaTypes.acceptsNdjson(accept("application/json;q=0.5, application/x-ndjson")));
+        assertFalse(A2AMediaTypes.acceptsNdjson(accept("application/json, application/x-ndjson")));
+        assertFalse(A2AMediaTypes.acceptsNdjson(accept("*/*")));
+    }
+
+    @Test
+    void shouldDetectProtobufContent() {
+        // Given
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/x-protobuf;charset=UTF-8"));
+
+        // Then
+        assertTrue(A2AMediaTypes.isProtobufContent(headers));
+    }
+
+    private static HttpHeaders accept(String accept) {
+        var headers = new HttpHeaders();
+        headers.setAccept(MediaType.parseMediaTypes(List.of(accept)));
+        return headers;
+    }
+}
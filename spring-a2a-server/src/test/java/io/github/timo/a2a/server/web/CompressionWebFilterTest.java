@@ -0,0 +1,195 @@
+package io.github.timo.a2a.server.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressionWebFilterTest {
+    private static final String LARGE_JSON = "{\"history\":[" + "{\"text\":\"hello agent\"},".repeat(200) + "{}]}";
+
+    private final CompressionWebFilter filter = new CompressionWebFilter(
+            new CompressionOptions(true, DataSize.ofKilobytes(1), CompressionOptions.DEFAULT_PATHS),
+            List.of(ContentCoding.GZIP)
+    );
+
+    @Test
+    void shouldCompressLargeJsonResponse() throws Exception {
+        // Given
+        var exchange = exchange("/tasks/task-1", "gzip, deflate");
+
+        // When
+        filter.filter(exchange, write(MediaType.APPLICATION_JSON, Flux.just(LARGE_JSON))).block();
+
+        // Then
+        var response = exchange.getResponse();
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), response.getHeaders().getVary());
+        assertEquals(LARGE_JSON, gunzip(body(exchange)));
+    }
+
+    @Test
+    void shouldNotCompressResponseBelowMinSize() {
+        // Given
+        var exchange = exchange("/tasks/task-1", "gzip");
+
+        // When
+        filter.filter(exchange, write(MediaType.APPLICATION_JSON, Flux.just("{\"id\":\"task-1\"}"))).block();
+
+        // Then
+        var response = exchange.getResponse();
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("{\"id\":\"task-1\"}", response.getBodyAsString().block());
+    }
+
+    @Test
+    void shouldNotCompressWithoutAcceptedCoding() {
+        // Given
+        var exchange = exchange("/tasks/task-1", "br, gzip;q=0");
+
+        // When
+        filter.filter(exchange, write(MediaType.APPLICATION_JSON, Flux.just(LARGE_JSON))).block();
+
+        // Then
+        assertNull(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE_JSON, exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void shouldNotCompressOtherPaths() {
+        // Given
+        var exchange = exchange("/actuator/health", "gzip");
+
+        // When
+        filter.filter(exchange, write(MediaType.APPLICATION_JSON, Flux.just(LARGE_JSON))).block();
+
+        // Then
+        assertNull(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void shouldFlushEveryEventOfCompressedStream() throws Exception {
+        // Given
+        var exchange = exchange("/messages/message:stream", "gzip");
+        var events = Flux.just("data:{\"a\":1}\n\n", "data:{\"b\":2}\n\n");
+
+        // When
+        filter.filter(exchange, write(MediaType.TEXT_EVENT_STREAM, events)).block();
+
+        // Then
+        var chunks = chunks(exchange);
+        // One chunk per event and the gzip trailer, the first event decodes on its own
+        assertEquals(3, chunks.size());
+        var firstEvent = new GZIPInputStream(new ByteArrayInputStream(chunks.getFirst()));
+        assertEquals("data:{\"a\":1}\n\n", readAvailable(firstEvent));
+        assertEquals("data:{\"a\":1}\n\ndata:{\"b\":2}\n\n", gunzip(concat(chunks)));
+    }
+
+    @Test
+    void shouldNegotiateHighestQualityCoding() {
+        // Given
+        var zstd = new ContentCoding() {
+            @Override
+            public String name() {
+                return "zstd";
+            }
+
+            @Override
+            public OutputStream encode(OutputStream out) {
+                return out;
+            }
+        };
+        var codings = List.of(zstd, ContentCoding.GZIP);
+
+        // Then
+        assertSame(zstd, ContentCoding.negotiate(headers("gzip, zstd"), codings));
+        assertSame(ContentCoding.GZIP, ContentCoding.negotiate(headers("gzip;q=1.0, zstd;q=0.5"), codings));
+        assertSame(zstd, ContentCoding.negotiate(headers("*"), codings));
+        assertNull(ContentCoding.negotiate(headers("identity"), codings));
+        assertNull(ContentCoding.negotiate(new HttpHeaders(), codings));
+    }
+
+    private static MockServerWebExchange exchange(String path, String acceptEncoding) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path)
+                .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding));
+    }
+
+    private static HttpHeaders headers(String acceptEncoding) {
+        var headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        return headers;
+    }
+
+    private static WebFilterChain write(MediaType contentType, Flux<String> body) {
+        return exchange -> writeBody(exchange, contentType, body.map(text -> DefaultDataBufferFactory.sharedInstance
+                .wrap(text.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static Mono<Void> writeBody(ServerWebExchange exchange, MediaType contentType, Flux<DataBuffer> body) {
+        exchange.getResponse().getHeaders().setContentType(contentType);
+        return exchange.getResponse().writeWith(body);
+    }
+
+    private static List<byte[]> chunks(MockServerWebExchange exchange) {
+        var chunks = exchange.getResponse().getBody().map(CompressionWebFilterTest::bytes).collectList().block();
+        assertNotNull(chunks);
+        return chunks;
+    }
+
+    private static byte[] body(MockServerWebExchange exchange) {
+        return concat(chunks(exchange));
+    }
+
+    private static byte[] bytes(DataBuffer buffer) {
+        var bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    private static byte[] concat(List<byte[]> chunks) {
+        var length = chunks.stream().mapToInt(chunk -> chunk.length).sum();
+        var bytes = new byte[length];
+        var offset = 0;
+        for (var chunk : chunks) {
+            System.arraycopy(chunk, 0, bytes, offset, chunk.length);
+            offset += chunk.length;
+        }
+
+        return bytes;
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (var inputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Reads what a client can decode before the stream ends.
+     */
+    private static String readAvailable(InputStream inputStream) throws IOException {
+        var buffer = new byte[8192];
+        var read = inputStream.read(buffer);
+        return new String(buffer, 0, read, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.timo.a2a.server.web;
+
+import com.google.gson.JsonParser;
+import io.github.timo.a2a.server.executor.AgentBusyError;
+import io.a2a.spec.InternalError;
+import io.a2a.spec.InvalidParamsError;
+import io.a2a.spec.TaskNotCancelableError;
+import io.a2a.spec.TaskNotFoundError;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorResponsesTest {
+    @Test
+    void shouldMapErrorsToHttpStatus() {
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, ErrorResponses.httpStatus(new TaskNotFoundError()));
+        assertEquals(HttpStatus.CONFLICT, ErrorResponses.httpStatus(new TaskNotCancelableError()));
+        assertEquals(HttpStatus.BAD_REQUEST, ErrorResponses.httpStatus(new InvalidParamsError("Invalid")));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, ErrorResponses.httpStatus(new InternalError("Failed")));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ErrorResponses.httpStatus(new AgentBusyError("Busy")));
+    }
+
+    @Test
+    void shouldEscapeRestErrorMessage() {
+        // Given
+        var error = new InvalidParamsError("Bad \"value\" <script>\n");
+
+        // When
+        var body = new String(ErrorResponses.encodeRestError(error), StandardCharsets.UTF_8);
+
+        // Then
+        var json = JsonParser.parseString(body).getAsJsonObject();
+        assertEquals(InvalidParamsError.class.getName(), json.get("error").getAsString());
+        assertEquals("Bad \"value\" <script>\n", json.get("message").getAsString());
+        assertEquals(body, ErrorResponses.printRestError(error));
+    }
+
+    @Test
+    void shouldReuseRestBodyOfSameMessage() {
+        // When
+        var first = ErrorResponses.encodeRestError(new InternalError("Failed"));
+        var second = ErrorResponses.encodeRestError(new InternalError("Failed"));
+        var other = ErrorResponses.encodeRestError(new InternalError("Failed again"));
+
+        // Then
+        assertSame(first, second);
+        assertNotSame(first, other);
+    }
+
+    @Test
+    void shouldPrintJsonRpcError() {
+        // Given
+        var error = new InvalidParamsError("Bad \"value\"");
+
+        // When
+        var json = JsonParser.parseString(ErrorResponses.printJsonRpcError("req-1", error)).getAsJsonObject();
+
+        // Then
+        assertEquals("2.0", json.get("jsonrpc").getAsString());
+        assertEquals("req-1", json.get("id").getAsString());
+        assertEquals(error.getCode(), json.getAsJsonObject("error").get("code").getAsInt());
+        assertEquals("Bad \"value\"", json.getAsJsonObject("error").get("message").getAsString());
+    }
+}
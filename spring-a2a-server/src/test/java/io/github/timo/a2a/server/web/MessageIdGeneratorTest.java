@@ -0,0 +1,56 @@
+package io.github.timo.a2a.server.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageIdGeneratorTest {
+
+    @Test
+    void shouldGenerateTimeOrderedUuids() {
+        // Given
+        var before = System.currentTimeMillis();
+
+        // When
+        var id = UUID.fromString(MessageIdGenerator.TIME_ORDERED.generate());
+
+        // Then
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        var timestamp = id.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis());
+    }
+
+    @Test
+    void shouldGenerateUniqueIds() {
+        // Given
+        var ids = new HashSet<String>();
+
+        // When
+        for (var i = 0; i < 1000; i++) {
+            ids.add(MessageIdGenerator.TIME_ORDERED.generate());
+            ids.add(MessageIdGenerator.RANDOM.generate());
+        }
+
+        // Then
+        assertEquals(2000, ids.size());
+    }
+
+    @Test
+    void shouldGenerateCounterIds() {
+        // Given
+        var generator = MessageIdGenerator.counter("node-1-");
+
+        // When
+        var first = generator.generate();
+        var second = generator.generate();
+
+        // Then
+        assertEquals("node-1-1", first);
+        assertEquals("node-1-2", second);
+        assertNotEquals(MessageIdGenerator.counter().generate(), MessageIdGenerator.counter().generate());
+    }
+}
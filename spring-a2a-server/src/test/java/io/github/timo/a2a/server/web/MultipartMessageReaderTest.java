@@ -0,0 +1,163 @@
+package io.github.timo.a2a.server.web;
+
+import io.github.timo.a2a.server.files.TempFileStore;
+import io.a2a.spec.InvalidParamsError;
+import io.a2a.spec.JSONParseError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.FilePartEvent;
+import org.springframework.http.codec.multipart.FormPartEvent;
+import org.springframework.http.codec.multipart.PartEvent;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultipartMessageReaderTest {
+    private static final String MESSAGE = "{\"message\": {\"messageId\": \"msg-1\"}}";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldAppendStoredFilesInRequestOrder() throws IOException {
+        // Given
+        var reader = new MultipartMessageReader(new TempFileStore(directory));
+        var parts = Flux.<PartEvent>concat(
+                file("first.txt", "first"),
+                FormPartEvent.create(MultipartMessageReader.MESSAGE_PART, MESSAGE),
+                file("second.txt", "second")
+        );
+
+        // When
+        var request = reader.read(parts).block();
+
+        // Then
+        assertNotNull(request);
+        var message = request.getRequest();
+        assertEquals("msg-1", message.getMessageId());
+        assertEquals(2, message.getPartsCount());
+        assertEquals("first.txt", message.getParts(0).getFile().getName());
+        assertEquals("text/plain", message.getParts(0).getFile().getMediaType());
+        assertEquals("first", Files.readString(Path.of(URI.create(message.getParts(0).getFile().getFileWithUri()))));
+        assertEquals("second", Files.readString(Path.of(URI.create(message.getParts(1).getFile().getFileWithUri()))));
+    }
+
+    @Test
+    void shouldRejectMissingMessagePartAndDeleteFiles() throws IOException {
+        // Given
+        var reader = new MultipartMessageReader(new TempFileStore(directory));
+        var parts = Flux.<PartEvent>concat(file("first.txt", "first"), file("second.txt", "second"));
+
+        // When
+        var error = readError(reader, parts);
+
+        // Then
+        assertInstanceOf(InvalidParamsError.class, error);
+        assertNoStoredFiles();
+    }
+
+    @Test
+    void shouldRejectInvalidMessageAndDeleteFiles() throws IOException {
+        // Given
+        var reader = new MultipartMessageReader(new TempFileStore(directory));
+        var parts = Flux.<PartEvent>concat(
+                file("first.txt", "first"),
+                FormPartEvent.create(MultipartMessageReader.MESSAGE_PART, "{not-json")
+        );
+
+        // When
+        var error = readError(reader, parts);
+
+        // Then
+        assertInstanceOf(JSONParseError.class, error);
+        assertNoStoredFiles();
+    }
+
+    @Test
+    void shouldRejectRequestOverPartLimitAndDeleteFiles() throws IOException {
+        // Given
+        var reader = new MultipartMessageReader(new TempFileStore(directory), 1024, 2);
+        var parts = Flux.<PartEvent>concat(
+                FormPartEvent.create(MultipartMessageReader.MESSAGE_PART, MESSAGE),
+                file("first.txt", "first"),
+                file("second.txt", "second")
+        );
+
+        // When
+        var error = readError(reader, parts);
+
+        // Then
+        assertInstanceOf(InvalidParamsError.class, error);
+        assertNoStoredFiles();
+    }
+
+    @Test
+    void shouldRejectMessagePartOverSizeLimit() {
+        // Given
+        var reader = new MultipartMessageReader(new TempFileStore(directory), 8);
+        var parts = Flux.<PartEvent>from(FormPartEvent.create(MultipartMessageReader.MESSAGE_PART, MESSAGE));
+
+        // When
+        var error = readError(reader, parts);
+
+        // Then
+        assertInstanceOf(InvalidParamsError.class, error);
+    }
+
+    @Test
+    void shouldDeleteStoredFilesWhenLaterFileExceedsLimit() throws IOException {
+        // Given
+        var reader = new MultipartMessageReader(new TempFileStore(directory, 5));
+        var parts = Flux.<PartEvent>concat(
+                file("first.txt", "first"),
+                file("second.txt", "second"),
+                FormPartEvent.create(MultipartMessageReader.MESSAGE_PART, MESSAGE)
+        );
+
+        // When
+        var error = readError(reader, parts);
+
+        // Then
+        var statusError = assertInstanceOf(ResponseStatusException.class, error);
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, statusError.getStatusCode());
+        assertNoStoredFiles();
+    }
+
+    @Test
+    void shouldUseDefaultMaxParts() {
+        assertEquals(
+                MultipartMessageReader.DEFAULT_MAX_PARTS,
+                new MultipartMessageReader(new TempFileStore(directory), 1024, 0).getMaxParts()
+        );
+    }
+
+    private static Throwable readError(MultipartMessageReader reader, Flux<PartEvent> parts) {
+        return Exceptions.unwrap(assertThrows(Throwable.class, () -> reader.read(parts).block()));
+    }
+
+    private void assertNoStoredFiles() throws IOException {
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private static Flux<FilePartEvent> file(String filename, String content) {
+        return FilePartEvent.create("file", filename, MediaType.TEXT_PLAIN, Flux.just(buffer(content)));
+    }
+
+    private static DataBuffer buffer(String value) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.timo.a2a.server.web;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenStreamsTest {
+    private final OpenStreams openStreams = new OpenStreams();
+
+    @Test
+    void shouldCountOpenStreams() {
+        // Given
+        var first = openStreams.supervise(Flux.never(), StreamingOptions.DEFAULT).subscribe();
+        var second = openStreams.supervise(Flux.never(), StreamingOptions.DEFAULT).subscribe();
+
+        // When
+        first.dispose();
+
+        // Then
+        assertEquals(1, openStreams.count());
+        second.dispose();
+        assertEquals(0, openStreams.count());
+    }
+
+    @Test
+    void shouldCloseIdleStreamAndReleaseUpstream() {
+        // Given
+        var cancelled = new AtomicBoolean();
+        var events = Sinks.many().unicast().<String>onBackpressureBuffer();
+        var options = options(Duration.ofMillis(100), Duration.ZERO);
+
+        // When
+        var received = openStreams.supervise(events.asFlux().doOnCancel(() -> cancelled.set(true)), options)
+                .doOnSubscribe(subscription -> events.tryEmitNext("event"))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertEquals(List.of("event"), received);
+        assertTrue(cancelled.get());
+        assertEquals(0, openStreams.count());
+    }
+
+    @Test
+    void shouldCloseStreamAfterMaxDuration() {
+        // Given
+        var options = options(Duration.ZERO, Duration.ofMillis(200));
+
+        // When
+        var received = openStreams.supervise(Flux.interval(Duration.ofMillis(20)), options)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertNotNull(received);
+        assertFalse(received.isEmpty());
+        assertEquals(0, openStreams.count());
+    }
+
+    private static StreamingOptions options(Duration idleTimeout, Duration maxDuration) {
+        return new StreamingOptions(
+                StreamingOptions.DEFAULT_PREFETCH,
+                StreamingOptions.DEFAULT_BATCH_WINDOW,
+                StreamingOptions.DEFAULT_MAX_BATCH_SIZE,
+                StreamingOptions.DEFAULT_DISCONNECT_POLICY,
+                StreamingOptions.DEFAULT_HEARTBEAT_INTERVAL,
+                idleTimeout,
+                maxDuration
+        );
+    }
+}
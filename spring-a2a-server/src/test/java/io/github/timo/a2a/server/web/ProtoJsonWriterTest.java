@@ -0,0 +1,83 @@
+package io.github.timo.a2a.server.web;
+
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+import io.a2a.grpc.Message;
+import io.a2a.grpc.Part;
+import io.a2a.grpc.Role;
+import io.a2a.grpc.Task;
+import io.a2a.grpc.TaskState;
+import io.a2a.grpc.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProtoJsonWriterTest {
+    private final Message message = Message.newBuilder()
+            .setMessageId("msg-1")
+            .setContextId("ctx-1")
+            .setRole(Role.ROLE_AGENT)
+            .addParts(Part.newBuilder().setText("héllo \"agent\" <b>&</b> a=b 'c'\n\t\u0001 "))
+            .addParts(Part.newBuilder().setText("second part"))
+            .setMetadata(Struct.newBuilder()
+                    .putFields("source", Value.newBuilder().setStringValue("test").build())
+                    .putFields("count", Value.newBuilder().setNumberValue(2).build()))
+            .build();
+
+    @Test
+    void shouldWriteMessageLikeJsonFormat() throws Exception {
+        // When
+        var json = ProtoJsonWriter.print(message);
+
+        // Then
+        assertTrue(ProtoJsonWriter.supports(message));
+        assertEquals(JsonPrinters.COMPACT.print(message), json);
+    }
+
+    @Test
+    void shouldWriteTaskLikeJsonFormat() throws Exception {
+        // Given
+        var task = Task.newBuilder()
+                .setId("task-1")
+                .setContextId("ctx-1")
+                .setStatus(TaskStatus.newBuilder().setState(TaskState.TASK_STATE_WORKING))
+                .addHistory(message)
+                .addHistory(message.toBuilder().setRole(Role.ROLE_USER).setMessageId("msg-2"))
+                .build();
+
+        // When
+        var json = ProtoJsonWriter.print(task);
+
+        // Then
+        assertEquals(JsonPrinters.COMPACT.print(task), json);
+    }
+
+    @Test
+    void shouldWriteEmptyMessageLikeJsonFormat() throws Exception {
+        // Given
+        var task = Task.getDefaultInstance();
+
+        // Then
+        assertEquals("{}", ProtoJsonWriter.print(task));
+        assertEquals(JsonPrinters.COMPACT.print(task), ProtoJsonWriter.print(task));
+    }
+
+    @Test
+    void shouldDelegateOtherMessagesToJsonFormat() throws Exception {
+        // Given
+        var status = TaskStatus.newBuilder().setState(TaskState.TASK_STATE_COMPLETED).build();
+
+        // Then
+        assertFalse(ProtoJsonWriter.supports(status));
+        assertEquals(JsonPrinters.COMPACT.print(status), ProtoJsonWriter.print(status));
+    }
+
+    @Test
+    void shouldWriteJsonRpcResult() throws Exception {
+        // When
+        var json = ResponseBodyWriter.printJsonRpcResult("req-1", message);
+
+        // Then
+        assertEquals("{\"jsonrpc\":\"2.0\",\"id\":\"req-1\",\"result\":" + JsonPrinters.COMPACT.print(message) + "}", json);
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.timo.a2a.server.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestBodyReaderTest {
+
+    @Test
+    void shouldUseDefaultMaxInMemorySize() {
+        assertEquals(RequestBodyReader.DEFAULT_MAX_IN_MEMORY_SIZE, new RequestBodyReader().getMaxInMemorySize());
+        assertEquals(RequestBodyReader.DEFAULT_MAX_IN_MEMORY_SIZE, new RequestBodyReader(0).getMaxInMemorySize());
+    }
+
+    @Test
+    void shouldDecodeChunkedBodyFromReader() {
+        // Given
+        var reader = new RequestBodyReader();
+
+        // When
+        var result = reader.decode(
+                new HttpHeaders(),
+                Flux.just(buffer("{\"text\":"), buffer("\"héllo\"}")),
+                bodyReader -> new BufferedReader(bodyReader).lines().collect(Collectors.joining())
+        ).block();
+
+        // Then
+        assertEquals("{\"text\":\"héllo\"}", result);
+    }
+
+    @Test
+    void shouldReadEmptyBody() {
+        // When
+        var result = new RequestBodyReader().readString(new HttpHeaders(), Flux.empty()).block();
+
+        // Then
+        assertEquals("", result);
+    }
+
+    @Test
+    void shouldRejectDeclaredContentLengthBeforeReadingBody() {
+        // Given
+        var reader = new RequestBodyReader(4);
+        var headers = new HttpHeaders();
+        headers.setContentLength(5);
+        var subscribed = new AtomicBoolean();
+        var body = Flux.just(buffer("12345")).doOnSubscribe(subscription -> subscribed.set(true));
+
+        // When
+        var error = assertThrows(ResponseStatusException.class, () -> reader.readString(headers, body).block());
+
+        // Then
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, error.getStatusCode());
+        assertFalse(subscribed.get());
+    }
+
+    @Test
+    void shouldRejectChunkedBodyExceedingLimit() {
+        // Given
+        var reader = new RequestBodyReader(4);
+
+        // When
+        var error = assertThrows(
+                ResponseStatusException.class,
+                () -> reader.readString(new HttpHeaders(), Flux.just(buffer("123"), buffer("45"))).block()
+        );
+
+        // Then
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, error.getStatusCode());
+    }
+
+    private static DataBuffer buffer(String content) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.timo.a2a.server.web;
+
+import com.google.protobuf.util.JsonFormat;
+import io.a2a.grpc.Message;
+import io.a2a.grpc.Part;
+import io.a2a.grpc.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseBodyWriterTest {
+    private static final JsonFormat.Printer PRINTER = JsonFormat.printer().omittingInsignificantWhitespace();
+
+    private final Message message = Message.newBuilder()
+            .setMessageId("msg-1")
+            .setRole(Role.ROLE_AGENT)
+            .addParts(Part.newBuilder().setText("héllo \"agent\""))
+            .build();
+
+    @Test
+    void shouldWriteJson() throws Exception {
+        // When
+        var buffer = ResponseBodyWriter.writeJson(DefaultDataBufferFactory.sharedInstance, message, PRINTER)
+                .single()
+                .block();
+
+        // Then
+        assertEquals(PRINTER.print(message), content(buffer));
+    }
+
+    @Test
+    void shouldWriteJsonRpcResultWithStringId() throws Exception {
+        // When
+        var buffer = ResponseBodyWriter.writeJsonRpcResult(
+                DefaultDataBufferFactory.sharedInstance, "req-\"1\"", message, PRINTER
+        ).single().block();
+
+        // Then
+        assertEquals(
+                "{\"jsonrpc\":\"2.0\",\"id\":\"req-\\\"1\\\"\",\"result\":" + PRINTER.print(message) + "}",
+                content(buffer)
+        );
+    }
+
+    @Test
+    void shouldWriteJsonRpcResultWithNumericAndNullId() throws Exception {
+        // When
+        var numeric = ResponseBodyWriter.encodeJsonRpcResult(DefaultDataBufferFactory.sharedInstance, 7, message, PRINTER);
+        var nullId = ResponseBodyWriter.encodeJsonRpcResult(DefaultDataBufferFactory.sharedInstance, null, message, PRINTER);
+
+        // Then
+        assertTrue(content(numeric).startsWith("{\"jsonrpc\":\"2.0\",\"id\":7,"));
+        assertTrue(content(nullId).startsWith("{\"jsonrpc\":\"2.0\",\"id\":null,"));
+    }
+
+    @Test
+    void shouldWriteLengthDelimitedProtobufStream() throws Exception {
+        // When
+        var buffers = ResponseBodyWriter.writeProtobufDelimited(
+                DefaultDataBufferFactory.sharedInstance, Flux.just(message, message)
+        ).collectList().block();
+
+        // Then
+        assertNotNull(buffers);
+        var joined = DefaultDataBufferFactory.sharedInstance.join(buffers);
+        try (var inputStream = joined.asInputStream(true)) {
+            assertEquals(message, Message.parseDelimitedFrom(inputStream));
+            assertEquals(message, Message.parseDelimitedFrom(inputStream));
+            assertNull(Message.parseDelimitedFrom(inputStream));
+        }
+    }
+
+    @Test
+    void shouldWriteJsonLines() throws Exception {
+        // When
+        var lines = ResponseBodyWriter.writeJsonLines(
+                DefaultDataBufferFactory.sharedInstance, Flux.just(message, message)
+        ).map(ResponseBodyWriterTest::content).collectList().block();
+
+        // Then
+        assertNotNull(lines);
+        assertEquals(2, lines.size());
+        assertEquals(PRINTER.print(message) + "\n", lines.get(0));
+        assertEquals(lines.get(0), lines.get(1));
+    }
+
+    private static String content(DataBuffer buffer) {
+        assertNotNull(buffer);
+
+        try {
+            return buffer.toString(StandardCharsets.UTF_8);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.timo.a2a.server.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerSentEventWriterTest {
+
+    @Test
+    void shouldKeepEventsWhenBatchingDisabled() {
+        // Given
+        var events = Flux.just("a", "b");
+
+        // When
+        var body = ServerSentEventWriter.body(events, DefaultDataBufferFactory.sharedInstance, StreamingOptions.DEFAULT);
+
+        // Then
+        assertSame(events, body);
+    }
+
+    @Test
+    void shouldCoalesceEventsWithinBatchWindow() {
+        // Given
+        var options = new StreamingOptions(32, Duration.ofSeconds(5), 3);
+
+        // When
+        var buffers = ServerSentEventWriter.body(
+                Flux.just("{\"a\":1}", "{\"b\":2}", "{\"c\":3}", "{\"d\":4}"),
+                DefaultDataBufferFactory.sharedInstance,
+                options
+        ).cast(DataBuffer.class).map(ServerSentEventWriterTest::content).collectList().block();
+
+        // Then
+        assertEquals(
+                List.of("data:{\"a\":1}\n\ndata:{\"b\":2}\n\ndata:{\"c\":3}\n\n", "data:{\"d\":4}\n\n"),
+                buffers
+        );
+    }
+
+    @Test
+    void shouldPrefixEveryLineOfMultiLineEvent() {
+        // When
+        var buffer = ServerSentEventWriter.encode(DefaultDataBufferFactory.sharedInstance, List.of("{\n  \"a\": 1\n}"));
+
+        // Then
+        assertEquals("data:{\ndata:  \"a\": 1\ndata:}\n\n", content(buffer));
+    }
+
+    @Test
+    void shouldDefaultInvalidOptions() {
+        // When
+        var options = new StreamingOptions(0, null, -1);
+
+        // Then
+        assertEquals(StreamingOptions.DEFAULT, options);
+        assertFalse(options.isBatching());
+        assertEquals(24, options.replenishSize());
+    }
+
+    @Test
+    void shouldInterleaveHeartbeatsUntilEventsComplete() {
+        // Given
+        var options = heartbeatOptions(Duration.ZERO);
+        var events = Flux.just("{\"a\":1}").concatWith(Flux.<String>never().take(Duration.ofMillis(250)));
+
+        // When
+        var body = ServerSentEventWriter.body(events, DefaultDataBufferFactory.sharedInstance, options)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertNotNull(body);
+        assertEquals("{\"a\":1}", body.getFirst());
+        assertTrue(body.size() > 1);
+        body.stream().skip(1).forEach(heartbeat -> assertEquals(
+                ServerSentEventWriter.HEARTBEAT_COMMENT, assertInstanceOf(ServerSentEvent.class, heartbeat).comment()
+        ));
+    }
+
+    @Test
+    void shouldWriteHeartbeatsIntoBuffersWhenBatching() {
+        // Given
+        var options = heartbeatOptions(Duration.ofMillis(10));
+
+        // When
+        var body = ServerSentEventWriter.body(
+                Flux.<String>never().take(Duration.ofMillis(150)), DefaultDataBufferFactory.sharedInstance, options
+        ).cast(DataBuffer.class).map(ServerSentEventWriterTest::content).collectList().block(Duration.ofSeconds(5));
+
+        // Then
+        assertNotNull(body);
+        assertFalse(body.isEmpty());
+        body.forEach(heartbeat -> assertEquals(":" + ServerSentEventWriter.HEARTBEAT_COMMENT + "\n\n", heartbeat));
+    }
+
+    private static StreamingOptions heartbeatOptions(Duration batchWindow) {
+        return new StreamingOptions(
+                StreamingOptions.DEFAULT_PREFETCH,
+                batchWindow,
+                StreamingOptions.DEFAULT_MAX_BATCH_SIZE,
+                StreamingOptions.DEFAULT_DISCONNECT_POLICY,
+                Duration.ofMillis(50),
+                StreamingOptions.DEFAULT_IDLE_TIMEOUT,
+                StreamingOptions.DEFAULT_MAX_DURATION
+        );
+    }
+
+    private static String content(DataBuffer buffer) {
+        try {
+            return buffer.toString(StandardCharsets.UTF_8);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package io.github.timo.a2a.server.web;
+
+import io.a2a.server.ServerCallContext;
+import io.a2a.spec.StreamingEventKind;
+import io.a2a.spec.Task;
+import org.junit.jupiter.api.Test;
+import reactor.adapter.JdkFlowAdapter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StreamingBridgeTest {
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+    private final ServerCallContext context = mock(ServerCallContext.class);
+    private final Task task = task();
+
+    @Test
+    void shouldReleaseUpstreamOfEveryDroppedStream() {
+        // Given
+        var upstream = new OpenPublisher();
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            var stream = bridge(upstream, TaskCanceller.NONE, StreamingOptions.DEFAULT);
+            var first = JdkFlowAdapter.flowPublisherToFlux(stream).blockFirst(Duration.ofSeconds(5));
+            assertEquals("event-0", first);
+        }
+
+        // Then
+        assertEquals(5_000, upstream.subscribed.get());
+        assertEquals(0, upstream.active.get());
+    }
+
+    @Test
+    void shouldCancelUpstreamSubscribedAfterDisconnect() {
+        // Given
+        var upstream = new OpenPublisher();
+        var pending = new ArrayList<Runnable>();
+        var cancellation = new StreamCancellation(
+                StreamingOptions.DisconnectPolicy.KEEP_TASK, TaskCanceller.NONE, context, DIRECT_EXECUTOR
+        );
+        var publisher = StreamingBridge.create(
+                upstream, String::valueOf, Throwable::getMessage, item -> null,
+                cancellation, StreamingOptions.DEFAULT, pending::add
+        );
+
+        // When
+        JdkFlowAdapter.flowPublisherToFlux(publisher).subscribe().dispose();
+        pending.forEach(Runnable::run);
+
+        // Then
+        assertTrue(cancellation.isCancelled());
+        assertEquals(1, upstream.subscribed.get());
+        assertEquals(0, upstream.active.get());
+    }
+
+    @Test
+    void shouldCancelTaskOnDisconnectWithCancelTaskPolicy() {
+        // Given
+        var taskCanceller = mock(TaskCanceller.class);
+        var options = new StreamingOptions(
+                StreamingOptions.DEFAULT_PREFETCH,
+                StreamingOptions.DEFAULT_BATCH_WINDOW,
+                StreamingOptions.DEFAULT_MAX_BATCH_SIZE,
+                StreamingOptions.DisconnectPolicy.CANCEL_TASK
+        );
+
+        // When
+        JdkFlowAdapter.flowPublisherToFlux(bridge(new OpenPublisher(), taskCanceller, options))
+                .blockFirst(Duration.ofSeconds(5));
+
+        // Then
+        verify(taskCanceller).cancel("task-1", context);
+    }
+
+    @Test
+    void shouldKeepTaskOnDisconnectWithKeepTaskPolicy() {
+        // Given
+        var taskCanceller = mock(TaskCanceller.class);
+
+        // When
+        JdkFlowAdapter.flowPublisherToFlux(bridge(new OpenPublisher(), taskCanceller, StreamingOptions.DEFAULT))
+                .blockFirst(Duration.ofSeconds(5));
+
+        // Then
+        verifyNoInteractions(taskCanceller);
+    }
+
+    @Test
+    void shouldKeepTaskOfIdleStreamClosedWithCancelTaskPolicy() {
+        // Given
+        var taskCanceller = mock(TaskCanceller.class);
+        var upstream = new OpenPublisher();
+        var options = new StreamingOptions(
+                StreamingOptions.DEFAULT_PREFETCH,
+                StreamingOptions.DEFAULT_BATCH_WINDOW,
+                StreamingOptions.DEFAULT_MAX_BATCH_SIZE,
+                StreamingOptions.DisconnectPolicy.CANCEL_TASK,
+                StreamingOptions.DEFAULT_HEARTBEAT_INTERVAL,
+                Duration.ofMillis(100),
+                StreamingOptions.DEFAULT_MAX_DURATION
+        );
+        var cancellation = new StreamCancellation(options.disconnectPolicy(), taskCanceller, context, DIRECT_EXECUTOR);
+        var publisher = StreamingBridge.create(
+                upstream, String::valueOf, Throwable::getMessage, item -> task,
+                cancellation, options, DIRECT_EXECUTOR
+        );
+
+        // When
+        var events = new OpenStreams()
+                .supervise(JdkFlowAdapter.flowPublisherToFlux(publisher), options, cancellation)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertNotNull(events);
+        assertEquals(OpenPublisher.EVENTS, events.size());
+        assertTrue(cancellation.isCancelled());
+        assertEquals(0, upstream.active.get());
+        verifyNoInteractions(taskCanceller);
+    }
+
+    @Test
+    void shouldNotCancelTaskOfCompletedStream() {
+        // Given
+        var taskCanceller = mock(TaskCanceller.class);
+        var options = new StreamingOptions(
+                StreamingOptions.DEFAULT_PREFETCH,
+                StreamingOptions.DEFAULT_BATCH_WINDOW,
+                StreamingOptions.DEFAULT_MAX_BATCH_SIZE,
+                StreamingOptions.DisconnectPolicy.CANCEL_TASK
+        );
+        var cancellation = new StreamCancellation(options.disconnectPolicy(), taskCanceller, context, DIRECT_EXECUTOR);
+        var publisher = StreamingBridge.create(
+                subscriber -> publishItems(subscriber, List.of("a", "b")),
+                String::valueOf, Throwable::getMessage, item -> task,
+                cancellation, options, DIRECT_EXECUTOR
+        );
+
+        // When
+        var events = JdkFlowAdapter.flowPublisherToFlux(publisher).collectList().block(Duration.ofSeconds(5));
+        cancellation.cancel();
+
+        // Then
+        assertEquals(List.of("a", "b"), events);
+        assertFalse(cancellation.isCancelled());
+        verifyNoInteractions(taskCanceller);
+    }
+
+    private Flow.Publisher<String> bridge(
+            Flow.Publisher<String> upstream,
+            TaskCanceller taskCanceller,
+            StreamingOptions options
+    ) {
+        var cancellation = new StreamCancellation(options.disconnectPolicy(), taskCanceller, context, DIRECT_EXECUTOR);
+        Function<String, StreamingEventKind> eventOf = item -> task;
+        return StreamingBridge.create(
+                upstream, String::valueOf, Throwable::getMessage, eventOf, cancellation, options, DIRECT_EXECUTOR
+        );
+    }
+
+    private static Task task() {
+        var task = mock(Task.class);
+        when(task.id()).thenReturn("task-1");
+        return task;
+    }
+
+    private static void publishItems(Flow.Subscriber<? super String> subscriber, List<String> items) {
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                // N/A
+            }
+
+            @Override
+            public void cancel() {
+                // N/A
+            }
+        });
+        items.forEach(subscriber::onNext);
+        subscriber.onComplete();
+    }
+
+    /**
+     * Emits a few events as they are requested and never completes, like an agent waiting for input,
+     * tracking the subscriptions that were not cancelled.
+     */
+    private static final class OpenPublisher implements Flow.Publisher<String> {
+        private static final int EVENTS = 10;
+
+        private final AtomicInteger subscribed = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super String> subscriber) {
+            subscribed.incrementAndGet();
+            active.incrementAndGet();
+
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private boolean cancelled;
+                private int next;
+
+                @Override
+                public void request(long n) {
+                    for (long i = 0; i < n && next < EVENTS && !cancelled; i++) {
+                        subscriber.onNext("event-" + next++);
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    if (!cancelled) {
+                        cancelled = true;
+                        active.decrementAndGet();
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.timo.a2a.server.web;
+
+import com.google.protobuf.Timestamp;
+import io.a2a.grpc.Artifact;
+import io.a2a.grpc.Message;
+import io.a2a.grpc.Part;
+import io.a2a.grpc.Task;
+import io.a2a.grpc.TaskState;
+import io.a2a.grpc.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskETagsTest {
+
+    private final Task task = Task.newBuilder()
+            .setId("task-1")
+            .setContextId("ctx-1")
+            .setStatus(TaskStatus.newBuilder()
+                    .setState(TaskState.TASK_STATE_WORKING)
+                    .setTimestamp(Timestamp.newBuilder().setSeconds(1_700_000_000L).setNanos(5)))
+            .build();
+
+    @Test
+    void shouldTagEqualTasksEqually() throws Exception {
+        assertEquals(TaskETags.of(task), TaskETags.of(task.toBuilder().build()));
+        assertEquals(TaskETags.of(task), TaskETags.of(Task.parseFrom(task.toByteArray())));
+        assertTrue(TaskETags.of(task).startsWith("W/\""));
+        assertTrue(TaskETags.of(task).endsWith("\""));
+    }
+
+    @Test
+    void shouldTagWithVersionOfTask() {
+        // Given
+        var expected = "W/\"" + Integer.toHexString("task-1".hashCode()) + "-"
+                + TaskState.TASK_STATE_WORKING_VALUE + "-" + Long.toHexString(1_700_000_000L) + ".5-0-0-"
+                + Integer.toHexString(task.getSerializedSize()) + "\"";
+
+        // Then
+        assertEquals(expected, TaskETags.of(task));
+    }
+
+    @Test
+    void shouldChangeTagWhenTaskChanges() {
+        // Given
+        var completed = task.toBuilder()
+                .setStatus(task.getStatus().toBuilder().setState(TaskState.TASK_STATE_COMPLETED))
+                .build();
+        var withHistory = task.toBuilder()
+                .addHistory(Message.newBuilder().setMessageId("msg-1"))
+                .build();
+        var withArtifact = task.toBuilder()
+                .addArtifacts(Artifact.newBuilder().setArtifactId("artifact-1"))
+                .build();
+        var withMorePart = withArtifact.toBuilder()
+                .setArtifacts(0, withArtifact.getArtifacts(0).toBuilder().addParts(Part.newBuilder().setText("more")))
+                .build();
+        var otherTask = task.toBuilder().setId("task-2").build();
+
+        // Then
+        assertNotEquals(TaskETags.of(task), TaskETags.of(completed));
+        assertNotEquals(TaskETags.of(task), TaskETags.of(withHistory));
+        assertNotEquals(TaskETags.of(task), TaskETags.of(withArtifact));
+        assertNotEquals(TaskETags.of(withArtifact), TaskETags.of(withMorePart));
+        assertNotEquals(TaskETags.of(task), TaskETags.of(otherTask));
+    }
+
+    @Test
+    void shouldMatchIfNoneMatch() {
+        // Given
+        var etag = TaskETags.of(task);
+
+        // Then
+        assertTrue(TaskETags.isNotModified(ifNoneMatch(etag), etag));
+        assertTrue(TaskETags.isNotModified(ifNoneMatch("\"other\"", etag.substring(2)), etag));
+        assertTrue(TaskETags.isNotModified(ifNoneMatch("*"), etag));
+        assertFalse(TaskETags.isNotModified(ifNoneMatch("\"other\""), etag));
+        assertFalse(TaskETags.isNotModified(new HttpHeaders(), etag));
+    }
+
+    private static HttpHeaders ifNoneMatch(String... etags) {
+        var headers = new HttpHeaders();
+        headers.setIfNoneMatch(List.of(etags));
+        return headers;
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.timo.a2a.server.web;
+
+import io.a2a.grpc.Artifact;
+import io.a2a.grpc.Message;
+import io.a2a.grpc.Task;
+import io.a2a.grpc.TaskState;
+import io.a2a.grpc.TaskStatus;
+import io.a2a.spec.InvalidParamsError;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskFieldMaskTest {
+
+    private final Task task = Task.newBuilder()
+            .setId("task-1")
+            .setContextId("ctx-1")
+            .setStatus(TaskStatus.newBuilder()
+                    .setState(TaskState.TASK_STATE_COMPLETED)
+                    .setMessage(Message.newBuilder().setMessageId("msg-2")))
+            .addHistory(Message.newBuilder().setMessageId("msg-1"))
+            .addArtifacts(Artifact.newBuilder().setArtifactId("artifact-1"))
+            .build();
+
+    @Test
+    void shouldKeepWholeTaskWithoutFields() {
+        assertNull(TaskFieldMask.parse(null));
+        assertNull(TaskFieldMask.parse(" "));
+    }
+
+    @Test
+    void shouldProjectOnFields() {
+        // Given
+        var fieldMask = TaskFieldMask.parse("id, status.state");
+
+        // When
+        assertNotNull(fieldMask);
+        var projected = fieldMask.apply(task);
+
+        // Then
+        assertEquals(
+                Task.newBuilder()
+                        .setId("task-1")
+                        .setStatus(TaskStatus.newBuilder().setState(TaskState.TASK_STATE_COMPLETED))
+                        .build(),
+                projected
+        );
+    }
+
+    @Test
+    void shouldAcceptJsonAndProtobufNames() {
+        // Given
+        var jsonNames = TaskFieldMask.parse("contextId,artifacts");
+        var protobufNames = TaskFieldMask.parse("context_id,artifacts");
+
+        // Then
+        assertNotNull(jsonNames);
+        assertNotNull(protobufNames);
+        assertEquals(jsonNames.apply(task), protobufNames.apply(task));
+        assertEquals("ctx-1", jsonNames.apply(task).getContextId());
+        assertEquals(1, jsonNames.apply(task).getArtifactsCount());
+        assertEquals(0, jsonNames.apply(task).getHistoryCount());
+    }
+
+    @Test
+    void shouldRejectUnknownFields() {
+        assertThrows(InvalidParamsError.class, () -> TaskFieldMask.parse("status.unknown"));
+        assertThrows(InvalidParamsError.class, () -> TaskFieldMask.parse("history.messageId"));
+    }
+}
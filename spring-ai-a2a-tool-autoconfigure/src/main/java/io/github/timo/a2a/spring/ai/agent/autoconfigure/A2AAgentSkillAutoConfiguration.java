@@ -4,9 +4,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.timo.a2a.spring.ai.agent.processor.AgentSkillsProvider;
 import io.github.timo.a2a.spring.ai.agent.rest.controller.AgentSkillController;
 import io.github.timo.a2a.server.context.CallContextFactory;
+import io.github.timo.a2a.server.web.RequestBodyReader;
 import io.github.timo.a2a.spring.ai.agent.service.AgentSkillService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -60,13 +62,15 @@ public class A2AAgentSkillAutoConfiguration {
     )
     AgentSkillController agentSkillRestController(
             AgentSkillService agentSkillService,
-            CallContextFactory callContextFactory
+            CallContextFactory callContextFactory,
+            ObjectProvider<RequestBodyReader> requestBodyReader
     ) {
         LOGGER.info("Creating AgentSkillController bean");
 
         return new AgentSkillController(
                 agentSkillService,
-                callContextFactory
+                callContextFactory,
+                requestBodyReader.getIfAvailable(RequestBodyReader::new)
         );
     }
 }
@@ -7,6 +7,8 @@ plugins {
 description = "Library to support for Spring AI A2A Server"
 
 dependencies {
+    implementation("io.projectreactor:reactor-core")
+
     implementation("org.springframework:spring-web")
     implementation("org.springframework.security:spring-security-core")
 
@@ -3,9 +3,11 @@ package io.github.timo.a2a.spring.ai.agent.rest.controller;
 import io.github.timo.a2a.spring.ai.agent.AgentSkillMethods;
 import io.github.timo.a2a.spring.ai.agent.rest.AgentSkillResponse;
 import io.github.timo.a2a.server.context.CallContextFactory;
+import io.github.timo.a2a.server.web.RequestBodyReader;
 import io.github.timo.a2a.spring.ai.agent.service.AgentSkillService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +19,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -33,13 +37,23 @@ public class AgentSkillController {
 
     private final AgentSkillService agentSkillService;
     private final CallContextFactory callContextFactory;
+    private final RequestBodyReader requestBodyReader;
 
     public AgentSkillController(
             AgentSkillService agentSkillService,
             CallContextFactory callContextFactory
+    ) {
+        this(agentSkillService, callContextFactory, new RequestBodyReader());
+    }
+
+    public AgentSkillController(
+            AgentSkillService agentSkillService,
+            CallContextFactory callContextFactory,
+            RequestBodyReader requestBodyReader
     ) {
         this.agentSkillService = agentSkillService;
         this.callContextFactory = callContextFactory;
+        this.requestBodyReader = requestBodyReader;
     }
 
     /**
@@ -76,22 +90,28 @@ public class AgentSkillController {
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_JSON_VALUE}
     )
-    public ResponseEntity<String> executeAgentSkillAction(
+    public Mono<ResponseEntity<String>> executeAgentSkillAction(
             ServerWebExchange exchange,
             Authentication authentication,
             @PathVariable String skillId,
             @PathVariable String actionName,
-            @RequestBody String parameters
+            @RequestBody Flux<DataBuffer> body
     ) {
         var context = this.callContextFactory.build(
                 exchange, authentication, AgentSkillMethods.EXECUTE_AGENT_SKILL_ACTION_METHOD
         );
         if (context == null) {
-            return ResponseEntity
+            return Mono.just(ResponseEntity
                     .status(HttpStatus.FORBIDDEN)
-                    .build();
+                    .build());
         }
 
+        // Tool callbacks only accept the arguments as a String, so the body is decoded once here
+        return requestBodyReader.readString(exchange.getRequest().getHeaders(), body)
+                .map(parameters -> executeAgentSkillAction(skillId, actionName, parameters));
+    }
+
+    private ResponseEntity<String> executeAgentSkillAction(String skillId, String actionName, String parameters) {
         try {
             var result = agentSkillService.executeSkillAction(skillId, actionName, parameters);
             return ResponseEntity.ok(result);
@@ -106,6 +126,4 @@ public class AgentSkillController {
                     .body(ex.getMessage());
         }
     }
-
-
 }